@@ -18,22 +18,23 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocati
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.NameMatcher;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.StreamDrainer;
 import org.objectweb.asm.MethodVisitor;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 import static net.bytebuddy.utility.ByteBuddyCommons.join;
@@ -119,6 +120,17 @@ public interface AgentBuilder {
      */
     AgentBuilder withListener(Listener listener);
 
+    /**
+     * Defines the given {@link net.bytebuddy.agent.builder.AgentBuilder.Monitor} to be notified about the duration
+     * of any phase of a type's transformation and about the outcome of any attempted transformation. The given
+     * monitor is notified after any other monitor that is already registered.
+     *
+     * @param monitor The monitor to be notified.
+     * @return A new instance of this agent builder which creates an agent that informs the given monitor about
+     * the durations and outcomes of transformations.
+     */
+    AgentBuilder withMonitor(Monitor monitor);
+
     /**
      * Defines the use of the given binary locator for locating binary data to given class names.
      *
@@ -240,12 +252,38 @@ public interface AgentBuilder {
                         Class<?> classBeingRedefined,
                         ProtectionDomain protectionDomain);
 
+        /**
+         * A raw matcher that is able to exclude a type only by its name and class loader. Such a pre-filter is
+         * applied before a type is described such that the class file of a type that cannot be matched does
+         * not need to be parsed.
+         */
+        static interface Prefiltering extends RawMatcher {
+
+            /**
+             * Decides if a type might be matched by this raw matcher. If this method returns {@code false}, the
+             * raw matcher must not match the type for any of its descriptions.
+             *
+             * @param typeName            The binary name of the type to be instrumented.
+             * @param classLoader         The class loader of the instrumented type. Might be {@code null} if this
+             *                            class loader represents the bootstrap class loader.
+             * @param classBeingRedefined The class being redefined which is only not {@code null} if a
+             *                            retransformation is applied.
+             * @param protectionDomain    The protection domain of the type being transformed.
+             * @return {@code true} if the type might be matched by this raw matcher.
+             */
+            boolean mightMatch(String typeName,
+                               ClassLoader classLoader,
+                               Class<?> classBeingRedefined,
+                               ProtectionDomain protectionDomain);
+        }
+
         /**
          * A raw matcher implementation that checks a {@link net.bytebuddy.instrumentation.type.TypeDescription}
          * and its {@link java.lang.ClassLoader} against two suitable matchers in order to determine if the matched
-         * type should be instrumented.
+         * type should be instrumented. The class loader matcher is applied as a pre-filter before a type is
+         * described. The same is true for the type matcher if it only matches a type's name.
          */
-        static class ForElementMatcherPair implements RawMatcher {
+        static class ForElementMatcherPair implements Prefiltering {
 
             /**
              * The type matcher to apply to a {@link net.bytebuddy.instrumentation.type.TypeDescription}.
@@ -281,6 +319,15 @@ public interface AgentBuilder {
                 return classLoaderMatcher.matches(classLoader) && typeMatcher.matches(typeDescription);
             }
 
+            @Override
+            public boolean mightMatch(String typeName,
+                                      ClassLoader classLoader,
+                                      Class<?> classBeingRedefined,
+                                      ProtectionDomain protectionDomain) {
+                return classLoaderMatcher.matches(classLoader)
+                        && (!(typeMatcher instanceof NameMatcher) || ((NameMatcher<?>) typeMatcher).matches(typeName));
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -461,9 +508,24 @@ public interface AgentBuilder {
                                    byte[] binaryRepresentation,
                                    TypePool.CacheProvider cacheProvider,
                                    ClassFileLocator classFileLocator) {
+                    this(typeName, binaryRepresentation, new TypePool.Default(cacheProvider, classFileLocator), classFileLocator);
+                }
+
+                /**
+                 * Creates a new initialized form of a default binary locator.
+                 *
+                 * @param typeName             The binary name of the type that is being instrumented.
+                 * @param binaryRepresentation The binary representation of the instrumented type.
+                 * @param typePool             The type pool to use.
+                 * @param classFileLocator     The class file locator to use.
+                 */
+                public Initialized(String typeName,
+                                   byte[] binaryRepresentation,
+                                   TypePool typePool,
+                                   ClassFileLocator classFileLocator) {
                     this.typeName = typeName;
                     this.binaryRepresentation = binaryRepresentation;
-                    typePool = new TypePool.Default(cacheProvider, classFileLocator);
+                    this.typePool = typePool;
                     this.classFileLocator = classFileLocator;
                 }
 
@@ -516,6 +578,195 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * A binary locator that shares a {@link net.bytebuddy.pool.TypePool.CacheProvider} among all transformations
+         * of types that are loaded by the same class loader. This way, types that are commonly referenced such as
+         * {@link java.lang.Object} or the base types of a framework are only parsed once per class loader instead
+         * of once per transformation. Any class loader is only referenced weakly such that it remains eligible for
+         * garbage collection.
+         */
+        abstract static class WithTypePoolCache implements BinaryLocator {
+
+            @Override
+            public BinaryLocator.Initialized initialize(String typeName,
+                                                        byte[] binaryRepresentation,
+                                                        ClassLoader classLoader) {
+                return new Default.Initialized(typeName,
+                        binaryRepresentation,
+                        typePool(classLoader),
+                        ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader));
+            }
+
+            /**
+             * Creates the type pool for describing the types that are visible to the given class loader.
+             *
+             * @param classLoader The class loader of the instrumented type. Might be {@code null} if this class
+             *                    loader represents the bootstrap class loader.
+             * @return The type pool to use for the given class loader.
+             */
+            protected TypePool typePool(ClassLoader classLoader) {
+                return new TypePool.Default(locate(classLoader), ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader));
+            }
+
+            /**
+             * Locates the cache provider that is shared for all types that are loaded by the given class loader.
+             *
+             * @param classLoader The class loader of the instrumented type. Might be {@code null} if this class
+             *                    loader represents the bootstrap class loader.
+             * @return The cache provider to use for the given class loader.
+             */
+            protected abstract TypePool.CacheProvider locate(ClassLoader classLoader);
+
+            /**
+             * A binary locator that keeps a {@link net.bytebuddy.pool.TypePool.CacheProvider.Bounded} per class
+             * loader in a map with weakly referenced keys.
+             */
+            static class Simple extends WithTypePoolCache {
+
+                /**
+                 * The maximum number of resolutions that are retained per class loader.
+                 */
+                protected final int maximumSize;
+
+                /**
+                 * A map of cache providers by the class loader they are used for.
+                 */
+                protected final Map<ClassLoader, TypePool.CacheProvider> cacheProviders;
+
+                /**
+                 * Creates a new binary locator that shares a bounded type pool cache per class loader.
+                 *
+                 * @param maximumSize The maximum number of resolutions that are retained per class loader.
+                 */
+                public Simple(int maximumSize) {
+                    if (maximumSize < 1) {
+                        throw new IllegalArgumentException("The maximum size of a cache must be positive: " + maximumSize);
+                    }
+                    this.maximumSize = maximumSize;
+                    cacheProviders = new WeakHashMap<ClassLoader, TypePool.CacheProvider>();
+                }
+
+                @Override
+                protected TypePool.CacheProvider locate(ClassLoader classLoader) {
+                    synchronized (cacheProviders) {
+                        TypePool.CacheProvider cacheProvider = cacheProviders.get(classLoader);
+                        if (cacheProvider == null) {
+                            cacheProvider = new TypePool.CacheProvider.Bounded(maximumSize);
+                            cacheProviders.put(classLoader, cacheProvider);
+                        }
+                        return cacheProvider;
+                    }
+                }
+
+                @Override
+                public String toString() {
+                    synchronized (cacheProviders) {
+                        return "AgentBuilder.BinaryLocator.WithTypePoolCache.Simple{" +
+                                "maximumSize=" + maximumSize +
+                                ", cacheProviders=" + cacheProviders +
+                                '}';
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A binary locator that keeps a type pool cache per class loader. By default, each type pool delegates to the
+         * type pool of its class loader's parent before describing a type by itself. This way, a type that is visible
+         * to a parent class loader is only parsed once, independently of the number of child class loaders that
+         * reference it. Types that are loaded by the bootstrap class loader are described by the type pool of the
+         * system class loader.
+         * </p>
+         * <p>
+         * <b>Important</b>: A type pool cannot determine the delegation model of a class loader. If a class loader
+         * does not delegate to its parent first, as it is typical for the class loaders of web applications, a type
+         * that is visible to both this class loader and its parent is nevertheless described by the parent's type
+         * pool and might therefore not represent the type that the class loader actually loads. Any such class loader
+         * must be matched by the child-first matcher of this binary locator such that its type pool describes a type
+         * by itself before querying the type pool of the class loader's parent.
+         * </p>
+         * <p>
+         * Any class loader is only referenced weakly such that it remains eligible for garbage collection. Each type
+         * pool uses a {@link net.bytebuddy.pool.TypePool.CacheProvider.Bounded} such that the resolutions of types
+         * that a parent class loader cannot locate do not accumulate without limit. The type pool of a class loader
+         * is created once and reused for any transformation of a type that is loaded by this class loader.
+         * </p>
+         */
+        static class ClassLoaderHierarchy extends WithTypePoolCache.Simple {
+
+            /**
+             * A matcher for class loaders that do not delegate to their parent before loading a type by themselves.
+             */
+            private final ElementMatcher<? super ClassLoader> childFirst;
+
+            /**
+             * A map of type pools by the class loader they are used for.
+             */
+            private final Map<ClassLoader, TypePool> typePools;
+
+            /**
+             * Creates a new binary locator that keeps a type pool cache per class loader where any type pool queries
+             * its parent type pool first.
+             *
+             * @param maximumSize The maximum number of resolutions that are retained per class loader.
+             */
+            public ClassLoaderHierarchy(int maximumSize) {
+                this(maximumSize, none());
+            }
+
+            /**
+             * Creates a new binary locator that keeps a type pool cache per class loader.
+             *
+             * @param maximumSize The maximum number of resolutions that are retained per class loader.
+             * @param childFirst  A matcher for class loaders that do not delegate to their parent before loading a
+             *                    type by themselves. The type pools of these class loaders describe a type by
+             *                    themselves before querying the type pool of their parent class loader.
+             */
+            public ClassLoaderHierarchy(int maximumSize, ElementMatcher<? super ClassLoader> childFirst) {
+                super(maximumSize);
+                this.childFirst = childFirst;
+                typePools = new WeakHashMap<ClassLoader, TypePool>();
+            }
+
+            @Override
+            protected TypePool typePool(ClassLoader classLoader) {
+                if (classLoader == null) {
+                    classLoader = ClassLoader.getSystemClassLoader();
+                }
+                synchronized (typePools) {
+                    TypePool typePool = typePools.get(classLoader);
+                    if (typePool == null) {
+                        ClassLoader parent = classLoader.getParent();
+                        ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader);
+                        if (parent == null) {
+                            typePool = new TypePool.Default(locate(classLoader), classFileLocator);
+                        } else if (childFirst.matches(classLoader)) {
+                            typePool = new TypePool.Default.WithParent.ChildFirst(typePool(parent), locate(classLoader), classFileLocator);
+                        } else {
+                            typePool = new TypePool.Default.WithParent(typePool(parent), locate(classLoader), classFileLocator);
+                        }
+                        typePools.put(classLoader, typePool);
+                    }
+                    return typePool;
+                }
+            }
+
+            @Override
+            public String toString() {
+                synchronized (typePools) {
+                    synchronized (cacheProviders) {
+                        return "AgentBuilder.BinaryLocator.ClassLoaderHierarchy{" +
+                                "maximumSize=" + maximumSize +
+                                ", cacheProviders=" + cacheProviders +
+                                ", childFirst=" + childFirst +
+                                ", typePools=" + typePools +
+                                '}';
+                    }
+                }
+            }
+        }
+
         /**
          * A {@link net.bytebuddy.agent.builder.AgentBuilder.BinaryLocator} in initialized state.
          */
@@ -669,6 +920,690 @@ public interface AgentBuilder {
         }
     }
 
+    /**
+     * A monitor is notified about the time that is spent in the different phases of transforming a type and about
+     * the outcome of any attempted transformation. Durations are measured in nanoseconds.
+     */
+    static interface Monitor {
+
+        /**
+         * Invoked after a phase of a type's transformation was completed.
+         *
+         * @param phase       The completed phase.
+         * @param classLoader The class loader of the transformed type. Might be {@code null} if this class loader
+         *                    represents the bootstrap class loader.
+         * @param duration    The duration of the phase in nanoseconds.
+         */
+        void onPhase(Phase phase, ClassLoader classLoader, long duration);
+
+        /**
+         * Invoked after a transformation was attempted for a type.
+         *
+         * @param outcome     The outcome of the attempted transformation.
+         * @param classLoader The class loader of the transformed type. Might be {@code null} if this class loader
+         *                    represents the bootstrap class loader.
+         */
+        void onOutcome(Outcome outcome, ClassLoader classLoader);
+
+        /**
+         * The phases of a type's transformation.
+         */
+        static enum Phase {
+
+            /**
+             * Deciding if any transformation might apply to a type only by its name and class loader.
+             */
+            PREFILTERING,
+
+            /**
+             * Describing the type by parsing its class file.
+             */
+            DESCRIPTION,
+
+            /**
+             * Matching the described type against the registered transformations.
+             */
+            MATCHING,
+
+            /**
+             * Applying the transformers and creating the transformed type.
+             */
+            CREATION,
+
+            /**
+             * Injecting the auxiliary types of the transformed type into its class loader.
+             */
+            INJECTION,
+
+            /**
+             * Registering the loaded type initializer of the transformed type.
+             */
+            REGISTRATION
+        }
+
+        /**
+         * The outcome of an attempted transformation.
+         */
+        static enum Outcome {
+
+            /**
+             * The type was transformed.
+             */
+            TRANSFORMED,
+
+            /**
+             * The type was not matched by any transformation.
+             */
+            IGNORED,
+
+            /**
+             * An error occurred during the transformation.
+             */
+            ERROR
+        }
+
+        /**
+         * A no-op implementation of a {@link net.bytebuddy.agent.builder.AgentBuilder.Monitor}.
+         */
+        static enum NoOp implements Monitor {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public void onPhase(Phase phase, ClassLoader classLoader, long duration) {
+                /* do nothing */
+            }
+
+            @Override
+            public void onOutcome(Outcome outcome, ClassLoader classLoader) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * A compound monitor that allows to group several monitors in one instance.
+         */
+        static class Compound implements Monitor {
+
+            /**
+             * The monitors that are represented by this compound monitor in their application order.
+             */
+            private final Monitor[] monitor;
+
+            /**
+             * Creates a new compound monitor.
+             *
+             * @param monitor The monitors to apply in their application order.
+             */
+            public Compound(Monitor... monitor) {
+                this.monitor = monitor;
+            }
+
+            @Override
+            public void onPhase(Phase phase, ClassLoader classLoader, long duration) {
+                for (Monitor monitor : this.monitor) {
+                    monitor.onPhase(phase, classLoader, duration);
+                }
+            }
+
+            @Override
+            public void onOutcome(Outcome outcome, ClassLoader classLoader) {
+                for (Monitor monitor : this.monitor) {
+                    monitor.onOutcome(outcome, classLoader);
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && Arrays.equals(monitor, ((Compound) other).monitor);
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(monitor);
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Monitor.Compound{" +
+                        "monitor=" + Arrays.toString(monitor) +
+                        '}';
+            }
+        }
+
+        /**
+         * A management interface of a {@link net.bytebuddy.agent.builder.AgentBuilder.Monitor.Recording} that
+         * allows to expose its measurements as a standard MBean. Phases are referenced by their names.
+         */
+        static interface RecordingMBean {
+
+            /**
+             * Returns the number of transformed types.
+             *
+             * @return The number of transformed types.
+             */
+            long getTransformedCount();
+
+            /**
+             * Returns the number of ignored types.
+             *
+             * @return The number of ignored types.
+             */
+            long getIgnoredCount();
+
+            /**
+             * Returns the number of types for which an error occurred.
+             *
+             * @return The number of types for which an error occurred.
+             */
+            long getErrorCount();
+
+            /**
+             * Returns the number of times that the given phase was completed.
+             *
+             * @param phase The name of the phase.
+             * @return The number of times that the given phase was completed.
+             */
+            long getPhaseCount(String phase);
+
+            /**
+             * Returns the total time that was spent in the given phase in nanoseconds.
+             *
+             * @param phase The name of the phase.
+             * @return The total time that was spent in the given phase.
+             */
+            long getPhaseTotalTime(String phase);
+
+            /**
+             * Returns the maximum time that was spent in a single completion of the given phase in nanoseconds.
+             *
+             * @param phase The name of the phase.
+             * @return The maximum time that was spent in the given phase.
+             */
+            long getPhaseMaximumTime(String phase);
+
+            /**
+             * Returns an upper bound of the given percentile of the times that were spent in the given phase in
+             * nanoseconds.
+             *
+             * @param phase      The name of the phase.
+             * @param percentile The percentile between {@code 0} and {@code 100}.
+             * @return An upper bound of the given percentile of the times that were spent in the given phase.
+             */
+            long getPhasePercentileTime(String phase, double percentile);
+        }
+
+        /**
+         * <p>
+         * A monitor that records the durations of all phases in histograms and counts the outcomes of all attempted
+         * transformations, both in total and per class loader. Durations are recorded without locking in
+         * histograms with buckets of exponentially growing size, i.e. a duration {@code d} is recorded in a
+         * bucket with an upper bound of the next power of two that is greater than {@code d}.
+         * </p>
+         * <p>
+         * The counts per class loader are referenced weakly. As the counts of a class loader are stored in a map
+         * that requires locking, each thread remembers the counts of the class loader for which it last recorded
+         * an outcome such that the map is only locked when a thread records an outcome for another class loader
+         * than before. A recording is a compliant standard MBean which can be registered with an
+         * {@link javax.management.MBeanServer}.
+         * </p>
+         */
+        static class Recording implements Monitor, RecordingMBean {
+
+            /**
+             * The number of buckets of a histogram which covers any non-negative {@code long} value.
+             */
+            private static final int BUCKETS = 64;
+
+            /**
+             * The histograms of all phases.
+             */
+            private final Map<Phase, Histogram> histograms;
+
+            /**
+             * The counts of all outcomes.
+             */
+            private final AtomicLongArray outcomes;
+
+            /**
+             * The counts of all outcomes per class loader.
+             */
+            private final Map<ClassLoader, AtomicLongArray> classLoaderOutcomes;
+
+            /**
+             * The counts of the class loader for which the current thread last recorded an outcome.
+             */
+            private final ThreadLocal<CachedOutcomes> cachedOutcomes;
+
+            /**
+             * Creates a new recording monitor.
+             */
+            public Recording() {
+                histograms = new EnumMap<Phase, Histogram>(Phase.class);
+                for (Phase phase : Phase.values()) {
+                    histograms.put(phase, new Histogram());
+                }
+                outcomes = new AtomicLongArray(Outcome.values().length);
+                classLoaderOutcomes = new WeakHashMap<ClassLoader, AtomicLongArray>();
+                cachedOutcomes = new ThreadLocal<CachedOutcomes>();
+            }
+
+            @Override
+            public void onPhase(Phase phase, ClassLoader classLoader, long duration) {
+                histograms.get(phase).record(duration);
+            }
+
+            @Override
+            public void onOutcome(Outcome outcome, ClassLoader classLoader) {
+                outcomes.incrementAndGet(outcome.ordinal());
+                CachedOutcomes cachedOutcomes = this.cachedOutcomes.get();
+                if (cachedOutcomes == null || !cachedOutcomes.represents(classLoader)) {
+                    AtomicLongArray outcomes;
+                    synchronized (classLoaderOutcomes) {
+                        outcomes = classLoaderOutcomes.get(classLoader);
+                        if (outcomes == null) {
+                            outcomes = new AtomicLongArray(Outcome.values().length);
+                            classLoaderOutcomes.put(classLoader, outcomes);
+                        }
+                    }
+                    cachedOutcomes = new CachedOutcomes(classLoader, outcomes);
+                    this.cachedOutcomes.set(cachedOutcomes);
+                }
+                cachedOutcomes.getOutcomes().incrementAndGet(outcome.ordinal());
+            }
+
+            /**
+             * Returns a snapshot of the measurements of all phases.
+             *
+             * @return A mapping of all phases to a snapshot of their measurements.
+             */
+            public Map<Phase, Timing> getTimings() {
+                Map<Phase, Timing> timings = new EnumMap<Phase, Timing>(Phase.class);
+                for (Map.Entry<Phase, Histogram> entry : histograms.entrySet()) {
+                    timings.put(entry.getKey(), entry.getValue().toTiming());
+                }
+                return timings;
+            }
+
+            /**
+             * Returns a snapshot of the counts of all outcomes.
+             *
+             * @return A mapping of all outcomes to their counts.
+             */
+            public Map<Outcome, Long> getOutcomes() {
+                return toMap(outcomes);
+            }
+
+            /**
+             * Returns a snapshot of the counts of all outcomes per class loader. The returned map references the
+             * class loaders strongly and should therefore not be retained. The bootstrap class loader is
+             * represented by the {@code null} key.
+             *
+             * @return A mapping of class loaders to the counts of all outcomes of their types.
+             */
+            public Map<ClassLoader, Map<Outcome, Long>> getOutcomesByClassLoader() {
+                Map<ClassLoader, Map<Outcome, Long>> outcomes = new HashMap<ClassLoader, Map<Outcome, Long>>();
+                synchronized (classLoaderOutcomes) {
+                    for (Map.Entry<ClassLoader, AtomicLongArray> entry : classLoaderOutcomes.entrySet()) {
+                        outcomes.put(entry.getKey(), toMap(entry.getValue()));
+                    }
+                }
+                return outcomes;
+            }
+
+            /**
+             * Converts an array of outcome counts into a map.
+             *
+             * @param counts The counts of all outcomes by their ordinal.
+             * @return A mapping of all outcomes to their counts.
+             */
+            private static Map<Outcome, Long> toMap(AtomicLongArray counts) {
+                Map<Outcome, Long> outcomes = new EnumMap<Outcome, Long>(Outcome.class);
+                for (Outcome outcome : Outcome.values()) {
+                    outcomes.put(outcome, counts.get(outcome.ordinal()));
+                }
+                return outcomes;
+            }
+
+            @Override
+            public long getTransformedCount() {
+                return outcomes.get(Outcome.TRANSFORMED.ordinal());
+            }
+
+            @Override
+            public long getIgnoredCount() {
+                return outcomes.get(Outcome.IGNORED.ordinal());
+            }
+
+            @Override
+            public long getErrorCount() {
+                return outcomes.get(Outcome.ERROR.ordinal());
+            }
+
+            @Override
+            public long getPhaseCount(String phase) {
+                return histograms.get(Phase.valueOf(phase)).toTiming().getCount();
+            }
+
+            @Override
+            public long getPhaseTotalTime(String phase) {
+                return histograms.get(Phase.valueOf(phase)).toTiming().getTotalTime();
+            }
+
+            @Override
+            public long getPhaseMaximumTime(String phase) {
+                return histograms.get(Phase.valueOf(phase)).toTiming().getMaximumTime();
+            }
+
+            @Override
+            public long getPhasePercentileTime(String phase, double percentile) {
+                return histograms.get(Phase.valueOf(phase)).toTiming().getPercentileTime(percentile);
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Monitor.Recording{" +
+                        "histograms=" + histograms +
+                        ", outcomes=" + outcomes +
+                        ", classLoaderOutcomes=" + classLoaderOutcomes.size() +
+                        ", cachedOutcomes=" + cachedOutcomes.get() +
+                        '}';
+            }
+
+            /**
+             * The counts of all outcomes of a class loader which is referenced weakly.
+             */
+            protected static class CachedOutcomes {
+
+                /**
+                 * A weak reference to the class loader or {@code null} if the counts represent the bootstrap
+                 * class loader.
+                 */
+                private final WeakReference<ClassLoader> classLoader;
+
+                /**
+                 * The counts of all outcomes of the class loader.
+                 */
+                private final AtomicLongArray outcomes;
+
+                /**
+                 * Creates new cached outcomes.
+                 *
+                 * @param classLoader The class loader or {@code null} for the bootstrap class loader.
+                 * @param outcomes    The counts of all outcomes of the class loader.
+                 */
+                protected CachedOutcomes(ClassLoader classLoader, AtomicLongArray outcomes) {
+                    this.classLoader = classLoader == null
+                            ? null
+                            : new WeakReference<ClassLoader>(classLoader);
+                    this.outcomes = outcomes;
+                }
+
+                /**
+                 * Determines if these counts represent the given class loader.
+                 *
+                 * @param classLoader The class loader or {@code null} for the bootstrap class loader.
+                 * @return {@code true} if these counts represent the given class loader.
+                 */
+                protected boolean represents(ClassLoader classLoader) {
+                    return this.classLoader == null
+                            ? classLoader == null
+                            : classLoader != null && this.classLoader.get() == classLoader;
+                }
+
+                /**
+                 * Returns the counts of all outcomes of the class loader.
+                 *
+                 * @return The counts of all outcomes of the class loader.
+                 */
+                protected AtomicLongArray getOutcomes() {
+                    return outcomes;
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Monitor.Recording.CachedOutcomes{" +
+                            "classLoader=" + (classLoader == null ? null : classLoader.get()) +
+                            ", outcomes=" + outcomes +
+                            '}';
+                }
+            }
+
+            /**
+             * A histogram that records durations without locking.
+             */
+            protected static class Histogram {
+
+                /**
+                 * The number of durations that fall into each bucket.
+                 */
+                private final AtomicLongArray buckets;
+
+                /**
+                 * The number of recorded durations.
+                 */
+                private final AtomicLong count;
+
+                /**
+                 * The sum of all recorded durations.
+                 */
+                private final AtomicLong totalTime;
+
+                /**
+                 * The maximum of all recorded durations.
+                 */
+                private final AtomicLong maximumTime;
+
+                /**
+                 * Creates a new histogram.
+                 */
+                protected Histogram() {
+                    buckets = new AtomicLongArray(BUCKETS);
+                    count = new AtomicLong();
+                    totalTime = new AtomicLong();
+                    maximumTime = new AtomicLong();
+                }
+
+                /**
+                 * Records a duration. Negative durations, as they might be measured on some platforms, are
+                 * recorded as zero.
+                 *
+                 * @param duration The duration to record.
+                 */
+                protected void record(long duration) {
+                    duration = Math.max(duration, 0L);
+                    buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(duration));
+                    count.incrementAndGet();
+                    totalTime.addAndGet(duration);
+                    long maximumTime;
+                    do {
+                        maximumTime = this.maximumTime.get();
+                    } while (duration > maximumTime && !this.maximumTime.compareAndSet(maximumTime, duration));
+                }
+
+                /**
+                 * Creates a snapshot of this histogram. As this histogram is not locked, the snapshot might
+                 * reflect concurrent recordings only partially.
+                 *
+                 * @return A snapshot of this histogram.
+                 */
+                protected Timing toTiming() {
+                    long[] buckets = new long[BUCKETS];
+                    for (int index = 0; index < BUCKETS; index++) {
+                        buckets[index] = this.buckets.get(index);
+                    }
+                    return new Timing(count.get(), totalTime.get(), maximumTime.get(), buckets);
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Monitor.Recording.Histogram{" +
+                            "buckets=" + buckets +
+                            ", count=" + count +
+                            ", totalTime=" + totalTime +
+                            ", maximumTime=" + maximumTime +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A snapshot of the durations that were recorded for a phase of a type's transformation. All durations
+         * are represented in nanoseconds.
+         */
+        static class Timing {
+
+            /**
+             * A factor for converting a percentile into a fraction.
+             */
+            private static final double PERCENT = 100d;
+
+            /**
+             * The number of recorded durations.
+             */
+            private final long count;
+
+            /**
+             * The sum of all recorded durations.
+             */
+            private final long totalTime;
+
+            /**
+             * The maximum of all recorded durations.
+             */
+            private final long maximumTime;
+
+            /**
+             * The number of durations per bucket where the bucket at index {@code i} contains all durations
+             * {@code d} with {@code 2^(i-1) <= d < 2^i}. The bucket at index {@code 0} contains all durations
+             * of {@code 0}.
+             */
+            private final long[] buckets;
+
+            /**
+             * Creates a new timing.
+             *
+             * @param count       The number of recorded durations.
+             * @param totalTime   The sum of all recorded durations.
+             * @param maximumTime The maximum of all recorded durations.
+             * @param buckets     The number of durations per bucket.
+             */
+            public Timing(long count, long totalTime, long maximumTime, long[] buckets) {
+                this.count = count;
+                this.totalTime = totalTime;
+                this.maximumTime = maximumTime;
+                this.buckets = buckets;
+            }
+
+            /**
+             * Returns the number of recorded durations.
+             *
+             * @return The number of recorded durations.
+             */
+            public long getCount() {
+                return count;
+            }
+
+            /**
+             * Returns the sum of all recorded durations.
+             *
+             * @return The sum of all recorded durations.
+             */
+            public long getTotalTime() {
+                return totalTime;
+            }
+
+            /**
+             * Returns the maximum of all recorded durations.
+             *
+             * @return The maximum of all recorded durations.
+             */
+            public long getMaximumTime() {
+                return maximumTime;
+            }
+
+            /**
+             * Returns the mean of all recorded durations.
+             *
+             * @return The mean of all recorded durations or {@code 0} if no duration was recorded.
+             */
+            public double getMeanTime() {
+                return count == 0L
+                        ? 0d
+                        : (double) totalTime / count;
+            }
+
+            /**
+             * Returns an upper bound of the given percentile of all recorded durations. The upper bound is the
+             * upper bound of the bucket that contains the percentile but never exceeds the maximum duration.
+             *
+             * @param percentile The percentile between {@code 0} and {@code 100}.
+             * @return An upper bound of the given percentile of all recorded durations or {@code 0} if no duration
+             * was recorded.
+             */
+            public long getPercentileTime(double percentile) {
+                if (percentile < 0d || percentile > PERCENT) {
+                    throw new IllegalArgumentException("Not a percentile: " + percentile);
+                }
+                long threshold = (long) Math.ceil(count * percentile / PERCENT), accumulated = 0L;
+                for (int index = 0; index < buckets.length; index++) {
+                    accumulated += buckets[index];
+                    if (accumulated >= threshold && accumulated > 0L) {
+                        return index == 0
+                                ? 0L
+                                : Math.min((1L << index) - 1L, maximumTime);
+                    }
+                }
+                return maximumTime;
+            }
+
+            /**
+             * Returns the number of durations per bucket where the bucket at index {@code i} contains all durations
+             * {@code d} with {@code 2^(i-1) <= d < 2^i}. The bucket at index {@code 0} contains all durations
+             * of {@code 0}.
+             *
+             * @return The number of durations per bucket.
+             */
+            public long[] getBuckets() {
+                return buckets.clone();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                Timing timing = (Timing) other;
+                return count == timing.count
+                        && totalTime == timing.totalTime
+                        && maximumTime == timing.maximumTime
+                        && Arrays.equals(buckets, timing.buckets);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = (int) (count ^ (count >>> 32));
+                result = 31 * result + (int) (totalTime ^ (totalTime >>> 32));
+                result = 31 * result + (int) (maximumTime ^ (maximumTime >>> 32));
+                result = 31 * result + Arrays.hashCode(buckets);
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Monitor.Timing{" +
+                        "count=" + count +
+                        ", totalTime=" + totalTime +
+                        ", maximumTime=" + maximumTime +
+                        ", buckets=" + Arrays.toString(buckets) +
+                        '}';
+            }
+        }
+    }
+
     /**
      * The default implementation of an {@link net.bytebuddy.agent.builder.AgentBuilder}.
      */
@@ -712,6 +1647,11 @@ public interface AgentBuilder {
          */
         private final Listener listener;
 
+        /**
+         * The monitor to notify about the durations and outcomes of transformations.
+         */
+        private final Monitor monitor;
+
         /**
          * The native method prefix to use which might also represent
          * {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_NATIVE_PREFIX} to indicate that no
@@ -753,6 +1693,7 @@ public interface AgentBuilder {
             this(nonNull(byteBuddy),
                     BinaryLocator.Default.INSTANCE,
                     Listener.NoOp.INSTANCE,
+                    Monitor.NoOp.INSTANCE,
                     NO_NATIVE_PREFIX,
                     false,
                     false,
@@ -765,6 +1706,7 @@ public interface AgentBuilder {
          * @param byteBuddy                 The Byte Buddy instance to be used.
          * @param binaryLocator             The binary locator to use.
          * @param listener                  The listener to notify on transformations.
+         * @param monitor                   The monitor to notify about the durations and outcomes of transformations.
          * @param nativeMethodPrefix        The native method prefix to use which might also represent
          *                                  {@link net.bytebuddy.agent.builder.AgentBuilder.Default#NO_NATIVE_PREFIX}
          *                                  to indicate that no prefix should be added but rather a random suffix.
@@ -780,6 +1722,7 @@ public interface AgentBuilder {
         protected Default(ByteBuddy byteBuddy,
                           BinaryLocator binaryLocator,
                           Listener listener,
+                          Monitor monitor,
                           String nativeMethodPrefix,
                           boolean disableSelfInitialization,
                           boolean retransformation,
@@ -787,6 +1730,7 @@ public interface AgentBuilder {
             this.byteBuddy = byteBuddy;
             this.binaryLocator = binaryLocator;
             this.listener = listener;
+            this.monitor = monitor;
             this.nativeMethodPrefix = nativeMethodPrefix;
             this.disableSelfInitialization = disableSelfInitialization;
             this.retransformation = retransformation;
@@ -814,6 +1758,7 @@ public interface AgentBuilder {
             return new Default(nonNull(byteBuddy),
                     binaryLocator,
                     listener,
+                    monitor,
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
@@ -825,6 +1770,19 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     new Listener.Compound(this.listener, nonNull(listener)),
+                    monitor,
+                    nativeMethodPrefix,
+                    disableSelfInitialization,
+                    retransformation,
+                    entries);
+        }
+
+        @Override
+        public AgentBuilder withMonitor(Monitor monitor) {
+            return new Default(byteBuddy,
+                    binaryLocator,
+                    listener,
+                    new Monitor.Compound(this.monitor, nonNull(monitor)),
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
@@ -836,6 +1794,7 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     nonNull(binaryLocator),
                     listener,
+                    monitor,
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     retransformation,
@@ -850,6 +1809,7 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     listener,
+                    monitor,
                     prefix,
                     disableSelfInitialization,
                     retransformation,
@@ -861,6 +1821,7 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     listener,
+                    monitor,
                     nativeMethodPrefix,
                     disableSelfInitialization,
                     true,
@@ -872,6 +1833,7 @@ public interface AgentBuilder {
             return new Default(byteBuddy,
                     binaryLocator,
                     listener,
+                    monitor,
                     nativeMethodPrefix,
                     true,
                     retransformation,
@@ -913,6 +1875,7 @@ public interface AgentBuilder {
             return binaryLocator.equals(aDefault.binaryLocator)
                     && byteBuddy.equals(aDefault.byteBuddy)
                     && listener.equals(aDefault.listener)
+                    && monitor.equals(aDefault.monitor)
                     && nativeMethodPrefix.equals(aDefault.nativeMethodPrefix)
                     && disableSelfInitialization == aDefault.disableSelfInitialization
                     && retransformation == aDefault.retransformation
@@ -925,6 +1888,7 @@ public interface AgentBuilder {
             int result = byteBuddy.hashCode();
             result = 31 * result + binaryLocator.hashCode();
             result = 31 * result + listener.hashCode();
+            result = 31 * result + monitor.hashCode();
             result = 31 * result + nativeMethodPrefix.hashCode();
             result = 31 * result + (disableSelfInitialization ? 1 : 0);
             result = 31 * result + (retransformation ? 1 : 0);
@@ -938,6 +1902,7 @@ public interface AgentBuilder {
                     "byteBuddy=" + byteBuddy +
                     ", binaryLocator=" + binaryLocator +
                     ", listener=" + listener +
+                    ", monitor=" + monitor +
                     ", nativeMethodPrefix=" + nativeMethodPrefix +
                     ", disableSelfInitialization=" + disableSelfInitialization +
                     ", retransformation=" + retransformation +
@@ -1299,7 +2264,7 @@ public interface AgentBuilder {
          * {@link net.bytebuddy.agent.builder.AgentBuilder.RawMatcher} and a
          * {@link net.bytebuddy.agent.builder.AgentBuilder.Transformer}.
          */
-        protected static class Transformation implements RawMatcher, Transformer {
+        protected static class Transformation implements RawMatcher.Prefiltering, Transformer {
 
             /**
              * The raw matcher that is represented by this transformation.
@@ -1330,6 +2295,15 @@ public interface AgentBuilder {
                 return rawMatcher.matches(typeDescription, classLoader, classBeingRedefined, protectionDomain);
             }
 
+            @Override
+            public boolean mightMatch(String typeName,
+                                      ClassLoader classLoader,
+                                      Class<?> classBeingRedefined,
+                                      ProtectionDomain protectionDomain) {
+                return !(rawMatcher instanceof Prefiltering)
+                        || ((Prefiltering) rawMatcher).mightMatch(typeName, classLoader, classBeingRedefined, protectionDomain);
+            }
+
             @Override
             public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder) {
                 return transformer.transform(builder);
@@ -1393,40 +2367,94 @@ public interface AgentBuilder {
                                     ProtectionDomain protectionDomain,
                                     byte[] binaryRepresentation) {
                 String binaryTypeName = internalTypeName.replace('/', '.');
+                long timestamp = System.nanoTime();
                 try {
+                    boolean prefiltered = !mightMatch(binaryTypeName, classLoader, classBeingRedefined, protectionDomain);
+                    timestamp = onPhase(Monitor.Phase.PREFILTERING, classLoader, timestamp);
+                    if (prefiltered) {
+                        listener.onIgnored(binaryTypeName);
+                        monitor.onOutcome(Monitor.Outcome.IGNORED, classLoader);
+                        return NO_TRANSFORMATION;
+                    }
                     BinaryLocator.Initialized initialized = binaryLocator.initialize(binaryTypeName, binaryRepresentation, classLoader);
                     TypeDescription typeDescription = initialized.getTypePool().describe(binaryTypeName).resolve();
+                    timestamp = onPhase(Monitor.Phase.DESCRIPTION, classLoader, timestamp);
                     for (Transformation transformation : entries) {
                         if (transformation.matches(typeDescription, classLoader, classBeingRedefined, protectionDomain)) {
+                            timestamp = onPhase(Monitor.Phase.MATCHING, classLoader, timestamp);
                             DynamicType.Unloaded<?> dynamicType = initializationStrategy.apply(
                                     transformation.transform(byteBuddy.rebase(typeDescription,
                                             initialized.getClassFileLocator(),
                                             methodNameTransformer))).make();
+                            timestamp = onPhase(Monitor.Phase.CREATION, classLoader, timestamp);
                             Map<TypeDescription, LoadedTypeInitializer> loadedTypeInitializers = dynamicType.getLoadedTypeInitializers();
                             if (loadedTypeInitializers.size() > 1) {
-                                ClassLoaderByteArrayInjector injector = new ClassLoaderByteArrayInjector(classLoader, protectionDomain);
-                                for (Map.Entry<TypeDescription, byte[]> auxiliary : dynamicType.getRawAuxiliaryTypes().entrySet()) {
-                                    Class<?> type = injector.inject(auxiliary.getKey().getName(), auxiliary.getValue());
-                                    initializationStrategy.initialize(type, loadedTypeInitializers.get(auxiliary.getKey()));
+                                Map<TypeDescription, Class<?>> auxiliaryTypes = ClassLoaderByteArrayInjector.inject(
+                                        new ClassLoaderByteArrayInjector(classLoader, protectionDomain),
+                                        dynamicType.getRawAuxiliaryTypes());
+                                for (Map.Entry<TypeDescription, Class<?>> auxiliary : auxiliaryTypes.entrySet()) {
+                                    initializationStrategy.initialize(auxiliary.getValue(), loadedTypeInitializers.get(auxiliary.getKey()));
                                 }
+                                timestamp = onPhase(Monitor.Phase.INJECTION, classLoader, timestamp);
                             }
                             initializationStrategy.register(binaryTypeName,
                                     classLoader,
                                     loadedTypeInitializers.get(dynamicType.getTypeDescription()));
+                            onPhase(Monitor.Phase.REGISTRATION, classLoader, timestamp);
                             listener.onTransformation(dynamicType);
+                            monitor.onOutcome(Monitor.Outcome.TRANSFORMED, classLoader);
                             return dynamicType.getBytes();
                         }
                     }
+                    onPhase(Monitor.Phase.MATCHING, classLoader, timestamp);
                     listener.onIgnored(binaryTypeName);
+                    monitor.onOutcome(Monitor.Outcome.IGNORED, classLoader);
                     return NO_TRANSFORMATION;
                 } catch (Throwable throwable) {
                     listener.onError(binaryTypeName, throwable);
+                    monitor.onOutcome(Monitor.Outcome.ERROR, classLoader);
                     return NO_TRANSFORMATION;
                 } finally {
                     listener.onComplete(binaryTypeName);
                 }
             }
 
+            /**
+             * Notifies the monitor about the completion of a phase.
+             *
+             * @param phase       The completed phase.
+             * @param classLoader The class loader of the type being transformed.
+             * @param timestamp   The time stamp at which the phase was started as measured by {@link System#nanoTime()}.
+             * @return The time stamp at which the phase was completed.
+             */
+            private long onPhase(Monitor.Phase phase, ClassLoader classLoader, long timestamp) {
+                long completion = System.nanoTime();
+                monitor.onPhase(phase, classLoader, completion - timestamp);
+                return completion;
+            }
+
+            /**
+             * Checks if any registered transformation might match a type only by its name and class loader, i.e.
+             * without describing the type.
+             *
+             * @param typeName            The binary name of the type being transformed.
+             * @param classLoader         The class loader of the type being transformed.
+             * @param classBeingRedefined The class being redefined or {@code null} if no retransformation is applied.
+             * @param protectionDomain    The protection domain of the type being transformed.
+             * @return {@code true} if any transformation might match the type being transformed.
+             */
+            private boolean mightMatch(String typeName,
+                                       ClassLoader classLoader,
+                                       Class<?> classBeingRedefined,
+                                       ProtectionDomain protectionDomain) {
+                for (Transformation transformation : entries) {
+                    if (transformation.mightMatch(typeName, classLoader, classBeingRedefined, protectionDomain)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
             @Override
             public String toString() {
                 return "AgentBuilder.Default.ExecutingTransformer{" +
@@ -1497,6 +2525,11 @@ public interface AgentBuilder {
                 return materialize().withListener(listener);
             }
 
+            @Override
+            public AgentBuilder withMonitor(Monitor monitor) {
+                return materialize().withMonitor(monitor);
+            }
+
             @Override
             public AgentBuilder withBinaryLocator(BinaryLocator binaryLocator) {
                 return materialize().withBinaryLocator(binaryLocator);
@@ -1541,6 +2574,7 @@ public interface AgentBuilder {
                 return new Default(byteBuddy,
                         binaryLocator,
                         listener,
+                        monitor,
                         nativeMethodPrefix,
                         disableSelfInitialization,
                         retransformation,
@@ -0,0 +1,593 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.pool.TypePool;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static net.bytebuddy.utility.ByteBuddyCommons.join;
+import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
+
+/**
+ * <p>
+ * A weaving engine applies transformations to all types of a <i>jar</i> file or of a folder and writes the result
+ * into a new <i>jar</i> file or folder. All types are described by a single type pool which is shared among the
+ * transformations which are executed in parallel by a given {@link java.util.concurrent.ExecutorService}. Any type
+ * is transformed by the first transformation whose matcher matches the type's description by rebasing the type.
+ * </p>
+ * <p>
+ * The transformed types are written in the order of their names such that the result does not depend on the
+ * order in which transformations are completed. Only a bounded number of transformations is submitted to the executor
+ * service at any time such that the number of transformed types that are retained in memory does not grow with the
+ * size of the source. Any entry of the source that does not represent a transformed type is copied to the target.
+ * If weaving a <i>jar</i> file fails, the incomplete target file is deleted.
+ * </p>
+ */
+public class WeavingEngine {
+
+    /**
+     * The size of the buffer that is used for copying files.
+     */
+    private static final int BUFFER_SIZE = 1024 * 8;
+
+    /**
+     * A convenience index for the beginning of an array to improve the readability of the code.
+     */
+    private static final int FROM_BEGINNING = 0;
+
+    /**
+     * A convenience representative of an {@link java.io.InputStream}'s end to improve the readability of the code.
+     */
+    private static final int END_OF_FILE = -1;
+
+    /**
+     * The number of transformations per available processor that are submitted to an executor service at any time
+     * if no explicit maximum is specified.
+     */
+    private static final int IN_FLIGHT_PER_PROCESSOR = 2;
+
+    /**
+     * The Byte Buddy instance to use for rebasing types.
+     */
+    private final ByteBuddy byteBuddy;
+
+    /**
+     * The transformations to apply in their application order.
+     */
+    private final List<Transformation> transformations;
+
+    /**
+     * Creates a new weaving engine without any transformations that uses a default Byte Buddy instance.
+     */
+    public WeavingEngine() {
+        this(new ByteBuddy());
+    }
+
+    /**
+     * Creates a new weaving engine without any transformations.
+     *
+     * @param byteBuddy The Byte Buddy instance to use for rebasing types.
+     */
+    public WeavingEngine(ByteBuddy byteBuddy) {
+        this(byteBuddy, Collections.<Transformation>emptyList());
+    }
+
+    /**
+     * Creates a new weaving engine.
+     *
+     * @param byteBuddy       The Byte Buddy instance to use for rebasing types.
+     * @param transformations The transformations to apply in their application order.
+     */
+    protected WeavingEngine(ByteBuddy byteBuddy, List<Transformation> transformations) {
+        this.byteBuddy = byteBuddy;
+        this.transformations = transformations;
+    }
+
+    /**
+     * Registers a transformation for any type that is matched by the given matcher. A transformation is only applied
+     * if no previously registered transformation matches a type.
+     *
+     * @param matcher     A matcher for the types to transform.
+     * @param transformer The transformer to apply to any matched type.
+     * @return A weaving engine that additionally applies the given transformation.
+     */
+    public WeavingEngine type(ElementMatcher<? super TypeDescription> matcher, AgentBuilder.Transformer transformer) {
+        return new WeavingEngine(byteBuddy, join(transformations, new Transformation(nonNull(matcher), nonNull(transformer))));
+    }
+
+    /**
+     * Weaves all types of the given source which is either a <i>jar</i> file or a folder. Types are transformed in
+     * parallel by a thread pool with a thread per available processor.
+     *
+     * @param source           The <i>jar</i> file or folder containing the types to weave.
+     * @param target           The <i>jar</i> file or folder to write the woven types to. If the source is a folder,
+     *                         the target must also represent a folder.
+     * @param classFileLocator A class file locator for any dependencies of the source's types that are not contained
+     *                         in the source.
+     * @return A list of the descriptions of all types that were transformed.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public List<TypeDescription> weave(File source, File target, ClassFileLocator classFileLocator) throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return weave(source, target, classFileLocator, executorService);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Weaves all types of the given source which is either a <i>jar</i> file or a folder. At most two
+     * transformations per available processor are submitted to the executor service at any time.
+     *
+     * @param source           The <i>jar</i> file or folder containing the types to weave.
+     * @param target           The <i>jar</i> file or folder to write the woven types to. If the source is a folder,
+     *                         the target must also represent a folder.
+     * @param classFileLocator A class file locator for any dependencies of the source's types that are not contained
+     *                         in the source.
+     * @param executorService  The executor service to apply the transformations on.
+     * @return A list of the descriptions of all types that were transformed.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public List<TypeDescription> weave(File source,
+                                       File target,
+                                       ClassFileLocator classFileLocator,
+                                       ExecutorService executorService) throws IOException {
+        return weave(source,
+                target,
+                classFileLocator,
+                executorService,
+                Runtime.getRuntime().availableProcessors() * IN_FLIGHT_PER_PROCESSOR);
+    }
+
+    /**
+     * Weaves all types of the given source which is either a <i>jar</i> file or a folder.
+     *
+     * @param source           The <i>jar</i> file or folder containing the types to weave.
+     * @param target           The <i>jar</i> file or folder to write the woven types to. If the source is a folder,
+     *                         the target must also represent a folder.
+     * @param classFileLocator A class file locator for any dependencies of the source's types that are not contained
+     *                         in the source.
+     * @param executorService  The executor service to apply the transformations on.
+     * @param maximumInFlight  The maximum number of transformations that are submitted to the executor service
+     *                         but whose result is not yet written.
+     * @return A list of the descriptions of all types that were transformed.
+     * @throws IOException If an I/O exception occurs.
+     */
+    public List<TypeDescription> weave(File source,
+                                       File target,
+                                       ClassFileLocator classFileLocator,
+                                       ExecutorService executorService,
+                                       int maximumInFlight) throws IOException {
+        if (maximumInFlight < 1) {
+            throw new IllegalArgumentException("The maximum number of transformations in flight must be positive: " + maximumInFlight);
+        }
+        if (source.isDirectory()) {
+            ClassFileLocator.ForFolder sourceLocator = new ClassFileLocator.ForFolder(source);
+            copy(source, target);
+            return weave(sourceLocator.getTypeNames(),
+                    sourceLocator,
+                    classFileLocator,
+                    executorService,
+                    maximumInFlight,
+                    new Sink.ForFolder(target));
+        } else {
+            ClassFileLocator.ForJarFile sourceLocator = new ClassFileLocator.ForJarFile(source);
+            try {
+                DynamicType.JarWriter jarWriter = DynamicType.JarWriter.injecting(source, target);
+                boolean completed = false;
+                try {
+                    List<TypeDescription> transformedTypes = weave(sourceLocator.getTypeNames(),
+                            sourceLocator,
+                            classFileLocator,
+                            executorService,
+                            maximumInFlight,
+                            new Sink.ForJarWriter(jarWriter));
+                    jarWriter.close();
+                    completed = true;
+                    return transformedTypes;
+                } finally {
+                    if (!completed) {
+                        jarWriter.abort();
+                        if (target.exists() && !target.delete()) {
+                            target.deleteOnExit();
+                        }
+                    }
+                }
+            } finally {
+                sourceLocator.close();
+            }
+        }
+    }
+
+    /**
+     * Weaves all given types in the order of their names. Any pending transformation is cancelled if a type
+     * cannot be woven or written.
+     *
+     * @param typeNames        The names of the types to weave.
+     * @param sourceLocator    A class file locator for the source's types.
+     * @param classFileLocator A class file locator for any dependencies of the source's types.
+     * @param executorService  The executor service to apply the transformations on.
+     * @param maximumInFlight  The maximum number of transformations that are submitted to the executor service
+     *                         but whose result is not yet written.
+     * @param sink             The sink to write the woven types to.
+     * @return A list of the descriptions of all types that were transformed.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private List<TypeDescription> weave(Set<String> typeNames,
+                                        ClassFileLocator sourceLocator,
+                                        ClassFileLocator classFileLocator,
+                                        ExecutorService executorService,
+                                        int maximumInFlight,
+                                        Sink sink) throws IOException {
+        ClassFileLocator compoundLocator = new ClassFileLocator.Compound(sourceLocator, classFileLocator);
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(), compoundLocator);
+        Iterator<String> iterator = new TreeSet<String>(typeNames).iterator();
+        LinkedList<Future<DynamicType>> futures = new LinkedList<Future<DynamicType>>();
+        List<TypeDescription> transformedTypes = new ArrayList<TypeDescription>();
+        try {
+            while (iterator.hasNext() || !futures.isEmpty()) {
+                while (iterator.hasNext() && futures.size() < maximumInFlight) {
+                    futures.add(executorService.submit(new Weaving(iterator.next(), typePool, compoundLocator)));
+                }
+                DynamicType dynamicType = resolve(futures.removeFirst());
+                if (dynamicType != null) {
+                    sink.write(dynamicType);
+                    transformedTypes.add(dynamicType.getTypeDescription());
+                }
+            }
+            return transformedTypes;
+        } finally {
+            for (Future<DynamicType> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Resolves the result of a weaving.
+     *
+     * @param future The future of the weaving.
+     * @return The woven type or {@code null} if the type was not transformed.
+     * @throws IOException If an I/O exception occurred during the weaving.
+     */
+    private static DynamicType resolve(Future<DynamicType> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while weaving types", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Cannot weave type", e.getCause());
+        }
+    }
+
+    /**
+     * Copies a folder and all of its contents into a target folder.
+     *
+     * @param source The folder to copy.
+     * @param target The folder to copy to.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static void copy(File source, File target) throws IOException {
+        if (!target.isDirectory() && !target.mkdirs()) {
+            throw new IOException("Cannot create folder " + target);
+        }
+        File[] file = source.listFiles();
+        if (file == null) {
+            throw new IOException("Cannot list files of " + source);
+        }
+        Arrays.sort(file);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (File aFile : file) {
+            if (aFile.isDirectory()) {
+                copy(aFile, new File(target, aFile.getName()));
+            } else {
+                InputStream inputStream = new FileInputStream(aFile);
+                try {
+                    OutputStream outputStream = new FileOutputStream(new File(target, aFile.getName()));
+                    try {
+                        int length;
+                        while ((length = inputStream.read(buffer)) != END_OF_FILE) {
+                            outputStream.write(buffer, FROM_BEGINNING, length);
+                        }
+                    } finally {
+                        outputStream.close();
+                    }
+                } finally {
+                    inputStream.close();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && byteBuddy.equals(((WeavingEngine) other).byteBuddy)
+                && transformations.equals(((WeavingEngine) other).transformations);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * byteBuddy.hashCode() + transformations.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "WeavingEngine{" +
+                "byteBuddy=" + byteBuddy +
+                ", transformations=" + transformations +
+                '}';
+    }
+
+    /**
+     * A sink to which woven types are written.
+     */
+    protected interface Sink {
+
+        /**
+         * Writes a woven type.
+         *
+         * @param dynamicType The woven type.
+         * @throws IOException If an I/O exception occurs.
+         */
+        void write(DynamicType dynamicType) throws IOException;
+
+        /**
+         * A sink that saves woven types in a folder.
+         */
+        static class ForFolder implements Sink {
+
+            /**
+             * The folder in which woven types are saved.
+             */
+            private final File folder;
+
+            /**
+             * Creates a new sink for a folder.
+             *
+             * @param folder The folder in which woven types are saved.
+             */
+            protected ForFolder(File folder) {
+                this.folder = folder;
+            }
+
+            @Override
+            public void write(DynamicType dynamicType) throws IOException {
+                dynamicType.saveIn(folder);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && folder.equals(((ForFolder) other).folder);
+            }
+
+            @Override
+            public int hashCode() {
+                return folder.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "WeavingEngine.Sink.ForFolder{" +
+                        "folder=" + folder +
+                        '}';
+            }
+        }
+
+        /**
+         * A sink that writes woven types to a <i>jar</i> writer.
+         */
+        static class ForJarWriter implements Sink {
+
+            /**
+             * The <i>jar</i> writer to which woven types are written.
+             */
+            private final DynamicType.JarWriter jarWriter;
+
+            /**
+             * Creates a new sink for a <i>jar</i> writer.
+             *
+             * @param jarWriter The <i>jar</i> writer to which woven types are written.
+             */
+            protected ForJarWriter(DynamicType.JarWriter jarWriter) {
+                this.jarWriter = jarWriter;
+            }
+
+            @Override
+            public void write(DynamicType dynamicType) throws IOException {
+                jarWriter.write(dynamicType);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && jarWriter.equals(((ForJarWriter) other).jarWriter);
+            }
+
+            @Override
+            public int hashCode() {
+                return jarWriter.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "WeavingEngine.Sink.ForJarWriter{" +
+                        "jarWriter=" + jarWriter +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A transformation that is applied to any type that is matched by a given matcher.
+     */
+    protected static class Transformation {
+
+        /**
+         * A matcher for the types to transform.
+         */
+        private final ElementMatcher<? super TypeDescription> matcher;
+
+        /**
+         * The transformer to apply to any matched type.
+         */
+        private final AgentBuilder.Transformer transformer;
+
+        /**
+         * Creates a new transformation.
+         *
+         * @param matcher     A matcher for the types to transform.
+         * @param transformer The transformer to apply to any matched type.
+         */
+        protected Transformation(ElementMatcher<? super TypeDescription> matcher, AgentBuilder.Transformer transformer) {
+            this.matcher = matcher;
+            this.transformer = transformer;
+        }
+
+        /**
+         * Checks if this transformation should be applied to the given type.
+         *
+         * @param typeDescription A description of the type to check.
+         * @return {@code true} if this transformation should be applied to the given type.
+         */
+        protected boolean matches(TypeDescription typeDescription) {
+            return matcher.matches(typeDescription);
+        }
+
+        /**
+         * Applies this transformation's transformer to the given builder.
+         *
+         * @param builder The builder to transform.
+         * @return The transformed builder.
+         */
+        protected DynamicType.Builder<?> transform(DynamicType.Builder<?> builder) {
+            return transformer.transform(builder);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && matcher.equals(((Transformation) other).matcher)
+                    && transformer.equals(((Transformation) other).transformer);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * matcher.hashCode() + transformer.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "WeavingEngine.Transformation{" +
+                    "matcher=" + matcher +
+                    ", transformer=" + transformer +
+                    '}';
+        }
+    }
+
+    /**
+     * A weaving of a single type which is executed by an executor service.
+     */
+    protected class Weaving implements Callable<DynamicType> {
+
+        /**
+         * The name of the type to weave.
+         */
+        private final String typeName;
+
+        /**
+         * The type pool to use for describing types.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The class file locator to use for locating class files.
+         */
+        private final ClassFileLocator classFileLocator;
+
+        /**
+         * Creates a new weaving.
+         *
+         * @param typeName         The name of the type to weave.
+         * @param typePool         The type pool to use for describing types.
+         * @param classFileLocator The class file locator to use for locating class files.
+         */
+        protected Weaving(String typeName, TypePool typePool, ClassFileLocator classFileLocator) {
+            this.typeName = typeName;
+            this.typePool = typePool;
+            this.classFileLocator = classFileLocator;
+        }
+
+        /**
+         * Weaves the represented type.
+         *
+         * @return The woven type or {@code null} if no transformation matches the type.
+         */
+        @Override
+        public DynamicType call() {
+            TypeDescription typeDescription = typePool.describe(typeName).resolve();
+            for (Transformation transformation : transformations) {
+                if (transformation.matches(typeDescription)) {
+                    return transformation.transform(byteBuddy.rebase(typeDescription, classFileLocator)).make();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the outer instance.
+         *
+         * @return The outer instance.
+         */
+        private WeavingEngine getWeavingEngine() {
+            return WeavingEngine.this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Weaving weaving = (Weaving) other;
+            return typeName.equals(weaving.typeName)
+                    && typePool.equals(weaving.typePool)
+                    && classFileLocator.equals(weaving.classFileLocator)
+                    && WeavingEngine.this.equals(weaving.getWeavingEngine());
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typeName.hashCode();
+            result = 31 * result + typePool.hashCode();
+            result = 31 * result + classFileLocator.hashCode();
+            result = 31 * result + WeavingEngine.this.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "WeavingEngine.Weaving{" +
+                    "weavingEngine=" + WeavingEngine.this +
+                    ", typeName='" + typeName + '\'' +
+                    ", typePool=" + typePool +
+                    ", classFileLocator=" + classFileLocator +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * A weaving engine allows to apply transformations to all types of a <i>jar</i> file or a folder at build time such
+ * that the transformed types do not need to be transformed when they are loaded by an application.
+ */
+package net.bytebuddy.build;
@@ -1,14 +1,24 @@
 package net.bytebuddy.dynamic;
 
+import net.bytebuddy.utility.BoundedCache;
 import net.bytebuddy.utility.StreamDrainer;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static net.bytebuddy.utility.ByteBuddyCommons.nonNull;
 
@@ -185,8 +195,15 @@ public interface ClassFileLocator {
                     : classLoader);
         }
 
-        @Override
-        public Resolution locate(String typeName) throws IOException {
+        /**
+         * Locates the class file for a given type by querying the given class loader for the type's resource.
+         *
+         * @param classLoader The class loader to query.
+         * @param typeName    The name of the type to locate a class file representation for.
+         * @return Any binary representation of the type which might be illegal.
+         * @throws java.io.IOException If reading a class file causes an error.
+         */
+        protected static Resolution locate(ClassLoader classLoader, String typeName) throws IOException {
             InputStream inputStream = classLoader.getResourceAsStream(typeName.replace('.', '/') + CLASS_FILE_EXTENSION);
             if (inputStream != null) {
                 try {
@@ -199,6 +216,11 @@ public interface ClassFileLocator {
             }
         }
 
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            return locate(classLoader, typeName);
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -216,6 +238,297 @@ public interface ClassFileLocator {
                     "classLoader=" + classLoader +
                     '}';
         }
+
+        /**
+         * A class file locator that queries a class loader for binary representations of class files but only
+         * references this class loader weakly. This way, the locator can be stored in long-living caches without
+         * preventing the garbage collection of the class loader. After the class loader was collected, this
+         * locator does no longer resolve any class files.
+         */
+        public static class WeaklyReferenced extends WeakReference<ClassLoader> implements ClassFileLocator {
+
+            /**
+             * The represented class loader's identity hash code which is stored in order to remain stable
+             * after the class loader was collected.
+             */
+            private final int hashCode;
+
+            /**
+             * Creates a new weakly referencing class file locator for the given class loader.
+             *
+             * @param classLoader The class loader to query which must not be the bootstrap class loader,
+             *                    i.e. {@code null}.
+             */
+            protected WeaklyReferenced(ClassLoader classLoader) {
+                super(classLoader);
+                hashCode = System.identityHashCode(classLoader);
+            }
+
+            /**
+             * Creates a weakly referencing class file locator for a given class loader.
+             *
+             * @param classLoader The class loader to be used. If this class loader represents the bootstrap class
+             *                    loader which is represented by the {@code null} value, this system class loader
+             *                    is used instead.
+             * @return A corresponding source locator.
+             */
+            public static ClassFileLocator of(ClassLoader classLoader) {
+                return new WeaklyReferenced(classLoader == null
+                        ? ClassLoader.getSystemClassLoader()
+                        : classLoader);
+            }
+
+            @Override
+            public Resolution locate(String typeName) throws IOException {
+                ClassLoader classLoader = get();
+                return classLoader == null
+                        ? Resolution.Illegal.INSTANCE
+                        : ForClassLoader.locate(classLoader, typeName);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ClassLoader classLoader = ((WeaklyReferenced) other).get();
+                return classLoader != null && get() == classLoader;
+            }
+
+            @Override
+            public int hashCode() {
+                return hashCode;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassFileLocator.ForClassLoader.WeaklyReferenced{" +
+                        "classLoader=" + get() +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A class file locator that locates class files within a jar file. When this locator is created, it builds an
+     * index of all class files in the jar file such that looking up a type only requires a single lookup in this
+     * index and a single read of the entry into an array of the entry's size. Looking up a type that is not
+     * contained in the jar file does not require any access to the file.
+     * </p>
+     * <p>
+     * The jar file remains open until this class file locator is closed.
+     * </p>
+     */
+    static class ForJarFile implements ClassFileLocator, Closeable {
+
+        /**
+         * The jar file to read from.
+         */
+        private final ZipFile zipFile;
+
+        /**
+         * A mapping of binary type names to the entries of their class files.
+         */
+        private final Map<String, ZipEntry> index;
+
+        /**
+         * Creates a new class file locator for the given jar file.
+         *
+         * @param file The jar file to read from.
+         * @throws IOException If the jar file cannot be read.
+         */
+        public ForJarFile(File file) throws IOException {
+            this(new ZipFile(file));
+        }
+
+        /**
+         * Creates a new class file locator for the given jar file.
+         *
+         * @param zipFile The jar file to read from.
+         */
+        public ForJarFile(ZipFile zipFile) {
+            this.zipFile = zipFile;
+            index = new HashMap<String, ZipEntry>();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry zipEntry = entries.nextElement();
+                String name = zipEntry.getName();
+                if (!zipEntry.isDirectory() && name.endsWith(CLASS_FILE_EXTENSION)) {
+                    index.put(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'), zipEntry);
+                }
+            }
+        }
+
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            ZipEntry zipEntry = index.get(typeName);
+            if (zipEntry == null) {
+                return Resolution.Illegal.INSTANCE;
+            }
+            long size = zipEntry.getSize();
+            InputStream inputStream = zipFile.getInputStream(zipEntry);
+            try {
+                return new Resolution.Explicit(new StreamDrainer().drain(inputStream, size > StreamDrainer.UNKNOWN_SIZE
+                        ? (int) size
+                        : StreamDrainer.UNKNOWN_SIZE));
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        /**
+         * Returns the binary names of all types of which this locator contains a class file.
+         *
+         * @return The binary names of all types of which this locator contains a class file.
+         */
+        public Set<String> getTypeNames() {
+            return Collections.unmodifiableSet(index.keySet());
+        }
+
+        @Override
+        public void close() throws IOException {
+            zipFile.close();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && zipFile.equals(((ForJarFile) other).zipFile);
+        }
+
+        @Override
+        public int hashCode() {
+            return zipFile.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.ForJarFile{" +
+                    "zipFile=" + zipFile +
+                    ", index=" + index.size() +
+                    '}';
+        }
+    }
+
+    /**
+     * <p>
+     * A class file locator that locates class files within a folder of a package structure. When this locator is
+     * created, it builds an index of all class files in the folder such that looking up a type that is not contained
+     * in the folder does not require any access to the file system. A class file is read with a single read into an
+     * array of the file's size.
+     * </p>
+     * <p>
+     * Class files that are added to the folder after this locator was created are not located.
+     * </p>
+     */
+    static class ForFolder implements ClassFileLocator {
+
+        /**
+         * The folder to read from.
+         */
+        private final File folder;
+
+        /**
+         * A mapping of binary type names to their class files.
+         */
+        private final Map<String, File> index;
+
+        /**
+         * Creates a new class file locator for the given folder.
+         *
+         * @param folder The folder to read from.
+         */
+        public ForFolder(File folder) {
+            this(folder, new HashMap<String, File>());
+            index(folder, "", new HashSet<String>());
+        }
+
+        /**
+         * Creates a new class file locator for the given folder and index.
+         *
+         * @param folder The folder to read from.
+         * @param index  A mapping of binary type names to their class files.
+         */
+        protected ForFolder(File folder, Map<String, File> index) {
+            this.folder = folder;
+            this.index = index;
+        }
+
+        /**
+         * Adds all class files within the given folder and its sub folders to the index.
+         *
+         * @param folder      The folder to index.
+         * @param packageName The name of the package that is represented by the folder including a trailing dot
+         *                    or the empty string for the default package.
+         * @param visited     The canonical paths of all folders that were already indexed what avoids an endless
+         *                    recursion if a folder is linked from one of its sub folders.
+         */
+        private void index(File folder, String packageName, Set<String> visited) {
+            try {
+                if (!visited.add(folder.getCanonicalPath())) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                return; // The folder cannot be resolved and is therefore not indexed.
+            }
+            File[] file = folder.listFiles();
+            if (file == null) {
+                return;
+            }
+            for (File aFile : file) {
+                String name = aFile.getName();
+                if (aFile.isDirectory()) {
+                    index(aFile, packageName + name + '.', visited);
+                } else if (name.endsWith(CLASS_FILE_EXTENSION)) {
+                    index.put(packageName + name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()), aFile);
+                }
+            }
+        }
+
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            File file = index.get(typeName);
+            if (file == null) {
+                return Resolution.Illegal.INSTANCE;
+            }
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                byte[] binaryRepresentation = new byte[(int) randomAccessFile.length()];
+                randomAccessFile.readFully(binaryRepresentation);
+                return new Resolution.Explicit(binaryRepresentation);
+            } finally {
+                randomAccessFile.close();
+            }
+        }
+
+        /**
+         * Returns the binary names of all types of which this locator contains a class file.
+         *
+         * @return The binary names of all types of which this locator contains a class file.
+         */
+        public Set<String> getTypeNames() {
+            return Collections.unmodifiableSet(index.keySet());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && folder.equals(((ForFolder) other).folder)
+                    && index.equals(((ForFolder) other).index);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * folder.hashCode() + index.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.ForFolder{" +
+                    "folder=" + folder +
+                    ", index=" + index.size() +
+                    '}';
+        }
     }
 
     /**
@@ -408,6 +721,50 @@ public interface ClassFileLocator {
         }
     }
 
+    /**
+     * A class file locator that locates class files from a given map of binary type names to class files.
+     */
+    static class Simple implements ClassFileLocator {
+
+        /**
+         * A mapping of binary type names to their class files.
+         */
+        private final Map<String, byte[]> classFiles;
+
+        /**
+         * Creates a new class file locator for the given class files.
+         *
+         * @param classFiles A mapping of binary type names to their class files.
+         */
+        public Simple(Map<String, byte[]> classFiles) {
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        public Resolution locate(String typeName) {
+            byte[] binaryRepresentation = classFiles.get(typeName);
+            return binaryRepresentation == null
+                    ? Resolution.Illegal.INSTANCE
+                    : new Resolution.Explicit(binaryRepresentation);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && classFiles.equals(((Simple) other).classFiles);
+        }
+
+        @Override
+        public int hashCode() {
+            return classFiles.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.Simple{classFiles=" + classFiles.keySet() + '}';
+        }
+    }
+
     /**
      * A compound {@link ClassFileLocator} that chains several locators.
      * Any class file locator is queried in the supplied order until one locator is able to provide an input
@@ -458,4 +815,321 @@ public interface ClassFileLocator {
             return "ClassFileLocator.Compound{classFileLocator=" + Arrays.toString(classFileLocator) + '}';
         }
     }
+
+    /**
+     * <p>
+     * A class file locator that caches the resolutions of another class file locator. The number of cached
+     * resolutions is bounded where resolutions that were not queried recently are discarded when this bound is exceeded.
+     * Resolutions that could not be resolved are cached as well.
+     * </p>
+     * <p>
+     * Any resolved binary representation is deduplicated by a {@link ClassFileLocator.Caching.Deduplicator}. By
+     * sharing a deduplicator among several caching class file locators, for example among the class file locators
+     * of different class loaders, identical class files are only retained once. A located resolution always
+     * represents a copy of the cached binary representation such that altering it does not affect the cache.
+     * </p>
+     */
+    static class Caching implements ClassFileLocator {
+
+        /**
+         * The weight of a single cached resolution.
+         */
+        private static final int SINGLE_RESOLUTION = 1;
+
+        /**
+         * The class file locator whose resolutions are cached.
+         */
+        private final ClassFileLocator classFileLocator;
+
+        /**
+         * The deduplicator to apply to any resolved binary representation.
+         */
+        private final Deduplicator deduplicator;
+
+        /**
+         * The cache that stores the resolutions by their type names.
+         */
+        private final BoundedCache<String, Resolution> cache;
+
+        /**
+         * Creates a new caching class file locator that does not deduplicate binary representations.
+         *
+         * @param classFileLocator The class file locator whose resolutions are cached.
+         * @param maximumSize      The maximum number of resolutions that are retained by this cache.
+         */
+        public Caching(ClassFileLocator classFileLocator, int maximumSize) {
+            this(classFileLocator, maximumSize, Deduplicator.NoOp.INSTANCE);
+        }
+
+        /**
+         * Creates a new caching class file locator.
+         *
+         * @param classFileLocator The class file locator whose resolutions are cached.
+         * @param maximumSize      The maximum number of resolutions that are retained by this cache.
+         * @param deduplicator     The deduplicator to apply to any resolved binary representation.
+         */
+        public Caching(ClassFileLocator classFileLocator, int maximumSize, Deduplicator deduplicator) {
+            this.classFileLocator = classFileLocator;
+            this.deduplicator = deduplicator;
+            cache = new BoundedCache<String, Resolution>(maximumSize);
+        }
+
+        /**
+         * Returns a resolution that represents a copy of the given resolution's binary representation. As cached
+         * binary representations are shared with any other type of identical content, they must never be exposed
+         * to a user who might alter them.
+         *
+         * @param resolution The cached resolution.
+         * @return A resolution that does not expose the cached binary representation.
+         */
+        private static Resolution copyOf(Resolution resolution) {
+            return resolution.isResolved()
+                    ? new Resolution.Explicit(resolution.resolve().clone())
+                    : resolution;
+        }
+
+        @Override
+        public Resolution locate(String typeName) throws IOException {
+            Resolution resolution = cache.get(typeName);
+            if (resolution == null) {
+                resolution = classFileLocator.locate(typeName);
+                if (resolution.isResolved()) {
+                    resolution = new Resolution.Explicit(deduplicator.deduplicate(resolution.resolve()));
+                }
+                resolution = cache.putIfAbsent(typeName, resolution, SINGLE_RESOLUTION);
+            }
+            return copyOf(resolution);
+        }
+
+        /**
+         * Discards all cached resolutions.
+         */
+        public void clear() {
+            cache.clear();
+        }
+
+        /**
+         * Returns a snapshot of this cache's current statistics.
+         *
+         * @return A snapshot of this cache's current statistics.
+         */
+        public BoundedCache.Statistics getStatistics() {
+            return cache.getStatistics();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.Caching{" +
+                    "classFileLocator=" + classFileLocator +
+                    ", deduplicator=" + deduplicator +
+                    ", cache=" + cache +
+                    '}';
+        }
+
+        /**
+         * A deduplicator returns a previously seen byte array for any byte array of identical content.
+         */
+        public static interface Deduplicator {
+
+            /**
+             * Deduplicates the given byte array.
+             *
+             * @param binaryRepresentation The byte array to deduplicate. The array must not be altered.
+             * @return A byte array of identical content which might be the given array itself.
+             */
+            byte[] deduplicate(byte[] binaryRepresentation);
+
+            /**
+             * A deduplicator that returns any byte array without deduplication.
+             */
+            static enum NoOp implements Deduplicator {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public byte[] deduplicate(byte[] binaryRepresentation) {
+                    return binaryRepresentation;
+                }
+            }
+
+            /**
+             * A deduplicator that identifies byte arrays by the SHA-1 hash of their content. The deduplicated byte
+             * arrays are only referenced weakly such that a byte array is discarded when it is no longer used by
+             * any cache.
+             */
+            static class WeaklyReferenced implements Deduplicator {
+
+                /**
+                 * The algorithm that is used for hashing a byte array's content.
+                 */
+                private static final String DIGEST_ALGORITHM = "SHA-1";
+
+                /**
+                 * A map of weakly referenced byte arrays by the hash of their content.
+                 */
+                private final ConcurrentMap<Hash, Entry> binaryRepresentations;
+
+                /**
+                 * The reference queue that is notified about byte arrays that were collected.
+                 */
+                private final ReferenceQueue<byte[]> referenceQueue;
+
+                /**
+                 * The number of byte arrays that were replaced by a previously seen byte array.
+                 */
+                private final AtomicLong deduplicationCount;
+
+                /**
+                 * Creates a new weakly referencing deduplicator.
+                 */
+                public WeaklyReferenced() {
+                    binaryRepresentations = new ConcurrentHashMap<Hash, Entry>();
+                    referenceQueue = new ReferenceQueue<byte[]>();
+                    deduplicationCount = new AtomicLong();
+                }
+
+                @Override
+                public byte[] deduplicate(byte[] binaryRepresentation) {
+                    expungeStaleEntries();
+                    Hash hash;
+                    try {
+                        hash = new Hash(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(binaryRepresentation));
+                    } catch (NoSuchAlgorithmException e) {
+                        throw new IllegalStateException("Cannot compute hash of class file", e);
+                    }
+                    Entry entry = new Entry(hash, binaryRepresentation, referenceQueue);
+                    do {
+                        Entry previous = binaryRepresentations.putIfAbsent(hash, entry);
+                        if (previous == null) {
+                            return binaryRepresentation;
+                        }
+                        byte[] deduplicated = previous.get();
+                        if (deduplicated != null) {
+                            deduplicationCount.incrementAndGet();
+                            return deduplicated;
+                        }
+                        binaryRepresentations.remove(hash, previous);
+                    } while (true);
+                }
+
+                /**
+                 * Removes all entries of byte arrays that were collected.
+                 */
+                private void expungeStaleEntries() {
+                    Reference<? extends byte[]> reference;
+                    while ((reference = referenceQueue.poll()) != null) {
+                        binaryRepresentations.remove(((Entry) reference).getHash(), reference);
+                    }
+                }
+
+                /**
+                 * Returns the number of byte arrays that are currently retained by this deduplicator.
+                 *
+                 * @return The number of byte arrays that are currently retained by this deduplicator.
+                 */
+                public int size() {
+                    expungeStaleEntries();
+                    return binaryRepresentations.size();
+                }
+
+                /**
+                 * Returns the number of byte arrays that were replaced by a previously seen byte array.
+                 *
+                 * @return The number of byte arrays that were replaced by a previously seen byte array.
+                 */
+                public long getDeduplicationCount() {
+                    return deduplicationCount.get();
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassFileLocator.Caching.Deduplicator.WeaklyReferenced{" +
+                            "binaryRepresentations=" + binaryRepresentations.size() +
+                            ", referenceQueue=" + referenceQueue +
+                            ", deduplicationCount=" + deduplicationCount +
+                            '}';
+                }
+
+                /**
+                 * The hash of a byte array's content.
+                 */
+                protected static class Hash {
+
+                    /**
+                     * The hash value.
+                     */
+                    private final byte[] value;
+
+                    /**
+                     * Creates a new hash.
+                     *
+                     * @param value The hash value.
+                     */
+                    protected Hash(byte[] value) {
+                        this.value = value;
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        return this == other || !(other == null || getClass() != other.getClass())
+                                && Arrays.equals(value, ((Hash) other).value);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return Arrays.hashCode(value);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "ClassFileLocator.Caching.Deduplicator.WeaklyReferenced.Hash{" +
+                                "value=" + Arrays.toString(value) +
+                                '}';
+                    }
+                }
+
+                /**
+                 * A weak reference to a deduplicated byte array that remembers the hash of its referent.
+                 */
+                protected static class Entry extends WeakReference<byte[]> {
+
+                    /**
+                     * The hash of the referenced byte array.
+                     */
+                    private final Hash hash;
+
+                    /**
+                     * Creates a new entry.
+                     *
+                     * @param hash                 The hash of the referenced byte array.
+                     * @param binaryRepresentation The referenced byte array.
+                     * @param referenceQueue       The reference queue to notify when the byte array is collected.
+                     */
+                    protected Entry(Hash hash, byte[] binaryRepresentation, ReferenceQueue<byte[]> referenceQueue) {
+                        super(binaryRepresentation, referenceQueue);
+                        this.hash = hash;
+                    }
+
+                    /**
+                     * Returns the hash of the referenced byte array.
+                     *
+                     * @return The hash of the referenced byte array.
+                     */
+                    protected Hash getHash() {
+                        return hash;
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "ClassFileLocator.Caching.Deduplicator.WeaklyReferenced.Entry{" +
+                                "hash=" + hash +
+                                '}';
+                    }
+                }
+            }
+        }
+    }
 }
@@ -4,8 +4,13 @@ import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
 import net.bytebuddy.dynamic.loading.ClassLoaderByteArrayInjector;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.security.ProtectionDomain;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * A strategy for loading a collection of types.
@@ -272,6 +277,160 @@ public interface ClassLoadingStrategy {
         }
     }
 
+    /**
+     * <p>
+     * A class loading strategy that loads types by a pooled {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader.Growable}
+     * per parent class loader instead of creating a new class loader for each collection of loaded types as done by
+     * {@link net.bytebuddy.dynamic.ClassLoadingStrategy.Default#WRAPPER}. New types are appended to the current pooled
+     * class loader of a parent until this class loader defines a maximum number of types or until it already knows
+     * a type of the same name. In this case, a new class loader is created which then replaces the previously pooled
+     * class loader.
+     * </p>
+     * <p>
+     * <b>Important</b>: Pooled class loaders are only referenced weakly by this strategy. A class loader and all its
+     * types are therefore eligible for garbage collection once none of its types or their instances are referenced any
+     * longer. Note however that a class loader is not unloaded before all of its types become unreachable.
+     * </p>
+     */
+    static class Pooling implements WithDefaultProtectionDomain {
+
+        /**
+         * The default maximum number of types that are defined by a single pooled class loader.
+         */
+        public static final int DEFAULT_MAXIMUM_TYPES = 256;
+
+        /**
+         * The protection domain to apply where {@code null} references an implicit protection domain.
+         */
+        private final ProtectionDomain protectionDomain;
+
+        /**
+         * The persistence handler to apply.
+         */
+        private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
+
+        /**
+         * The maximum number of types that are defined by a single pooled class loader.
+         */
+        private final int maximumTypes;
+
+        /**
+         * A map of parent class loaders to their currently pooled class loader. This map must only be accessed
+         * while holding its monitor.
+         */
+        private final Map<ClassLoader, Reference<ByteArrayClassLoader.Growable>> pool;
+
+        /**
+         * Creates a new pooling class loading strategy with a default maximum of types per class loader.
+         */
+        public Pooling() {
+            this(DEFAULT_MAXIMUM_TYPES);
+        }
+
+        /**
+         * Creates a new pooling class loading strategy that applies a latent persistence handler and the
+         * default protection domain.
+         *
+         * @param maximumTypes The maximum number of types that are defined by a single pooled class loader.
+         */
+        public Pooling(int maximumTypes) {
+            this(Default.DEFAULT_PROTECTION_DOMAIN, ByteArrayClassLoader.PersistenceHandler.LATENT, maximumTypes);
+        }
+
+        /**
+         * Creates a new pooling class loading strategy.
+         *
+         * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+         *                           protection domain.
+         * @param persistenceHandler The persistence handler to apply.
+         * @param maximumTypes       The maximum number of types that are defined by a single pooled class loader.
+         */
+        public Pooling(ProtectionDomain protectionDomain,
+                       ByteArrayClassLoader.PersistenceHandler persistenceHandler,
+                       int maximumTypes) {
+            if (maximumTypes < 1) {
+                throw new IllegalArgumentException("Maximum number of types must be positive: " + maximumTypes);
+            }
+            this.protectionDomain = protectionDomain;
+            this.persistenceHandler = persistenceHandler;
+            this.maximumTypes = maximumTypes;
+            pool = new WeakHashMap<ClassLoader, Reference<ByteArrayClassLoader.Growable>>();
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            Map<String, byte[]> typeDefinitions = new HashMap<String, byte[]>(types.size());
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                typeDefinitions.put(entry.getKey().getName(), entry.getValue());
+            }
+            ClassLoader pooledClassLoader = register(classLoader, typeDefinitions);
+            Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+            for (TypeDescription typeDescription : types.keySet()) {
+                try {
+                    loadedTypes.put(typeDescription, pooledClassLoader.loadClass(typeDescription.getName()));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Cannot load class " + typeDescription, e);
+                }
+            }
+            return loadedTypes;
+        }
+
+        /**
+         * Registers the given type definitions with the pooled class loader of the given parent class loader. If
+         * the currently pooled class loader cannot accept the type definitions, a new class loader is pooled.
+         *
+         * @param classLoader     The parent class loader.
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         * @return The class loader that is capable of loading the given types.
+         */
+        private ClassLoader register(ClassLoader classLoader, Map<String, byte[]> typeDefinitions) {
+            synchronized (pool) {
+                Reference<ByteArrayClassLoader.Growable> reference = pool.get(classLoader);
+                ByteArrayClassLoader.Growable pooledClassLoader = reference == null
+                        ? null
+                        : reference.get();
+                if (pooledClassLoader == null || !pooledClassLoader.append(typeDefinitions, maximumTypes)) {
+                    pooledClassLoader = new ByteArrayClassLoader.Growable(classLoader, protectionDomain, persistenceHandler);
+                    pooledClassLoader.append(typeDefinitions, maximumTypes);
+                    pool.put(classLoader, new WeakReference<ByteArrayClassLoader.Growable>(pooledClassLoader));
+                }
+                return pooledClassLoader;
+            }
+        }
+
+        /**
+         * Returns the number of parent class loaders for which this strategy currently pools a class loader.
+         *
+         * @return The number of parent class loaders for which this strategy currently pools a class loader.
+         */
+        public int getPoolSize() {
+            synchronized (pool) {
+                int poolSize = 0;
+                for (Reference<ByteArrayClassLoader.Growable> reference : pool.values()) {
+                    if (reference.get() != null) {
+                        poolSize++;
+                    }
+                }
+                return poolSize;
+            }
+        }
+
+        @Override
+        public ClassLoadingStrategy withProtectionDomain(ProtectionDomain protectionDomain) {
+            return new Pooling(protectionDomain, persistenceHandler, maximumTypes);
+        }
+
+        @Override
+        public String toString() {
+            return "ClassLoadingStrategy.Pooling{" +
+                    "protectionDomain=" + protectionDomain +
+                    ", persistenceHandler=" + persistenceHandler +
+                    ", maximumTypes=" + maximumTypes +
+                    ", pool=" + getPoolSize() +
+                    '}';
+        }
+    }
+
     /**
      * A {@link net.bytebuddy.dynamic.ClassLoadingStrategy} that applies a default {@link java.security.ProtectionDomain}.
      */
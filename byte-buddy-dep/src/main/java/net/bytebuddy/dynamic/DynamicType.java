@@ -6,6 +6,7 @@ import net.bytebuddy.asm.ClassVisitorWrapper;
 import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
 import net.bytebuddy.dynamic.scaffold.FieldRegistry;
 import net.bytebuddy.dynamic.scaffold.MethodRegistry;
+import net.bytebuddy.dynamic.scaffold.TypeWriter;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.LoadedTypeInitializer;
 import net.bytebuddy.instrumentation.ModifierContributor;
@@ -27,11 +28,14 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
 import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 import static net.bytebuddy.utility.ByteBuddyCommons.*;
@@ -565,6 +569,24 @@ public interface DynamicType {
          */
         Unloaded<T> make();
 
+        /**
+         * Creates the dynamic type without loading it where the class files of any auxiliary types that are registered
+         * while writing the created type are written concurrently by the given executor. The created type is only
+         * returned after all of its auxiliary types were written.
+         *
+         * @param executor The executor to which the writing of auxiliary types is submitted.
+         * @return An unloaded representation of the dynamic type.
+         */
+        Unloaded<T> make(Executor executor);
+
+        /**
+         * Creates the dynamic type without loading it where the created type's class file is only written when its
+         * binary representation is first required. The type description of the returned type is available immediately.
+         *
+         * @return An unloaded representation of the dynamic type of which the class file is written on demand.
+         */
+        Unloaded<T> makeDeferred();
+
         /**
          * Defines an instrumentation for a method that was added to this instrumentation or a to method selection
          * of existing methods.
@@ -2004,6 +2026,16 @@ public interface DynamicType {
                     return materialize().make();
                 }
 
+                @Override
+                public Unloaded<U> make(Executor executor) {
+                    return materialize().make(executor);
+                }
+
+                @Override
+                public Unloaded<U> makeDeferred() {
+                    return materialize().makeDeferred();
+                }
+
                 /**
                  * Materializes the current state of the build before applying another modification.
                  *
@@ -2645,6 +2677,265 @@ public interface DynamicType {
         Loaded<T> load(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy);
     }
 
+    /**
+     * <p>
+     * A writer for <i>jar</i> files that writes the class files of dynamic types as they are handed to it such that
+     * only the currently written dynamic type needs to be held in memory. When writing a large number of dynamic types,
+     * they can be supplied by an iterator that creates each dynamic type on demand.
+     * </p>
+     * <p>
+     * When a source <i>jar</i> file is injected, its manifest is copied before any dynamic type is written. Any other
+     * entry of the source file is only copied when this writer is closed and only if no dynamic type of the same name
+     * was written to the target file. Entries are copied from the source file by their random access such that copied
+     * entries never need to be buffered beyond a fixed size.
+     * </p>
+     */
+    static class JarWriter implements Closeable {
+
+        /**
+         * The file name extension for Java class files.
+         */
+        private static final String CLASS_FILE_EXTENSION = ".class";
+
+        /**
+         * The size of the buffer that is used for copying entries.
+         */
+        private static final int BUFFER_SIZE = 1024 * 8;
+
+        /**
+         * A convenience index for the beginning of an array to improve the readability of the code.
+         */
+        private static final int FROM_BEGINNING = 0;
+
+        /**
+         * A convenience representative of an {@link java.io.InputStream}'s end to improve the readability of the code.
+         */
+        private static final int END_OF_FILE = -1;
+
+        /**
+         * The output stream of the written <i>jar</i> file.
+         */
+        private final JarOutputStream outputStream;
+
+        /**
+         * The source <i>jar</i> file whose remaining entries are copied on closing this writer or {@code null} if
+         * no source file is injected.
+         */
+        private final ZipFile sourceJar;
+
+        /**
+         * The names of all entries that were written to the target file.
+         */
+        private final Set<String> writtenEntries;
+
+        /**
+         * A buffer that is used for copying entries.
+         */
+        private final byte[] buffer;
+
+        /**
+         * Creates a new <i>jar</i> writer.
+         *
+         * @param outputStream The output stream of the written <i>jar</i> file.
+         * @param sourceJar    The source <i>jar</i> file whose remaining entries are copied on closing this writer or
+         *                     {@code null} if no source file is injected.
+         */
+        protected JarWriter(JarOutputStream outputStream, ZipFile sourceJar) {
+            this.outputStream = outputStream;
+            this.sourceJar = sourceJar;
+            writtenEntries = new HashSet<String>();
+            buffer = new byte[BUFFER_SIZE];
+        }
+
+        /**
+         * Creates a writer for a new <i>jar</i> file. The folder of the given {@code file} must exist prior to calling
+         * this method.
+         *
+         * @param file     The target file to which the <i>jar</i> is written to.
+         * @param manifest The manifest of the created <i>jar</i>.
+         * @return A writer for the given file.
+         * @throws IOException If an IO exception occurs while creating the file.
+         */
+        public static JarWriter of(File file, Manifest manifest) throws IOException {
+            return new JarWriter(new JarOutputStream(new BufferedOutputStream(new FileOutputStream(file)), manifest), null);
+        }
+
+        /**
+         * Creates a writer that injects any written dynamic type into a copy of a given source <i>jar</i> file.
+         * Any pre-existent entry with the name of a written type is overridden. The {@code targetJar} file's folder
+         * must exist prior to calling this method and must not represent the {@code sourceJar}.
+         *
+         * @param sourceJar The original jar file.
+         * @param targetJar The {@code source} jar file with the injected contents.
+         * @return A writer for the given target file.
+         * @throws IOException If an IO exception occurs while creating the file.
+         */
+        public static JarWriter injecting(File sourceJar, File targetJar) throws IOException {
+            ZipFile zipFile = new ZipFile(sourceJar);
+            try {
+                JarWriter jarWriter = new JarWriter(new JarOutputStream(new BufferedOutputStream(new FileOutputStream(targetJar))), zipFile);
+                try {
+                    // The manifest is expected to be the first entry of a jar file.
+                    jarWriter.copy(JarFile.MANIFEST_NAME.substring(0, JarFile.MANIFEST_NAME.indexOf('/') + 1));
+                    jarWriter.copy(JarFile.MANIFEST_NAME);
+                    return jarWriter;
+                } catch (IOException e) {
+                    jarWriter.outputStream.close();
+                    throw e;
+                }
+            } catch (IOException e) {
+                zipFile.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Writes a dynamic type including all its auxiliary types.
+         *
+         * @param dynamicType The dynamic type to write.
+         * @return This writer.
+         * @throws IOException If an IO exception occurs while writing the dynamic type.
+         */
+        public JarWriter write(DynamicType dynamicType) throws IOException {
+            for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+            return write(dynamicType.getTypeDescription(), dynamicType.getBytes());
+        }
+
+        /**
+         * Writes all dynamic types that are supplied by an iterator. Each dynamic type is only retrieved from the
+         * iterator after the previous dynamic type was written.
+         *
+         * @param dynamicTypes An iterator supplying the dynamic types to write.
+         * @return This writer.
+         * @throws IOException If an IO exception occurs while writing a dynamic type.
+         */
+        public JarWriter write(Iterator<? extends DynamicType> dynamicTypes) throws IOException {
+            while (dynamicTypes.hasNext()) {
+                write(dynamicTypes.next());
+            }
+            return this;
+        }
+
+        /**
+         * Writes the binary representation of a single type.
+         *
+         * @param typeDescription      A description of the type to write.
+         * @param binaryRepresentation The binary representation of the type to write.
+         * @return This writer.
+         * @throws IOException If an IO exception occurs while writing the type.
+         */
+        public JarWriter write(TypeDescription typeDescription, byte[] binaryRepresentation) throws IOException {
+            String name = typeDescription.getInternalName() + CLASS_FILE_EXTENSION;
+            outputStream.putNextEntry(new JarEntry(name));
+            outputStream.write(binaryRepresentation);
+            outputStream.closeEntry();
+            writtenEntries.add(name);
+            return this;
+        }
+
+        /**
+         * Copies an entry of the source file to the target file if the entry exists and was not yet written.
+         *
+         * @param name The name of the entry to copy.
+         * @throws IOException If an IO exception occurs while copying the entry.
+         */
+        private void copy(String name) throws IOException {
+            ZipEntry zipEntry = sourceJar.getEntry(name);
+            if (zipEntry != null && zipEntry.getName().equals(name)) {
+                copy(zipEntry);
+            }
+        }
+
+        /**
+         * Copies an entry of the source file to the target file if the entry was not yet written. Stored entries
+         * retain their size and checksum such that they do not need to be compressed.
+         *
+         * @param zipEntry The entry to copy.
+         * @throws IOException If an IO exception occurs while copying the entry.
+         */
+        private void copy(ZipEntry zipEntry) throws IOException {
+            if (!writtenEntries.add(zipEntry.getName())) {
+                return;
+            }
+            JarEntry jarEntry = new JarEntry(zipEntry.getName());
+            jarEntry.setTime(zipEntry.getTime());
+            jarEntry.setExtra(zipEntry.getExtra());
+            jarEntry.setComment(zipEntry.getComment());
+            if (zipEntry.getMethod() == ZipEntry.STORED) {
+                jarEntry.setMethod(ZipEntry.STORED);
+                jarEntry.setSize(zipEntry.getSize());
+                jarEntry.setCompressedSize(zipEntry.getCompressedSize());
+                jarEntry.setCrc(zipEntry.getCrc());
+            }
+            outputStream.putNextEntry(jarEntry);
+            InputStream inputStream = sourceJar.getInputStream(zipEntry);
+            try {
+                int length;
+                while ((length = inputStream.read(buffer)) != END_OF_FILE) {
+                    outputStream.write(buffer, FROM_BEGINNING, length);
+                }
+            } finally {
+                inputStream.close();
+            }
+            outputStream.closeEntry();
+        }
+
+        /**
+         * Copies all entries of the source file that were not overridden and closes the written <i>jar</i> file.
+         *
+         * @throws IOException If an IO exception occurs while copying the remaining entries or closing the file.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                if (sourceJar != null) {
+                    try {
+                        Enumeration<? extends ZipEntry> enumeration = sourceJar.entries();
+                        while (enumeration.hasMoreElements()) {
+                            copy(enumeration.nextElement());
+                        }
+                    } finally {
+                        sourceJar.close();
+                    }
+                }
+            } finally {
+                outputStream.close();
+            }
+        }
+
+        /**
+         * Closes the written <i>jar</i> file without copying any remaining entries of the source file. This method
+         * is meant for discarding a <i>jar</i> file after a failure such that any exception on closing the file
+         * is ignored. The written file remains incomplete and should be deleted.
+         */
+        public void abort() {
+            try {
+                if (sourceJar != null) {
+                    sourceJar.close();
+                }
+            } catch (IOException ignored) {
+                /* The written file is discarded. */
+            }
+            try {
+                outputStream.close();
+            } catch (IOException ignored) {
+                /* The written file is discarded. */
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "DynamicType.JarWriter{" +
+                    "outputStream=" + outputStream +
+                    ", sourceJar=" + (sourceJar == null ? null : sourceJar.getName()) +
+                    ", writtenEntries=" + writtenEntries.size() +
+                    ", buffer=" + buffer.length +
+                    '}';
+        }
+    }
+
     /**
      * A default implementation of a dynamic type.
      */
@@ -2787,44 +3078,12 @@ public interface DynamicType {
 
         @Override
         public File inject(File sourceJar, File targetJar) throws IOException {
-            JarInputStream jarInputStream = new JarInputStream(new BufferedInputStream(new FileInputStream(sourceJar)));
+            targetJar.createNewFile();
+            JarWriter jarWriter = JarWriter.injecting(sourceJar, targetJar);
             try {
-                targetJar.createNewFile();
-                JarOutputStream jarOutputStream = new JarOutputStream(
-                        new BufferedOutputStream(new FileOutputStream(targetJar)), jarInputStream.getManifest());
-                try {
-                    Map<TypeDescription, byte[]> rawAuxiliaryTypes = getRawAuxiliaryTypes();
-                    Map<String, byte[]> files = new HashMap<String, byte[]>(rawAuxiliaryTypes.size() + 1);
-                    for (Map.Entry<TypeDescription, byte[]> entry : rawAuxiliaryTypes.entrySet()) {
-                        files.put(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION, entry.getValue());
-                    }
-                    files.put(typeDescription.getInternalName() + CLASS_FILE_EXTENSION, binaryRepresentation);
-                    JarEntry jarEntry;
-                    while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
-                        jarOutputStream.putNextEntry(jarEntry);
-                        byte[] replacement = files.remove(jarEntry.getName());
-                        if (replacement == null) {
-                            byte[] buffer = new byte[BUFFER_SIZE];
-                            int index;
-                            while ((index = jarInputStream.read(buffer)) != END_OF_FILE) {
-                                jarOutputStream.write(buffer, FROM_BEGINNING, index);
-                            }
-                        } else {
-                            jarOutputStream.write(replacement);
-                        }
-                        jarInputStream.closeEntry();
-                        jarOutputStream.closeEntry();
-                    }
-                    for (Map.Entry<String, byte[]> entry : files.entrySet()) {
-                        jarOutputStream.putNextEntry(new JarEntry(entry.getKey()));
-                        jarOutputStream.write(entry.getValue());
-                        jarOutputStream.closeEntry();
-                    }
-                } finally {
-                    jarOutputStream.close();
-                }
+                jarWriter.write(this);
             } finally {
-                jarInputStream.close();
+                jarWriter.close();
             }
             return targetJar;
         }
@@ -2859,19 +3118,11 @@ public interface DynamicType {
         @Override
         public File toJar(File file, Manifest manifest) throws IOException {
             file.createNewFile();
-            JarOutputStream outputStream = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(file)),
-                    manifest);
+            JarWriter jarWriter = JarWriter.of(file, manifest);
             try {
-                for (Map.Entry<TypeDescription, byte[]> entry : getRawAuxiliaryTypes().entrySet()) {
-                    outputStream.putNextEntry(new JarEntry(entry.getKey().getInternalName() + CLASS_FILE_EXTENSION));
-                    outputStream.write(entry.getValue());
-                    outputStream.closeEntry();
-                }
-                outputStream.putNextEntry(new JarEntry(typeDescription.getInternalName() + CLASS_FILE_EXTENSION));
-                outputStream.write(binaryRepresentation);
-                outputStream.closeEntry();
+                jarWriter.write(this);
             } finally {
-                outputStream.close();
+                jarWriter.close();
             }
             return file;
         }
@@ -3037,4 +3288,120 @@ public interface DynamicType {
             }
         }
     }
+
+    /**
+     * An unloaded dynamic type of which the class file is only written by its type writer once the binary
+     * representation of the type is first required. Writing the class file is guarded by this instance such that
+     * the class file is written exactly once, also if it is requested concurrently.
+     *
+     * @param <T> The most specific known loaded type that is implemented by this dynamic type, usually the
+     *            type itself, an interface or the direct super class.
+     */
+    static class Deferred<T> implements Unloaded<T> {
+
+        /**
+         * The type writer that writes the class file of this dynamic type.
+         */
+        private final TypeWriter<T> typeWriter;
+
+        /**
+         * The written dynamic type or {@code null} if the class file was not yet written.
+         */
+        private Unloaded<T> resolved;
+
+        /**
+         * Creates a new deferred dynamic type.
+         *
+         * @param typeWriter The type writer that writes the class file of this dynamic type.
+         */
+        public Deferred(TypeWriter<T> typeWriter) {
+            this.typeWriter = typeWriter;
+        }
+
+        /**
+         * Returns the written dynamic type and writes its class file if this was not done before.
+         *
+         * @return The written dynamic type.
+         */
+        protected synchronized Unloaded<T> resolve() {
+            if (resolved == null) {
+                resolved = typeWriter.make();
+            }
+            return resolved;
+        }
+
+        @Override
+        public TypeDescription getTypeDescription() {
+            return typeWriter.getInstrumentedType();
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return resolve().getBytes();
+        }
+
+        @Override
+        public Map<TypeDescription, byte[]> getRawAuxiliaryTypes() {
+            return resolve().getRawAuxiliaryTypes();
+        }
+
+        @Override
+        public Map<TypeDescription, byte[]> getAllTypes() {
+            return resolve().getAllTypes();
+        }
+
+        @Override
+        public Map<TypeDescription, LoadedTypeInitializer> getLoadedTypeInitializers() {
+            return resolve().getLoadedTypeInitializers();
+        }
+
+        @Override
+        public boolean hasAliveLoadedTypeInitializers() {
+            return resolve().hasAliveLoadedTypeInitializers();
+        }
+
+        @Override
+        public Map<TypeDescription, File> saveIn(File folder) throws IOException {
+            return resolve().saveIn(folder);
+        }
+
+        @Override
+        public File inject(File sourceJar, File targetJar) throws IOException {
+            return resolve().inject(sourceJar, targetJar);
+        }
+
+        @Override
+        public File inject(File jar) throws IOException {
+            return resolve().inject(jar);
+        }
+
+        @Override
+        public File toJar(File file, Manifest manifest) throws IOException {
+            return resolve().toJar(file, manifest);
+        }
+
+        @Override
+        public Loaded<T> load(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy) {
+            return resolve().load(classLoader, classLoadingStrategy);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && typeWriter.equals(((Deferred<?>) other).typeWriter);
+        }
+
+        @Override
+        public int hashCode() {
+            return typeWriter.hashCode();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "DynamicType.Deferred{" +
+                    "typeWriter=" + typeWriter +
+                    ", resolved=" + resolved +
+                    '}';
+        }
+    }
 }
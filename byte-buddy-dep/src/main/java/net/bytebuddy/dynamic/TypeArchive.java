@@ -0,0 +1,448 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.instrumentation.LoadedTypeInitializer;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A type archive retains the dynamic types that are created by a {@link net.bytebuddy.dynamic.DynamicType.Builder}
+ * such that an identically configured builder does not need to create the same dynamic type again, for example when
+ * an application is restarted.
+ */
+public interface TypeArchive {
+
+    /**
+     * Returns the dynamic type that is created by the given builder. If this archive contains a dynamic type for an
+     * identically configured builder, this type is returned without invoking the builder.
+     *
+     * @param builder The builder that creates the dynamic type.
+     * @param <T>     The most specific known loaded type that is implemented by the created dynamic type.
+     * @return The dynamic type that is created by the given builder.
+     */
+    <T> DynamicType.Unloaded<T> make(DynamicType.Builder<T> builder);
+
+    /**
+     * A type archive that does not archive any types but always creates a dynamic type by its builder.
+     */
+    static enum NoOp implements TypeArchive {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public <T> DynamicType.Unloaded<T> make(DynamicType.Builder<T> builder) {
+            return builder.make();
+        }
+    }
+
+    /**
+     * <p>
+     * A type archive that stores any dynamic type in a file of a given folder. The file is named by a fingerprint of
+     * the builder's configuration which is computed as a hash value of the builder's string representation. All
+     * Byte Buddy components represent their entire configuration by their string representation. User components,
+     * such as custom instrumentations, that are part of a builder's configuration must therefore also represent their
+     * entire configuration in a stable manner by their string representation in order to be archived correctly. A
+     * builder with a string representation that contains an identity string representation, as it is returned by
+     * {@link Object#toString()}, changes its representation between runs and is never archived.
+     * </p>
+     * <p>
+     * Along with a dynamic type, the archive file stores a hash value of the class file of any type that is referenced
+     * from the constant pool of an archived type as well as of any super class and interface of these referenced types.
+     * If any of these class files changes, for example after a library upgrade, the archived type is replaced by a newly
+     * created dynamic type. Similarly, the fingerprint of a builder includes the version of Byte Buddy such that an
+     * archive is not reused by another version of Byte Buddy. A dynamic type with a live {@link LoadedTypeInitializer},
+     * for example one that injects a user object into the created type, is never archived such that any such object is
+     * the instance that is provided by the current builder rather than a copy. Any archived file that cannot be read is
+     * ignored and replaced by a newly created dynamic type.
+     * </p>
+     * <p>
+     * <b>Important</b>: An archived dynamic type retains the name that it was given when it was first created, even if
+     * this name was randomly generated by a {@link net.bytebuddy.NamingStrategy}. Every dynamic type that this archive
+     * returns for an identically configured builder therefore has the same name and can only be loaded once by any
+     * class loader. An archived type must therefore be loaded into a new class loader, for example by using the
+     * {@link net.bytebuddy.dynamic.ClassLoadingStrategy.Default#WRAPPER} strategy, rather than being injected into
+     * a class loader that might have already loaded the type.
+     * </p>
+     */
+    static class ForFolder implements TypeArchive {
+
+        /**
+         * The magic number that introduces an archive file.
+         */
+        private static final int MAGIC = 0x42425441;
+
+        /**
+         * The version of the archive file format.
+         */
+        private static final int VERSION = 2;
+
+        /**
+         * The file name extension of archive files.
+         */
+        private static final String ARCHIVE_FILE_EXTENSION = ".types";
+
+        /**
+         * The file name extension of archive files before they are completely written.
+         */
+        private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+        /**
+         * The algorithm for computing the fingerprint of a builder and the hash values of referenced class files.
+         */
+        private static final String FINGERPRINT_ALGORITHM = "SHA-1";
+
+        /**
+         * The charset that is used for encoding a builder's string representation.
+         */
+        private static final String CHARSET = "UTF-8";
+
+        /**
+         * Indicates that a referenced class file could not be located.
+         */
+        private static final int UNRESOLVED = -1;
+
+        /**
+         * The tag of a class entry within a class file's constant pool.
+         */
+        private static final int CONSTANT_CLASS = 7;
+
+        /**
+         * The implementation version of Byte Buddy or an empty string if this version is not known.
+         */
+        private static final String IMPLEMENTATION_VERSION = implementationVersion();
+
+        /**
+         * A pattern that matches the identity string representation of an object as it is returned by
+         * {@link Object#toString()}.
+         */
+        private static final Pattern IDENTITY_STRING = Pattern.compile("[\\p{javaJavaIdentifierPart}.]+@\\p{XDigit}+");
+
+        /**
+         * The folder in which archive files are stored.
+         */
+        private final File folder;
+
+        /**
+         * A class file locator for any type that an archived dynamic type references.
+         */
+        private final ClassFileLocator classFileLocator;
+
+        /**
+         * Creates a new type archive for the given folder that resolves any referenced types from the class path.
+         *
+         * @param folder The folder in which archive files are stored.
+         */
+        public ForFolder(File folder) {
+            this(folder, ClassFileLocator.ForClassLoader.ofClassPath());
+        }
+
+        /**
+         * Creates a new type archive for the given folder.
+         *
+         * @param folder           The folder in which archive files are stored.
+         * @param classFileLocator A class file locator for any type that an archived dynamic type references.
+         */
+        public ForFolder(File folder, ClassFileLocator classFileLocator) {
+            this.folder = folder;
+            this.classFileLocator = classFileLocator;
+        }
+
+        @Override
+        public <T> DynamicType.Unloaded<T> make(DynamicType.Builder<T> builder) {
+            String representation = builder.toString();
+            if (IDENTITY_STRING.matcher(representation).find()) {
+                return builder.make();
+            }
+            File file = new File(folder, fingerprint(representation) + ARCHIVE_FILE_EXTENSION);
+            if (file.isFile()) {
+                try {
+                    DynamicType.Unloaded<T> dynamicType = read(file);
+                    if (dynamicType != null) {
+                        return dynamicType;
+                    }
+                } catch (IOException ignored) {
+                    // The archived type is replaced by a new dynamic type.
+                } catch (RuntimeException ignored) {
+                    // The archived type is replaced by a new dynamic type.
+                }
+            }
+            DynamicType.Unloaded<T> dynamicType = builder.make();
+            for (LoadedTypeInitializer loadedTypeInitializer : dynamicType.getLoadedTypeInitializers().values()) {
+                if (loadedTypeInitializer.isAlive()) {
+                    return dynamicType;
+                }
+            }
+            try {
+                write(file, dynamicType);
+            } catch (IOException ignored) {
+                // A dynamic type that cannot be archived is not required to be archived.
+            }
+            return dynamicType;
+        }
+
+        /**
+         * Resolves the implementation version of Byte Buddy.
+         *
+         * @return The implementation version of Byte Buddy or an empty string if this version is not known.
+         */
+        private static String implementationVersion() {
+            Package aPackage = ByteBuddy.class.getPackage();
+            String implementationVersion = aPackage == null
+                    ? null
+                    : aPackage.getImplementationVersion();
+            return implementationVersion == null
+                    ? ""
+                    : implementationVersion;
+        }
+
+        /**
+         * Computes the fingerprint of a builder's configuration.
+         *
+         * @param representation The string representation of the builder for which to compute a fingerprint.
+         * @return A hexadecimal representation of the builder's fingerprint.
+         */
+        protected String fingerprint(String representation) {
+            try {
+                MessageDigest messageDigest = messageDigest();
+                messageDigest.update((byte) VERSION);
+                messageDigest.update(IMPLEMENTATION_VERSION.getBytes(CHARSET));
+                StringBuilder stringBuilder = new StringBuilder();
+                for (byte aByte : messageDigest.digest(representation.getBytes(CHARSET))) {
+                    stringBuilder.append(Character.forDigit((aByte >> 4) & 0xF, 16)).append(Character.forDigit(aByte & 0xF, 16));
+                }
+                return stringBuilder.toString();
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException("Cannot encode using " + CHARSET, e);
+            }
+        }
+
+        /**
+         * Creates a message digest for computing fingerprints and hash values.
+         *
+         * @return A new message digest.
+         */
+        private static MessageDigest messageDigest() {
+            try {
+                return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Cannot compute fingerprint using " + FINGERPRINT_ALGORITHM, e);
+            }
+        }
+
+        /**
+         * Computes the hash value of the class file of a referenced type.
+         *
+         * @param typeName The name of the referenced type.
+         * @return The hash value of the type's class file or {@code null} if the class file cannot be located.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private byte[] hash(String typeName) throws IOException {
+            ClassFileLocator.Resolution resolution = classFileLocator.locate(typeName);
+            return resolution.isResolved()
+                    ? messageDigest().digest(resolution.resolve())
+                    : null;
+        }
+
+        /**
+         * Reads a dynamic type from an archive file.
+         *
+         * @param file The archive file.
+         * @param <T>  The most specific known loaded type that is implemented by the dynamic type.
+         * @return The archived dynamic type or {@code null} if the class file of a referenced type has changed.
+         * @throws IOException If an I/O exception occurs or if the file is not a valid archive file.
+         */
+        private <T> DynamicType.Unloaded<T> read(File file) throws IOException {
+            DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (inputStream.readInt() != MAGIC || inputStream.readInt() != VERSION) {
+                    throw new IOException("Not a type archive: " + file);
+                }
+                int referenceCount = inputStream.readInt();
+                if (referenceCount < 0) {
+                    throw new IOException("Illegal reference count in type archive: " + file);
+                }
+                for (int index = 0; index < referenceCount; index++) {
+                    String typeName = inputStream.readUTF();
+                    int length = inputStream.readInt();
+                    byte[] archivedHash;
+                    if (length == UNRESOLVED) {
+                        archivedHash = null;
+                    } else if (length < 0 || length > file.length()) {
+                        throw new IOException("Illegal hash length in type archive: " + file);
+                    } else {
+                        archivedHash = new byte[length];
+                        inputStream.readFully(archivedHash);
+                    }
+                    if (!Arrays.equals(archivedHash, hash(typeName))) {
+                        return null;
+                    }
+                }
+                int count = inputStream.readInt();
+                if (count < 1) {
+                    throw new IOException("Illegal type count in type archive: " + file);
+                }
+                List<String> typeNames = new ArrayList<String>();
+                Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+                for (int index = 0; index < count; index++) {
+                    String typeName = inputStream.readUTF();
+                    int length = inputStream.readInt();
+                    if (length < 0 || length > file.length()) {
+                        throw new IOException("Illegal class file length in type archive: " + file);
+                    }
+                    byte[] binaryRepresentation = new byte[length];
+                    inputStream.readFully(binaryRepresentation);
+                    typeNames.add(typeName);
+                    classFiles.put(typeName, binaryRepresentation);
+                }
+                TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                        new ClassFileLocator.Compound(new ClassFileLocator.Simple(classFiles), classFileLocator));
+                List<DynamicType> auxiliaryTypes = new ArrayList<DynamicType>(count - 1);
+                for (String typeName : typeNames.subList(1, count)) {
+                    auxiliaryTypes.add(new DynamicType.Default(typePool.describe(typeName).resolve(),
+                            classFiles.get(typeName),
+                            LoadedTypeInitializer.NoOp.INSTANCE,
+                            Collections.<DynamicType>emptyList()));
+                }
+                return new DynamicType.Default.Unloaded<T>(typePool.describe(typeNames.get(0)).resolve(),
+                        classFiles.get(typeNames.get(0)),
+                        LoadedTypeInitializer.NoOp.INSTANCE,
+                        auxiliaryTypes);
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        /**
+         * Writes a dynamic type to an archive file. The file is first written to a temporary file which then
+         * replaces the archive file such that an archive file is never read while it is written.
+         *
+         * @param file        The archive file.
+         * @param dynamicType The dynamic type to archive.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private void write(File file, DynamicType dynamicType) throws IOException {
+            Map<String, byte[]> classFiles = new LinkedHashMap<String, byte[]>();
+            classFiles.put(dynamicType.getTypeDescription().getName(), dynamicType.getBytes());
+            for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                classFiles.put(entry.getKey().getName(), entry.getValue());
+            }
+            Map<String, byte[]> references = new TreeMap<String, byte[]>();
+            LinkedList<String> unresolved = new LinkedList<String>();
+            for (byte[] binaryRepresentation : classFiles.values()) {
+                unresolved.addAll(constantPoolTypes(new ClassReader(binaryRepresentation)));
+            }
+            while (!unresolved.isEmpty()) {
+                String typeName = unresolved.removeFirst();
+                if (classFiles.containsKey(typeName) || references.containsKey(typeName)) {
+                    continue;
+                }
+                ClassFileLocator.Resolution resolution = classFileLocator.locate(typeName);
+                if (resolution.isResolved()) {
+                    byte[] binaryRepresentation = resolution.resolve();
+                    references.put(typeName, messageDigest().digest(binaryRepresentation));
+                    ClassReader classReader = new ClassReader(binaryRepresentation);
+                    if (classReader.getSuperName() != null) {
+                        unresolved.add(classReader.getSuperName().replace('/', '.'));
+                    }
+                    for (String interfaceName : classReader.getInterfaces()) {
+                        unresolved.add(interfaceName.replace('/', '.'));
+                    }
+                } else {
+                    references.put(typeName, null);
+                }
+            }
+            if (!folder.isDirectory() && !folder.mkdirs()) {
+                throw new IOException("Cannot create folder " + folder);
+            }
+            File temporary = File.createTempFile(file.getName(), TEMPORARY_FILE_EXTENSION, folder);
+            try {
+                DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+                try {
+                    outputStream.writeInt(MAGIC);
+                    outputStream.writeInt(VERSION);
+                    outputStream.writeInt(references.size());
+                    for (Map.Entry<String, byte[]> entry : references.entrySet()) {
+                        outputStream.writeUTF(entry.getKey());
+                        if (entry.getValue() == null) {
+                            outputStream.writeInt(UNRESOLVED);
+                        } else {
+                            outputStream.writeInt(entry.getValue().length);
+                            outputStream.write(entry.getValue());
+                        }
+                    }
+                    outputStream.writeInt(classFiles.size());
+                    for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+                        outputStream.writeUTF(entry.getKey());
+                        outputStream.writeInt(entry.getValue().length);
+                        outputStream.write(entry.getValue());
+                    }
+                } finally {
+                    outputStream.close();
+                }
+                if ((file.exists() && !file.delete()) || !temporary.renameTo(file)) {
+                    throw new IOException("Cannot replace archive file " + file);
+                }
+            } finally {
+                if (temporary.exists() && !temporary.delete()) {
+                    temporary.deleteOnExit();
+                }
+            }
+        }
+
+        /**
+         * Resolves the names of all types that are referenced from a class file's constant pool. For a referenced
+         * array type, the name of its component type is resolved.
+         *
+         * @param classReader A class reader for the class file.
+         * @return The binary names of all types that are referenced from the class file's constant pool.
+         */
+        private static Set<String> constantPoolTypes(ClassReader classReader) {
+            char[] buffer = new char[classReader.getMaxStringLength()];
+            Set<String> typeNames = new HashSet<String>();
+            for (int index = 1; index < classReader.getItemCount(); index++) {
+                int offset = classReader.getItem(index);
+                if (offset > 0 && classReader.readByte(offset - 1) == CONSTANT_CLASS) {
+                    Type type = Type.getObjectType(classReader.readUTF8(offset, buffer));
+                    if (type.getSort() == Type.ARRAY) {
+                        type = type.getElementType();
+                    }
+                    if (type.getSort() == Type.OBJECT) {
+                        typeNames.add(type.getClassName());
+                    }
+                }
+            }
+            return typeNames;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && folder.equals(((ForFolder) other).folder)
+                    && classFileLocator.equals(((ForFolder) other).classFileLocator);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * folder.hashCode() + classFileLocator.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "TypeArchive.ForFolder{" +
+                    "folder=" + folder +
+                    ", classFileLocator=" + classFileLocator +
+                    '}';
+        }
+    }
+}
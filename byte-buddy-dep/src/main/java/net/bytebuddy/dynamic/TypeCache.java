@@ -0,0 +1,350 @@
+package net.bytebuddy.dynamic;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.*;
+
+/**
+ * <p>
+ * A cache for types that are created at runtime. Each type is stored for a class loader and a key where a
+ * class loader is only weakly referenced and a type is only softly or weakly referenced, depending on the
+ * cache's {@link net.bytebuddy.dynamic.TypeCache.Sort}. A softly referenced type that is loaded by a class loader
+ * keeps this class loader reachable until the garbage collector clears the soft reference on memory demand.
+ * </p>
+ * <p>
+ * <b>Important</b>: The keys of this cache are strongly referenced as long as their class loader is reachable.
+ * A key must therefore never reference a class loader or any type that it loaded, as such a reference would
+ * prevent the class loader from ever being garbage collected. A
+ * {@link net.bytebuddy.dynamic.DynamicType.Builder} is not a suitable key as it references the types that it
+ * extends or implements. Instead, a key should describe the builder's configuration by values such as strings.
+ * </p>
+ */
+public class TypeCache {
+
+    /**
+     * The sort of references by which the stored types are referenced.
+     */
+    private final Sort sort;
+
+    /**
+     * A mapping of class loaders to the types that were stored for them. The bootstrap class loader is
+     * represented by {@code null}.
+     */
+    private final Map<ClassLoader, ConcurrentMap<Object, Reference<Class<?>>>> cache;
+
+    /**
+     * A mapping of types that are currently created to the tasks that create them.
+     */
+    private final ConcurrentMap<StorageKey, FutureTask<Class<?>>> pending;
+
+    /**
+     * Creates a new type cache that references stored types softly.
+     */
+    public TypeCache() {
+        this(Sort.SOFT);
+    }
+
+    /**
+     * Creates a new type cache.
+     *
+     * @param sort The sort of references by which the stored types are referenced.
+     */
+    public TypeCache(Sort sort) {
+        this.sort = sort;
+        cache = Collections.synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<Object, Reference<Class<?>>>>());
+        pending = new ConcurrentHashMap<StorageKey, FutureTask<Class<?>>>();
+    }
+
+    /**
+     * Finds a type that was stored for the given class loader and key.
+     *
+     * @param classLoader The class loader for which the type was stored or {@code null} for the bootstrap class loader.
+     * @param key         The key for which the type was stored.
+     * @return The stored type or {@code null} if no such type is stored.
+     */
+    public Class<?> find(ClassLoader classLoader, Object key) {
+        ConcurrentMap<Object, Reference<Class<?>>> types = cache.get(classLoader);
+        if (types == null) {
+            return null;
+        }
+        Reference<Class<?>> reference = types.get(key);
+        return reference == null
+                ? null
+                : reference.get();
+    }
+
+    /**
+     * Stores a type for the given class loader and key if no type is already stored for them.
+     *
+     * @param classLoader The class loader for which to store the type or {@code null} for the bootstrap class loader.
+     * @param key         The key for which to store the type.
+     * @param type        The type to store.
+     * @return The stored type which is the given type if no type was previously stored.
+     */
+    public Class<?> insert(ClassLoader classLoader, Object key, Class<?> type) {
+        ConcurrentMap<Object, Reference<Class<?>>> types;
+        synchronized (cache) {
+            types = cache.get(classLoader);
+            if (types == null) {
+                types = new ConcurrentHashMap<Object, Reference<Class<?>>>();
+                cache.put(classLoader, types);
+            }
+        }
+        Reference<Class<?>> reference = sort.wrap(type);
+        while (true) {
+            Reference<Class<?>> previous = types.putIfAbsent(key, reference);
+            if (previous == null) {
+                return type;
+            }
+            Class<?> previousType = previous.get();
+            if (previousType != null) {
+                return previousType;
+            } else if (types.replace(key, previous, reference)) {
+                return type;
+            }
+        }
+    }
+
+    /**
+     * Finds a type that was stored for the given class loader and key or creates and stores a type by the given
+     * callable if no such type exists. If several threads attempt to create a type for the same class loader and
+     * key concurrently, the callable is only invoked by one of these threads while the other threads await the
+     * created type.
+     *
+     * @param classLoader The class loader for which the type is stored or {@code null} for the bootstrap class loader.
+     * @param key         The key for which the type is stored.
+     * @param callable    A callable that creates the type if no type is stored.
+     * @return The stored type.
+     */
+    public Class<?> findOrInsert(ClassLoader classLoader, Object key, Callable<Class<?>> callable) {
+        Class<?> type = find(classLoader, key);
+        if (type != null) {
+            return type;
+        }
+        StorageKey storageKey = new StorageKey(classLoader, key);
+        FutureTask<Class<?>> task = new FutureTask<Class<?>>(callable);
+        FutureTask<Class<?>> previous = pending.putIfAbsent(storageKey, task);
+        if (previous != null) {
+            return resolve(previous);
+        }
+        try {
+            type = find(classLoader, key);
+            if (type != null) {
+                return type;
+            }
+            task.run();
+            return insert(classLoader, key, resolve(task));
+        } finally {
+            pending.remove(storageKey, task);
+        }
+    }
+
+    /**
+     * Finds a type that was stored for the given class loader and key or creates, loads and stores the type of
+     * the given builder if no such type exists. The builder is only referenced while its type is created.
+     *
+     * @param classLoader          The class loader for which the type is loaded or {@code null} for the bootstrap class loader.
+     * @param key                  The key for which the type is stored. The key must not reference the class loader or
+     *                             any type that it loaded.
+     * @param builder              The builder that creates the type.
+     * @param classLoadingStrategy The class loading strategy for loading the type if it is not stored.
+     * @param <T>                  The most specific known loaded type that is implemented by the created type.
+     * @return The stored type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Class<? extends T> load(ClassLoader classLoader,
+                                       Object key,
+                                       DynamicType.Builder<T> builder,
+                                       ClassLoadingStrategy classLoadingStrategy) {
+        return (Class<? extends T>) findOrInsert(classLoader, key, new Loading(builder, classLoader, classLoadingStrategy));
+    }
+
+    /**
+     * Removes all types that are stored by this cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Resolves the type that is created by a task.
+     *
+     * @param task The task that creates the type.
+     * @return The created type.
+     */
+    private static Class<?> resolve(FutureTask<Class<?>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while awaiting the creation of a type", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Could not create type", e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TypeCache{" +
+                "sort=" + sort +
+                ", cache=" + cache +
+                ", pending=" + pending +
+                '}';
+    }
+
+    /**
+     * Determines how a type cache references the types that it stores.
+     */
+    public static enum Sort {
+
+        /**
+         * Stores types by weak references such that a type is discarded as soon as it is not otherwise in use.
+         */
+        WEAK {
+            @Override
+            protected Reference<Class<?>> wrap(Class<?> type) {
+                return new WeakReference<Class<?>>(type);
+            }
+        },
+
+        /**
+         * Stores types by soft references such that a type is only discarded on memory demand.
+         */
+        SOFT {
+            @Override
+            protected Reference<Class<?>> wrap(Class<?> type) {
+                return new SoftReference<Class<?>>(type);
+            }
+        };
+
+        /**
+         * Wraps a type in a reference of this sort.
+         *
+         * @param type The type to reference.
+         * @return A reference to the given type.
+         */
+        protected abstract Reference<Class<?>> wrap(Class<?> type);
+    }
+
+    /**
+     * A key for a type that is currently created. The class loader is compared by its identity.
+     */
+    protected static class StorageKey {
+
+        /**
+         * The class loader for which the type is created or {@code null} for the bootstrap class loader.
+         */
+        private final ClassLoader classLoader;
+
+        /**
+         * The key for which the type is created.
+         */
+        private final Object key;
+
+        /**
+         * Creates a new storage key.
+         *
+         * @param classLoader The class loader for which the type is created or {@code null} for the bootstrap class loader.
+         * @param key         The key for which the type is created.
+         */
+        protected StorageKey(ClassLoader classLoader, Object key) {
+            this.classLoader = classLoader;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && classLoader == ((StorageKey) other).classLoader
+                    && key.equals(((StorageKey) other).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(classLoader) + key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "TypeCache.StorageKey{" +
+                    "classLoader=" + classLoader +
+                    ", key=" + key +
+                    '}';
+        }
+    }
+
+    /**
+     * A callable that creates and loads the type of a builder.
+     */
+    protected static class Loading implements Callable<Class<?>> {
+
+        /**
+         * The builder that creates the type.
+         */
+        private final DynamicType.Builder<?> builder;
+
+        /**
+         * The class loader for which the type is loaded or {@code null} for the bootstrap class loader.
+         */
+        private final ClassLoader classLoader;
+
+        /**
+         * The class loading strategy for loading the type.
+         */
+        private final ClassLoadingStrategy classLoadingStrategy;
+
+        /**
+         * Creates a new loading callable.
+         *
+         * @param builder              The builder that creates the type.
+         * @param classLoader          The class loader for which the type is loaded or {@code null} for the bootstrap class loader.
+         * @param classLoadingStrategy The class loading strategy for loading the type.
+         */
+        protected Loading(DynamicType.Builder<?> builder, ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy) {
+            this.builder = builder;
+            this.classLoader = classLoader;
+            this.classLoadingStrategy = classLoadingStrategy;
+        }
+
+        @Override
+        public Class<?> call() {
+            return builder.make().load(classLoader, classLoadingStrategy).getLoaded();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Loading loading = (Loading) other;
+            return builder.equals(loading.builder)
+                    && !(classLoader != null ? !classLoader.equals(loading.classLoader) : loading.classLoader != null)
+                    && classLoadingStrategy.equals(loading.classLoadingStrategy);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = builder.hashCode();
+            result = 31 * result + (classLoader != null ? classLoader.hashCode() : 0);
+            result = 31 * result + classLoadingStrategy.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "TypeCache.Loading{" +
+                    "builder=" + builder +
+                    ", classLoader=" + classLoader +
+                    ", classLoadingStrategy=" + classLoadingStrategy +
+                    '}';
+        }
+    }
+}
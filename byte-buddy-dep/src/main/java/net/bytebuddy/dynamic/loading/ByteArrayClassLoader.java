@@ -5,23 +5,86 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.security.*;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * <p>
  * A {@link java.lang.ClassLoader} that is capable of loading explicitly defined classes. The class loader will free
- * any binary resources once a class that is defined by its binary data is loaded. This class loader is thread safe since
- * the class loading mechanics are only called from synchronized context.
+ * any binary resources once a class that is defined by its binary data is loaded. On a VM that supports parallel class
+ * loading, this class loader is registered as parallel capable and only locks on a class loader lock per type name.
+ * Otherwise, the class loading mechanics are only called from a context that is synchronized on the class loader.
+ * </p>
+ * <p>
+ * <b>Note</b>: The registration as a parallel capable class loader and the lookup of a type's class loading lock
+ * require reflective access to protected methods of {@link java.lang.ClassLoader}. From Java 16 on, this access is
+ * denied unless the {@code java.lang} package is explicitly opened. In this case, this class loader is silently not
+ * registered as parallel capable and locks on the entire class loader when loading a type.
+ * </p>
  */
 public class ByteArrayClassLoader extends ClassLoader {
 
     /**
-     * A mutable map of type names mapped to their binary representation.
+     * The synchronization strategy for loading types by byte array class loaders.
      */
-    protected final Map<String, byte[]> typeDefinitions;
+    protected static final SynchronizationStrategy SYNCHRONIZATION_STRATEGY;
+
+    /**
+     * The accessible {@code java.lang.ClassLoader#registerAsParallelCapable()} method or {@code null} if this
+     * method is not available on the current VM.
+     */
+    private static final Method PARALLEL_CAPABLE_REGISTRATION = parallelCapableRegistration();
+
+    /*
+     * Registers this class loader as parallel capable and resolves the synchronization strategy for class loading.
+     */
+    static {
+        if (PARALLEL_CAPABLE_REGISTRATION != null) {
+            try {
+                PARALLEL_CAPABLE_REGISTRATION.invoke(null);
+            } catch (Exception ignored) {
+                /* This class loader is not registered as parallel capable. */
+            }
+        }
+        SynchronizationStrategy synchronizationStrategy;
+        try {
+            Method getClassLoadingLock = ClassLoader.class.getDeclaredMethod("getClassLoadingLock", String.class);
+            getClassLoadingLock.setAccessible(true);
+            synchronizationStrategy = new SynchronizationStrategy.ForClassLoadingLock(getClassLoadingLock);
+        } catch (Exception ignored) {
+            synchronizationStrategy = SynchronizationStrategy.ForClassLoader.INSTANCE;
+        }
+        SYNCHRONIZATION_STRATEGY = synchronizationStrategy;
+    }
+
+    /**
+     * Resolves the {@code java.lang.ClassLoader#registerAsParallelCapable()} method and makes it accessible. The
+     * registration is caller sensitive and registers the class that invokes the returned method. Therefore, the
+     * returned method must be invoked from the static initializer of each class loader class that is registered
+     * and not from a shared helper method which would only ever register the class that declares this helper.
+     *
+     * @return The accessible registration method or {@code null} if parallel class loading is not supported by
+     * the current VM or if the registration method cannot be made accessible.
+     */
+    private static Method parallelCapableRegistration() {
+        try {
+            Method registerAsParallelCapable = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+            registerAsParallelCapable.setAccessible(true);
+            return registerAsParallelCapable;
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * A concurrent map of type names mapped to their binary representation.
+     */
+    protected final ConcurrentMap<String, byte[]> typeDefinitions;
 
     /**
      * The persistence handler of this class loader.
@@ -52,7 +115,7 @@ public class ByteArrayClassLoader extends ClassLoader {
                                 ProtectionDomain protectionDomain,
                                 PersistenceHandler persistenceHandler) {
         super(parent);
-        this.typeDefinitions = new HashMap<String, byte[]>(typeDefinitions);
+        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>(typeDefinitions);
         this.protectionDomain = protectionDomain;
         this.persistenceHandler = persistenceHandler;
         accessControlContext = AccessController.getContext();
@@ -116,8 +179,8 @@ public class ByteArrayClassLoader extends ClassLoader {
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
         try {
-            // This does not need synchronization because this method is only called from within
-            // ClassLoader in a synchronized context.
+            // This does not need further synchronization because this method is only called from within
+            // ClassLoader while holding the class loading lock of the given name.
             return AccessController.doPrivileged(new ClassLoadingAction(name), accessControlContext);
         } catch (PrivilegedActionException e) {
             throw (ClassNotFoundException) e.getCause();
@@ -247,6 +310,19 @@ public class ByteArrayClassLoader extends ClassLoader {
          */
         private static final String CLASS_FILE_SUFFIX = ".class";
 
+        /*
+         * Registers this class loader as parallel capable if this is supported by the current VM.
+         */
+        static {
+            if (PARALLEL_CAPABLE_REGISTRATION != null) {
+                try {
+                    PARALLEL_CAPABLE_REGISTRATION.invoke(null);
+                } catch (Exception ignored) {
+                    /* This class loader is not registered as parallel capable. */
+                }
+            }
+        }
+
         /**
          * Creates a new child-first byte array class loader.
          *
@@ -264,22 +340,24 @@ public class ByteArrayClassLoader extends ClassLoader {
         }
 
         @Override
-        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-            Class<?> type = findLoadedClass(name);
-            if (type != null) {
-                return type;
-            }
-            try {
-                type = findClass(name);
-                if (resolve) {
-                    resolveClass(type);
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (SYNCHRONIZATION_STRATEGY.getClassLoadingLock(this, name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type != null) {
+                    return type;
+                }
+                try {
+                    type = findClass(name);
+                    if (resolve) {
+                        resolveClass(type);
+                    }
+                    return type;
+                } catch (ClassNotFoundException e) {
+                    // If an unknown class is loaded, this implementation causes the findClass method of this instance
+                    // to be triggered twice. This is however of minor importance because this would result in a
+                    // ClassNotFoundException which is rather uncommon.
+                    return super.loadClass(name, resolve);
                 }
-                return type;
-            } catch (ClassNotFoundException e) {
-                // If an unknown class is loaded, this implementation causes the findClass method of this instance
-                // to be triggered twice. This is however of minor importance because this would result in a
-                // ClassNotFoundException which is rather uncommon.
-                return super.loadClass(name, resolve);
             }
         }
 
@@ -309,9 +387,9 @@ public class ByteArrayClassLoader extends ClassLoader {
             if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
                 return false;
             }
+            String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
             // This synchronization is required to avoid a racing condition to the actual class loading.
-            synchronized (this) {
-                String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
+            synchronized (SYNCHRONIZATION_STRATEGY.getClassLoadingLock(this, typeName)) {
                 if (typeDefinitions.containsKey(typeName)) {
                     return true;
                 }
@@ -332,6 +410,170 @@ public class ByteArrayClassLoader extends ClassLoader {
         }
     }
 
+    /**
+     * A {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader} to which further type definitions can be appended
+     * after its creation. This allows to define several independent collections of types by a single class loader
+     * instead of creating a new class loader for each such collection.
+     */
+    public static class Growable extends ByteArrayClassLoader {
+
+        /*
+         * Registers this class loader as parallel capable if this is supported by the current VM.
+         */
+        static {
+            if (PARALLEL_CAPABLE_REGISTRATION != null) {
+                try {
+                    PARALLEL_CAPABLE_REGISTRATION.invoke(null);
+                } catch (Exception ignored) {
+                    /* This class loader is not registered as parallel capable. */
+                }
+            }
+        }
+
+        /**
+         * The names of all types that were registered with this class loader. This set must only be accessed
+         * while holding the monitor of this class loader.
+         */
+        private final Set<String> typeNames;
+
+        /**
+         * Creates a new growable byte array class loader that does not yet define any types.
+         *
+         * @param parent             The {@link java.lang.ClassLoader} that is the parent of this class loader.
+         * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+         *                           protection domain.
+         * @param persistenceHandler The persistence handler of this class loader.
+         */
+        public Growable(ClassLoader parent, ProtectionDomain protectionDomain, PersistenceHandler persistenceHandler) {
+            super(parent, Collections.<String, byte[]>emptyMap(), protectionDomain, persistenceHandler);
+            typeNames = new HashSet<String>();
+        }
+
+        /**
+         * Attempts to append the given type definitions to this class loader. The type definitions are only appended
+         * if none of the types is already known to this class loader and if the resulting number of types that are
+         * ever registered with this class loader does not exceed the given maximum. A class loader that does not yet define
+         * any types accepts any number of type definitions.
+         *
+         * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+         * @param maximumTypes    The maximum number of types this class loader should define.
+         * @return {@code true} if the type definitions were appended to this class loader.
+         */
+        public synchronized boolean append(Map<String, byte[]> typeDefinitions, int maximumTypes) {
+            if (!typeNames.isEmpty() && typeNames.size() + typeDefinitions.size() > maximumTypes) {
+                return false;
+            }
+            for (String name : typeDefinitions.keySet()) {
+                if (typeNames.contains(name)) {
+                    return false;
+                }
+            }
+            typeNames.addAll(typeDefinitions.keySet());
+            this.typeDefinitions.putAll(typeDefinitions);
+            return true;
+        }
+
+        /**
+         * Returns the number of types that were registered with this class loader.
+         *
+         * @return The number of types that were registered with this class loader.
+         */
+        public synchronized int getTypeCount() {
+            return typeNames.size();
+        }
+
+        @Override
+        public String toString() {
+            return "ByteArrayClassLoader.Growable{" +
+                    "parent=" + getParent() +
+                    ", typeDefinitions=" + typeDefinitions +
+                    ", typeNames=" + getTypeCount() +
+                    ", protectionDomain=" + protectionDomain +
+                    ", persistenceHandler=" + persistenceHandler +
+                    ", accessControlContext=" + accessControlContext +
+                    '}';
+        }
+    }
+
+    /**
+     * A synchronization strategy determines the monitor that is held while loading a type.
+     */
+    protected static interface SynchronizationStrategy {
+
+        /**
+         * Returns the monitor to hold while loading a type of the given name.
+         *
+         * @param classLoader The class loader that loads the type.
+         * @param name        The name of the type being loaded.
+         * @return The monitor to hold while loading the type.
+         */
+        Object getClassLoadingLock(ClassLoader classLoader, String name);
+
+        /**
+         * A synchronization strategy for a VM that does not support parallel class loading where the class loader
+         * itself serves as the class loading lock.
+         */
+        static enum ForClassLoader implements SynchronizationStrategy {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public Object getClassLoadingLock(ClassLoader classLoader, String name) {
+                return classLoader;
+            }
+        }
+
+        /**
+         * A synchronization strategy that queries a class loader for its class loading lock of a given type name.
+         */
+        static class ForClassLoadingLock implements SynchronizationStrategy {
+
+            /**
+             * The {@code java.lang.ClassLoader#getClassLoadingLock(String)} method.
+             */
+            private final Method getClassLoadingLock;
+
+            /**
+             * Creates a new synchronization strategy that queries a class loader for its class loading lock.
+             *
+             * @param getClassLoadingLock The {@code java.lang.ClassLoader#getClassLoadingLock(String)} method.
+             */
+            protected ForClassLoadingLock(Method getClassLoadingLock) {
+                this.getClassLoadingLock = getClassLoadingLock;
+            }
+
+            @Override
+            public Object getClassLoadingLock(ClassLoader classLoader, String name) {
+                try {
+                    return getClassLoadingLock.invoke(classLoader, name);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot access class loading lock for " + name, e);
+                } catch (InvocationTargetException e) {
+                    throw new IllegalStateException("Cannot obtain class loading lock for " + name, e.getCause());
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && getClassLoadingLock.equals(((ForClassLoadingLock) other).getClassLoadingLock);
+            }
+
+            @Override
+            public int hashCode() {
+                return getClassLoadingLock.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "ByteArrayClassLoader.SynchronizationStrategy.ForClassLoadingLock{getClassLoadingLock=" + getClassLoadingLock + '}';
+            }
+        }
+    }
+
     /**
      * A class loading action is responsible to perform the loading of a class in a privileged security context.
      */
@@ -5,7 +5,7 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.*;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -102,9 +102,14 @@ public class ClassLoaderByteArrayInjector {
      */
     public static Map<TypeDescription, Class<?>> inject(ClassLoaderByteArrayInjector classLoaderByteArrayInjector,
                                                         Map<TypeDescription, byte[]> types) {
-        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        Map<String, byte[]> binaryRepresentations = new LinkedHashMap<String, byte[]>(types.size());
         for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
-            loadedTypes.put(entry.getKey(), classLoaderByteArrayInjector.inject(entry.getKey().getName(), entry.getValue()));
+            binaryRepresentations.put(entry.getKey().getName(), entry.getValue());
+        }
+        Map<String, Class<?>> injectedTypes = classLoaderByteArrayInjector.inject(binaryRepresentations);
+        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        for (TypeDescription typeDescription : types.keySet()) {
+            loadedTypes.put(typeDescription, injectedTypes.get(typeDescription.getName()));
         }
         return loadedTypes;
     }
@@ -117,29 +122,32 @@ public class ClassLoaderByteArrayInjector {
      * @return The loaded class that is a result of the class loading attempt.
      */
     public Class<?> inject(String name, byte[] binaryRepresentation) {
+        return inject(Collections.singletonMap(name, binaryRepresentation)).get(name);
+    }
+
+    /**
+     * Explicitly loads a batch of {@link java.lang.Class}es by reflective access into the represented class loader.
+     * All classes are injected while holding the class loader's monitor only once and within a single privileged
+     * action. Classes are injected in the iteration order of the given map such that any type should only be
+     * injected after all types it depends on at load time. Types that are already loaded by the class loader are
+     * not injected but returned as they are.
+     *
+     * @param types A map of fully qualified type names to their binary representation.
+     * @return A map of the given type names to the loaded classes in the iteration order of the given map.
+     */
+    public Map<String, Class<?>> inject(Map<String, byte[]> types) {
         try {
             synchronized (classLoader) {
-                Class<?> type = (Class<?>) REFLECTION_STORE.getFindLoadedClassMethod().invoke(classLoader, name);
-                if (type != null) {
-                    return type;
-                } else {
-                    try {
-                        return AccessController.doPrivileged(new ClassLoadingAction(name, binaryRepresentation), accessControlContext);
-                    } catch (PrivilegedActionException e) {
-                        if (e.getCause() instanceof IllegalAccessException) {
-                            throw (IllegalAccessException) e.getCause();
-                        } else if (e.getCause() instanceof InvocationTargetException) {
-                            throw (InvocationTargetException) e.getCause();
-                        } else {
-                            throw (RuntimeException) e.getCause();
-                        }
-                    }
-                }
+                return AccessController.doPrivileged(new ClassLoadingAction(types), accessControlContext);
+            }
+        } catch (PrivilegedActionException e) {
+            if (e.getCause() instanceof IllegalAccessException) {
+                throw new IllegalStateException("Could not access injection method", e.getCause());
+            } else if (e.getCause() instanceof InvocationTargetException) {
+                throw new IllegalStateException("Exception on invoking loader method", e.getCause().getCause());
+            } else {
+                throw (RuntimeException) e.getCause();
             }
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Could not access injection method", e);
-        } catch (InvocationTargetException e) {
-            throw new IllegalStateException("Exception on invoking loader method", e.getCause());
         }
     }
 
@@ -285,9 +293,9 @@ public class ClassLoaderByteArrayInjector {
     }
 
     /**
-     * A privileged action for loading a class reflectively.
+     * A privileged action for loading a batch of classes reflectively.
      */
-    protected class ClassLoadingAction implements PrivilegedExceptionAction<Class<?>> {
+    protected class ClassLoadingAction implements PrivilegedExceptionAction<Map<String, Class<?>>> {
 
         /**
          * A convenience variable representing the first index of an array, to make the code more readable.
@@ -295,34 +303,37 @@ public class ClassLoaderByteArrayInjector {
         private static final int FROM_BEGINNING = 0;
 
         /**
-         * The name of the class that is being loaded.
+         * A map of the names of the classes that are being loaded to their binary representations.
          */
-        private final String name;
-
-        /**
-         * The binary representation of the class that is being loaded.
-         */
-        private final byte[] binaryRepresentation;
+        private final Map<String, byte[]> types;
 
         /**
          * Creates a new class loading action.
          *
-         * @param name                 The name of the class that is being loaded.
-         * @param binaryRepresentation The binary representation of the class that is being loaded.
+         * @param types A map of the names of the classes that are being loaded to their binary representations.
          */
-        protected ClassLoadingAction(String name, byte[] binaryRepresentation) {
-            this.name = name;
-            this.binaryRepresentation = binaryRepresentation;
+        protected ClassLoadingAction(Map<String, byte[]> types) {
+            this.types = types;
         }
 
         @Override
-        public Class<?> run() throws IllegalAccessException, InvocationTargetException {
-            return (Class<?>) REFLECTION_STORE.getLoadByteArrayMethod().invoke(classLoader,
-                    name,
-                    binaryRepresentation,
-                    FROM_BEGINNING,
-                    binaryRepresentation.length,
-                    protectionDomain);
+        public Map<String, Class<?>> run() throws IllegalAccessException, InvocationTargetException {
+            Method findLoadedClassMethod = REFLECTION_STORE.getFindLoadedClassMethod();
+            Method loadByteArrayMethod = REFLECTION_STORE.getLoadByteArrayMethod();
+            Map<String, Class<?>> loadedTypes = new LinkedHashMap<String, Class<?>>(types.size());
+            for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+                Class<?> type = (Class<?>) findLoadedClassMethod.invoke(classLoader, entry.getKey());
+                if (type == null) {
+                    type = (Class<?>) loadByteArrayMethod.invoke(classLoader,
+                            entry.getKey(),
+                            entry.getValue(),
+                            FROM_BEGINNING,
+                            entry.getValue().length,
+                            protectionDomain);
+                }
+                loadedTypes.put(entry.getKey(), type);
+            }
+            return loadedTypes;
         }
 
         @Override
@@ -330,9 +341,8 @@ public class ClassLoaderByteArrayInjector {
             if (this == other) return true;
             if (other == null || getClass() != other.getClass()) return false;
             ClassLoadingAction that = (ClassLoadingAction) other;
-            return Arrays.equals(binaryRepresentation, that.binaryRepresentation)
-                    && ClassLoaderByteArrayInjector.this.equals(that.getOuter())
-                    && name.equals(that.name);
+            return ClassLoaderByteArrayInjector.this.equals(that.getOuter())
+                    && types.equals(that.types);
         }
 
         /**
@@ -346,9 +356,8 @@ public class ClassLoaderByteArrayInjector {
 
         @Override
         public int hashCode() {
-            int result = name.hashCode();
+            int result = types.hashCode();
             result = 31 * result + ClassLoaderByteArrayInjector.class.hashCode();
-            result = 31 * result + Arrays.hashCode(binaryRepresentation);
             return result;
         }
 
@@ -356,8 +365,7 @@ public class ClassLoaderByteArrayInjector {
         public String toString() {
             return "ClassLoaderByteArrayInjector.ClassLoadingAction{" +
                     "injector=" + ClassLoaderByteArrayInjector.this +
-                    ", name='" + name + '\'' +
-                    ", binaryRepresentation=" + Arrays.toString(binaryRepresentation) +
+                    ", types=" + types.keySet() +
                     '}';
         }
     }
@@ -3,14 +3,14 @@ package net.bytebuddy.dynamic.loading;
 import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.StreamDrainer;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.instrument.*;
 import java.security.ProtectionDomain;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -186,6 +186,47 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         return this;
     }
 
+    /**
+     * Returns an incremental version of this class reloading strategy which only redefines classes with a changed
+     * class file and which redefines all of these classes at once.
+     *
+     * @param listener A listener that is notified on any redefined batch of classes.
+     * @return An incremental version of this class reloading strategy.
+     */
+    public Incremental incremental(Incremental.Listener listener) {
+        return incremental(Incremental.SINGLE_BATCH, listener);
+    }
+
+    /**
+     * Returns an incremental version of this class reloading strategy which only redefines classes with a changed
+     * class file and which redefines these classes in batches of a maximum size. See
+     * {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy.Incremental} for the consequences of redefining
+     * classes in several batches.
+     *
+     * @param maximumBatchSize The maximum number of classes that are redefined at once.
+     * @param listener         A listener that is notified on any redefined batch of classes.
+     * @return An incremental version of this class reloading strategy.
+     */
+    public Incremental incremental(int maximumBatchSize, Incremental.Listener listener) {
+        return incremental(maximumBatchSize, false, listener);
+    }
+
+    /**
+     * Returns an incremental version of this class reloading strategy which only redefines classes with a changed
+     * class file and which redefines these classes in batches of a maximum size. See
+     * {@link net.bytebuddy.dynamic.loading.ClassReloadingStrategy.Incremental} for the consequences of redefining
+     * classes in several batches and of grouping classes that reference each other.
+     *
+     * @param maximumBatchSize The maximum number of classes that are redefined at once.
+     * @param groupReferences  {@code true} if classes that reference each other should always be redefined in the
+     *                         same batch.
+     * @param listener         A listener that is notified on any redefined batch of classes.
+     * @return An incremental version of this class reloading strategy.
+     */
+    public Incremental incremental(int maximumBatchSize, boolean groupReferences, Incremental.Listener listener) {
+        return new Incremental(instrumentation, engine, maximumBatchSize, groupReferences, listener);
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -333,4 +374,449 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             }
         }
     }
+
+    /**
+     * <p>
+     * An incremental class reloading strategy only redefines classes if their class file differs from the class
+     * file that is currently installed. For this purpose, this strategy remembers any class file that it installed.
+     * For a class that was not yet redefined by this strategy, the class file is looked up as a resource of the class's
+     * class loader. Any changed classes are then redefined in batches of a maximum size such that a single redefinition
+     * does not stop the VM for a long time when many classes are changed.
+     * </p>
+     * <p>
+     * <b>Important</b>: Only the classes of a single batch are redefined atomically. This has two consequences when
+     * changed classes are redefined in more than one batch:
+     * </p>
+     * <ol>
+     * <li>Between two batches, other threads observe a state where the classes of earlier batches are already
+     * redefined while the classes of later batches are not.</li>
+     * <li>If the redefinition of a batch fails, the classes of all earlier batches remain redefined. The failed batch
+     * and all later batches are not applied.</li>
+     * </ol>
+     * <p>
+     * As a redefinition cannot change the fields or methods that a class declares, a class of an earlier batch can
+     * always be linked against the classes of a later batch, only the behavior of their methods might not yet match.
+     * Classes that are not yet loaded are always injected before any class is redefined. Optionally, classes that
+     * reference each other by their class files' constant pools, directly or transitively, are redefined in the same
+     * batch. As most classes of an application reference each other transitively, this typically collapses all
+     * changed classes into a single batch which is why this grouping must be enabled explicitly. Any group that
+     * exceeds the maximum batch size is reported to the {@link Listener}. An incremental strategy that is created by
+     * {@link ClassReloadingStrategy#incremental(Incremental.Listener)} redefines all classes in a single batch.
+     * </p>
+     * <p>
+     * <b>Note</b>: Class files are only remembered while the redefined class is loaded. A class that is redefined by
+     * another party than this strategy might not be detected as changed.
+     * </p>
+     */
+    public static class Incremental implements ClassLoadingStrategy {
+
+        /**
+         * A maximum batch size that redefines all changed classes at once.
+         */
+        public static final int SINGLE_BATCH = Integer.MAX_VALUE;
+
+        /**
+         * The tag of a class entry within a class file's constant pool.
+         */
+        private static final int CONSTANT_CLASS = 7;
+
+        /**
+         * This instance's instrumentation.
+         */
+        private final Instrumentation instrumentation;
+
+        /**
+         * An engine which performs the actual redefinition of a {@link java.lang.Class}.
+         */
+        private final Engine engine;
+
+        /**
+         * The maximum number of classes that are redefined at once.
+         */
+        private final int maximumBatchSize;
+
+        /**
+         * {@code true} if classes that reference each other are always redefined in the same batch.
+         */
+        private final boolean groupReferences;
+
+        /**
+         * A listener that is notified on any redefined batch of classes.
+         */
+        private final Listener listener;
+
+        /**
+         * A mapping of classes that were redefined by this strategy to the class file that was installed. This map
+         * must only be accessed while holding its monitor.
+         */
+        private final Map<Class<?>, byte[]> installedClassFiles;
+
+        /**
+         * Creates a new incremental class reloading strategy.
+         *
+         * @param instrumentation  The instrumentation to be used by this reloading strategy.
+         * @param engine           An engine which performs the actual redefinition of a {@link java.lang.Class}.
+         * @param maximumBatchSize The maximum number of classes that are redefined at once.
+         * @param listener         A listener that is notified on any redefined batch of classes.
+         */
+        public Incremental(Instrumentation instrumentation, Engine engine, int maximumBatchSize, Listener listener) {
+            this(instrumentation, engine, maximumBatchSize, false, listener);
+        }
+
+        /**
+         * Creates a new incremental class reloading strategy.
+         *
+         * @param instrumentation  The instrumentation to be used by this reloading strategy.
+         * @param engine           An engine which performs the actual redefinition of a {@link java.lang.Class}.
+         * @param maximumBatchSize The maximum number of classes that are redefined at once.
+         * @param groupReferences  {@code true} if classes that reference each other should always be redefined in
+         *                         the same batch.
+         * @param listener         A listener that is notified on any redefined batch of classes.
+         */
+        public Incremental(Instrumentation instrumentation, Engine engine, int maximumBatchSize, boolean groupReferences, Listener listener) {
+            if (maximumBatchSize < 1) {
+                throw new IllegalArgumentException("Maximum batch size must be positive: " + maximumBatchSize);
+            }
+            this.instrumentation = instrumentation;
+            this.engine = engine;
+            this.maximumBatchSize = maximumBatchSize;
+            this.groupReferences = groupReferences;
+            this.listener = listener;
+            installedClassFiles = new WeakHashMap<Class<?>, byte[]>();
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            Map<TypeDescription, Class<?>> loadedClasses = new HashMap<TypeDescription, Class<?>>(types.size());
+            Map<String, byte[]> injections = new LinkedHashMap<String, byte[]>();
+            Map<Class<?>, byte[]> classFiles = new LinkedHashMap<Class<?>, byte[]>();
+            List<Class<?>> unchanged = new ArrayList<Class<?>>();
+            for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+                try {
+                    Class<?> type = classLoader.loadClass(entry.getKey().getName());
+                    if (Arrays.equals(entry.getValue(), installedClassFile(type))) {
+                        unchanged.add(type);
+                    } else {
+                        classFiles.put(type, entry.getValue());
+                    }
+                    loadedClasses.put(entry.getKey(), type);
+                } catch (ClassNotFoundException ignored) {
+                    injections.put(entry.getKey().getName(), entry.getValue());
+                }
+            }
+            if (!injections.isEmpty()) {
+                Map<String, Class<?>> injectedClasses = new ClassLoaderByteArrayInjector(classLoader).inject(injections);
+                for (TypeDescription typeDescription : types.keySet()) {
+                    Class<?> type = injectedClasses.get(typeDescription.getName());
+                    if (type != null) {
+                        loadedClasses.put(typeDescription, type);
+                    }
+                }
+            }
+            if (!unchanged.isEmpty()) {
+                listener.onUnchanged(unchanged);
+            }
+            try {
+                redefine(classFiles);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Could not locate classes for redefinition", e);
+            } catch (UnmodifiableClassException e) {
+                throw new IllegalStateException("Cannot redefine specified class", e);
+            }
+            return loadedClasses;
+        }
+
+        /**
+         * Resets all classes to their original definition. Classes that are not redefined by this strategy are
+         * redefined nevertheless as they might have been redefined by another party.
+         *
+         * @param type The types to reset.
+         * @return This class reloading strategy.
+         */
+        public Incremental reset(Class<?>... type) {
+            Map<Class<?>, byte[]> classFiles = new LinkedHashMap<Class<?>, byte[]>(type.length);
+            try {
+                for (Class<?> aType : type) {
+                    byte[] classFile = originalClassFile(aType);
+                    if (classFile == null) {
+                        throw new IllegalStateException("Cannot locate class file of " + aType);
+                    }
+                    classFiles.put(aType, classFile);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Exception while resetting types " + Arrays.toString(type), e);
+            }
+            try {
+                redefine(classFiles);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Cannot locate types " + Arrays.toString(type), e);
+            } catch (UnmodifiableClassException e) {
+                throw new IllegalStateException("Cannot reset types " + Arrays.toString(type), e);
+            }
+            synchronized (installedClassFiles) {
+                for (Class<?> aType : type) {
+                    installedClassFiles.remove(aType);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Redefines the given classes in batches that do not exceed the maximum batch size unless a group of classes
+         * that reference each other exceeds this size.
+         *
+         * @param classFiles A mapping of the classes to redefine to their new class files.
+         * @throws UnmodifiableClassException If a class is not modifiable.
+         * @throws ClassNotFoundException     If a class was not found.
+         */
+        private void redefine(Map<Class<?>, byte[]> classFiles) throws UnmodifiableClassException, ClassNotFoundException {
+            Collection<List<Class<?>>> groups;
+            if (groupReferences) {
+                groups = group(classFiles);
+            } else {
+                groups = new ArrayList<List<Class<?>>>(classFiles.size());
+                for (Class<?> type : classFiles.keySet()) {
+                    groups.add(Collections.<Class<?>>singletonList(type));
+                }
+            }
+            int index = 0;
+            List<Class<?>> batch = new ArrayList<Class<?>>();
+            for (List<Class<?>> group : groups) {
+                if (group.size() > maximumBatchSize) {
+                    listener.onOversizedGroup(group);
+                }
+                if (!batch.isEmpty() && batch.size() + group.size() > maximumBatchSize) {
+                    redefine(index++, batch, classFiles);
+                    batch = new ArrayList<Class<?>>();
+                }
+                batch.addAll(group);
+            }
+            if (!batch.isEmpty()) {
+                redefine(index, batch, classFiles);
+            }
+        }
+
+        /**
+         * Redefines a single batch of classes at once.
+         *
+         * @param index      The index of the batch within the current redefinition.
+         * @param batch      The classes to redefine.
+         * @param classFiles A mapping of the classes to redefine to their new class files.
+         * @throws UnmodifiableClassException If a class is not modifiable.
+         * @throws ClassNotFoundException     If a class was not found.
+         */
+        private void redefine(int index, List<Class<?>> batch, Map<Class<?>, byte[]> classFiles) throws UnmodifiableClassException,
+                ClassNotFoundException {
+            Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(batch.size());
+            for (Class<?> type : batch) {
+                classDefinitions.put(type, new ClassDefinition(type, classFiles.get(type)));
+            }
+            long time = System.nanoTime();
+            engine.apply(instrumentation, classDefinitions);
+            time = System.nanoTime() - time;
+            synchronized (installedClassFiles) {
+                for (Class<?> type : batch) {
+                    installedClassFiles.put(type, classFiles.get(type));
+                }
+            }
+            listener.onBatch(index, batch, time);
+        }
+
+        /**
+         * Groups all classes that reference each other, directly or transitively, by their new class files. The groups
+         * and their classes retain the order of the given mapping.
+         *
+         * @param classFiles A mapping of the classes to redefine to their new class files.
+         * @return The groups of classes that reference each other.
+         */
+        private static Collection<List<Class<?>>> group(Map<Class<?>, byte[]> classFiles) {
+            Map<String, Class<?>> types = new HashMap<String, Class<?>>();
+            for (Class<?> type : classFiles.keySet()) {
+                types.put(type.getName().replace('.', '/'), type);
+            }
+            Map<Class<?>, Class<?>> representatives = new HashMap<Class<?>, Class<?>>();
+            for (Map.Entry<Class<?>, byte[]> entry : classFiles.entrySet()) {
+                for (String reference : references(entry.getValue())) {
+                    Class<?> referencedType = types.get(reference);
+                    if (referencedType != null) {
+                        Class<?> representative = representative(representatives, entry.getKey());
+                        Class<?> referencedRepresentative = representative(representatives, referencedType);
+                        if (representative != referencedRepresentative) {
+                            representatives.put(referencedRepresentative, representative);
+                        }
+                    }
+                }
+            }
+            Map<Class<?>, List<Class<?>>> groups = new LinkedHashMap<Class<?>, List<Class<?>>>();
+            for (Class<?> type : classFiles.keySet()) {
+                Class<?> representative = representative(representatives, type);
+                List<Class<?>> group = groups.get(representative);
+                if (group == null) {
+                    group = new ArrayList<Class<?>>();
+                    groups.put(representative, group);
+                }
+                group.add(type);
+            }
+            return groups.values();
+        }
+
+        /**
+         * Returns the class that represents the group of the given class.
+         *
+         * @param representatives A mapping of classes to another class of their group.
+         * @param type            The class for which to find the representative.
+         * @return The class that represents the group of the given class.
+         */
+        private static Class<?> representative(Map<Class<?>, Class<?>> representatives, Class<?> type) {
+            Class<?> representative = representatives.get(type);
+            while (representative != null) {
+                type = representative;
+                representative = representatives.get(type);
+            }
+            return type;
+        }
+
+        /**
+         * Returns the internal names of all classes that are referenced by a class file's constant pool. For an
+         * array class, the name of its component type is returned.
+         *
+         * @param binaryRepresentation The class file to inspect.
+         * @return The internal names of all referenced classes or an empty set if the class file cannot be parsed.
+         */
+        private static Set<String> references(byte[] binaryRepresentation) {
+            try {
+                ClassReader classReader = new ClassReader(binaryRepresentation);
+                char[] buffer = new char[classReader.getMaxStringLength()];
+                Set<String> references = new HashSet<String>();
+                for (int index = 1; index < classReader.getItemCount(); index++) {
+                    int offset = classReader.getItem(index);
+                    if (offset > 0 && classReader.readByte(offset - 1) == CONSTANT_CLASS) {
+                        String reference = classReader.readUTF8(offset, buffer);
+                        if (reference.startsWith("[")) {
+                            Type elementType = Type.getObjectType(reference).getElementType();
+                            if (elementType.getSort() == Type.OBJECT) {
+                                references.add(elementType.getInternalName());
+                            }
+                        } else {
+                            references.add(reference);
+                        }
+                    }
+                }
+                return references;
+            } catch (RuntimeException ignored) {
+                return Collections.emptySet();
+            }
+        }
+
+        /**
+         * Returns the class file that is currently installed for the given type.
+         *
+         * @param type The type for which to locate the installed class file.
+         * @return The installed class file or {@code null} if it cannot be located.
+         */
+        private byte[] installedClassFile(Class<?> type) {
+            synchronized (installedClassFiles) {
+                byte[] classFile = installedClassFiles.get(type);
+                if (classFile != null) {
+                    return classFile;
+                }
+            }
+            try {
+                return originalClassFile(type);
+            } catch (IOException ignored) {
+                return null;
+            }
+        }
+
+        /**
+         * Locates the original class file of a type as a resource of its class loader.
+         *
+         * @param type The type for which to locate the original class file.
+         * @return The original class file or {@code null} if it cannot be located.
+         * @throws IOException If an I/O exception occurs.
+         */
+        private static byte[] originalClassFile(Class<?> type) throws IOException {
+            ClassLoader classLoader = type.getClassLoader();
+            String resourceName = type.getName().replace('.', '/') + CLASS_FILE_EXTENSION;
+            InputStream inputStream = classLoader == null
+                    ? ClassLoader.getSystemResourceAsStream(resourceName)
+                    : classLoader.getResourceAsStream(resourceName);
+            if (inputStream == null) {
+                return null;
+            }
+            try {
+                return new StreamDrainer().drain(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ClassReloadingStrategy.Incremental{" +
+                    "instrumentation=" + instrumentation +
+                    ", engine=" + engine +
+                    ", maximumBatchSize=" + maximumBatchSize +
+                    ", groupReferences=" + groupReferences +
+                    ", listener=" + listener +
+                    ", installedClassFiles=" + installedClassFiles.size() +
+                    '}';
+        }
+
+        /**
+         * A listener that is notified about the progress of an incremental class reloading strategy.
+         */
+        public static interface Listener {
+
+            /**
+             * Invoked when classes are not redefined as their class file did not change.
+             *
+             * @param types The unchanged types.
+             */
+            void onUnchanged(List<Class<?>> types);
+
+            /**
+             * Invoked after a batch of classes was redefined.
+             *
+             * @param index The index of the batch within the current redefinition.
+             * @param types The types that were redefined within the batch.
+             * @param time  The time in nanoseconds that was required for redefining the batch.
+             */
+            void onBatch(int index, List<Class<?>> types, long time);
+
+            /**
+             * Invoked when a group of classes that reference each other exceeds the maximum batch size and is
+             * therefore redefined in a single batch that is larger than this size.
+             *
+             * @param types The types of the oversized group.
+             */
+            void onOversizedGroup(List<Class<?>> types);
+
+            /**
+             * A non-operational listener.
+             */
+            static enum NoOp implements Listener {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public void onUnchanged(List<Class<?>> types) {
+                    /* do nothing */
+                }
+
+                @Override
+                public void onBatch(int index, List<Class<?>> types, long time) {
+                    /* do nothing */
+                }
+
+                @Override
+                public void onOversizedGroup(List<Class<?>> types) {
+                    /* do nothing */
+                }
+            }
+        }
+    }
 }
@@ -2,9 +2,9 @@ package net.bytebuddy.dynamic.scaffold;
 
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.MethodList;
+import net.bytebuddy.instrumentation.type.TypeDescription;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -76,13 +76,15 @@ public interface BridgeMethodResolver {
     /**
      * A simple bridge method resolver which applies its resolution by analyzing non-generic types. When a type
      * inherits from a generic type and additionally overloads this method, this resolution might be ambiguous.
+     * All bridge methods are resolved to their final targets when this resolver is created such that resolving
+     * a method does not require any further analysis.
      */
     static class Simple implements BridgeMethodResolver {
 
         /**
-         * A map of all bridges mapped by their unique signature.
+         * A map of all bridges mapped by their signature tokens onto their final, resolved targets.
          */
-        private final Map<String, BridgeTarget> bridges;
+        private final Map<MethodDescription.SignatureToken, BridgeTarget> bridges;
 
         /**
          * Creates a new simple bridge method resolver.
@@ -92,9 +94,16 @@ public interface BridgeMethodResolver {
          */
         public Simple(MethodList methodList, ConflictHandler conflictHandler) {
             MethodList bridgeMethods = methodList.filter(isBridge());
-            bridges = new HashMap<String, BridgeTarget>(bridgeMethods.size());
+            Map<MethodDescription.SignatureToken, BridgeTarget> candidates = new HashMap<MethodDescription.SignatureToken, BridgeTarget>(bridgeMethods.size());
+            Map<TypeDescription, Map<String, List<MethodDescription>>> declaredMethods = new HashMap<TypeDescription, Map<String, List<MethodDescription>>>();
             for (MethodDescription bridgeMethod : bridgeMethods) {
-                bridges.put(bridgeMethod.getUniqueSignature(), findBridgeTargetFor(bridgeMethod, conflictHandler));
+                candidates.put(bridgeMethod.getSignatureToken(), findBridgeTargetFor(bridgeMethod, declaredMethods, conflictHandler));
+            }
+            bridges = new HashMap<MethodDescription.SignatureToken, BridgeTarget>(candidates.size());
+            for (MethodDescription.SignatureToken signatureToken : candidates.keySet()) {
+                Set<MethodDescription.SignatureToken> visited = new HashSet<MethodDescription.SignatureToken>();
+                visited.add(signatureToken);
+                resolve(signatureToken, candidates, bridges, visited);
             }
         }
 
@@ -102,14 +111,31 @@ public interface BridgeMethodResolver {
          * Attempts to find a bridge target for a given bridge method.
          *
          * @param bridgeMethod    The bridge method to resolve.
+         * @param declaredMethods An index of all non-bridge methods of any declaring type that was already analyzed,
+         *                        mapped by their source code names.
          * @param conflictHandler A conflict handler that is queried for handling ambiguous resolutions.
          * @return The resolved bridge method target.
          */
         private static BridgeTarget findBridgeTargetFor(MethodDescription bridgeMethod,
+                                                        Map<TypeDescription, Map<String, List<MethodDescription>>> declaredMethods,
                                                         ConflictHandler conflictHandler) {
-            MethodList targetCandidates = bridgeMethod.getDeclaringType()
-                    .getDeclaredMethods()
-                    .filter(not(isBridge()).and(isSpecializationOf(bridgeMethod)));
+            Map<String, List<MethodDescription>> methodsByName = declaredMethods.get(bridgeMethod.getDeclaringType());
+            if (methodsByName == null) {
+                methodsByName = new HashMap<String, List<MethodDescription>>();
+                for (MethodDescription methodDescription : bridgeMethod.getDeclaringType().getDeclaredMethods().filter(not(isBridge()))) {
+                    List<MethodDescription> methodDescriptions = methodsByName.get(methodDescription.getSourceCodeName());
+                    if (methodDescriptions == null) {
+                        methodDescriptions = new ArrayList<MethodDescription>();
+                        methodsByName.put(methodDescription.getSourceCodeName(), methodDescriptions);
+                    }
+                    methodDescriptions.add(methodDescription);
+                }
+                declaredMethods.put(bridgeMethod.getDeclaringType(), methodsByName);
+            }
+            List<MethodDescription> methodDescriptions = methodsByName.get(bridgeMethod.getSourceCodeName());
+            MethodList targetCandidates = methodDescriptions == null
+                    ? new MethodList.Empty()
+                    : new MethodList.Explicit(methodDescriptions).filter(isSpecializationOf(bridgeMethod));
             switch (targetCandidates.size()) {
                 case 0:
                     return new BridgeTarget.Resolved(bridgeMethod);
@@ -120,16 +146,47 @@ public interface BridgeMethodResolver {
             }
         }
 
+        /**
+         * Resolves the final target of a bridge method by following its candidate targets that are bridge methods
+         * themselves. Any resolved target is registered for every bridge method on the followed path such that
+         * each bridge method is only resolved once.
+         *
+         * @param signatureToken The signature token of the bridge method to resolve.
+         * @param candidates     A map of all bridge methods' signature tokens onto their immediate targets.
+         * @param bridges        A map of all bridge methods' signature tokens onto their already resolved targets.
+         * @param visited        The signature tokens of all bridge methods on the currently followed path.
+         * @return The final target of the given bridge method.
+         */
+        private static BridgeTarget resolve(MethodDescription.SignatureToken signatureToken,
+                                            Map<MethodDescription.SignatureToken, BridgeTarget> candidates,
+                                            Map<MethodDescription.SignatureToken, BridgeTarget> bridges,
+                                            Set<MethodDescription.SignatureToken> visited) {
+            BridgeTarget bridgeTarget = bridges.get(signatureToken);
+            if (bridgeTarget != null) { // The bridge method was already resolved.
+                return bridgeTarget;
+            }
+            bridgeTarget = candidates.get(signatureToken);
+            if (!bridgeTarget.isResolved()) { // There is a target for the bridge method which might however itself be a bridge method.
+                MethodDescription target = bridgeTarget.extract();
+                MethodDescription.SignatureToken targetToken = target.getSignatureToken();
+                if (!candidates.containsKey(targetToken)) {
+                    bridgeTarget = new BridgeTarget.Resolved(target);
+                } else if (visited.add(targetToken)) {
+                    bridgeTarget = resolve(targetToken, candidates, bridges, visited);
+                } else { // The bridge methods are targeting each other what does not allow for a resolution.
+                    bridgeTarget = BridgeTarget.Unknown.INSTANCE;
+                }
+            }
+            bridges.put(signatureToken, bridgeTarget);
+            return bridgeTarget;
+        }
+
         @Override
         public MethodDescription resolve(MethodDescription methodDescription) {
-            BridgeTarget bridgeTarget = bridges.get(methodDescription.getUniqueSignature());
-            if (bridgeTarget == null) { // The given method is not a bridge method.
-                return methodDescription;
-            } else if (bridgeTarget.isResolved()) { // There is a definite target for the given bridge method.
-                return bridgeTarget.extract();
-            } else { // There is a target for the bridge method which might however itself be a bridge method.
-                return resolve(bridgeTarget.extract());
-            }
+            BridgeTarget bridgeTarget = bridges.get(methodDescription.getSignatureToken());
+            return bridgeTarget == null
+                    ? methodDescription // The given method is not a bridge method.
+                    : bridgeTarget.extract();
         }
 
         @Override
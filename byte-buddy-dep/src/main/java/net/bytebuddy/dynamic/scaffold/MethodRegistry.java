@@ -10,6 +10,7 @@ import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.NameMatcher;
 
 import java.util.*;
 
@@ -367,7 +368,7 @@ public interface MethodRegistry {
                         loadedTypeInitializer,
                         typeInitializer,
                         finding.getInvokableMethods(),
-                        new ArrayList<Compiled.Entry>(compiledEntries),
+                        new Compiled.Index(new ArrayList<Compiled.Entry>(compiledEntries)),
                         fallback.compile(instrumentationTarget));
             }
 
@@ -431,9 +432,9 @@ public interface MethodRegistry {
             private final MethodList invokableMethods;
 
             /**
-             * The list of all compiled entries of this compiled method registry.
+             * An index of all compiled entries of this compiled method registry.
              */
-            private final List<Entry> entries;
+            private final Index index;
 
             /**
              * The fallback entry to apply for any method that is not matched by any of the registered compiled entries.
@@ -447,7 +448,7 @@ public interface MethodRegistry {
              * @param loadedTypeInitializer The loaded type initializer.
              * @param typeInitializer       The type initializer.
              * @param invokableMethods      A list of all methods that can be invoked on the instrumented type.
-             * @param entries               The list of all compiled entries of this compiled method registry.
+             * @param index                 An index of all compiled entries of this compiled method registry.
              * @param fallback              The fallback entry to apply for any method that is not matched by any of
              *                              the registered compiled entries.
              */
@@ -455,13 +456,13 @@ public interface MethodRegistry {
                                LoadedTypeInitializer loadedTypeInitializer,
                                InstrumentedType.TypeInitializer typeInitializer,
                                MethodList invokableMethods,
-                               List<Entry> entries,
+                               Index index,
                                MethodRegistry.Compiled.Entry fallback) {
                 this.instrumentedType = instrumentedType;
                 this.loadedTypeInitializer = loadedTypeInitializer;
                 this.typeInitializer = typeInitializer;
                 this.invokableMethods = invokableMethods;
-                this.entries = entries;
+                this.index = index;
                 this.fallback = fallback;
             }
 
@@ -487,7 +488,7 @@ public interface MethodRegistry {
 
             @Override
             public MethodRegistry.Compiled.Entry target(MethodDescription methodDescription) {
-                for (Entry entry : entries) {
+                for (Entry entry : index.getCandidates(methodDescription)) {
                     if (entry.matches(methodDescription)) {
                         return entry;
                     }
@@ -500,7 +501,7 @@ public interface MethodRegistry {
                 if (this == other) return true;
                 if (other == null || getClass() != other.getClass()) return false;
                 Compiled compiled = (Compiled) other;
-                return entries.equals(compiled.entries)
+                return index.equals(compiled.index)
                         && fallback.equals(compiled.fallback)
                         && instrumentedType.equals(compiled.instrumentedType)
                         && invokableMethods.equals(compiled.invokableMethods)
@@ -514,7 +515,7 @@ public interface MethodRegistry {
                 result = 31 * result + loadedTypeInitializer.hashCode();
                 result = 31 * result + typeInitializer.hashCode();
                 result = 31 * result + invokableMethods.hashCode();
-                result = 31 * result + entries.hashCode();
+                result = 31 * result + index.hashCode();
                 result = 31 * result + fallback.hashCode();
                 return result;
             }
@@ -526,7 +527,7 @@ public interface MethodRegistry {
                         ", loadedTypeInitializer=" + loadedTypeInitializer +
                         ", typeInitializer=" + typeInitializer +
                         ", invokableMethods=" + invokableMethods +
-                        ", entries=" + entries +
+                        ", index=" + index +
                         ", fallback=" + fallback +
                         '}';
             }
@@ -560,6 +561,16 @@ public interface MethodRegistry {
                     return methodMatcher.matches(methodDescription);
                 }
 
+                /**
+                 * Returns the source code names of all methods that can be matched by this entry.
+                 *
+                 * @return The source code names of all methods that can be matched by this entry or {@code null}
+                 * if these names are not known.
+                 */
+                protected Set<String> getSourceCodeNames() {
+                    return NameMatcher.resolveSourceCodeNames(methodMatcher);
+                }
+
                 @Override
                 public boolean equals(Object other) {
                     return this == other || !(other == null || getClass() != other.getClass())
@@ -581,6 +592,96 @@ public interface MethodRegistry {
                             '}';
                 }
             }
+
+            /**
+             * An index of the compiled entries of a compiled default method registry. Entries that only match methods
+             * of known names are indexed by these names such that only entries that can match a method of a given
+             * name are considered as a target for this method. The order of the entries is retained for any name.
+             */
+            protected static class Index {
+
+                /**
+                 * All compiled entries in their application order.
+                 */
+                private final List<Entry> entries;
+
+                /**
+                 * All compiled entries in their application order that match methods of any name.
+                 */
+                private final List<Entry> unnamedEntries;
+
+                /**
+                 * A mapping of method names to all compiled entries in their application order that can match a
+                 * method of this name.
+                 */
+                private final Map<String, List<Entry>> namedEntries;
+
+                /**
+                 * Creates a new index of compiled entries.
+                 *
+                 * @param entries All compiled entries in their application order.
+                 */
+                protected Index(List<Entry> entries) {
+                    this.entries = entries;
+                    List<Set<String>> sourceCodeNames = new ArrayList<Set<String>>(entries.size());
+                    Set<String> indexedNames = new HashSet<String>();
+                    unnamedEntries = new ArrayList<Entry>();
+                    for (Entry entry : entries) {
+                        Set<String> names = entry.getSourceCodeNames();
+                        sourceCodeNames.add(names);
+                        if (names == null) {
+                            unnamedEntries.add(entry);
+                        } else {
+                            indexedNames.addAll(names);
+                        }
+                    }
+                    namedEntries = new HashMap<String, List<Entry>>(indexedNames.size());
+                    for (String indexedName : indexedNames) {
+                        List<Entry> candidates = new ArrayList<Entry>();
+                        Iterator<Set<String>> iterator = sourceCodeNames.iterator();
+                        for (Entry entry : entries) {
+                            Set<String> names = iterator.next();
+                            if (names == null || names.contains(indexedName)) {
+                                candidates.add(entry);
+                            }
+                        }
+                        namedEntries.put(indexedName, candidates);
+                    }
+                }
+
+                /**
+                 * Returns all compiled entries in their application order that can match the given method.
+                 *
+                 * @param methodDescription The method for which to find all candidate entries.
+                 * @return All compiled entries in their application order that can match the given method.
+                 */
+                protected List<Entry> getCandidates(MethodDescription methodDescription) {
+                    List<Entry> candidates = namedEntries.get(methodDescription.getSourceCodeName());
+                    return candidates == null
+                            ? unnamedEntries
+                            : candidates;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    return this == other || !(other == null || getClass() != other.getClass())
+                            && entries.equals(((Index) other).entries);
+                }
+
+                @Override
+                public int hashCode() {
+                    return entries.hashCode();
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodRegistry.Default.Compiled.Index{" +
+                            "entries=" + entries +
+                            ", unnamedEntries=" + unnamedEntries +
+                            ", namedEntries=" + namedEntries +
+                            '}';
+                }
+            }
         }
 
         /**
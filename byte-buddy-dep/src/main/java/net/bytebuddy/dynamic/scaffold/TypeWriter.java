@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static net.bytebuddy.utility.ByteBuddyCommons.join;
 
@@ -45,6 +46,13 @@ public interface TypeWriter<T> {
      */
     DynamicType.Unloaded<T> make();
 
+    /**
+     * Returns a description of the type that is written by this type writer.
+     *
+     * @return A description of the written type.
+     */
+    TypeDescription getInstrumentedType();
+
     /**
      * An engine that is responsible for writing the actual class file.
      */
@@ -1148,7 +1156,13 @@ public interface TypeWriter<T> {
         private final Engine engine;
 
         /**
-         * Creates a new immutable type writer.
+         * The executor to which the writing of any auxiliary type that is registered during the creation of the
+         * instrumented type is submitted.
+         */
+        private final Executor executor;
+
+        /**
+         * Creates a new immutable type writer which writes any auxiliary types on the writing thread.
          *
          * @param instrumentedType       The instrumented type that is to be written.
          * @param loadedTypeInitializer  The loaded type initializer of the instrumented type.
@@ -1164,12 +1178,42 @@ public interface TypeWriter<T> {
                 List<DynamicType> explicitAuxiliaryTypes,
                 ClassFileVersion classFileVersion,
                 Engine engine) {
+            this(instrumentedType,
+                    loadedTypeInitializer,
+                    typeInitializer,
+                    explicitAuxiliaryTypes,
+                    classFileVersion,
+                    engine,
+                    Instrumentation.Context.Default.SynchronousExecutor.INSTANCE);
+        }
+
+        /**
+         * Creates a new immutable type writer.
+         *
+         * @param instrumentedType       The instrumented type that is to be written.
+         * @param loadedTypeInitializer  The loaded type initializer of the instrumented type.
+         * @param typeInitializer        The type initializer of the instrumented type.
+         * @param explicitAuxiliaryTypes A list of explicit auxiliary types that are to be added to the created
+         *                               dynamic type.
+         * @param classFileVersion       The class file version of the type that is to be written.
+         * @param engine                 An engine for writing the actual class file for the instrumented type.
+         * @param executor               The executor to which the writing of any auxiliary type that is registered
+         *                               during the creation of the instrumented type is submitted.
+         */
+        public Default(TypeDescription instrumentedType,
+                LoadedTypeInitializer loadedTypeInitializer,
+                InstrumentedType.TypeInitializer typeInitializer,
+                List<DynamicType> explicitAuxiliaryTypes,
+                ClassFileVersion classFileVersion,
+                Engine engine,
+                Executor executor) {
             this.instrumentedType = instrumentedType;
             this.loadedTypeInitializer = loadedTypeInitializer;
             this.typeInitializer = typeInitializer;
             this.explicitAuxiliaryTypes = explicitAuxiliaryTypes;
             this.classFileVersion = classFileVersion;
             this.engine = engine;
+            this.executor = executor;
         }
 
         @Override
@@ -1177,13 +1221,19 @@ public interface TypeWriter<T> {
             Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(
                     instrumentedType,
                     typeInitializer,
-                    classFileVersion);
+                    classFileVersion,
+                    executor);
             return new DynamicType.Default.Unloaded<S>(instrumentedType,
                     engine.create(instrumentationContext),
                     loadedTypeInitializer,
                     join(explicitAuxiliaryTypes, instrumentationContext.getRegisteredAuxiliaryTypes()));
         }
 
+        @Override
+        public TypeDescription getInstrumentedType() {
+            return instrumentedType;
+        }
+
         @Override
         public boolean equals(Object other) {
             if (this == other)
@@ -1196,7 +1246,8 @@ public interface TypeWriter<T> {
                     && instrumentedType.equals(aDefault.instrumentedType)
                     && classFileVersion.equals(aDefault.classFileVersion)
                     && loadedTypeInitializer.equals(aDefault.loadedTypeInitializer)
-                    && typeInitializer.equals(aDefault.typeInitializer);
+                    && typeInitializer.equals(aDefault.typeInitializer)
+                    && executor.equals(aDefault.executor);
         }
 
         @Override
@@ -1207,6 +1258,7 @@ public interface TypeWriter<T> {
             result = 31 * result + explicitAuxiliaryTypes.hashCode();
             result = 31 * result + engine.hashCode();
             result = 31 * result + classFileVersion.hashCode();
+            result = 31 * result + executor.hashCode();
             return result;
         }
 
@@ -1219,6 +1271,7 @@ public interface TypeWriter<T> {
                     ", explicitAuxiliaryTypes=" + explicitAuxiliaryTypes +
                     ", classFileVersion=" + classFileVersion +
                     ", engine=" + engine +
+                    ", executor=" + executor +
                     '}';
         }
     }
@@ -31,6 +31,7 @@ import org.objectweb.asm.MethodVisitor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -211,6 +212,26 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
 
     @Override
     public DynamicType.Unloaded<T> make() {
+        return toTypeWriter(Instrumentation.Context.Default.SynchronousExecutor.INSTANCE).make();
+    }
+
+    @Override
+    public DynamicType.Unloaded<T> make(Executor executor) {
+        return toTypeWriter(executor).make();
+    }
+
+    @Override
+    public DynamicType.Unloaded<T> makeDeferred() {
+        return new DynamicType.Deferred<T>(toTypeWriter(Instrumentation.Context.Default.SynchronousExecutor.INSTANCE));
+    }
+
+    /**
+     * Compiles this builder's current state into a type writer for the created type.
+     *
+     * @param executor The executor to which the writing of any auxiliary type of the created type is submitted.
+     * @return A type writer for the created type.
+     */
+    private TypeWriter<T> toTypeWriter(Executor executor) {
         MethodRegistry.Prepared preparedMethodRegistry = methodRegistry.prepare(
                 applyRecordedMembersTo(new InlineInstrumentedType(classFileVersion,
                         targetType,
@@ -240,8 +261,8 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                         fieldRegistry.prepare(compiledMethodRegistry.getInstrumentedType()).compile(TypeWriter.FieldPool.Entry.NoOp.INSTANCE),
                         compiledMethodRegistry,
                         classFileLocator,
-                        preparedTargetHandler.getMethodRebaseResolver()))
-                .make();
+                        preparedTargetHandler.getMethodRebaseResolver()),
+                executor);
     }
 
     @Override
@@ -8,6 +8,7 @@ import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
 import net.bytebuddy.dynamic.scaffold.FieldRegistry;
 import net.bytebuddy.dynamic.scaffold.MethodRegistry;
 import net.bytebuddy.dynamic.scaffold.TypeWriter;
+import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.attribute.FieldAttributeAppender;
 import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
 import net.bytebuddy.instrumentation.attribute.TypeAttributeAppender;
@@ -20,6 +21,7 @@ import net.bytebuddy.matcher.ElementMatcher;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -190,6 +192,26 @@ public class SubclassDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractB
 
     @Override
     public DynamicType.Unloaded<T> make() {
+        return toTypeWriter(Instrumentation.Context.Default.SynchronousExecutor.INSTANCE).make();
+    }
+
+    @Override
+    public DynamicType.Unloaded<T> make(Executor executor) {
+        return toTypeWriter(executor).make();
+    }
+
+    @Override
+    public DynamicType.Unloaded<T> makeDeferred() {
+        return new DynamicType.Deferred<T>(toTypeWriter(Instrumentation.Context.Default.SynchronousExecutor.INSTANCE));
+    }
+
+    /**
+     * Compiles this builder's current state into a type writer for the created type.
+     *
+     * @param executor The executor to which the writing of any auxiliary type of the created type is submitted.
+     * @return A type writer for the created type.
+     */
+    private TypeWriter<T> toTypeWriter(Executor executor) {
         MethodRegistry.Compiled compiledMethodRegistry = constructorStrategy
                 .inject(methodRegistry, defaultMethodAttributeAppenderFactory)
                 .prepare(
@@ -216,8 +238,8 @@ public class SubclassDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractB
                         classVisitorWrapperChain,
                         attributeAppender,
                         fieldRegistry.prepare(compiledMethodRegistry.getInstrumentedType()).compile(TypeWriter.FieldPool.Entry.NoOp.INSTANCE),
-                        compiledMethodRegistry))
-                .make();
+                        compiledMethodRegistry),
+                executor);
     }
 
     /**
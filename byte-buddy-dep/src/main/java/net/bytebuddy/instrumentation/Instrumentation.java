@@ -23,6 +23,7 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * An instrumentation is responsible for implementing (or not implementing) methods of a dynamically created type. An
@@ -648,6 +649,16 @@ public interface Instrumentation {
              */
             private final Map<AuxiliaryType, DynamicType> auxiliaryTypes;
 
+            /**
+             * The executor to which the writing of the class files of registered auxiliary types is submitted.
+             */
+            private final Executor executor;
+
+            /**
+             * The pending writings of the class files of registered auxiliary types.
+             */
+            private final List<Future<byte[]>> auxiliaryTypeWritings;
+
             /**
              * A map of already registered field caches to their field representation.
              */
@@ -676,12 +687,31 @@ public interface Instrumentation {
             public Default(TypeDescription instrumentedType,
                            InstrumentedType.TypeInitializer typeInitializer,
                            ClassFileVersion classFileVersion) {
+                this(instrumentedType, typeInitializer, classFileVersion, SynchronousExecutor.INSTANCE);
+            }
+
+            /**
+             * Creates a new delegate that submits the writing of the class files of registered auxiliary types to the
+             * given executor. This constructor implicitly defines default naming strategies for created accessor
+             * method and registered auxiliary types.
+             *
+             * @param instrumentedType The description of the type that is currently subject of creation.
+             * @param typeInitializer  The type initializer of the created instrumented type.
+             * @param classFileVersion The class file version of the created class.
+             * @param executor         The executor to which the writing of the class files of registered auxiliary
+             *                         types is submitted.
+             */
+            public Default(TypeDescription instrumentedType,
+                           InstrumentedType.TypeInitializer typeInitializer,
+                           ClassFileVersion classFileVersion,
+                           Executor executor) {
                 this(instrumentedType,
                         typeInitializer,
                         classFileVersion,
                         DEFAULT_ACCESSOR_METHOD_SUFFIX,
                         DEFAULT_FIELD_CACHE_PREFIX,
-                        new AuxiliaryTypeNamingStrategy.SuffixingRandom(DEFAULT_ACCESSOR_METHOD_SUFFIX));
+                        new AuxiliaryTypeNamingStrategy.SuffixingRandom(DEFAULT_ACCESSOR_METHOD_SUFFIX),
+                        executor);
             }
 
             /**
@@ -701,24 +731,58 @@ public interface Instrumentation {
                            String accessorMethodSuffix,
                            String fieldCachePrefix,
                            AuxiliaryTypeNamingStrategy auxiliaryTypeNamingStrategy) {
+                this(instrumentedType,
+                        typeInitializer,
+                        classFileVersion,
+                        accessorMethodSuffix,
+                        fieldCachePrefix,
+                        auxiliaryTypeNamingStrategy,
+                        SynchronousExecutor.INSTANCE);
+            }
+
+            /**
+             * Creates a new delegate. Auxiliary types are only described when they are registered while their class
+             * files are written by the given executor. Auxiliary types might register accessor methods while their
+             * class files are written such that the writing of all auxiliary types is awaited before this delegate
+             * is drained.
+             *
+             * @param instrumentedType            The description of the type that is currently subject of creation.
+             * @param typeInitializer             The type initializer of the created instrumented type.
+             * @param classFileVersion            The class file version of the created class.
+             * @param accessorMethodSuffix        A suffix that is added to any accessor method where the method name is
+             *                                    prefixed by the accessed method's name.
+             * @param fieldCachePrefix            A prefix that is added to any field cache.
+             * @param auxiliaryTypeNamingStrategy The naming strategy for naming an auxiliary type.
+             * @param executor                    The executor to which the writing of the class files of registered
+             *                                    auxiliary types is submitted.
+             */
+            public Default(TypeDescription instrumentedType,
+                           InstrumentedType.TypeInitializer typeInitializer,
+                           ClassFileVersion classFileVersion,
+                           String accessorMethodSuffix,
+                           String fieldCachePrefix,
+                           AuxiliaryTypeNamingStrategy auxiliaryTypeNamingStrategy,
+                           Executor executor) {
                 this.instrumentedType = instrumentedType;
                 this.typeInitializer = typeInitializer;
                 this.classFileVersion = classFileVersion;
                 this.accessorMethodSuffix = accessorMethodSuffix;
                 this.fieldCachePrefix = fieldCachePrefix;
                 this.auxiliaryTypeNamingStrategy = auxiliaryTypeNamingStrategy;
+                this.executor = executor;
                 registeredAccessorMethods = new HashMap<Instrumentation.SpecialMethodInvocation, MethodDescription>();
                 registeredGetters = new HashMap<FieldDescription, MethodDescription>();
                 registeredSetters = new HashMap<FieldDescription, MethodDescription>();
                 accessorMethodEntries = new HashMap<MethodDescription, TypeWriter.MethodPool.Entry>();
                 auxiliaryTypes = new HashMap<AuxiliaryType, DynamicType>();
+                auxiliaryTypeWritings = new ArrayList<Future<byte[]>>();
                 registeredFieldCacheEntries = new HashMap<FieldCacheEntry, FieldDescription>();
                 randomString = new RandomString();
                 canRegisterFieldCache = true;
             }
 
             @Override
-            public MethodDescription registerAccessorFor(Instrumentation.SpecialMethodInvocation specialMethodInvocation) {
+            public synchronized MethodDescription registerAccessorFor(Instrumentation.SpecialMethodInvocation specialMethodInvocation) {
                 MethodDescription accessorMethod = registeredAccessorMethods.get(specialMethodInvocation);
                 if (accessorMethod == null) {
                     String name = String.format("%s$%s$%s", specialMethodInvocation.getMethodDescription().getInternalName(),
@@ -750,7 +814,7 @@ public interface Instrumentation {
             }
 
             @Override
-            public MethodDescription registerGetterFor(FieldDescription fieldDescription) {
+            public synchronized MethodDescription registerGetterFor(FieldDescription fieldDescription) {
                 MethodDescription accessorMethod = registeredGetters.get(fieldDescription);
                 if (accessorMethod == null) {
                     String name = String.format("%s$%s$%s", fieldDescription.getName(),
@@ -782,7 +846,7 @@ public interface Instrumentation {
             }
 
             @Override
-            public MethodDescription registerSetterFor(FieldDescription fieldDescription) {
+            public synchronized MethodDescription registerSetterFor(FieldDescription fieldDescription) {
                 MethodDescription accessorMethod = registeredSetters.get(fieldDescription);
                 if (accessorMethod == null) {
                     String name = String.format("%s$%s$%s", fieldDescription.getName(),
@@ -821,6 +885,9 @@ public interface Instrumentation {
                             classFileVersion,
                             this);
                     auxiliaryTypes.put(auxiliaryType, dynamicType);
+                    FutureTask<byte[]> auxiliaryTypeWriting = new FutureTask<byte[]>(new AuxiliaryTypeWriting(dynamicType));
+                    auxiliaryTypeWritings.add(auxiliaryTypeWriting);
+                    executor.execute(auxiliaryTypeWriting);
                 }
                 return dynamicType.getTypeDescription();
             }
@@ -860,8 +927,31 @@ public interface Instrumentation {
                 }
             }
 
+            /**
+             * Awaits the writing of the class files of all registered auxiliary types. Any auxiliary type has
+             * registered all of its accessor methods once its class file is written.
+             */
+            private void awaitAuxiliaryTypeWritings() {
+                try {
+                    for (Future<byte[]> auxiliaryTypeWriting : auxiliaryTypeWritings) {
+                        auxiliaryTypeWriting.get();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while writing auxiliary types", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    } else if (e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw new IllegalStateException("Error while writing auxiliary types", e.getCause());
+                }
+            }
+
             @Override
             public void drain(ClassVisitor classVisitor, TypeWriter.MethodPool methodPool, InjectedCode injectedCode) {
+                awaitAuxiliaryTypeWritings();
                 canRegisterFieldCache = false;
                 MethodDescription typeInitializer = MethodDescription.Latent.typeInitializerOf(instrumentedType);
                 FieldCacheAppender.resolve(methodPool.target(typeInitializer),
@@ -894,12 +984,74 @@ public interface Instrumentation {
                         ", registeredSetters=" + registeredSetters +
                         ", accessorMethodEntries=" + accessorMethodEntries +
                         ", auxiliaryTypes=" + auxiliaryTypes +
+                        ", executor=" + executor +
+                        ", auxiliaryTypeWritings=" + auxiliaryTypeWritings +
                         ", registeredFieldCacheEntries=" + registeredFieldCacheEntries +
                         ", randomString=" + randomString +
                         ", canRegisterFieldCache=" + canRegisterFieldCache +
                         '}';
             }
 
+            /**
+             * An executor that runs any submitted task on the submitting thread such that auxiliary types are written
+             * when they are registered.
+             */
+            public static enum SynchronousExecutor implements Executor {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public void execute(Runnable command) {
+                    command.run();
+                }
+            }
+
+            /**
+             * A task for writing the class file of a registered auxiliary type.
+             */
+            protected static class AuxiliaryTypeWriting implements Callable<byte[]> {
+
+                /**
+                 * The auxiliary type of which the class file is written.
+                 */
+                private final DynamicType dynamicType;
+
+                /**
+                 * Creates a new task for writing the class file of an auxiliary type.
+                 *
+                 * @param dynamicType The auxiliary type of which the class file is written.
+                 */
+                protected AuxiliaryTypeWriting(DynamicType dynamicType) {
+                    this.dynamicType = dynamicType;
+                }
+
+                @Override
+                public byte[] call() {
+                    return dynamicType.getBytes();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    return this == other || !(other == null || getClass() != other.getClass())
+                            && dynamicType.equals(((AuxiliaryTypeWriting) other).dynamicType);
+                }
+
+                @Override
+                public int hashCode() {
+                    return dynamicType.hashCode();
+                }
+
+                @Override
+                public String toString() {
+                    return "Instrumentation.Context.Default.AuxiliaryTypeWriting{" +
+                            "dynamicType=" + dynamicType +
+                            '}';
+                }
+            }
+
             /**
              * Representation of a naming strategy for an auxiliary type.
              */
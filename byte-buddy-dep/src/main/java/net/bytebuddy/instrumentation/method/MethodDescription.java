@@ -157,6 +157,15 @@ public interface MethodDescription extends ByteCodeElement {
      */
     String getUniqueSignature();
 
+    /**
+     * Returns a token that represents the unique signature of this byte code method. Other than the string
+     * representation that is returned by {@link net.bytebuddy.instrumentation.method.MethodDescription#getUniqueSignature()},
+     * a token is computed only once for a method description and is therefore cheap to use as a key of a hash map.
+     *
+     * @return A token that represents the unique signature of this byte code method.
+     */
+    SignatureToken getSignatureToken();
+
     /**
      * Returns the default value of this method or {@code null} if no such value exists. The returned values might be
      * of a different type than usual:
@@ -184,6 +193,82 @@ public interface MethodDescription extends ByteCodeElement {
      */
     <T> T getDefaultValue(Class<T> type);
 
+    /**
+     * A token that represents the unique signature of a byte code method, i.e. its internal name and its descriptor.
+     * The token's hash code is computed on its creation and two tokens are equal if they represent the same internal
+     * name and descriptor.
+     */
+    static class SignatureToken {
+
+        /**
+         * The internal name of the represented method.
+         */
+        private final String internalName;
+
+        /**
+         * The descriptor of the represented method.
+         */
+        private final String descriptor;
+
+        /**
+         * The precomputed hash code of this token.
+         */
+        private final int hashCode;
+
+        /**
+         * Creates a new signature token.
+         *
+         * @param internalName The internal name of the represented method.
+         * @param descriptor   The descriptor of the represented method.
+         */
+        public SignatureToken(String internalName, String descriptor) {
+            this.internalName = internalName;
+            this.descriptor = descriptor;
+            hashCode = 31 * internalName.hashCode() + descriptor.hashCode();
+        }
+
+        /**
+         * Returns the internal name of the represented method.
+         *
+         * @return The internal name of the represented method.
+         */
+        public String getInternalName() {
+            return internalName;
+        }
+
+        /**
+         * Returns the descriptor of the represented method.
+         *
+         * @return The descriptor of the represented method.
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            SignatureToken signatureToken = (SignatureToken) other;
+            return hashCode == signatureToken.hashCode
+                    && internalName.equals(signatureToken.internalName)
+                    && descriptor.equals(signatureToken.descriptor);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodDescription.SignatureToken{" +
+                    "internalName='" + internalName + '\'' +
+                    ", descriptor='" + descriptor + '\'' +
+                    '}';
+        }
+    }
+
     /**
      * An abstract base implementation of a method description.
      */
@@ -201,11 +286,27 @@ public interface MethodDescription extends ByteCodeElement {
                 | Modifier.SYNCHRONIZED
                 | Modifier.NATIVE;
 
+        /**
+         * The signature token of this method description which is computed on its first request. The token is
+         * computed from immutable properties such that a concurrent computation yields an equal token.
+         */
+        private SignatureToken signatureToken;
+
         @Override
         public String getUniqueSignature() {
             return getInternalName() + getDescriptor();
         }
 
+        @Override
+        public SignatureToken getSignatureToken() {
+            SignatureToken signatureToken = this.signatureToken;
+            if (signatureToken == null) {
+                signatureToken = new SignatureToken(getInternalName(), getDescriptor());
+                this.signatureToken = signatureToken;
+            }
+            return signatureToken;
+        }
+
         @Override
         public int getStackSize() {
             return getParameterTypes().getStackSize() + (isStatic() ? 0 : 1);
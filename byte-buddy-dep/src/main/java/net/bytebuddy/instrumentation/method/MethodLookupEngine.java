@@ -1,6 +1,7 @@
 package net.bytebuddy.instrumentation.method;
 
 import net.bytebuddy.instrumentation.attribute.annotation.AnnotationList;
+import net.bytebuddy.instrumentation.type.PackageDescription;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -9,6 +10,8 @@ import org.objectweb.asm.Opcodes;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -188,9 +191,9 @@ public interface MethodLookupEngine {
         }
 
         /**
-         * Creates a new method description of an overriding method to an overriden method. The overriding method is
-         * considered to be a {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.OverridenClassMethod}
-         * itself and is resolved appropriately.
+         * Creates a new method description of an overriding method to an overriden method. Both the overriding and
+         * the overridden method might be a {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.OverridenClassMethod}
+         * themselves and are resolved appropriately.
          *
          * @param overridingMethod The most specific method that is overriding another method.
          * @param overriddenMethod The method that is overridden by the {@code overridingMethod}.
@@ -198,16 +201,17 @@ public interface MethodLookupEngine {
          * specialize on invoking the overriden method.
          */
         public static MethodDescription of(MethodDescription overridingMethod, MethodDescription overriddenMethod) {
-            List<MethodDescription> methodChain;
+            List<MethodDescription> methodChain = new ArrayList<MethodDescription>();
             if (overridingMethod instanceof OverridenClassMethod) {
-                OverridenClassMethod overridenClassMethod = (OverridenClassMethod) overridingMethod;
-                methodChain = new ArrayList<MethodDescription>(overridenClassMethod.methodChain.size() + 1);
-                methodChain.addAll(overridenClassMethod.methodChain);
+                methodChain.addAll(((OverridenClassMethod) overridingMethod).methodChain);
             } else {
-                methodChain = new ArrayList<MethodDescription>(2);
                 methodChain.add(overridingMethod);
             }
-            methodChain.add(overriddenMethod);
+            if (overriddenMethod instanceof OverridenClassMethod) {
+                methodChain.addAll(((OverridenClassMethod) overriddenMethod).methodChain);
+            } else {
+                methodChain.add(overriddenMethod);
+            }
             return new OverridenClassMethod(methodChain);
         }
 
@@ -584,6 +588,262 @@ public interface MethodLookupEngine {
             }
         }
 
+        /**
+         * A default method lookup engine that memoizes the class methods, interfaces and interface methods that a
+         * type inherits from its super classes. When processing a type, only the type's declared methods and
+         * interfaces are analyzed while the findings of its super classes are composed from a cache that is shared
+         * by all engines of a {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.Default.Caching.Factory}.
+         * Since the virtual methods of a super class depend on the package of the processed type, the cache stores
+         * a finding per super class and package. As for a {@link net.bytebuddy.pool.TypePool.CacheProvider}, types
+         * are identified by their names such that a factory must only be used for types of a single name space.
+         */
+        public static class Caching implements MethodLookupEngine {
+
+            /**
+             * Determines if default method lookup is enabled.
+             */
+            private final DefaultMethodLookup defaultMethodLookup;
+
+            /**
+             * The cache of inherited findings that is shared by all engines of a factory.
+             */
+            private final ConcurrentMap<Inheritance.Key, Inheritance> cache;
+
+            /**
+             * Creates a new caching method lookup engine.
+             *
+             * @param defaultMethodLookup Determines if default method lookup is enabled.
+             * @param cache               The cache of inherited findings that is shared by all engines of a factory.
+             */
+            protected Caching(DefaultMethodLookup defaultMethodLookup, ConcurrentMap<Inheritance.Key, Inheritance> cache) {
+                this.defaultMethodLookup = defaultMethodLookup;
+                this.cache = cache;
+            }
+
+            @Override
+            public Finding process(TypeDescription typeDescription) {
+                TypeDescription supertype = typeDescription.getSupertype();
+                if (supertype == null) {
+                    return new Default(defaultMethodLookup).process(typeDescription);
+                }
+                Inheritance inheritance = inheritance(supertype, typeDescription);
+                MethodBucket methodBucket = new MethodBucket(typeDescription);
+                methodBucket.pushInheritedClassMethods(inheritance.classMethods);
+                TypeList defaultMethodRelevantInterfaces = typeDescription.getInterfaces();
+                Map<TypeDescription, Set<MethodDescription>> defaultMethods;
+                if (defaultMethodRelevantInterfaces.isEmpty()) {
+                    methodBucket.pushInheritedInterfaceMethods(inheritance.interfaceMethods);
+                    defaultMethods = Collections.emptyMap();
+                } else {
+                    Set<TypeDescription> interfaces = new HashSet<TypeDescription>(inheritance.interfaces);
+                    defaultMethods = defaultMethodLookup.apply(methodBucket, interfaces, defaultMethodRelevantInterfaces);
+                    methodBucket.pushInterfaces(interfaces);
+                }
+                return new Finding.Default(methodBucket.getTypeOfInterest(),
+                        methodBucket.extractInvokableMethods(),
+                        defaultMethods);
+            }
+
+            /**
+             * Resolves the finding for a super class and all of its super classes relatively to a type of interest.
+             *
+             * @param supertype      The super class for which to resolve the inherited finding.
+             * @param typeOfInterest The type of interest which determines the visibility of package-private methods.
+             * @return The inherited finding of the given super class.
+             */
+            private Inheritance inheritance(TypeDescription supertype, TypeDescription typeOfInterest) {
+                Inheritance.Key key = new Inheritance.Key(supertype, typeOfInterest);
+                Inheritance inheritance = cache.get(key);
+                if (inheritance != null) {
+                    return inheritance;
+                }
+                MethodBucket methodBucket = new MethodBucket(typeOfInterest, new HashMap<MethodDescription.SignatureToken, MethodDescription>());
+                methodBucket.pushClass(supertype);
+                Set<TypeDescription> interfaces = new HashSet<TypeDescription>(supertype.getInterfaces());
+                TypeDescription superSupertype = supertype.getSupertype();
+                if (superSupertype != null) {
+                    Inheritance superInheritance = inheritance(superSupertype, typeOfInterest);
+                    methodBucket.pushInheritedClassMethods(superInheritance.classMethods);
+                    interfaces.addAll(superInheritance.interfaces);
+                }
+                Map<MethodDescription.SignatureToken, MethodDescription> classMethods = new HashMap<MethodDescription.SignatureToken, MethodDescription>(methodBucket.classMethods);
+                methodBucket.pushInterfaces(interfaces);
+                inheritance = new Inheritance(classMethods, interfaces, methodBucket.interfaceMethods);
+                Inheritance previous = cache.putIfAbsent(key, inheritance);
+                return previous == null
+                        ? inheritance
+                        : previous;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && defaultMethodLookup == ((Caching) other).defaultMethodLookup
+                        && cache == ((Caching) other).cache;
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * defaultMethodLookup.hashCode() + System.identityHashCode(cache);
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Default.Caching{" +
+                        "defaultMethodLookup=" + defaultMethodLookup +
+                        ", cache=" + cache +
+                        '}';
+            }
+
+            /**
+             * The methods and interfaces that a type inherits from one of its super classes and all of this super
+             * class's super classes.
+             */
+            protected static class Inheritance {
+
+                /**
+                 * The inherited class methods by their unique signature.
+                 */
+                private final Map<MethodDescription.SignatureToken, MethodDescription> classMethods;
+
+                /**
+                 * The interfaces that are declared by any of the super classes.
+                 */
+                private final Set<TypeDescription> interfaces;
+
+                /**
+                 * The inherited interface methods by their unique signature.
+                 */
+                private final Map<MethodDescription.SignatureToken, MethodDescription> interfaceMethods;
+
+                /**
+                 * Creates a new inherited finding.
+                 *
+                 * @param classMethods     The inherited class methods by their unique signature.
+                 * @param interfaces       The interfaces that are declared by any of the super classes.
+                 * @param interfaceMethods The inherited interface methods by their unique signature.
+                 */
+                protected Inheritance(Map<MethodDescription.SignatureToken, MethodDescription> classMethods,
+                                      Set<TypeDescription> interfaces,
+                                      Map<MethodDescription.SignatureToken, MethodDescription> interfaceMethods) {
+                    this.classMethods = Collections.unmodifiableMap(classMethods);
+                    this.interfaces = Collections.unmodifiableSet(interfaces);
+                    this.interfaceMethods = Collections.unmodifiableMap(interfaceMethods);
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodLookupEngine.Default.Caching.Inheritance{" +
+                            "classMethods=" + classMethods +
+                            ", interfaces=" + interfaces +
+                            ", interfaceMethods=" + interfaceMethods +
+                            '}';
+                }
+
+                /**
+                 * A key for an inherited finding which identifies the super class and the package of the type of
+                 * interest by their names.
+                 */
+                protected static class Key {
+
+                    /**
+                     * The name of the super class.
+                     */
+                    private final String typeName;
+
+                    /**
+                     * The name of the package of the type of interest or {@code null} for the default package.
+                     */
+                    private final String packageName;
+
+                    /**
+                     * Creates a new key for an inherited finding.
+                     *
+                     * @param supertype      The super class for which the finding is resolved.
+                     * @param typeOfInterest The type of interest for which the finding is resolved.
+                     */
+                    protected Key(TypeDescription supertype, TypeDescription typeOfInterest) {
+                        typeName = supertype.getName();
+                        PackageDescription packageDescription = typeOfInterest.getPackage();
+                        packageName = packageDescription == null
+                                ? null
+                                : packageDescription.getName();
+                    }
+
+                    @Override
+                    public boolean equals(Object other) {
+                        if (this == other) return true;
+                        if (other == null || getClass() != other.getClass()) return false;
+                        Key key = (Key) other;
+                        return typeName.equals(key.typeName)
+                                && !(packageName != null ? !packageName.equals(key.packageName) : key.packageName != null);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return 31 * typeName.hashCode() + (packageName != null ? packageName.hashCode() : 0);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "MethodLookupEngine.Default.Caching.Inheritance.Key{" +
+                                "typeName='" + typeName + '\'' +
+                                ", packageName='" + packageName + '\'' +
+                                '}';
+                    }
+                }
+            }
+
+            /**
+             * A factory for creating {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.Default.Caching}
+             * lookup engines that share a cache of inherited findings.
+             */
+            public static class Factory implements MethodLookupEngine.Factory {
+
+                /**
+                 * The cache of inherited findings that is shared by all engines of this factory.
+                 */
+                private final ConcurrentMap<Inheritance.Key, Inheritance> cache;
+
+                /**
+                 * Creates a new factory for caching method lookup engines with an empty cache.
+                 */
+                public Factory() {
+                    cache = new ConcurrentHashMap<Inheritance.Key, Inheritance>();
+                }
+
+                @Override
+                public MethodLookupEngine make(boolean extractDefaultMethods) {
+                    return new Caching(extractDefaultMethods
+                            ? DefaultMethodLookup.ENABLED
+                            : DefaultMethodLookup.DISABLED, cache);
+                }
+
+                /**
+                 * Returns the number of inherited findings that are currently cached.
+                 *
+                 * @return The number of inherited findings that are currently cached.
+                 */
+                public int getCacheSize() {
+                    return cache.size();
+                }
+
+                /**
+                 * Removes all inherited findings from the cache.
+                 */
+                public void clear() {
+                    cache.clear();
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodLookupEngine.Default.Caching.Factory{" +
+                            "cache=" + cache +
+                            '}';
+                }
+            }
+        }
+
         /**
          * A method bucket is used to identify unique methods of all super types and interfaces of a given type. A
          * method bucket will therefore always filter any declared method of identical signature that was already
@@ -607,14 +867,14 @@ public interface MethodLookupEngine {
         protected static class MethodBucket {
 
             /**
-             * A map of class methods by their unique signature, represented as strings.
+             * A map of class methods by their unique signature, represented as signature tokens.
              */
-            private final Map<String, MethodDescription> classMethods;
+            private final Map<MethodDescription.SignatureToken, MethodDescription> classMethods;
 
             /**
-             * A map of interface methods by their unique signature, represented as strings.
+             * A map of interface methods by their unique signature, represented as signature tokens.
              */
-            private final Map<String, MethodDescription> interfaceMethods;
+            private final Map<MethodDescription.SignatureToken, MethodDescription> interfaceMethods;
 
             /**
              * A marker pool of types that were already pushed into this bucket.
@@ -640,14 +900,24 @@ public interface MethodLookupEngine {
              * @param typeOfInterest The type for which a type extraction is performed.
              */
             protected MethodBucket(TypeDescription typeOfInterest) {
+                this(typeOfInterest, new HashMap<MethodDescription.SignatureToken, MethodDescription>());
+                pushClass(typeOfInterest, any());
+            }
+
+            /**
+             * Creates a new mutable method bucket that does not yet contain any methods of the type of interest.
+             *
+             * @param typeOfInterest The type for which a type extraction is performed.
+             * @param classMethods   A mutable map of class methods by their unique signature to use by this bucket.
+             */
+            private MethodBucket(TypeDescription typeOfInterest, Map<MethodDescription.SignatureToken, MethodDescription> classMethods) {
                 this.typeOfInterest = typeOfInterest;
-                classMethods = new HashMap<String, MethodDescription>();
-                interfaceMethods = new HashMap<String, MethodDescription>();
+                this.classMethods = classMethods;
+                interfaceMethods = new HashMap<MethodDescription.SignatureToken, MethodDescription>();
                 processedTypes = new HashSet<TypeDescription>();
                 virtualMethodMatcher = isMethod().<MethodDescription>and(not(isPrivate()
                         .<MethodDescription>or(isStatic())
                         .<MethodDescription>or(isPackagePrivate().and(not(isVisibleTo(typeOfInterest))))));
-                pushClass(typeOfInterest, any());
             }
 
             /**
@@ -672,15 +942,50 @@ public interface MethodLookupEngine {
             private void pushClass(TypeDescription typeDescription, ElementMatcher<? super MethodDescription> methodMatcher) {
                 if (processedTypes.add(typeDescription)) {
                     for (MethodDescription methodDescription : typeDescription.getDeclaredMethods().filter(methodMatcher)) {
-                        String uniqueSignature = methodDescription.getUniqueSignature();
-                        MethodDescription overridingMethod = classMethods.get(uniqueSignature);
-                        classMethods.put(uniqueSignature, overridingMethod == null
+                        MethodDescription.SignatureToken signatureToken = methodDescription.getSignatureToken();
+                        MethodDescription overridingMethod = classMethods.get(signatureToken);
+                        classMethods.put(signatureToken, overridingMethod == null
                                 ? methodDescription
                                 : OverridenClassMethod.of(overridingMethod, methodDescription));
                     }
                 }
             }
 
+            /**
+             * Pushes class methods that were previously extracted for the super classes of the type of interest into
+             * the bucket. Any inherited method is considered to be overridden by a class method of identical
+             * signature that was already pushed into the bucket.
+             *
+             * @param inheritedMethods The inherited class methods by their unique signature.
+             */
+            private void pushInheritedClassMethods(Map<MethodDescription.SignatureToken, MethodDescription> inheritedMethods) {
+                for (Map.Entry<MethodDescription.SignatureToken, MethodDescription> entry : inheritedMethods.entrySet()) {
+                    MethodDescription overridingMethod = classMethods.get(entry.getKey());
+                    classMethods.put(entry.getKey(), overridingMethod == null
+                            ? entry.getValue()
+                            : OverridenClassMethod.of(overridingMethod, entry.getValue()));
+                }
+            }
+
+            /**
+             * Pushes interface methods that were previously extracted for the super classes of the type of interest
+             * into the bucket. This method must be called after pushing all classes into the bucket and replaces the
+             * pushing of any interfaces. Any inherited interface method of identical signature to a class method
+             * is ignored and any conflicting interface method is declared by the type of interest.
+             *
+             * @param inheritedMethods The inherited interface methods by their unique signature.
+             */
+            private void pushInheritedInterfaceMethods(Map<MethodDescription.SignatureToken, MethodDescription> inheritedMethods) {
+                for (Map.Entry<MethodDescription.SignatureToken, MethodDescription> entry : inheritedMethods.entrySet()) {
+                    if (!classMethods.containsKey(entry.getKey())) {
+                        MethodDescription methodDescription = entry.getValue();
+                        interfaceMethods.put(entry.getKey(), methodDescription instanceof ConflictingInterfaceMethod
+                                ? new ConflictingInterfaceMethod(typeOfInterest, ((ConflictingInterfaceMethod) methodDescription).methodDescriptions)
+                                : methodDescription);
+                    }
+                }
+            }
+
             /**
              * Pushes a collection of interfaces into the bucket. This method must not be called before pushing
              * all classes into the bucket.
@@ -717,7 +1022,7 @@ public interface MethodLookupEngine {
              */
             private void pushInterfaces(Collection<? extends TypeDescription> typeDescriptions,
                                         DefaultMethodLookup defaultMethodLookup) {
-                Set<String> processedMethods = new HashSet<String>(classMethods.keySet());
+                Set<MethodDescription.SignatureToken> processedMethods = new HashSet<MethodDescription.SignatureToken>(classMethods.keySet());
                 for (TypeDescription interfaceTypeDescription : typeDescriptions) {
                     pushInterface(interfaceTypeDescription, processedMethods, defaultMethodLookup);
                 }
@@ -764,20 +1069,20 @@ public interface MethodLookupEngine {
              * @param defaultMethodLookup         A processor for performing a lookup of default methods.
              */
             private void pushInterface(TypeDescription typeDescription,
-                                       Set<String> processedMethodsInHierarchy,
+                                       Set<MethodDescription.SignatureToken> processedMethodsInHierarchy,
                                        DefaultMethodLookup defaultMethodLookup) {
-                Set<String> locallyProcessedMethods = new HashSet<String>(processedMethodsInHierarchy);
+                Set<MethodDescription.SignatureToken> locallyProcessedMethods = new HashSet<MethodDescription.SignatureToken>(processedMethodsInHierarchy);
                 if (processedTypes.add(typeDescription)) {
                     defaultMethodLookup.begin(typeDescription);
                     for (MethodDescription methodDescription : typeDescription.getDeclaredMethods().filter(virtualMethodMatcher)) {
-                        String uniqueSignature = methodDescription.getUniqueSignature();
-                        if (locallyProcessedMethods.add(uniqueSignature)) {
-                            MethodDescription conflictingMethod = interfaceMethods.get(uniqueSignature);
+                        MethodDescription.SignatureToken signatureToken = methodDescription.getSignatureToken();
+                        if (locallyProcessedMethods.add(signatureToken)) {
+                            MethodDescription conflictingMethod = interfaceMethods.get(signatureToken);
                             MethodDescription resolvedMethod = methodDescription;
                             if (conflictingMethod != null && !conflictingMethod.getDeclaringType().isAssignableFrom(typeDescription)) {
                                 resolvedMethod = ConflictingInterfaceMethod.of(typeOfInterest, conflictingMethod, methodDescription);
                             }
-                            interfaceMethods.put(uniqueSignature, resolvedMethod);
+                            interfaceMethods.put(signatureToken, resolvedMethod);
                         }
                         defaultMethodLookup.register(methodDescription);
                     }
@@ -913,7 +1218,7 @@ public interface MethodLookupEngine {
                      * A mapping of interfaces to all methods that are declared on a given interface where
                      * the methods are not necessarily default methods.
                      */
-                    private final Map<TypeDescription, Set<String>> methodDeclarations;
+                    private final Map<TypeDescription, Set<MethodDescription.SignatureToken>> methodDeclarations;
 
                     /**
                      * Creates a new mutable canonical implementation of a default method lookup.
@@ -924,18 +1229,18 @@ public interface MethodLookupEngine {
                     protected Enabled(Collection<? extends TypeDescription> declaredInterfaceTypes) {
                         this.declaredInterfaceTypes = declaredInterfaceTypes;
                         defaultMethods = new HashMap<TypeDescription, Set<MethodDescription>>();
-                        methodDeclarations = new HashMap<TypeDescription, Set<String>>();
+                        methodDeclarations = new HashMap<TypeDescription, Set<MethodDescription.SignatureToken>>();
                     }
 
                     @Override
                     public void begin(TypeDescription typeDescription) {
                         defaultMethods.put(typeDescription, new HashSet<MethodDescription>());
-                        methodDeclarations.put(typeDescription, new HashSet<String>());
+                        methodDeclarations.put(typeDescription, new HashSet<MethodDescription.SignatureToken>());
                     }
 
                     @Override
                     public void register(MethodDescription methodDescription) {
-                        methodDeclarations.get(methodDescription.getDeclaringType()).add(methodDescription.getUniqueSignature());
+                        methodDeclarations.get(methodDescription.getDeclaringType()).add(methodDescription.getSignatureToken());
                         if (methodDescription.isDefaultMethod()) {
                             defaultMethods.get(methodDescription.getDeclaringType()).add(methodDescription);
                         }
@@ -943,11 +1248,11 @@ public interface MethodLookupEngine {
 
                     @Override
                     public void complete(TypeDescription typeDescription) {
-                        Set<String> methodDeclarations = this.methodDeclarations.get(typeDescription);
+                        Set<MethodDescription.SignatureToken> methodDeclarations = this.methodDeclarations.get(typeDescription);
                         Set<MethodDescription> defaultMethods = this.defaultMethods.get(typeDescription);
                         for (TypeDescription interfaceType : typeDescription.getInterfaces()) {
                             for (MethodDescription methodDescription : this.defaultMethods.get(interfaceType)) {
-                                if (!methodDeclarations.contains(methodDescription.getUniqueSignature())) {
+                                if (!methodDeclarations.contains(methodDescription.getSignatureToken())) {
                                     defaultMethods.add(methodDescription);
                                 }
                             }
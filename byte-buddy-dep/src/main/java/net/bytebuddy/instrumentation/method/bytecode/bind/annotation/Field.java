@@ -1209,7 +1209,7 @@ public @interface Field {
                                 : new InstanceFieldConstructor(instrumentedType))
                         .method(isDeclaredBy(accessType.proxyType(getterMethod, setterMethod)))
                         .intercept(accessType.access(accessedField, assigner, methodAccessorFactory))
-                        .make();
+                        .makeDeferred();
             }
 
             @Override
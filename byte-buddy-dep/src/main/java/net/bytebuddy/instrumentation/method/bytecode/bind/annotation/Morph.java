@@ -414,7 +414,7 @@ public @interface Morph {
                                 : new InstanceFieldConstructor(instrumentedType))
                         .method(isDeclaredBy(morphingType))
                         .intercept(new MethodCall(methodAccessorFactory.registerAccessorFor(specialMethodInvocation), assigner))
-                        .make();
+                        .makeDeferred();
             }
 
             @Override
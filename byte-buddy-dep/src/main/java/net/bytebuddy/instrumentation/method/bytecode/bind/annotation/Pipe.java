@@ -329,7 +329,7 @@ public @interface Pipe {
                 for (Map.Entry<String, TypeDescription> field : parameterFields.entrySet()) {
                     builder = builder.defineField(field.getKey(), field.getValue(), Visibility.PRIVATE);
                 }
-                return builder.make();
+                return builder.makeDeferred();
             }
 
             @Override
@@ -22,7 +22,10 @@ public interface AuxiliaryType {
     static final ModifierContributor.ForType[] DEFAULT_TYPE_MODIFIER = {SyntheticState.SYNTHETIC};
 
     /**
-     * Creates a new auxiliary type.
+     * Creates a new auxiliary type. The class file of the returned type might only be written once it is first
+     * required, for example by {@link net.bytebuddy.dynamic.DynamicType.Builder#makeDeferred()}, and might be written
+     * on another thread than the one that registered the auxiliary type. Accessor methods can still be registered
+     * with the given factory while the class file is written.
      *
      * @param auxiliaryTypeName     The fully qualified non-internal name for this auxiliary type. The type should be in
      *                              the same package than the instrumented type this auxiliary type is providing services
@@ -149,7 +149,7 @@ public class MethodCallProxy implements AuxiliaryType {
         for (Map.Entry<String, TypeDescription> field : parameterFields.entrySet()) {
             builder = builder.defineField(field.getKey(), field.getValue(), Visibility.PRIVATE);
         }
-        return builder.make();
+        return builder.makeDeferred();
     }
 
     @Override
@@ -32,7 +32,7 @@ public enum TrivialType implements AuxiliaryType, MethodLookupEngine.Factory, Me
                 .name(auxiliaryTypeName)
                 .modifiers(DEFAULT_TYPE_MODIFIER)
                 .methodLookupEngine(this)
-                .make();
+                .makeDeferred();
     }
 
     @Override
@@ -109,7 +109,7 @@ public class TypeProxy implements AuxiliaryType, MethodLookupEngine.Factory {
                 .intercept(new MethodCall(methodAccessorFactory))
                 .defineMethod(REFLECTION_METHOD, TargetType.DESCRIPTION, Collections.<TypeDescription>emptyList(), Ownership.STATIC)
                 .intercept(SilentConstruction.INSTANCE)
-                .make();
+                .makeDeferred();
     }
 
     @Override
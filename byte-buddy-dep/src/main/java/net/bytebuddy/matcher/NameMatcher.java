@@ -2,6 +2,10 @@ package net.bytebuddy.matcher;
 
 import net.bytebuddy.instrumentation.ByteCodeElement;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * A method matcher that matches a byte code element's source code name:
  * <ul>
@@ -32,7 +36,61 @@ public class NameMatcher<T extends ByteCodeElement> extends ElementMatcher.Junct
 
     @Override
     public boolean matches(T target) {
-        return nameMatcher.matches(target.getSourceCodeName());
+        return matches(target.getSourceCodeName());
+    }
+
+    /**
+     * Matches a byte code element's source code name without requiring a description of the element.
+     *
+     * @param sourceCodeName The source code name of a byte code element.
+     * @return {@code true} if the name is matched by this matcher.
+     */
+    public boolean matches(String sourceCodeName) {
+        return nameMatcher.matches(sourceCodeName);
+    }
+
+    /**
+     * Resolves the source code names of all byte code elements that can be matched by the given matcher. A name
+     * can only be resolved for name matchers that require equality to a given name and for conjunctions and
+     * disjunctions of such matchers. Any element that is matched by the given matcher is guaranteed to be named
+     * by one of the resolved names.
+     *
+     * @param matcher The matcher for which to resolve the names of all matched elements.
+     * @return The source code names of all elements that can be matched by the given matcher or {@code null} if
+     * these names cannot be resolved.
+     */
+    public static Set<String> resolveSourceCodeNames(ElementMatcher<?> matcher) {
+        if (matcher instanceof NameMatcher) {
+            ElementMatcher<String> nameMatcher = ((NameMatcher<?>) matcher).nameMatcher;
+            String name = nameMatcher instanceof StringMatcher
+                    ? ((StringMatcher) nameMatcher).getEqualValue()
+                    : null;
+            return name == null
+                    ? null
+                    : Collections.singleton(name);
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction) {
+            Set<String> left = resolveSourceCodeNames(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft());
+            Set<String> right = resolveSourceCodeNames(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight());
+            if (left == null) {
+                return right;
+            } else if (right == null) {
+                return left;
+            }
+            Set<String> names = new HashSet<String>(left);
+            names.retainAll(right);
+            return names;
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction) {
+            Set<String> left = resolveSourceCodeNames(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft());
+            Set<String> right = resolveSourceCodeNames(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight());
+            if (left == null || right == null) {
+                return null;
+            }
+            Set<String> names = new HashSet<String>(left);
+            names.addAll(right);
+            return names;
+        } else {
+            return null;
+        }
     }
 
     @Override
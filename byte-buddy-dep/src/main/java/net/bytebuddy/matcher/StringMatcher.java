@@ -31,6 +31,18 @@ public class StringMatcher extends ElementMatcher.Junction.AbstractBase<String>
         return mode.matches(value, target);
     }
 
+    /**
+     * Returns the value that a string must be equal to in order to be matched by this matcher.
+     *
+     * @return The value that a matched string must be equal to or {@code null} if this matcher does not require
+     * the equality of a matched string.
+     */
+    protected String getEqualValue() {
+        return mode == Mode.EQUALS_FULLY
+                ? value
+                : null;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -12,18 +12,24 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.matcher.FilterableList;
+import net.bytebuddy.utility.BoundedCache;
 import net.bytebuddy.utility.PropertyDispatcher;
 import org.objectweb.asm.*;
 import org.objectweb.asm.Type;
 
-import java.io.IOException;
+import java.io.*;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.AnnotationTypeMismatchException;
 import java.lang.annotation.IncompleteAnnotationException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -163,6 +169,72 @@ public interface TypePool {
                         '}';
             }
         }
+
+        /**
+         * A resolution of a type description that was parsed from a class file of a known size.
+         */
+        static class Parsed implements Resolution {
+
+            /**
+             * The represented type description.
+             */
+            private final TypeDescription typeDescription;
+
+            /**
+             * The size of the class file from which the type description was parsed.
+             */
+            private final int classFileSize;
+
+            /**
+             * Creates a new resolution of a parsed type description.
+             *
+             * @param typeDescription The represented type description.
+             * @param classFileSize   The size of the class file from which the type description was parsed.
+             */
+            public Parsed(TypeDescription typeDescription, int classFileSize) {
+                this.typeDescription = typeDescription;
+                this.classFileSize = classFileSize;
+            }
+
+            @Override
+            public boolean isResolved() {
+                return true;
+            }
+
+            @Override
+            public TypeDescription resolve() {
+                return typeDescription;
+            }
+
+            /**
+             * Returns the size of the class file from which the type description was parsed.
+             *
+             * @return The size of the class file from which the type description was parsed.
+             */
+            public int getClassFileSize() {
+                return classFileSize;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && classFileSize == ((Parsed) other).classFileSize
+                        && typeDescription.equals(((Parsed) other).typeDescription);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * typeDescription.hashCode() + classFileSize;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Resolution.Parsed{" +
+                        "typeDescription=" + typeDescription +
+                        ", classFileSize=" + classFileSize +
+                        '}';
+            }
+        }
     }
 
     /**
@@ -258,6 +330,267 @@ public interface TypePool {
                 return "TypePool.CacheProvider.Simple{cache=" + cache + '}';
             }
         }
+
+        /**
+         * A thread-safe type cache that references its resolutions softly such that the garbage collector can
+         * reclaim cached type descriptions under memory pressure. Entries of reclaimed resolutions are removed
+         * incrementally whenever this cache is accessed such that no background thread is required.
+         */
+        static class SoftlyReferenced implements CacheProvider {
+
+            /**
+             * A map containing all cached resolutions by their names.
+             */
+            private final ConcurrentMap<String, SoftEntry> cache;
+
+            /**
+             * The reference queue that is notified on the garbage collection of a cached resolution.
+             */
+            private final ReferenceQueue<Resolution> referenceQueue;
+
+            /**
+             * Creates a new softly referencing cache.
+             */
+            public SoftlyReferenced() {
+                cache = new ConcurrentHashMap<String, SoftEntry>();
+                referenceQueue = new ReferenceQueue<Resolution>();
+            }
+
+            @Override
+            public Resolution find(String name) {
+                expungeStaleEntries();
+                SoftEntry softEntry = cache.get(name);
+                if (softEntry == null) {
+                    return null;
+                }
+                Resolution resolution = softEntry.get();
+                if (resolution == null) {
+                    cache.remove(name, softEntry);
+                }
+                return resolution;
+            }
+
+            @Override
+            public Resolution register(String name, Resolution resolution) {
+                expungeStaleEntries();
+                SoftEntry softEntry = new SoftEntry(name, resolution, referenceQueue);
+                while (true) {
+                    SoftEntry previous = cache.putIfAbsent(name, softEntry);
+                    if (previous == null) {
+                        return resolution;
+                    }
+                    Resolution cached = previous.get();
+                    if (cached != null) {
+                        return cached;
+                    } else if (cache.replace(name, previous, softEntry)) {
+                        return resolution;
+                    }
+                }
+            }
+
+            @Override
+            public void clear() {
+                cache.clear();
+                expungeStaleEntries();
+            }
+
+            /**
+             * Removes all entries from the cache of which the resolution was reclaimed by the garbage collector.
+             */
+            private void expungeStaleEntries() {
+                Reference<?> reference;
+                while ((reference = referenceQueue.poll()) != null) {
+                    cache.remove(((SoftEntry) reference).getName(), reference);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.CacheProvider.SoftlyReferenced{" +
+                        "cache=" + cache +
+                        ", referenceQueue=" + referenceQueue +
+                        '}';
+            }
+
+            /**
+             * A soft reference to a cached resolution that remembers the name under which it is registered.
+             */
+            protected static class SoftEntry extends SoftReference<Resolution> {
+
+                /**
+                 * The name under which the referenced resolution is registered.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new soft entry.
+                 *
+                 * @param name           The name under which the referenced resolution is registered.
+                 * @param resolution     The referenced resolution.
+                 * @param referenceQueue The reference queue to notify on the resolution's garbage collection.
+                 */
+                protected SoftEntry(String name, Resolution resolution, ReferenceQueue<? super Resolution> referenceQueue) {
+                    super(resolution, referenceQueue);
+                    this.name = name;
+                }
+
+                /**
+                 * Returns the name under which the referenced resolution is registered.
+                 *
+                 * @return The name under which the referenced resolution is registered.
+                 */
+                protected String getName() {
+                    return name;
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.CacheProvider.SoftlyReferenced.SoftEntry{" +
+                            "name='" + name + '\'' +
+                            ", resolution=" + get() +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A thread-safe type cache that retains a bounded number of resolutions. Each resolution is assigned a
+         * weight by a {@link net.bytebuddy.pool.TypePool.CacheProvider.Bounded.Weigher}. When the total weight of
+         * all cached resolutions exceeds the cache's maximum weight, the resolutions that were not queried
+         * recently are discarded. Additionally, this cache counts its hits, misses and evictions.
+         */
+        static class Bounded implements CacheProvider {
+
+            /**
+             * The weigher to apply for determining a resolution's weight.
+             */
+            private final Weigher weigher;
+
+            /**
+             * The cache that stores the resolutions by their names.
+             */
+            private final BoundedCache<String, Resolution> cache;
+
+            /**
+             * Creates a new bounded cache where every resolution is of the same weight.
+             *
+             * @param maximumSize The maximum number of resolutions that are retained by this cache.
+             */
+            public Bounded(int maximumSize) {
+                this(maximumSize, Weigher.ForUnit.INSTANCE);
+            }
+
+            /**
+             * Creates a new bounded cache.
+             *
+             * @param maximumWeight The maximum total weight of all resolutions that are retained by this cache.
+             * @param weigher       The weigher to apply for determining a resolution's weight.
+             */
+            public Bounded(int maximumWeight, Weigher weigher) {
+                this.weigher = weigher;
+                cache = new BoundedCache<String, Resolution>(maximumWeight);
+            }
+
+            @Override
+            public Resolution find(String name) {
+                return cache.get(name);
+            }
+
+            @Override
+            public Resolution register(String name, Resolution resolution) {
+                return cache.putIfAbsent(name, resolution, weigher.weigh(resolution));
+            }
+
+            @Override
+            public void clear() {
+                cache.clear();
+            }
+
+            /**
+             * Returns a snapshot of this cache's current statistics.
+             *
+             * @return A snapshot of this cache's current statistics.
+             */
+            public BoundedCache.Statistics getStatistics() {
+                return cache.getStatistics();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.CacheProvider.Bounded{" +
+                        "weigher=" + weigher +
+                        ", cache=" + cache +
+                        '}';
+            }
+
+            /**
+             * A weigher determines the weight of a resolution that is stored in a bounded cache.
+             */
+            public static interface Weigher {
+
+                /**
+                 * Determines the weight of the given resolution.
+                 *
+                 * @param resolution The resolution to weigh.
+                 * @return The resolution's weight which must not be negative.
+                 */
+                int weigh(Resolution resolution);
+
+                /**
+                 * A weigher that assigns the same weight to any resolution such that the maximum weight of a
+                 * cache represents the maximum number of cached resolutions.
+                 */
+                static enum ForUnit implements Weigher {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * The weight of any resolution.
+                     */
+                    private static final int UNIT = 1;
+
+                    @Override
+                    public int weigh(Resolution resolution) {
+                        return UNIT;
+                    }
+                }
+
+                /**
+                 * A weigher that weighs a type that was parsed from a class file by the size of this class file
+                 * where each started kilobyte adds a unit to the weight of the type itself. Any other resolution
+                 * is weighed as a single unit. As the class file size is known when a type is parsed, this weigher
+                 * does not require the parsing of a type's members if a type pool reads class files in
+                 * {@link net.bytebuddy.pool.TypePool.Default.ReaderMode#LAZY} mode.
+                 */
+                static enum ForClassFileSize implements Weigher {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * The weight of a type without considering its class file size.
+                     */
+                    private static final int UNIT = 1;
+
+                    /**
+                     * The number of bytes of a class file that add a unit to a type's weight.
+                     */
+                    private static final int KILOBYTE = 1024;
+
+                    @Override
+                    public int weigh(Resolution resolution) {
+                        return resolution instanceof Resolution.Parsed
+                                ? UNIT + (((Resolution.Parsed) resolution).getClassFileSize() + KILOBYTE - 1) / KILOBYTE
+                                : UNIT;
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -408,126 +741,875 @@ public interface TypePool {
             }
 
             @Override
-            public boolean isResolved() {
-                return resolution.isResolved();
+            public boolean isResolved() {
+                return resolution.isResolved();
+            }
+
+            @Override
+            public TypeDescription resolve() {
+                return TypeDescription.ArrayProjection.of(resolution.resolve(), arity);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && arity == ((ArrayTypeResolution) other).arity
+                        && resolution.equals(((ArrayTypeResolution) other).resolution);
+            }
+
+            @Override
+            public int hashCode() {
+                int result = resolution.hashCode();
+                result = 31 * result + arity;
+                return result;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.AbstractBase.ArrayTypeResolution{" +
+                        "resolution=" + resolution +
+                        ", arity=" + arity +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A default implementation of a {@link net.bytebuddy.pool.TypePool} that models binary data in the
+     * Java byte code format into a {@link net.bytebuddy.instrumentation.type.TypeDescription}. The data lookup
+     * is delegated to a {@link net.bytebuddy.dynamic.ClassFileLocator}.
+     */
+    static class Default extends AbstractBase {
+
+        /**
+         * The ASM version that is applied when reading class files.
+         */
+        private static final int ASM_VERSION = Opcodes.ASM5;
+
+        /**
+         * A flag to indicate ASM that no automatic calculations are requested.
+         */
+        private static final int ASM_MANUAL = 0;
+
+        /**
+         * The flags to indicate ASM that neither method bodies nor debugging information are to be read.
+         */
+        private static final int ASM_SKIP_CODE = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG;
+
+        /**
+         * Indicates that an annotation is not to be visited.
+         */
+        private static final AnnotationVisitor IGNORE_ANNOTATION = null;
+
+        /**
+         * Indicates that a field is not to be visited.
+         */
+        private static final FieldVisitor IGNORE_FIELD = null;
+
+        /**
+         * Indicates that a method is not to be visited.
+         */
+        private static final MethodVisitor IGNORE_METHOD = null;
+
+        /**
+         * The locator to query for finding binary data of a type.
+         */
+        protected final ClassFileLocator classFileLocator;
+
+        /**
+         * The reader mode to apply when parsing a class file.
+         */
+        private final ReaderMode readerMode;
+
+        /**
+         * Creates a new default type pool that parses class files eagerly.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator) {
+            this(cacheProvider, classFileLocator, ReaderMode.EAGER);
+        }
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param readerMode       The reader mode to apply when parsing a class file.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode) {
+            super(cacheProvider);
+            this.classFileLocator = classFileLocator;
+            this.readerMode = readerMode;
+        }
+
+        /**
+         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the system class
+         * loader.
+         *
+         * @return A type pool that reads its data from the system class path.
+         */
+        public static TypePool ofClassPath() {
+            return new Default(new CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofClassPath());
+        }
+
+        @Override
+        protected Resolution doDescribe(String name) {
+            try {
+                ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                return resolution.isResolved()
+                        ? parse(resolution.resolve())
+                        : new Resolution.Illegal(name);
+            } catch (IOException e) {
+                throw new IllegalStateException("Error while reading class file", e);
+            }
+        }
+
+        /**
+         * Describes all types of the given names concurrently by submitting their description to the given
+         * executor service. Any resolution is registered with this type pool's cache provider such that this
+         * method can be used for warming up a type pool before its descriptions are queried on a critical path.
+         * This method blocks until all types are described.
+         *
+         * @param names           The names of the types to describe.
+         * @param executorService The executor service to which the description of each type is submitted.
+         * @return A map of the resolutions of all described types by their names in the order of the given names.
+         */
+        public Map<String, Resolution> describe(Collection<String> names, ExecutorService executorService) {
+            Map<String, Future<Resolution>> futures = new LinkedHashMap<String, Future<Resolution>>(names.size());
+            for (String name : names) {
+                if (!futures.containsKey(name)) {
+                    futures.put(name, executorService.submit(new ConcurrentDescription(name)));
+                }
+            }
+            Map<String, Resolution> resolutions = new LinkedHashMap<String, Resolution>(futures.size());
+            try {
+                for (Map.Entry<String, Future<Resolution>> entry : futures.entrySet()) {
+                    resolutions.put(entry.getKey(), entry.getValue().get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while describing types", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error while describing types", e.getCause());
+            } finally {
+                for (Future<Resolution> future : futures.values()) {
+                    future.cancel(true);
+                }
+            }
+            return resolutions;
+        }
+
+        /**
+         * Parses a binary representation and transforms it into a resolved type description.
+         *
+         * @param binaryRepresentation The binary data to be parsed.
+         * @return A resolution of a type description of the binary data.
+         */
+        private Resolution parse(byte[] binaryRepresentation) {
+            ClassReader classReader = new ClassReader(binaryRepresentation);
+            TypeExtractor typeExtractor;
+            if (readerMode.isLazy()) {
+                typeExtractor = new HeaderExtractor(binaryRepresentation);
+                classReader.accept(typeExtractor, ASM_SKIP_CODE);
+            } else {
+                typeExtractor = new TypeExtractor();
+                classReader.accept(typeExtractor, ASM_MANUAL);
+            }
+            return new Resolution.Parsed(typeExtractor.toTypeDescription(), binaryRepresentation.length);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && super.equals(other)
+                    && classFileLocator.equals(((Default) other).classFileLocator)
+                    && readerMode == ((Default) other).readerMode;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 31 * super.hashCode() + classFileLocator.hashCode();
+            result = 31 * result + readerMode.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "TypePool.Default{" +
+                    "classFileLocator=" + classFileLocator +
+                    ", cacheProvider=" + cacheProvider +
+                    ", readerMode=" + readerMode +
+                    '}';
+        }
+
+        /**
+         * Determines how a default type pool parses a class file.
+         */
+        public static enum ReaderMode {
+
+            /**
+             * Parses a class file entirely when a type is described.
+             */
+            EAGER(false),
+
+            /**
+             * Only parses the header of a class file when a type is described, i.e. the type's name, modifiers,
+             * super type, interfaces and declaration context. The annotations, fields and methods of the type
+             * are only parsed when they are queried for the first time. This mode is beneficial if most
+             * described types are only matched by their header information.
+             */
+            LAZY(true);
+
+            /**
+             * {@code true} if this reader mode defers the parsing of a type's members.
+             */
+            private final boolean lazy;
+
+            /**
+             * Creates a new reader mode.
+             *
+             * @param lazy {@code true} if this reader mode defers the parsing of a type's members.
+             */
+            private ReaderMode(boolean lazy) {
+                this.lazy = lazy;
+            }
+
+            /**
+             * Determines if this reader mode defers the parsing of a type's members.
+             *
+             * @return {@code true} if this reader mode defers the parsing of a type's members.
+             */
+            public boolean isLazy() {
+                return lazy;
+            }
+        }
+
+        /**
+         * A default type pool that first queries a parent type pool before describing a type by itself, similarly
+         * to the parent-first delegation model of a {@link java.lang.ClassLoader}. Types that are described by the
+         * parent type pool are only cached by the parent type pool such that type pools which share a parent
+         * only parse those types once.
+         */
+        public static class WithParent extends Default {
+
+            /**
+             * The parent type pool which is queried first.
+             */
+            protected final TypePool parent;
+
+            /**
+             * Creates a new default type pool with a parent.
+             *
+             * @param parent           The parent type pool which is queried first.
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             */
+            public WithParent(TypePool parent, CacheProvider cacheProvider, ClassFileLocator classFileLocator) {
+                super(cacheProvider, classFileLocator);
+                this.parent = parent;
+            }
+
+            @Override
+            public Resolution describe(String name) {
+                Resolution resolution = parent.describe(name);
+                return resolution.isResolved()
+                        ? resolution
+                        : describeLocally(name);
+            }
+
+            /**
+             * Describes a type by this type pool without querying the parent type pool.
+             *
+             * @param name The name of the type to describe.
+             * @return A resolution of the type that is described by this type pool.
+             */
+            protected Resolution describeLocally(String name) {
+                return super.describe(name);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && super.equals(other)
+                        && parent.equals(((WithParent) other).parent);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * super.hashCode() + parent.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.WithParent{" +
+                        "classFileLocator=" + classFileLocator +
+                        ", cacheProvider=" + cacheProvider +
+                        ", parent=" + parent +
+                        '}';
+            }
+
+            /**
+             * A default type pool that describes a type by itself before querying its parent type pool, similarly to
+             * the child-first delegation model that is implemented by many class loaders of application servers. Any
+             * type that this type pool can locate is described and cached by this type pool, even if the parent type
+             * pool could describe the same type. The parent type pool is therefore only shared for types that this
+             * type pool cannot locate by itself.
+             */
+            public static class ChildFirst extends WithParent {
+
+                /**
+                 * Creates a new default type pool with a parent that is only queried if a type cannot be located.
+                 *
+                 * @param parent           The parent type pool which is queried if a type cannot be located.
+                 * @param cacheProvider    The cache provider to be used.
+                 * @param classFileLocator The class file locator to be used.
+                 */
+                public ChildFirst(TypePool parent, CacheProvider cacheProvider, ClassFileLocator classFileLocator) {
+                    super(parent, cacheProvider, classFileLocator);
+                }
+
+                @Override
+                public Resolution describe(String name) {
+                    Resolution resolution = describeLocally(name);
+                    return resolution.isResolved()
+                            ? resolution
+                            : parent.describe(name);
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.Default.WithParent.ChildFirst{" +
+                            "classFileLocator=" + classFileLocator +
+                            ", cacheProvider=" + cacheProvider +
+                            ", parent=" + parent +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A default type pool that records any type it parses in an index which can be persisted to a file. When
+         * a type pool is created for an existing index file, this file is memory-mapped and any indexed type is
+         * described from the index instead of parsing its class file as long as the size and the CRC-32 checksum
+         * of the located class file match the values that were recorded in the index. Otherwise, or if an index
+         * entry cannot be decoded, the class file is parsed and the index entry is replaced. An index file that
+         * cannot be decoded is ignored altogether. The entries of an index file are copied out of the mapped
+         * file when the type pool is created such that the type pool does not retain the mapping, which would
+         * otherwise prevent the index file from being replaced on some operating systems.
+         * </p>
+         * <p>
+         * When the index is persisted, it only contains the entries of types that were described by this type pool,
+         * either from a validated index entry or by parsing the type's class file. Entries of types that were not
+         * described are dropped such that the index does not retain types that are no longer used.
+         * </p>
+         * <p>
+         * The index always contains a type's header information, i.e. its name, modifiers, super type, interfaces
+         * and declaration context. The fields and methods of a type are only indexed if neither the type nor any
+         * of its members declare annotations. Otherwise, the members are parsed from the located class file when
+         * they are queried for the first time.
+         * </p>
+         */
+        public static class WithPersistentIndex extends Default {
+
+            /**
+             * The magic number that starts an index file.
+             */
+            private static final int MAGIC = 0x42424958;
+
+            /**
+             * The version of the index file format.
+             */
+            private static final int VERSION = 2;
+
+            /**
+             * The charset that is used for encoding type names in the index file.
+             */
+            private static final String CHARSET = "UTF-8";
+
+            /**
+             * The prefix of the temporary file that is written before replacing the index file.
+             */
+            private static final String TEMPORARY_PREFIX = "typeIndex";
+
+            /**
+             * The suffix of the temporary file that is written before replacing the index file.
+             */
+            private static final String TEMPORARY_SUFFIX = ".tmp";
+
+            /**
+             * The maximum number of interfaces, fields or methods that a class file can declare. Any larger count
+             * that is found in an index file indicates a corrupt index.
+             */
+            private static final int MAXIMUM_COUNT = 0xFFFF;
+
+            /**
+             * The file to which the index is persisted.
+             */
+            private final File indexFile;
+
+            /**
+             * A mapping of type names to their entries within the index file that was found when this type pool
+             * was created.
+             */
+            private final Map<String, byte[]> persistedEntries;
+
+            /**
+             * A mapping of type names to the entries that were recorded or validated by this type pool.
+             */
+            private final ConcurrentMap<String, byte[]> recordedEntries;
+
+            /**
+             * Creates a new type pool with a persistent index. If the given index file exists, it is memory-mapped.
+             * An index file of an unknown format is ignored and overwritten when this index is persisted.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param indexFile        The file to which the index is persisted.
+             */
+            public WithPersistentIndex(CacheProvider cacheProvider, ClassFileLocator classFileLocator, File indexFile) {
+                super(cacheProvider, classFileLocator, ReaderMode.LAZY);
+                this.indexFile = indexFile;
+                persistedEntries = map(indexFile);
+                recordedEntries = new ConcurrentHashMap<String, byte[]>();
+            }
+
+            /**
+             * Memory-maps the given index file and copies all of its entries.
+             *
+             * @param indexFile The index file to map.
+             * @return A mapping of type names to their entries within the index file.
+             */
+            private static Map<String, byte[]> map(File indexFile) {
+                if (!indexFile.isFile()) {
+                    return Collections.emptyMap();
+                }
+                try {
+                    RandomAccessFile randomAccessFile = new RandomAccessFile(indexFile, "r");
+                    try {
+                        ByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+                        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                            return Collections.emptyMap();
+                        }
+                        int size = buffer.getInt();
+                        Map<String, byte[]> entries = new HashMap<String, byte[]>();
+                        for (int index = 0; index < size; index++) {
+                            byte[] name = new byte[buffer.getInt()];
+                            buffer.get(name);
+                            byte[] entry = new byte[buffer.getInt()];
+                            buffer.get(entry);
+                            entries.put(new String(name, CHARSET), entry);
+                        }
+                        return entries;
+                    } finally {
+                        randomAccessFile.close();
+                    }
+                } catch (RuntimeException ignored) {
+                    return Collections.emptyMap(); // The index file is corrupt and is therefore not used.
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot read type index " + indexFile, e);
+                }
+            }
+
+            @Override
+            protected Resolution doDescribe(String name) {
+                ClassFileLocator.Resolution resolution;
+                try {
+                    resolution = classFileLocator.locate(name);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Error while reading class file", e);
+                }
+                if (!resolution.isResolved()) {
+                    return new Resolution.Illegal(name);
+                }
+                byte[] binaryRepresentation = resolution.resolve();
+                CRC32 checksum = new CRC32();
+                checksum.update(binaryRepresentation);
+                byte[] entry = recordedEntries.get(name);
+                if (entry == null) {
+                    entry = persistedEntries.get(name);
+                }
+                if (entry != null) {
+                    try {
+                        ByteBuffer buffer = ByteBuffer.wrap(entry);
+                        if (buffer.getInt() == binaryRepresentation.length && buffer.getInt() == (int) checksum.getValue()) {
+                            LazyTypeDescription typeDescription = read(new DataInputStream(new ByteBufferInputStream(buffer)), binaryRepresentation);
+                            recordedEntries.putIfAbsent(name, entry);
+                            return new Resolution.Parsed(typeDescription, binaryRepresentation.length);
+                        }
+                    } catch (IOException ignored) {
+                        /* The entry is corrupt and the class file is parsed instead. */
+                    } catch (RuntimeException ignored) {
+                        /* The entry is corrupt and the class file is parsed instead. */
+                    }
+                }
+                TypeExtractor typeExtractor = new TypeExtractor();
+                new ClassReader(binaryRepresentation).accept(typeExtractor, ASM_SKIP_CODE);
+                LazyTypeDescription typeDescription = typeExtractor.toTypeDescription();
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                try {
+                    dataOutputStream.writeInt(binaryRepresentation.length);
+                    dataOutputStream.writeInt((int) checksum.getValue());
+                    typeDescription.writeTo(dataOutputStream);
+                    dataOutputStream.flush();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot record type index entry for " + name, e);
+                }
+                recordedEntries.put(name, outputStream.toByteArray());
+                return new Resolution.Parsed(typeDescription, binaryRepresentation.length);
+            }
+
+            /**
+             * Reads a type description from its serialized form.
+             *
+             * @param dataInput            The data input to read from.
+             * @param binaryRepresentation The binary representation of the described type which is parsed if
+             *                             the type's members are not contained in the serialized form.
+             * @return A type description of the serialized type.
+             * @throws IOException If an I/O error occurs.
+             */
+            private LazyTypeDescription read(DataInput dataInput, byte[] binaryRepresentation) throws IOException {
+                int modifiers = dataInput.readInt();
+                String name = dataInput.readUTF();
+                String superTypeName = dataInput.readBoolean()
+                        ? dataInput.readUTF()
+                        : null;
+                String[] interfaceName = readNames(dataInput);
+                LazyTypeDescription.DeclarationContext declarationContext;
+                switch (dataInput.readByte()) {
+                    case LazyTypeDescription.DeclarationContext.SELF_DECLARED:
+                        declarationContext = LazyTypeDescription.DeclarationContext.SelfDeclared.INSTANCE;
+                        break;
+                    case LazyTypeDescription.DeclarationContext.DECLARED_IN_TYPE:
+                        declarationContext = new LazyTypeDescription.DeclarationContext.DeclaredInType(dataInput.readUTF());
+                        break;
+                    case LazyTypeDescription.DeclarationContext.DECLARED_IN_METHOD:
+                        declarationContext = new LazyTypeDescription.DeclarationContext.DeclaredInMethod(dataInput.readUTF(),
+                                dataInput.readUTF(),
+                                dataInput.readUTF());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown declaration context in type index for " + name);
+                }
+                boolean anonymousType = dataInput.readBoolean();
+                LazyTypeDescription.TokenSource tokenSource;
+                if (dataInput.readBoolean()) {
+                    int fieldCount = readCount(dataInput);
+                    List<LazyTypeDescription.FieldToken> fieldTokens = new ArrayList<LazyTypeDescription.FieldToken>(fieldCount);
+                    for (int index = 0; index < fieldCount; index++) {
+                        fieldTokens.add(new LazyTypeDescription.FieldToken(dataInput.readInt(),
+                                dataInput.readUTF(),
+                                dataInput.readUTF(),
+                                Collections.<LazyTypeDescription.AnnotationToken>emptyList()));
+                    }
+                    int methodCount = readCount(dataInput);
+                    List<LazyTypeDescription.MethodToken> methodTokens = new ArrayList<LazyTypeDescription.MethodToken>(methodCount);
+                    for (int index = 0; index < methodCount; index++) {
+                        int methodModifiers = dataInput.readInt();
+                        String methodName = dataInput.readUTF();
+                        String descriptor = dataInput.readUTF();
+                        String[] exceptionName = readNames(dataInput);
+                        int parameterCount = Type.getArgumentTypes(descriptor).length;
+                        Map<Integer, List<LazyTypeDescription.AnnotationToken>> parameterAnnotationTokens =
+                                new HashMap<Integer, List<LazyTypeDescription.AnnotationToken>>(parameterCount);
+                        for (int parameterIndex = 0; parameterIndex < parameterCount; parameterIndex++) {
+                            parameterAnnotationTokens.put(parameterIndex, Collections.<LazyTypeDescription.AnnotationToken>emptyList());
+                        }
+                        methodTokens.add(new LazyTypeDescription.MethodToken(methodModifiers,
+                                methodName,
+                                descriptor,
+                                exceptionName,
+                                Collections.<LazyTypeDescription.AnnotationToken>emptyList(),
+                                parameterAnnotationTokens,
+                                LazyTypeDescription.MethodToken.NO_DEFAULT_VALUE));
+                    }
+                    tokenSource = new LazyTypeDescription.TokenSource.Explicit(Collections.<LazyTypeDescription.AnnotationToken>emptyList(),
+                            fieldTokens,
+                            methodTokens);
+                } else {
+                    tokenSource = new DeferredTokenSource(binaryRepresentation);
+                }
+                return new LazyTypeDescription(this,
+                        modifiers,
+                        name,
+                        superTypeName,
+                        interfaceName,
+                        declarationContext,
+                        anonymousType,
+                        tokenSource);
+            }
+
+            /**
+             * Reads an array of names that might be {@code null} from the given data input.
+             *
+             * @param dataInput The data input to read from.
+             * @return The array of names or {@code null}.
+             * @throws IOException If an I/O error occurs.
+             */
+            private static String[] readNames(DataInput dataInput) throws IOException {
+                int length = dataInput.readInt();
+                if (length == LazyTypeDescription.NO_NAMES) {
+                    return null;
+                } else if (length < 0 || length > MAXIMUM_COUNT) {
+                    throw new IllegalStateException("Illegal name count in type index: " + length);
+                }
+                String[] name = new String[length];
+                for (int index = 0; index < length; index++) {
+                    name[index] = dataInput.readUTF();
+                }
+                return name;
+            }
+
+            /**
+             * Reads a count of members from the given data input.
+             *
+             * @param dataInput The data input to read from.
+             * @return The count that was read.
+             * @throws IOException If an I/O error occurs.
+             */
+            private static int readCount(DataInput dataInput) throws IOException {
+                int count = dataInput.readInt();
+                if (count < 0 || count > MAXIMUM_COUNT) {
+                    throw new IllegalStateException("Illegal member count in type index: " + count);
+                }
+                return count;
+            }
+
+            /**
+             * Persists the index to its file. The index contains any entry that was recorded by this type pool or
+             * that was found in the index file when this type pool was created and that was validated against the
+             * class file of the described type. The index file is first written to a temporary file within the
+             * index file's folder which then replaces the index file.
+             *
+             * @throws IOException If an I/O error occurs.
+             */
+            public void persist() throws IOException {
+                Map<String, byte[]> entries = new TreeMap<String, byte[]>(recordedEntries);
+                File temporaryFile = File.createTempFile(TEMPORARY_PREFIX, TEMPORARY_SUFFIX, indexFile.getAbsoluteFile().getParentFile());
+                try {
+                    DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+                    try {
+                        dataOutputStream.writeInt(MAGIC);
+                        dataOutputStream.writeInt(VERSION);
+                        dataOutputStream.writeInt(entries.size());
+                        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                            byte[] name = entry.getKey().getBytes(CHARSET);
+                            dataOutputStream.writeInt(name.length);
+                            dataOutputStream.write(name);
+                            dataOutputStream.writeInt(entry.getValue().length);
+                            dataOutputStream.write(entry.getValue());
+                        }
+                    } finally {
+                        dataOutputStream.close();
+                    }
+                    if (!temporaryFile.renameTo(indexFile) && !(indexFile.delete() && temporaryFile.renameTo(indexFile))) {
+                        throw new IOException("Cannot replace type index " + indexFile);
+                    }
+                } finally {
+                    if (temporaryFile.exists() && !temporaryFile.delete()) {
+                        temporaryFile.deleteOnExit();
+                    }
+                }
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && super.equals(other)
+                        && indexFile.equals(((WithPersistentIndex) other).indexFile);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * super.hashCode() + indexFile.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.WithPersistentIndex{" +
+                        "classFileLocator=" + classFileLocator +
+                        ", cacheProvider=" + cacheProvider +
+                        ", indexFile=" + indexFile +
+                        ", persistedEntries=" + persistedEntries.size() +
+                        ", recordedEntries=" + recordedEntries.size() +
+                        '}';
+            }
+
+            /**
+             * An input stream that reads the remaining bytes of a byte buffer without copying them.
+             */
+            protected static class ByteBufferInputStream extends InputStream {
+
+                /**
+                 * The buffer to read from.
+                 */
+                private final ByteBuffer buffer;
+
+                /**
+                 * Creates a new input stream for a byte buffer.
+                 *
+                 * @param buffer The buffer to read from. Reading from this stream advances the buffer's position.
+                 */
+                protected ByteBufferInputStream(ByteBuffer buffer) {
+                    this.buffer = buffer;
+                }
+
+                @Override
+                public int read() {
+                    return buffer.hasRemaining()
+                            ? buffer.get() & 0xFF
+                            : -1;
+                }
+
+                @Override
+                public int read(byte[] target, int offset, int length) {
+                    if (length == 0) {
+                        return 0;
+                    } else if (!buffer.hasRemaining()) {
+                        return -1;
+                    }
+                    length = Math.min(length, buffer.remaining());
+                    buffer.get(target, offset, length);
+                    return length;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.Default.WithPersistentIndex.ByteBufferInputStream{" +
+                            "buffer=" + buffer +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A token source that parses the members of a type from its class file when they are queried for the
+         * first time.
+         */
+        protected class DeferredTokenSource implements LazyTypeDescription.TokenSource {
+
+            /**
+             * The binary representation of the type or {@code null} if the type's members were already parsed.
+             */
+            private byte[] binaryRepresentation;
+
+            /**
+             * The token source that represents the parsed class file or {@code null} if the class file was not
+             * yet parsed.
+             */
+            private LazyTypeDescription.TokenSource tokenSource;
+
+            /**
+             * Creates a new deferred token source.
+             *
+             * @param binaryRepresentation The binary representation of the type.
+             */
+            protected DeferredTokenSource(byte[] binaryRepresentation) {
+                this.binaryRepresentation = binaryRepresentation;
+            }
+
+            /**
+             * Resolves the token source that represents the parsed class file and parses the class file if
+             * this was not done before.
+             *
+             * @return The token source representing the parsed class file.
+             */
+            private synchronized LazyTypeDescription.TokenSource resolve() {
+                if (tokenSource == null) {
+                    TypeExtractor typeExtractor = new TypeExtractor();
+                    new ClassReader(binaryRepresentation).accept(typeExtractor, ASM_SKIP_CODE);
+                    tokenSource = typeExtractor.toTokenSource();
+                    binaryRepresentation = null;
+                }
+                return tokenSource;
+            }
+
+            @Override
+            public List<LazyTypeDescription.AnnotationToken> getAnnotationTokens() {
+                return resolve().getAnnotationTokens();
+            }
+
+            @Override
+            public List<LazyTypeDescription.FieldToken> getFieldTokens() {
+                return resolve().getFieldTokens();
+            }
+
+            @Override
+            public List<LazyTypeDescription.MethodToken> getMethodTokens() {
+                return resolve().getMethodTokens();
+            }
+
+            @Override
+            public synchronized String toString() {
+                return "TypePool.Default.DeferredTokenSource{" +
+                        "typePool=" + Default.this +
+                        ", binaryRepresentation=" + Arrays.toString(binaryRepresentation) +
+                        ", tokenSource=" + tokenSource +
+                        '}';
+            }
+        }
+
+        /**
+         * A task for describing a type of this type pool on another thread.
+         */
+        protected class ConcurrentDescription implements Callable<Resolution> {
+
+            /**
+             * The name of the type to describe.
+             */
+            private final String name;
+
+            /**
+             * Creates a new task for describing a type.
+             *
+             * @param name The name of the type to describe.
+             */
+            protected ConcurrentDescription(String name) {
+                this.name = name;
+            }
+
+            @Override
+            public Resolution call() {
+                return describe(name);
             }
 
-            @Override
-            public TypeDescription resolve() {
-                return TypeDescription.ArrayProjection.of(resolution.resolve(), arity);
+            /**
+             * Returns the outer instance.
+             *
+             * @return The outer instance.
+             */
+            private Default getOuter() {
+                return Default.this;
             }
 
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
-                        && arity == ((ArrayTypeResolution) other).arity
-                        && resolution.equals(((ArrayTypeResolution) other).resolution);
+                        && name.equals(((ConcurrentDescription) other).name)
+                        && Default.this.equals(((ConcurrentDescription) other).getOuter());
             }
 
             @Override
             public int hashCode() {
-                int result = resolution.hashCode();
-                result = 31 * result + arity;
-                return result;
+                return 31 * name.hashCode() + Default.this.hashCode();
             }
 
             @Override
             public String toString() {
-                return "TypePool.AbstractBase.ArrayTypeResolution{" +
-                        "resolution=" + resolution +
-                        ", arity=" + arity +
+                return "TypePool.Default.ConcurrentDescription{" +
+                        "name='" + name + '\'' +
+                        ", typePool=" + Default.this +
                         '}';
             }
         }
-    }
-
-    /**
-     * A default implementation of a {@link net.bytebuddy.pool.TypePool} that models binary data in the
-     * Java byte code format into a {@link net.bytebuddy.instrumentation.type.TypeDescription}. The data lookup
-     * is delegated to a {@link net.bytebuddy.dynamic.ClassFileLocator}.
-     */
-    static class Default extends AbstractBase {
-
-        /**
-         * The ASM version that is applied when reading class files.
-         */
-        private static final int ASM_VERSION = Opcodes.ASM5;
-
-        /**
-         * A flag to indicate ASM that no automatic calculations are requested.
-         */
-        private static final int ASM_MANUAL = 0;
-
-        /**
-         * The locator to query for finding binary data of a type.
-         */
-        private final ClassFileLocator classFileLocator;
-
-        /**
-         * Creates a new default type pool.
-         *
-         * @param cacheProvider    The cache provider to be used.
-         * @param classFileLocator The class file locator to be used.
-         */
-        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator) {
-            super(cacheProvider);
-            this.classFileLocator = classFileLocator;
-        }
-
-        /**
-         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the system class
-         * loader.
-         *
-         * @return A type pool that reads its data from the system class path.
-         */
-        public static TypePool ofClassPath() {
-            return new Default(new CacheProvider.Simple(), ClassFileLocator.ForClassLoader.ofClassPath());
-        }
-
-        @Override
-        protected Resolution doDescribe(String name) {
-            try {
-                ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
-                return resolution.isResolved()
-                        ? new Resolution.Simple(parse(resolution.resolve()))
-                        : new Resolution.Illegal(name);
-            } catch (IOException e) {
-                throw new IllegalStateException("Error while reading class file", e);
-            }
-        }
-
-        /**
-         * Parses a binary representation and transforms it into a type description.
-         *
-         * @param binaryRepresentation The binary data to be parsed.
-         * @return A type description of the binary data.
-         */
-        private TypeDescription parse(byte[] binaryRepresentation) {
-            ClassReader classReader = new ClassReader(binaryRepresentation);
-            TypeExtractor typeExtractor = new TypeExtractor();
-            classReader.accept(typeExtractor, ASM_MANUAL);
-            return typeExtractor.toTypeDescription();
-        }
-
-        @Override
-        public boolean equals(Object other) {
-            return this == other || !(other == null || getClass() != other.getClass())
-                    && super.equals(other)
-                    && classFileLocator.equals(((Default) other).classFileLocator);
-        }
-
-        @Override
-        public int hashCode() {
-            return 31 * super.hashCode() + classFileLocator.hashCode();
-        }
-
-        @Override
-        public String toString() {
-            return "TypePool.Default{" +
-                    "classFileLocator=" + classFileLocator +
-                    ", cacheProvider=" + cacheProvider +
-                    '}';
-        }
 
         /**
          * An annotation registrant implements a visitor pattern for reading an unknown amount of values of annotations.
@@ -744,6 +1826,63 @@ public interface TypePool {
             }
         }
 
+        /**
+         * A header extractor only reads the header information of a class file and defers the parsing of the
+         * type's annotations, fields and methods until they are queried for the first time.
+         */
+        protected class HeaderExtractor extends TypeExtractor {
+
+            /**
+             * The binary representation of the parsed type.
+             */
+            private final byte[] binaryRepresentation;
+
+            /**
+             * Creates a new header extractor.
+             *
+             * @param binaryRepresentation The binary representation of the parsed type.
+             */
+            protected HeaderExtractor(byte[] binaryRepresentation) {
+                this.binaryRepresentation = binaryRepresentation;
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                return IGNORE_ANNOTATION;
+            }
+
+            @Override
+            public FieldVisitor visitField(int modifiers,
+                                           String internalName,
+                                           String descriptor,
+                                           String genericSignature,
+                                           Object defaultValue) {
+                return IGNORE_FIELD;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int modifiers,
+                                             String internalName,
+                                             String descriptor,
+                                             String genericSignature,
+                                             String[] exceptionName) {
+                return IGNORE_METHOD;
+            }
+
+            @Override
+            protected LazyTypeDescription.TokenSource toTokenSource() {
+                return new DeferredTokenSource(binaryRepresentation);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.HeaderExtractor{" +
+                        "typeExtractor=" + super.toString() +
+                        ", binaryRepresentation=" + Arrays.toString(binaryRepresentation) +
+                        '}';
+            }
+        }
+
         /**
          * A type extractor reads a class file and collects data that is relevant to create a type description.
          */
@@ -877,7 +2016,7 @@ public interface TypePool {
              *
              * @return A type description reflecting the data that was collected by this instance.
              */
-            protected TypeDescription toTypeDescription() {
+            protected LazyTypeDescription toTypeDescription() {
                 return new LazyTypeDescription(Default.this,
                         modifiers,
                         internalName,
@@ -885,9 +2024,17 @@ public interface TypePool {
                         interfaceName,
                         declarationContext,
                         anonymousType,
-                        annotationTokens,
-                        fieldTokens,
-                        methodTokens);
+                        toTokenSource());
+            }
+
+            /**
+             * Creates a token source for the annotations, fields and methods that were collected by this instance.
+             * This method should only be invoked after a class file was parsed fully.
+             *
+             * @return A token source for the annotations, fields and methods of the parsed type.
+             */
+            protected LazyTypeDescription.TokenSource toTokenSource() {
+                return new LazyTypeDescription.TokenSource.Explicit(annotationTokens, fieldTokens, methodTokens);
             }
 
             @Override
@@ -1471,6 +2618,11 @@ public interface TypePool {
      */
     static class LazyTypeDescription extends TypeDescription.AbstractTypeDescription.OfSimpleType {
 
+        /**
+         * Represents a {@code null} array of names in the serialized form of a type description.
+         */
+        protected static final int NO_NAMES = -1;
+
         /**
          * The type pool to be used for looking up linked types.
          */
@@ -1508,19 +2660,27 @@ public interface TypePool {
         private final boolean anonymousType;
 
         /**
-         * A list of annotation descriptions that are declared by this type.
+         * The source of the tokens representing the annotations, fields and methods that are declared by this type.
          */
-        private final List<AnnotationDescription> declaredAnnotations;
+        private final TokenSource tokenSource;
 
         /**
-         * A list of field descriptions that are declared by this type.
+         * A list of annotation descriptions that are declared by this type or {@code null} if this list was not
+         * yet resolved.
          */
-        private final List<FieldDescription> declaredFields;
+        private volatile List<AnnotationDescription> declaredAnnotations;
 
         /**
-         * A list of method descriptions that are declared by this type.
+         * A list of field descriptions that are declared by this type or {@code null} if this list was not yet
+         * resolved.
          */
-        private final List<MethodDescription> declaredMethods;
+        private volatile List<FieldDescription> declaredFields;
+
+        /**
+         * A list of method descriptions that are declared by this type or {@code null} if this list was not yet
+         * resolved.
+         */
+        private volatile List<MethodDescription> declaredMethods;
 
         /**
          * Creates a new lazy type description.
@@ -1534,9 +2694,8 @@ public interface TypePool {
          *                           interfaces are implemented.
          * @param declarationContext The declaration context of this type.
          * @param anonymousType      {@code true} if this type is an anonymous type.
-         * @param annotationTokens   A list of annotation tokens representing methods that are declared by this type.
-         * @param fieldTokens        A list of field tokens representing methods that are declared by this type.
-         * @param methodTokens       A list of method tokens representing methods that are declared by this type.
+         * @param tokenSource        The source of the tokens representing the annotations, fields and methods that
+         *                           are declared by this type.
          */
         protected LazyTypeDescription(TypePool typePool,
                                       int modifiers,
@@ -1545,9 +2704,7 @@ public interface TypePool {
                                       String[] interfaceName,
                                       DeclarationContext declarationContext,
                                       boolean anonymousType,
-                                      List<AnnotationToken> annotationTokens,
-                                      List<FieldToken> fieldTokens,
-                                      List<MethodToken> methodTokens) {
+                                      TokenSource tokenSource) {
             this.typePool = typePool;
             this.modifiers = modifiers;
             this.name = name.replace('/', '.');
@@ -1555,18 +2712,7 @@ public interface TypePool {
             this.interfaceInternalName = interfaceName;
             this.declarationContext = declarationContext;
             this.anonymousType = anonymousType;
-            declaredAnnotations = new ArrayList<AnnotationDescription>(annotationTokens.size());
-            for (AnnotationToken annotationToken : annotationTokens) {
-                declaredAnnotations.add(annotationToken.toAnnotationDescription(typePool));
-            }
-            declaredFields = new ArrayList<FieldDescription>(fieldTokens.size());
-            for (FieldToken fieldToken : fieldTokens) {
-                declaredFields.add(fieldToken.toFieldDescription(this));
-            }
-            declaredMethods = new ArrayList<MethodDescription>(methodTokens.size());
-            for (MethodToken methodToken : methodTokens) {
-                declaredMethods.add(methodToken.toMethodDescription(this));
-            }
+            this.tokenSource = tokenSource;
         }
 
         @Override
@@ -1615,11 +2761,29 @@ public interface TypePool {
 
         @Override
         public FieldList getDeclaredFields() {
+            List<FieldDescription> declaredFields = this.declaredFields;
+            if (declaredFields == null) {
+                List<FieldToken> fieldTokens = tokenSource.getFieldTokens();
+                declaredFields = new ArrayList<FieldDescription>(fieldTokens.size());
+                for (FieldToken fieldToken : fieldTokens) {
+                    declaredFields.add(fieldToken.toFieldDescription(this));
+                }
+                this.declaredFields = declaredFields;
+            }
             return new FieldList.Explicit(declaredFields);
         }
 
         @Override
         public MethodList getDeclaredMethods() {
+            List<MethodDescription> declaredMethods = this.declaredMethods;
+            if (declaredMethods == null) {
+                List<MethodToken> methodTokens = tokenSource.getMethodTokens();
+                declaredMethods = new ArrayList<MethodDescription>(methodTokens.size());
+                for (MethodToken methodToken : methodTokens) {
+                    declaredMethods.add(methodToken.toMethodDescription(this));
+                }
+                this.declaredMethods = declaredMethods;
+            }
             return new MethodList.Explicit(declaredMethods);
         }
 
@@ -1650,15 +2814,211 @@ public interface TypePool {
 
         @Override
         public AnnotationList getDeclaredAnnotations() {
+            List<AnnotationDescription> declaredAnnotations = this.declaredAnnotations;
+            if (declaredAnnotations == null) {
+                List<AnnotationToken> annotationTokens = tokenSource.getAnnotationTokens();
+                declaredAnnotations = new ArrayList<AnnotationDescription>(annotationTokens.size());
+                for (AnnotationToken annotationToken : annotationTokens) {
+                    declaredAnnotations.add(annotationToken.toAnnotationDescription(typePool));
+                }
+                this.declaredAnnotations = declaredAnnotations;
+            }
             return new AnnotationList.Explicit(declaredAnnotations);
         }
 
+        /**
+         * Writes a serialized form of this type description to the given data output. The serialized form always
+         * contains this type's header information. If neither this type nor any of its members declare annotations,
+         * the serialized form does additionally contain this type's fields and methods. Otherwise, the members of
+         * this type need to be parsed from its class file when the serialized form is read.
+         *
+         * @param dataOutput The data output to write to.
+         * @throws IOException If an I/O error occurs.
+         */
+        protected void writeTo(DataOutput dataOutput) throws IOException {
+            dataOutput.writeInt(modifiers);
+            dataOutput.writeUTF(name);
+            dataOutput.writeBoolean(superTypeName != null);
+            if (superTypeName != null) {
+                dataOutput.writeUTF(superTypeName);
+            }
+            writeNames(dataOutput, interfaceInternalName);
+            declarationContext.writeTo(dataOutput);
+            dataOutput.writeBoolean(anonymousType);
+            boolean annotationFree = tokenSource.getAnnotationTokens().isEmpty();
+            for (FieldToken fieldToken : tokenSource.getFieldTokens()) {
+                annotationFree &= fieldToken.getAnnotationTokens().isEmpty();
+            }
+            for (MethodToken methodToken : tokenSource.getMethodTokens()) {
+                annotationFree &= methodToken.getAnnotationTokens().isEmpty() && methodToken.getDefaultValue() == null;
+                for (List<AnnotationToken> annotationTokens : methodToken.getParameterAnnotationTokens().values()) {
+                    annotationFree &= annotationTokens.isEmpty();
+                }
+            }
+            dataOutput.writeBoolean(annotationFree);
+            if (annotationFree) {
+                dataOutput.writeInt(tokenSource.getFieldTokens().size());
+                for (FieldToken fieldToken : tokenSource.getFieldTokens()) {
+                    dataOutput.writeInt(fieldToken.getModifiers());
+                    dataOutput.writeUTF(fieldToken.getName());
+                    dataOutput.writeUTF(fieldToken.getDescriptor());
+                }
+                dataOutput.writeInt(tokenSource.getMethodTokens().size());
+                for (MethodToken methodToken : tokenSource.getMethodTokens()) {
+                    dataOutput.writeInt(methodToken.getModifiers());
+                    dataOutput.writeUTF(methodToken.getName());
+                    dataOutput.writeUTF(methodToken.getDescriptor());
+                    writeNames(dataOutput, methodToken.getExceptionName());
+                }
+            }
+        }
+
+        /**
+         * Writes an array of names that might be {@code null} to the given data output.
+         *
+         * @param dataOutput The data output to write to.
+         * @param name       The names to write or {@code null}.
+         * @throws IOException If an I/O error occurs.
+         */
+        private static void writeNames(DataOutput dataOutput, String[] name) throws IOException {
+            dataOutput.writeInt(name == null ? NO_NAMES : name.length);
+            if (name != null) {
+                for (String aName : name) {
+                    dataOutput.writeUTF(aName);
+                }
+            }
+        }
+
+        /**
+         * A source of the tokens that represent the annotations, fields and methods that are declared by a
+         * lazy type description.
+         */
+        protected static interface TokenSource {
+
+            /**
+             * Returns the tokens of the annotations that are declared by the described type.
+             *
+             * @return A list of annotation tokens.
+             */
+            List<AnnotationToken> getAnnotationTokens();
+
+            /**
+             * Returns the tokens of the fields that are declared by the described type.
+             *
+             * @return A list of field tokens.
+             */
+            List<FieldToken> getFieldTokens();
+
+            /**
+             * Returns the tokens of the methods that are declared by the described type.
+             *
+             * @return A list of method tokens.
+             */
+            List<MethodToken> getMethodTokens();
+
+            /**
+             * A token source that represents tokens that were already collected.
+             */
+            static class Explicit implements TokenSource {
+
+                /**
+                 * A list of annotation tokens representing annotations that are declared by the described type.
+                 */
+                private final List<AnnotationToken> annotationTokens;
+
+                /**
+                 * A list of field tokens representing fields that are declared by the described type.
+                 */
+                private final List<FieldToken> fieldTokens;
+
+                /**
+                 * A list of method tokens representing methods that are declared by the described type.
+                 */
+                private final List<MethodToken> methodTokens;
+
+                /**
+                 * Creates a new explicit token source.
+                 *
+                 * @param annotationTokens A list of annotation tokens representing annotations that are declared
+                 *                         by the described type.
+                 * @param fieldTokens      A list of field tokens representing fields that are declared by the
+                 *                         described type.
+                 * @param methodTokens     A list of method tokens representing methods that are declared by the
+                 *                         described type.
+                 */
+                public Explicit(List<AnnotationToken> annotationTokens,
+                                List<FieldToken> fieldTokens,
+                                List<MethodToken> methodTokens) {
+                    this.annotationTokens = annotationTokens;
+                    this.fieldTokens = fieldTokens;
+                    this.methodTokens = methodTokens;
+                }
+
+                @Override
+                public List<AnnotationToken> getAnnotationTokens() {
+                    return annotationTokens;
+                }
+
+                @Override
+                public List<FieldToken> getFieldTokens() {
+                    return fieldTokens;
+                }
+
+                @Override
+                public List<MethodToken> getMethodTokens() {
+                    return methodTokens;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) return true;
+                    if (other == null || getClass() != other.getClass()) return false;
+                    Explicit explicit = (Explicit) other;
+                    return annotationTokens.equals(explicit.annotationTokens)
+                            && fieldTokens.equals(explicit.fieldTokens)
+                            && methodTokens.equals(explicit.methodTokens);
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = annotationTokens.hashCode();
+                    result = 31 * result + fieldTokens.hashCode();
+                    result = 31 * result + methodTokens.hashCode();
+                    return result;
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.LazyTypeDescription.TokenSource.Explicit{" +
+                            "annotationTokens=" + annotationTokens +
+                            ", fieldTokens=" + fieldTokens +
+                            ", methodTokens=" + methodTokens +
+                            '}';
+                }
+            }
+        }
+
         /**
          * A declaration context encapsulates information about whether a type was declared within another type
          * or within a method of another type.
          */
         protected static interface DeclarationContext {
 
+            /**
+             * A marker for a self-declared type in the serialized form of a declaration context.
+             */
+            static final byte SELF_DECLARED = 0;
+
+            /**
+             * A marker for a type that is declared in another type in the serialized form of a declaration context.
+             */
+            static final byte DECLARED_IN_TYPE = 1;
+
+            /**
+             * A marker for a type that is declared in a method in the serialized form of a declaration context.
+             */
+            static final byte DECLARED_IN_METHOD = 2;
+
             /**
              * Returns the enclosing method or {@code null} if no such method exists.
              *
@@ -1698,6 +3058,14 @@ public interface TypePool {
              */
             boolean isDeclaredInMethod();
 
+            /**
+             * Writes a serialized form of this declaration context to the given data output.
+             *
+             * @param dataOutput The data output to write to.
+             * @throws IOException If an I/O error occurs.
+             */
+            void writeTo(DataOutput dataOutput) throws IOException;
+
             /**
              * Represents a self-declared type that is not defined within another type.
              */
@@ -1733,6 +3101,10 @@ public interface TypePool {
                     return false;
                 }
 
+                @Override
+                public void writeTo(DataOutput dataOutput) throws IOException {
+                    dataOutput.writeByte(SELF_DECLARED);
+                }
             }
 
             /**
@@ -1780,6 +3152,12 @@ public interface TypePool {
                     return false;
                 }
 
+                @Override
+                public void writeTo(DataOutput dataOutput) throws IOException {
+                    dataOutput.writeByte(DECLARED_IN_TYPE);
+                    dataOutput.writeUTF(name);
+                }
+
                 @Override
                 public boolean equals(Object other) {
                     return this == other || !(other == null || getClass() != other.getClass())
@@ -1861,6 +3239,14 @@ public interface TypePool {
                     return true;
                 }
 
+                @Override
+                public void writeTo(DataOutput dataOutput) throws IOException {
+                    dataOutput.writeByte(DECLARED_IN_METHOD);
+                    dataOutput.writeUTF(name);
+                    dataOutput.writeUTF(methodName);
+                    dataOutput.writeUTF(methodDescriptor);
+                }
+
                 @Override
                 public boolean equals(Object other) {
                     if (this == other) return true;
@@ -3325,6 +4711,11 @@ public interface TypePool {
          */
         protected static class MethodToken {
 
+            /**
+             * Represents a method without a default value.
+             */
+            protected static final AnnotationValue<?, ?> NO_DEFAULT_VALUE = null;
+
             /**
              * The modifiers of the represented method.
              */
@@ -0,0 +1,390 @@
+package net.bytebuddy.utility;
+
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A thread-safe cache that retains a bounded total weight of values. When the total weight of all cached values
+ * exceeds the cache's maximum weight, values that were not queried recently are discarded. A single value is
+ * however always retained, even if it exceeds the maximum weight by itself. Additionally, this cache counts its
+ * hits, misses and evictions.
+ * </p>
+ * <p>
+ * Looking up a value does not require a lock. Instead of maintaining an exact order of access, a looked up value
+ * is only marked as referenced. When values need to be discarded, the cached values are visited in the order of
+ * their insertion where any referenced value is unmarked and given a second chance while the first unmarked value
+ * is discarded. This approximates discarding the least recently used value while only requiring a lock when a
+ * value is added to the cache.
+ * </p>
+ *
+ * @param <K> The type of the keys of this cache.
+ * @param <V> The type of the values of this cache.
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * The maximum total weight of all values that are retained by this cache.
+     */
+    private final int maximumWeight;
+
+    /**
+     * A map containing all cached values by their keys.
+     */
+    private final ConcurrentMap<K, WeightedValue<V>> entries;
+
+    /**
+     * The keys of all cached values in the order in which they are visited when values are discarded. This list
+     * must only be accessed while holding its monitor which also guards any modification of this cache.
+     */
+    private final LinkedList<K> clock;
+
+    /**
+     * The number of queries that could be answered by this cache.
+     */
+    private final AtomicLong hitCount;
+
+    /**
+     * The number of queries that could not be answered by this cache.
+     */
+    private final AtomicLong missCount;
+
+    /**
+     * The total weight of all currently cached values.
+     */
+    private int weight;
+
+    /**
+     * The number of values that were discarded in order to respect the maximum weight.
+     */
+    private long evictionCount;
+
+    /**
+     * Creates a new bounded cache.
+     *
+     * @param maximumWeight The maximum total weight of all values that are retained by this cache.
+     */
+    public BoundedCache(int maximumWeight) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("The maximum weight of a cache must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        entries = new ConcurrentHashMap<K, WeightedValue<V>>();
+        clock = new LinkedList<K>();
+        hitCount = new AtomicLong();
+        missCount = new AtomicLong();
+    }
+
+    /**
+     * Returns the value that is cached for the given key and marks it as recently used.
+     *
+     * @param key The key of the value to look up.
+     * @return The cached value or {@code null} if no value is cached for the given key.
+     */
+    public V get(K key) {
+        WeightedValue<V> weightedValue = entries.get(key);
+        if (weightedValue == null) {
+            missCount.incrementAndGet();
+            return null;
+        } else {
+            hitCount.incrementAndGet();
+            weightedValue.markReferenced();
+            return weightedValue.getValue();
+        }
+    }
+
+    /**
+     * Caches the given value if no value is cached for the given key yet. If caching the value causes the
+     * maximum weight of this cache to be exceeded, values that were not queried recently are discarded.
+     *
+     * @param key    The key of the value to cache.
+     * @param value  The value to cache.
+     * @param weight The weight of the value which must not be negative.
+     * @return The value that was cached previously for the given key or the given value if no such value exists.
+     */
+    public V putIfAbsent(K key, V value, int weight) {
+        synchronized (clock) {
+            WeightedValue<V> cached = entries.get(key);
+            if (cached != null) {
+                return cached.getValue();
+            }
+            entries.put(key, new WeightedValue<V>(value, weight));
+            clock.addLast(key);
+            this.weight += weight;
+            while (this.weight > maximumWeight && clock.size() > 1) {
+                K candidate = clock.removeFirst();
+                WeightedValue<V> weightedValue = entries.get(candidate);
+                if (candidate.equals(key) || weightedValue.unmarkReferenced()) {
+                    clock.addLast(candidate);
+                } else {
+                    entries.remove(candidate);
+                    this.weight -= weightedValue.getWeight();
+                    evictionCount++;
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Discards all cached values.
+     */
+    public void clear() {
+        synchronized (clock) {
+            entries.clear();
+            clock.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Returns a snapshot of this cache's current statistics.
+     *
+     * @return A snapshot of this cache's current statistics.
+     */
+    public Statistics getStatistics() {
+        synchronized (clock) {
+            return new Statistics(clock.size(), weight, hitCount.get(), missCount.get(), evictionCount);
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (clock) {
+            return "BoundedCache{" +
+                    "maximumWeight=" + maximumWeight +
+                    ", entries=" + entries.size() +
+                    ", clock=" + clock.size() +
+                    ", hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", weight=" + weight +
+                    ", evictionCount=" + evictionCount +
+                    '}';
+        }
+    }
+
+    /**
+     * A snapshot of the statistics of a bounded cache.
+     */
+    public static class Statistics {
+
+        /**
+         * The number of cached values.
+         */
+        private final int size;
+
+        /**
+         * The total weight of all cached values.
+         */
+        private final int weight;
+
+        /**
+         * The number of queries that could be answered by the cache.
+         */
+        private final long hitCount;
+
+        /**
+         * The number of queries that could not be answered by the cache.
+         */
+        private final long missCount;
+
+        /**
+         * The number of values that were discarded in order to respect the cache's maximum weight.
+         */
+        private final long evictionCount;
+
+        /**
+         * Creates a new snapshot of the statistics of a bounded cache.
+         *
+         * @param size          The number of cached values.
+         * @param weight        The total weight of all cached values.
+         * @param hitCount      The number of queries that could be answered by the cache.
+         * @param missCount     The number of queries that could not be answered by the cache.
+         * @param evictionCount The number of values that were discarded in order to respect the cache's
+         *                      maximum weight.
+         */
+        public Statistics(int size, int weight, long hitCount, long missCount, long evictionCount) {
+            this.size = size;
+            this.weight = weight;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * Returns the number of cached values.
+         *
+         * @return The number of cached values.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the total weight of all cached values.
+         *
+         * @return The total weight of all cached values.
+         */
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Returns the number of queries that could be answered by the cache.
+         *
+         * @return The number of queries that could be answered by the cache.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Returns the number of queries that could not be answered by the cache.
+         *
+         * @return The number of queries that could not be answered by the cache.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Returns the number of values that were discarded in order to respect the cache's maximum weight.
+         *
+         * @return The number of evicted values.
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Statistics statistics = (Statistics) other;
+            return size == statistics.size
+                    && weight == statistics.weight
+                    && hitCount == statistics.hitCount
+                    && missCount == statistics.missCount
+                    && evictionCount == statistics.evictionCount;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = size;
+            result = 31 * result + weight;
+            result = 31 * result + (int) (hitCount ^ (hitCount >>> 32));
+            result = 31 * result + (int) (missCount ^ (missCount >>> 32));
+            result = 31 * result + (int) (evictionCount ^ (evictionCount >>> 32));
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "BoundedCache.Statistics{" +
+                    "size=" + size +
+                    ", weight=" + weight +
+                    ", hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", evictionCount=" + evictionCount +
+                    '}';
+        }
+    }
+
+    /**
+     * A value that is stored together with its weight.
+     *
+     * @param <W> The type of the represented value.
+     */
+    protected static class WeightedValue<W> {
+
+        /**
+         * The represented value.
+         */
+        private final W value;
+
+        /**
+         * The weight of the represented value.
+         */
+        private final int weight;
+
+        /**
+         * {@code true} if the represented value was queried since it was last visited when discarding values.
+         */
+        private volatile boolean referenced;
+
+        /**
+         * Creates a new weighted value.
+         *
+         * @param value  The represented value.
+         * @param weight The weight of the represented value.
+         */
+        protected WeightedValue(W value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+
+        /**
+         * Returns the represented value.
+         *
+         * @return The represented value.
+         */
+        protected W getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the weight of the represented value.
+         *
+         * @return The weight of the represented value.
+         */
+        protected int getWeight() {
+            return weight;
+        }
+
+        /**
+         * Marks the represented value as referenced.
+         */
+        protected void markReferenced() {
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+
+        /**
+         * Removes the mark of the represented value as referenced.
+         *
+         * @return {@code true} if the represented value was marked as referenced.
+         */
+        protected boolean unmarkReferenced() {
+            if (referenced) {
+                referenced = false;
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && weight == ((WeightedValue<?>) other).weight
+                    && value.equals(((WeightedValue<?>) other).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * value.hashCode() + weight;
+        }
+
+        @Override
+        public String toString() {
+            return "BoundedCache.WeightedValue{" +
+                    "value=" + value +
+                    ", weight=" + weight +
+                    ", referenced=" + referenced +
+                    '}';
+        }
+    }
+}
@@ -99,8 +99,7 @@ public class RandomString {
     @Override
     public String toString() {
         return "RandomString{" +
-                "random=" + random +
-                ", length=" + length +
+                "length=" + length +
                 '}';
     }
 }
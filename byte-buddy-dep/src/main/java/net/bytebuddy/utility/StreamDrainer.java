@@ -2,11 +2,17 @@ package net.bytebuddy.utility;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
+ * <p>
  * A utility for draining the contents of an {@link java.io.InputStream} into a {@code byte} array.
+ * </p>
+ * <p>
+ * If the size of a stream's content is known in advance, the content is read into a single array of this size.
+ * Otherwise, the content is read into a scratch buffer that grows geometrically and that is reused by subsequent
+ * drainages on the same thread such that only the resulting array needs to be allocated.
+ * </p>
  */
 public class StreamDrainer {
 
@@ -15,6 +21,22 @@ public class StreamDrainer {
      */
     public static final int DEFAULT_BUFFER_SIZE = 1024;
 
+    /**
+     * Indicates that the size of a stream's content is unknown.
+     */
+    public static final int UNKNOWN_SIZE = 0;
+
+    /**
+     * The maximum size of a scratch buffer that is retained for reuse by a thread.
+     */
+    private static final int MAXIMUM_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum size of an array that is allocated up front for a hinted size. A stream's content that exceeds
+     * this size is read by growing the array such that a wrong hint cannot cause an excessive allocation.
+     */
+    private static final int MAXIMUM_HINTED_SIZE = 1024 * 1024;
+
     /**
      * A convenience constant referring to the value representing the end of a stream.
      */
@@ -26,7 +48,13 @@ public class StreamDrainer {
     private static final int FROM_BEGINNING = 0;
 
     /**
-     * The buffer size for reading from a given stream.
+     * A scratch buffer per thread that is reused for draining streams of an unknown size. This thread local is
+     * not subclassed such that it does not reference the class loader of this class.
+     */
+    private static final ThreadLocal<byte[]> SCRATCH_BUFFER = new ThreadLocal<byte[]>();
+
+    /**
+     * The minimal buffer size for reading from a given stream.
      */
     private final int bufferSize;
 
@@ -40,42 +68,95 @@ public class StreamDrainer {
     /**
      * Creates a stream drainer with the given buffer size.
      *
-     * @param bufferSize The buffer size for reading from a given stream.
+     * @param bufferSize The minimal buffer size for reading from a given stream.
      */
     public StreamDrainer(int bufferSize) {
         this.bufferSize = bufferSize;
     }
 
     /**
-     * Drains an input stream into a byte array. The given input stream is not closed.
+     * Drains an input stream into a byte array. The given input stream is not closed. The number of bytes that
+     * are available from the stream without blocking is used as a hint for the size of the stream's content. For
+     * the streams of class files that are located by a class loader from a jar file or a folder, this number
+     * typically represents the size of the class file.
      *
      * @param inputStream The input stream to drain.
      * @return A byte array containing the content of the input stream.
      * @throws IOException If the stream reading causes an error.
      */
     public byte[] drain(InputStream inputStream) throws IOException {
-        List<byte[]> previousBytes = new LinkedList<byte[]>();
-        byte[] currentArray = new byte[bufferSize];
+        return drain(inputStream, inputStream.available());
+    }
+
+    /**
+     * Drains an input stream into a byte array. The given input stream is not closed.
+     *
+     * @param inputStream The input stream to drain.
+     * @param sizeHint    The expected size of the stream's content or
+     *                    {@link net.bytebuddy.utility.StreamDrainer#UNKNOWN_SIZE} if this size is not known. The
+     *                    content is read correctly even if the hint does not match the actual size. A hint is
+     *                    only trusted up to a size of one megabyte.
+     * @return A byte array containing the content of the input stream.
+     * @throws IOException If the stream reading causes an error.
+     */
+    public byte[] drain(InputStream inputStream, int sizeHint) throws IOException {
+        boolean hinted = sizeHint > UNKNOWN_SIZE;
+        byte[] buffer = hinted
+                ? new byte[Math.min(sizeHint, MAXIMUM_HINTED_SIZE)]
+                : acquireBuffer();
         int currentIndex = 0;
         int currentRead;
-        do {
-            currentRead = inputStream.read(currentArray, currentIndex, bufferSize - currentIndex);
-            currentIndex += currentRead > 0 ? currentRead : 0;
-            if (currentIndex == bufferSize) {
-                previousBytes.add(currentArray);
-                currentArray = new byte[bufferSize];
-                currentIndex = 0;
+        while ((currentRead = inputStream.read(buffer, currentIndex, buffer.length - currentIndex)) != END_OF_STREAM) {
+            currentIndex += currentRead;
+            if (currentIndex == buffer.length) {
+                if (hinted) {
+                    int nextByte = inputStream.read();
+                    if (nextByte == END_OF_STREAM) {
+                        return buffer;
+                    }
+                    buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, bufferSize));
+                    buffer[currentIndex++] = (byte) nextByte;
+                    hinted = false;
+                } else {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
             }
-        } while (currentRead != END_OF_STREAM);
-        byte[] result = new byte[previousBytes.size() * bufferSize + currentIndex];
-        int arrayIndex = 0;
-        for (byte[] previousByte : previousBytes) {
-            System.arraycopy(previousByte, FROM_BEGINNING, result, arrayIndex++ * bufferSize, bufferSize);
         }
-        System.arraycopy(currentArray, FROM_BEGINNING, result, arrayIndex * bufferSize, currentIndex);
+        byte[] result = new byte[currentIndex];
+        System.arraycopy(buffer, FROM_BEGINNING, result, FROM_BEGINNING, currentIndex);
+        if (!hinted) {
+            releaseBuffer(buffer);
+        }
         return result;
     }
 
+    /**
+     * Acquires the scratch buffer of the current thread. While a buffer is acquired, it is not available to any
+     * nested drainage on the same thread.
+     *
+     * @return A scratch buffer of at least this drainer's buffer size.
+     */
+    private byte[] acquireBuffer() {
+        byte[] buffer = SCRATCH_BUFFER.get();
+        if (buffer == null || buffer.length < bufferSize) {
+            return new byte[bufferSize];
+        }
+        SCRATCH_BUFFER.set(null);
+        return buffer;
+    }
+
+    /**
+     * Releases a scratch buffer such that it can be reused by the current thread if it is not too large for
+     * being retained.
+     *
+     * @param buffer The buffer to release.
+     */
+    private static void releaseBuffer(byte[] buffer) {
+        if (buffer.length <= MAXIMUM_RETAINED_BUFFER_SIZE) {
+            SCRATCH_BUFFER.set(buffer);
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
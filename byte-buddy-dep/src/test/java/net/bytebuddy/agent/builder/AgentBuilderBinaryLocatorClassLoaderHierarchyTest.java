@@ -0,0 +1,116 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderBinaryLocatorClassLoaderHierarchyTest {
+
+    private static final String FOO = "foo";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3};
+
+    @Test
+    public void testParentTypePoolIsShared() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(10);
+        ClassLoader first = new URLClassLoader(new URL[0], ClassLoader.getSystemClassLoader());
+        ClassLoader second = new URLClassLoader(new URL[0], ClassLoader.getSystemClassLoader());
+        TypeDescription typeDescription = binaryLocator.initialize(FOO, QUX, first)
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve();
+        assertThat(typeDescription.represents(Object.class), is(true));
+        assertThat(binaryLocator.initialize(FOO, QUX, second)
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), sameInstance(typeDescription));
+        assertThat(binaryLocator.initialize(FOO, QUX, ClassLoader.getSystemClassLoader())
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), sameInstance(typeDescription));
+        assertThat(binaryLocator.initialize(FOO, QUX, null)
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), sameInstance(typeDescription));
+    }
+
+    @Test
+    public void testIsolatedClassLoaderIsNotShared() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(10);
+        ClassLoader isolated = new URLClassLoader(new URL[0], null);
+        TypeDescription typeDescription = binaryLocator.initialize(FOO, QUX, isolated)
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve();
+        assertThat(typeDescription.represents(Object.class), is(true));
+        assertThat(binaryLocator.initialize(FOO, QUX, new URLClassLoader(new URL[0], isolated))
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), sameInstance(typeDescription));
+        assertThat(binaryLocator.initialize(FOO, QUX, ClassLoader.getSystemClassLoader())
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), not(sameInstance(typeDescription)));
+    }
+
+    @Test
+    public void testTypeInvisibleToParent() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(10);
+        ClassLoader isolated = new URLClassLoader(new URL[0], null);
+        ClassLoader child = new URLClassLoader(((URLClassLoader) ClassLoader.getSystemClassLoader()).getURLs(), isolated);
+        assertThat(binaryLocator.initialize(FOO, QUX, isolated)
+                .getTypePool()
+                .describe(AgentBuilderBinaryLocatorClassLoaderHierarchyTest.class.getName())
+                .isResolved(), is(false));
+        assertThat(binaryLocator.initialize(FOO, QUX, child)
+                .getTypePool()
+                .describe(AgentBuilderBinaryLocatorClassLoaderHierarchyTest.class.getName())
+                .resolve()
+                .represents(AgentBuilderBinaryLocatorClassLoaderHierarchyTest.class), is(true));
+    }
+
+    @Test
+    public void testChildFirstClassLoaderDescribesTypeItself() throws Exception {
+        ClassLoader child = new URLClassLoader(((URLClassLoader) ClassLoader.getSystemClassLoader()).getURLs(),
+                ClassLoader.getSystemClassLoader());
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(10, ElementMatchers.is(child));
+        TypeDescription typeDescription = binaryLocator.initialize(FOO, QUX, ClassLoader.getSystemClassLoader())
+                .getTypePool()
+                .describe(AgentBuilderBinaryLocatorClassLoaderHierarchyTest.class.getName())
+                .resolve();
+        assertThat(binaryLocator.initialize(FOO, QUX, child)
+                .getTypePool()
+                .describe(AgentBuilderBinaryLocatorClassLoaderHierarchyTest.class.getName())
+                .resolve(), not(sameInstance(typeDescription)));
+        assertThat(binaryLocator.initialize(FOO, QUX, new URLClassLoader(new URL[0], ClassLoader.getSystemClassLoader()))
+                .getTypePool()
+                .describe(AgentBuilderBinaryLocatorClassLoaderHierarchyTest.class.getName())
+                .resolve(), sameInstance(typeDescription));
+    }
+
+    @Test
+    public void testTypePoolIsReused() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(10);
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoader.getSystemClassLoader());
+        assertThat(binaryLocator.initialize(FOO, QUX, classLoader).getTypePool(),
+                sameInstance(binaryLocator.initialize(FOO, QUX, classLoader).getTypePool()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.BinaryLocator.ClassLoaderHierarchy.class)
+                .apply(new AgentBuilder.BinaryLocator.ClassLoaderHierarchy(1));
+    }
+}
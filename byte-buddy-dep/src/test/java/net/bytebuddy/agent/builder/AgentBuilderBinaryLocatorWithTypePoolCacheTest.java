@@ -0,0 +1,44 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderBinaryLocatorWithTypePoolCacheTest {
+
+    private static final String FOO = "foo";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3};
+
+    @Test
+    public void testCacheIsSharedForClassLoader() throws Exception {
+        AgentBuilder.BinaryLocator binaryLocator = new AgentBuilder.BinaryLocator.WithTypePoolCache.Simple(10);
+        TypeDescription typeDescription = binaryLocator.initialize(FOO, QUX, ClassLoader.getSystemClassLoader())
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve();
+        assertThat(binaryLocator.initialize(FOO, QUX, ClassLoader.getSystemClassLoader())
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), sameInstance(typeDescription));
+        assertThat(binaryLocator.initialize(FOO, QUX, null)
+                .getTypePool()
+                .describe(Object.class.getName())
+                .resolve(), not(sameInstance(typeDescription)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new AgentBuilder.BinaryLocator.WithTypePoolCache.Simple(0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.BinaryLocator.WithTypePoolCache.Simple.class)
+                .apply(new AgentBuilder.BinaryLocator.WithTypePoolCache.Simple(1));
+    }
+}
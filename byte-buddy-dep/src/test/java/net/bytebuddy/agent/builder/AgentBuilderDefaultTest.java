@@ -27,6 +27,8 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 public class AgentBuilderDefaultTest {
@@ -192,6 +194,108 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(instrumentation);
     }
 
+    @Test
+    public void testMonitor() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        AgentBuilder.Monitor monitor = mock(AgentBuilder.Monitor.class);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withMonitor(monitor)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.PREFILTERING), eq(classLoader), anyLong());
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.DESCRIPTION), eq(classLoader), anyLong());
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.MATCHING), eq(classLoader), anyLong());
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.CREATION), eq(classLoader), anyLong());
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.REGISTRATION), eq(classLoader), anyLong());
+        verify(monitor).onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, classLoader);
+        verifyNoMoreInteractions(monitor);
+    }
+
+    @Test
+    public void testMonitorIgnored() throws Exception {
+        when(resolution.resolve()).thenReturn(typeDescription);
+        AgentBuilder.Monitor monitor = mock(AgentBuilder.Monitor.class);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withMonitor(monitor)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.PREFILTERING), eq(classLoader), anyLong());
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.DESCRIPTION), eq(classLoader), anyLong());
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.MATCHING), eq(classLoader), anyLong());
+        verify(monitor).onOutcome(AgentBuilder.Monitor.Outcome.IGNORED, classLoader);
+        verifyNoMoreInteractions(monitor);
+    }
+
+    @Test
+    public void testMonitorError() throws Exception {
+        when(resolution.resolve()).thenThrow(new RuntimeException());
+        AgentBuilder.Monitor monitor = mock(AgentBuilder.Monitor.class);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withMonitor(monitor)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(monitor).onPhase(eq(AgentBuilder.Monitor.Phase.PREFILTERING), eq(classLoader), anyLong());
+        verify(monitor).onOutcome(AgentBuilder.Monitor.Outcome.ERROR, classLoader);
+        verifyNoMoreInteractions(monitor);
+    }
+
+    @Test
+    public void testPrefiltered() throws Exception {
+        AgentBuilder.RawMatcher.Prefiltering rawMatcher = mock(AgentBuilder.RawMatcher.Prefiltering.class);
+        when(rawMatcher.mightMatch(FOO, classLoader, REDEFINED, protectionDomain)).thenReturn(false);
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), nullValue(byte[].class));
+        verify(listener).onIgnored(FOO);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+        verify(rawMatcher).mightMatch(FOO, classLoader, REDEFINED, protectionDomain);
+        verifyNoMoreInteractions(rawMatcher);
+        verifyZeroInteractions(binaryLocator);
+        verify(instrumentation).addTransformer(classFileTransformer, false);
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testPrefilterPassed() throws Exception {
+        when(unloaded.getBytes()).thenReturn(BAZ);
+        when(resolution.resolve()).thenReturn(typeDescription);
+        AgentBuilder.RawMatcher.Prefiltering rawMatcher = mock(AgentBuilder.RawMatcher.Prefiltering.class);
+        when(rawMatcher.mightMatch(FOO, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        when(rawMatcher.matches(typeDescription, classLoader, REDEFINED, protectionDomain)).thenReturn(true);
+        new AgentBuilder.Default(byteBuddy)
+                .disableSelfInitialization()
+                .withBinaryLocator(binaryLocator)
+                .withListener(listener)
+                .rebase(rawMatcher).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(instrumentations.size(), is(1));
+        assertThat(instrumentations.get(0).transform(classLoader, FOO, REDEFINED, protectionDomain, QUX), is(BAZ));
+        verify(listener).onTransformation(unloaded);
+        verify(listener).onComplete(FOO);
+        verifyNoMoreInteractions(listener);
+        verify(rawMatcher).mightMatch(FOO, classLoader, REDEFINED, protectionDomain);
+        verify(rawMatcher).matches(typeDescription, classLoader, REDEFINED, protectionDomain);
+        verifyNoMoreInteractions(rawMatcher);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testEmptyPrefixThrowsException() throws Exception {
         new AgentBuilder.Default(byteBuddy).withNativeMethodPrefix("");
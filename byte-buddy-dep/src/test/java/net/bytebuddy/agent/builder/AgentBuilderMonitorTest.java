@@ -0,0 +1,155 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderMonitorTest {
+
+    private static final long FOO = 42L, BAR = 1000L;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private AgentBuilder.Monitor first, second;
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Test
+    public void testNoOp() throws Exception {
+        AgentBuilder.Monitor.NoOp.INSTANCE.onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, FOO);
+        AgentBuilder.Monitor.NoOp.INSTANCE.onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, classLoader);
+        verifyZeroInteractions(classLoader);
+    }
+
+    @Test
+    public void testCompoundOnPhase() throws Exception {
+        new AgentBuilder.Monitor.Compound(first, second).onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, FOO);
+        verify(first).onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, FOO);
+        verifyNoMoreInteractions(first);
+        verify(second).onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, FOO);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testCompoundOnOutcome() throws Exception {
+        new AgentBuilder.Monitor.Compound(first, second).onOutcome(AgentBuilder.Monitor.Outcome.ERROR, classLoader);
+        verify(first).onOutcome(AgentBuilder.Monitor.Outcome.ERROR, classLoader);
+        verifyNoMoreInteractions(first);
+        verify(second).onOutcome(AgentBuilder.Monitor.Outcome.ERROR, classLoader);
+        verifyNoMoreInteractions(second);
+    }
+
+    @Test
+    public void testRecordingTimings() throws Exception {
+        AgentBuilder.Monitor.Recording recording = new AgentBuilder.Monitor.Recording();
+        recording.onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, FOO);
+        recording.onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, BAR);
+        recording.onPhase(AgentBuilder.Monitor.Phase.DESCRIPTION, classLoader, -1L);
+        Map<AgentBuilder.Monitor.Phase, AgentBuilder.Monitor.Timing> timings = recording.getTimings();
+        assertThat(timings.size(), is(AgentBuilder.Monitor.Phase.values().length));
+        AgentBuilder.Monitor.Timing timing = timings.get(AgentBuilder.Monitor.Phase.DESCRIPTION);
+        assertThat(timing.getCount(), is(3L));
+        assertThat(timing.getTotalTime(), is(FOO + BAR));
+        assertThat(timing.getMaximumTime(), is(BAR));
+        assertThat(timing.getMeanTime(), is((FOO + BAR) / 3d));
+        assertThat(timing.getPercentileTime(0d), is(0L));
+        assertThat(timing.getPercentileTime(50d), is(63L));
+        assertThat(timing.getPercentileTime(100d), is(BAR));
+        assertThat(timing.getBuckets()[0], is(1L));
+        assertThat(timing.getBuckets()[6], is(1L));
+        assertThat(timing.getBuckets()[10], is(1L));
+        assertThat(timings.get(AgentBuilder.Monitor.Phase.MATCHING).getCount(), is(0L));
+        assertThat(timings.get(AgentBuilder.Monitor.Phase.MATCHING).getMeanTime(), is(0d));
+        assertThat(timings.get(AgentBuilder.Monitor.Phase.MATCHING).getPercentileTime(50d), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalPercentile() throws Exception {
+        new AgentBuilder.Monitor.Recording().getTimings().get(AgentBuilder.Monitor.Phase.DESCRIPTION).getPercentileTime(101d);
+    }
+
+    @Test
+    public void testRecordingOutcomes() throws Exception {
+        AgentBuilder.Monitor.Recording recording = new AgentBuilder.Monitor.Recording();
+        recording.onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, classLoader);
+        recording.onOutcome(AgentBuilder.Monitor.Outcome.IGNORED, classLoader);
+        recording.onOutcome(AgentBuilder.Monitor.Outcome.IGNORED, null);
+        assertThat(recording.getOutcomes().get(AgentBuilder.Monitor.Outcome.TRANSFORMED), is(1L));
+        assertThat(recording.getOutcomes().get(AgentBuilder.Monitor.Outcome.IGNORED), is(2L));
+        assertThat(recording.getOutcomes().get(AgentBuilder.Monitor.Outcome.ERROR), is(0L));
+        Map<ClassLoader, Map<AgentBuilder.Monitor.Outcome, Long>> outcomes = recording.getOutcomesByClassLoader();
+        assertThat(outcomes.size(), is(2));
+        assertThat(outcomes.get(classLoader).get(AgentBuilder.Monitor.Outcome.TRANSFORMED), is(1L));
+        assertThat(outcomes.get(classLoader).get(AgentBuilder.Monitor.Outcome.IGNORED), is(1L));
+        assertThat(outcomes.get(null).get(AgentBuilder.Monitor.Outcome.TRANSFORMED), is(0L));
+        assertThat(outcomes.get(null).get(AgentBuilder.Monitor.Outcome.IGNORED), is(1L));
+        assertThat(recording.getTransformedCount(), is(1L));
+        assertThat(recording.getIgnoredCount(), is(2L));
+        assertThat(recording.getErrorCount(), is(0L));
+    }
+
+    @Test
+    public void testRecordingOutcomesOfSeveralThreads() throws Exception {
+        final AgentBuilder.Monitor.Recording recording = new AgentBuilder.Monitor.Recording();
+        recording.onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, classLoader);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                recording.onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, null);
+                recording.onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, classLoader);
+            }
+        });
+        thread.start();
+        thread.join();
+        recording.onOutcome(AgentBuilder.Monitor.Outcome.ERROR, classLoader);
+        Map<ClassLoader, Map<AgentBuilder.Monitor.Outcome, Long>> outcomes = recording.getOutcomesByClassLoader();
+        assertThat(outcomes.size(), is(2));
+        assertThat(outcomes.get(classLoader).get(AgentBuilder.Monitor.Outcome.TRANSFORMED), is(2L));
+        assertThat(outcomes.get(classLoader).get(AgentBuilder.Monitor.Outcome.ERROR), is(1L));
+        assertThat(outcomes.get(null).get(AgentBuilder.Monitor.Outcome.TRANSFORMED), is(1L));
+    }
+
+    @Test
+    public void testRecordingManagementInterface() throws Exception {
+        AgentBuilder.Monitor.Recording recording = new AgentBuilder.Monitor.Recording();
+        recording.onPhase(AgentBuilder.Monitor.Phase.CREATION, classLoader, FOO);
+        recording.onOutcome(AgentBuilder.Monitor.Outcome.TRANSFORMED, classLoader);
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        ObjectName objectName = new ObjectName("net.bytebuddy:type=Recording");
+        mBeanServer.registerMBean(recording, objectName);
+        assertThat(mBeanServer.getAttribute(objectName, "TransformedCount"), is((Object) 1L));
+        assertThat(mBeanServer.invoke(objectName,
+                "getPhaseTotalTime",
+                new Object[]{AgentBuilder.Monitor.Phase.CREATION.name()},
+                new String[]{String.class.getName()}), is((Object) FOO));
+        assertThat(recording.getPhaseCount(AgentBuilder.Monitor.Phase.CREATION.name()), is(1L));
+        assertThat(recording.getPhaseMaximumTime(AgentBuilder.Monitor.Phase.CREATION.name()), is(FOO));
+        assertThat(recording.getPhasePercentileTime(AgentBuilder.Monitor.Phase.CREATION.name(), 100d), is(FOO));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(AgentBuilder.Monitor.Compound.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Monitor.Timing.class).apply();
+        ObjectPropertyAssertion.of(AgentBuilder.Monitor.Recording.class).apply(new AgentBuilder.Monitor.Recording());
+        ObjectPropertyAssertion.of(AgentBuilder.Monitor.Recording.Histogram.class).apply(new AgentBuilder.Monitor.Recording.Histogram());
+        ObjectPropertyAssertion.of(AgentBuilder.Monitor.Recording.CachedOutcomes.class).apply(new AgentBuilder.Monitor.Recording.CachedOutcomes(classLoader,
+                new AtomicLongArray(1)));
+    }
+}
@@ -11,12 +11,15 @@ import org.mockito.Mock;
 
 import java.security.ProtectionDomain;
 
+import static net.bytebuddy.matcher.ElementMatchers.named;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
 public class AgentBuilderRawMatcherForElementMatcherPairTest {
 
+    private static final String FOO = "foo", BAR = "bar";
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -77,6 +80,39 @@ public class AgentBuilderRawMatcherForElementMatcherPairTest {
         verifyNoMoreInteractions(typeMatcher);
     }
 
+    @Test
+    public void testPrefilterClassLoaderDoesNotMatch() throws Exception {
+        assertThat(new AgentBuilder.RawMatcher.ForElementMatcherPair(typeMatcher, classLoaderMatcher)
+                .mightMatch(FOO, classLoader, Object.class, protectionDomain), is(false));
+        verify(classLoaderMatcher).matches(classLoader);
+        verifyNoMoreInteractions(classLoaderMatcher);
+        verifyZeroInteractions(typeMatcher);
+    }
+
+    @Test
+    public void testPrefilterClassLoaderMatches() throws Exception {
+        when(classLoaderMatcher.matches(classLoader)).thenReturn(true);
+        assertThat(new AgentBuilder.RawMatcher.ForElementMatcherPair(typeMatcher, classLoaderMatcher)
+                .mightMatch(FOO, classLoader, Object.class, protectionDomain), is(true));
+        verify(classLoaderMatcher).matches(classLoader);
+        verifyNoMoreInteractions(classLoaderMatcher);
+        verifyZeroInteractions(typeMatcher);
+    }
+
+    @Test
+    public void testPrefilterNameDoesNotMatch() throws Exception {
+        when(classLoaderMatcher.matches(classLoader)).thenReturn(true);
+        assertThat(new AgentBuilder.RawMatcher.ForElementMatcherPair(named(BAR), classLoaderMatcher)
+                .mightMatch(FOO, classLoader, Object.class, protectionDomain), is(false));
+    }
+
+    @Test
+    public void testPrefilterNameMatches() throws Exception {
+        when(classLoaderMatcher.matches(classLoader)).thenReturn(true);
+        assertThat(new AgentBuilder.RawMatcher.ForElementMatcherPair(named(FOO), classLoaderMatcher)
+                .mightMatch(FOO, classLoader, Object.class, protectionDomain), is(true));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(AgentBuilder.RawMatcher.ForElementMatcherPair.class).apply();
@@ -0,0 +1,232 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.*;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class WeavingEngineTest {
+
+    private static final String FOO = "foo", BAR = "bar", TEMP = "tmp", CLASS_FILE_EXTENSION = ".class";
+
+    private static final byte[] RESOURCE = new byte[]{1, 2, 3};
+
+    private File sourceJar, targetJar;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+        sourceJar = File.createTempFile(FOO, TEMP);
+        targetJar = File.createTempFile(BAR, TEMP);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdown();
+        assertThat(sourceJar.delete(), is(true));
+        assertThat(!targetJar.exists() || targetJar.delete(), is(true));
+    }
+
+    @Test
+    public void testJarWeaving() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, BAR);
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar), manifest);
+        try {
+            for (Class<?> type : new Class<?>[]{Foo.class, Bar.class}) {
+                jarOutputStream.putNextEntry(new JarEntry(type.getName().replace('.', '/') + CLASS_FILE_EXTENSION));
+                jarOutputStream.write(ClassFileExtraction.extract(type));
+                jarOutputStream.closeEntry();
+            }
+            jarOutputStream.putNextEntry(new JarEntry(FOO));
+            jarOutputStream.write(RESOURCE);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        List<TypeDescription> transformedTypes = new WeavingEngine()
+                .type(named(Foo.class.getName()), new FixedValueTransformer())
+                .weave(sourceJar, targetJar, ClassFileLocator.ForClassLoader.ofClassPath(), executorService);
+        assertThat(transformedTypes.size(), is(1));
+        assertThat(transformedTypes.get(0).getName(), is(Foo.class.getName()));
+        JarFile jarFile = new JarFile(targetJar);
+        try {
+            assertThat(jarFile.getManifest(), is(manifest));
+            assertThat(jarFile.getEntry(FOO).getSize(), is((long) RESOURCE.length));
+            assertThat(jarFile.getEntry(Bar.class.getName().replace('.', '/') + CLASS_FILE_EXTENSION) != null, is(true));
+        } finally {
+            jarFile.close();
+        }
+        ClassLoader classLoader = assertTransformed(targetJar.toURI().toURL());
+        assertThat(classLoader.loadClass(Bar.class.getName()).getClassLoader(), is(classLoader));
+    }
+
+    @Test
+    public void testFolderWeaving() throws Exception {
+        File sourceFolder = makeTemporaryFolder(), targetFolder = makeTemporaryFolder();
+        try {
+            for (Class<?> type : new Class<?>[]{Foo.class, Bar.class}) {
+                File file = new File(sourceFolder, type.getName().replace('.', File.separatorChar) + CLASS_FILE_EXTENSION);
+                assertThat(file.getParentFile().isDirectory() || file.getParentFile().mkdirs(), is(true));
+                write(file, ClassFileExtraction.extract(type));
+            }
+            write(new File(sourceFolder, FOO), RESOURCE);
+            List<TypeDescription> transformedTypes = new WeavingEngine()
+                    .type(named(Foo.class.getName()), new FixedValueTransformer())
+                    .weave(sourceFolder, targetFolder, ClassFileLocator.ForClassLoader.ofClassPath(), executorService);
+            assertThat(transformedTypes.size(), is(1));
+            assertThat(new File(targetFolder, FOO).length(), is((long) RESOURCE.length));
+            ClassLoader classLoader = assertTransformed(targetFolder.toURI().toURL());
+            assertThat(classLoader.loadClass(Bar.class.getName()).getClassLoader(), is(classLoader));
+        } finally {
+            delete(sourceFolder);
+            delete(targetFolder);
+        }
+    }
+
+    @Test
+    public void testFirstMatchingTransformationIsApplied() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(Foo.class.getName().replace('.', '/') + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(ClassFileExtraction.extract(Foo.class));
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        List<TypeDescription> transformedTypes = new WeavingEngine()
+                .type(named(Foo.class.getName()), new FixedValueTransformer())
+                .type(named(Foo.class.getName()), new AgentBuilder.Transformer() {
+                    @Override
+                    public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder) {
+                        throw new AssertionError();
+                    }
+                })
+                .weave(sourceJar, targetJar, ClassFileLocator.ForClassLoader.ofClassPath());
+        assertThat(transformedTypes.size(), is(1));
+        assertTransformed(targetJar.toURI().toURL());
+    }
+
+    @Test
+    public void testTransformationErrorDeletesTargetAndStopsSubmission() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar));
+        try {
+            for (Class<?> type : new Class<?>[]{Foo.class, Bar.class}) {
+                jarOutputStream.putNextEntry(new JarEntry(type.getName().replace('.', '/') + CLASS_FILE_EXTENSION));
+                jarOutputStream.write(ClassFileExtraction.extract(type));
+                jarOutputStream.closeEntry();
+            }
+        } finally {
+            jarOutputStream.close();
+        }
+        final AtomicBoolean transformed = new AtomicBoolean();
+        try {
+            new WeavingEngine().type(named(Bar.class.getName()), new AgentBuilder.Transformer() {
+                @Override
+                public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder) {
+                    throw new IllegalStateException();
+                }
+            }).type(named(Foo.class.getName()), new AgentBuilder.Transformer() {
+                @Override
+                public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder) {
+                    transformed.set(true);
+                    return builder;
+                }
+            }).weave(sourceJar, targetJar, ClassFileLocator.ForClassLoader.ofClassPath(), executorService, 1);
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        assertThat(transformed.get(), is(false));
+        assertThat(targetJar.exists(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximumInFlight() throws Exception {
+        new WeavingEngine().weave(sourceJar, targetJar, ClassFileLocator.ForClassLoader.ofClassPath(), executorService, 0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(WeavingEngine.class).apply();
+        ObjectPropertyAssertion.of(WeavingEngine.Transformation.class).apply();
+        ObjectPropertyAssertion.of(WeavingEngine.Weaving.class).apply();
+        ObjectPropertyAssertion.of(WeavingEngine.Sink.ForFolder.class).apply();
+        ObjectPropertyAssertion.of(WeavingEngine.Sink.ForJarWriter.class).apply();
+    }
+
+    private static ClassLoader assertTransformed(URL url) throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{url}, null /* bootstrap class loader */);
+        Class<?> type = classLoader.loadClass(Foo.class.getName());
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.newInstance()), is((Object) BAR));
+        return classLoader;
+    }
+
+    private static void write(File file, byte[] binaryRepresentation) throws IOException {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(binaryRepresentation);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static File makeTemporaryFolder() throws IOException {
+        File file = File.createTempFile(TEMP, TEMP);
+        assertThat(file.delete(), is(true));
+        assertThat(file.mkdir(), is(true));
+        return file;
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File aFile : files) {
+                delete(aFile);
+            }
+        }
+        assertThat(file.delete(), is(true));
+    }
+
+    private static class FixedValueTransformer implements AgentBuilder.Transformer {
+
+        @Override
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder) {
+            return builder.method(named(FOO)).intercept(FixedValue.value(BAR));
+        }
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+}
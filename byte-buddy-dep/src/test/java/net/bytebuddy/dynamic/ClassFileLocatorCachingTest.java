@@ -0,0 +1,119 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassFileLocatorCachingTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final byte[] BAZ = new byte[]{1, 2, 3};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassFileLocator classFileLocator, otherClassFileLocator;
+
+    @Before
+    public void setUp() throws Exception {
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(BAZ));
+        when(classFileLocator.locate(BAR)).thenReturn(ClassFileLocator.Resolution.Illegal.INSTANCE);
+        when(classFileLocator.locate(QUX)).thenReturn(new ClassFileLocator.Resolution.Explicit(BAZ.clone()));
+        when(otherClassFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(BAZ.clone()));
+    }
+
+    @Test
+    public void testCachedResolution() throws Exception {
+        ClassFileLocator.Caching caching = new ClassFileLocator.Caching(classFileLocator, 10);
+        ClassFileLocator.Resolution resolution = caching.locate(FOO);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(BAZ));
+        assertThat(caching.locate(FOO).resolve(), is(BAZ));
+        verify(classFileLocator).locate(FOO);
+        verifyNoMoreInteractions(classFileLocator);
+        assertThat(caching.getStatistics().getHitCount(), is(1L));
+        assertThat(caching.getStatistics().getMissCount(), is(1L));
+        assertThat(caching.getStatistics().getSize(), is(1));
+    }
+
+    @Test
+    public void testCachedResolutionCannotBeAltered() throws Exception {
+        ClassFileLocator.Caching caching = new ClassFileLocator.Caching(classFileLocator, 10);
+        byte[] binaryRepresentation = caching.locate(FOO).resolve();
+        binaryRepresentation[0] = 0;
+        assertThat(caching.locate(FOO).resolve(), is(BAZ));
+        assertThat(caching.locate(FOO).resolve(), not(sameInstance(caching.locate(FOO).resolve())));
+    }
+
+    @Test
+    public void testCachedIllegalResolution() throws Exception {
+        ClassFileLocator.Caching caching = new ClassFileLocator.Caching(classFileLocator, 10);
+        assertThat(caching.locate(BAR).isResolved(), is(false));
+        assertThat(caching.locate(BAR).isResolved(), is(false));
+        verify(classFileLocator).locate(BAR);
+        verifyNoMoreInteractions(classFileLocator);
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ClassFileLocator.Caching caching = new ClassFileLocator.Caching(classFileLocator, 1);
+        caching.locate(FOO);
+        caching.locate(BAR);
+        caching.locate(FOO);
+        verify(classFileLocator, times(2)).locate(FOO);
+        verify(classFileLocator).locate(BAR);
+        verifyNoMoreInteractions(classFileLocator);
+        assertThat(caching.getStatistics().getEvictionCount(), is(2L));
+        assertThat(caching.getStatistics().getSize(), is(1));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        ClassFileLocator.Caching caching = new ClassFileLocator.Caching(classFileLocator, 10);
+        caching.locate(FOO);
+        caching.clear();
+        caching.locate(FOO);
+        verify(classFileLocator, times(2)).locate(FOO);
+        assertThat(caching.getStatistics().getSize(), is(1));
+    }
+
+    @Test
+    public void testDeduplication() throws Exception {
+        ClassFileLocator.Caching.Deduplicator.WeaklyReferenced deduplicator = new ClassFileLocator.Caching.Deduplicator.WeaklyReferenced();
+        ClassFileLocator.Caching caching = new ClassFileLocator.Caching(classFileLocator, 10, deduplicator);
+        ClassFileLocator.Caching otherCaching = new ClassFileLocator.Caching(otherClassFileLocator, 10, deduplicator);
+        assertThat(caching.locate(FOO).resolve(), is(BAZ));
+        assertThat(caching.locate(QUX).resolve(), is(BAZ));
+        assertThat(otherCaching.locate(FOO).resolve(), is(BAZ));
+        assertThat(deduplicator.size(), is(1));
+        assertThat(deduplicator.getDeduplicationCount(), is(2L));
+    }
+
+    @Test
+    public void testNoOpDeduplicator() throws Exception {
+        assertThat(ClassFileLocator.Caching.Deduplicator.NoOp.INSTANCE.deduplicate(BAZ), sameInstance(BAZ));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() throws Exception {
+        new ClassFileLocator.Caching(classFileLocator, 0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.Caching.class).apply(new ClassFileLocator.Caching(classFileLocator, 1));
+        ObjectPropertyAssertion.of(ClassFileLocator.Caching.Deduplicator.WeaklyReferenced.class)
+                .apply(new ClassFileLocator.Caching.Deduplicator.WeaklyReferenced());
+        ObjectPropertyAssertion.of(ClassFileLocator.Caching.Deduplicator.WeaklyReferenced.Hash.class).apply();
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import java.io.ByteArrayInputStream;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
@@ -60,4 +61,39 @@ public class ClassFileLocatorForClassLoaderTest {
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(ClassFileLocator.ForClassLoader.class).apply();
     }
+
+    @Test
+    public void testWeaklyReferencedCreation() throws Exception {
+        assertThat(ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader),
+                is((ClassFileLocator) new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader)));
+        assertThat(ClassFileLocator.ForClassLoader.WeaklyReferenced.of(null),
+                is((ClassFileLocator) new ClassFileLocator.ForClassLoader.WeaklyReferenced(ClassLoader.getSystemClassLoader())));
+        assertThat(ClassFileLocator.ForClassLoader.WeaklyReferenced.of(classLoader),
+                not((ClassFileLocator) new ClassFileLocator.ForClassLoader.WeaklyReferenced(mock(ClassLoader.class))));
+    }
+
+    @Test
+    public void testWeaklyReferencedLocatable() throws Exception {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        when(classLoader.getResourceAsStream(FOOBAR + ".class")).thenReturn(inputStream);
+        ClassFileLocator.Resolution resolution = new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader)
+                .locate(FOOBAR);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(new byte[]{1, 2, 3}));
+        verify(classLoader).getResourceAsStream(FOOBAR + ".class");
+        verifyNoMoreInteractions(classLoader);
+    }
+
+    @Test
+    public void testWeaklyReferencedCollected() throws Exception {
+        ClassFileLocator.ForClassLoader.WeaklyReferenced classFileLocator = new ClassFileLocator.ForClassLoader.WeaklyReferenced(classLoader);
+        classFileLocator.clear();
+        assertThat(classFileLocator.locate(FOOBAR).isResolved(), is(false));
+        verifyZeroInteractions(classLoader);
+    }
+
+    @Test
+    public void testWeaklyReferencedObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.ForClassLoader.WeaklyReferenced.class).ignoreFields("hashCode").apply();
+    }
 }
@@ -0,0 +1,110 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeThat;
+
+public class ClassFileLocatorForFolderTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3}, BAZ = new byte[]{4, 5, 6};
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile(FOO, BAR);
+        assertThat(folder.delete(), is(true));
+        assertThat(new File(folder, FOO).mkdirs(), is(true));
+        write(new File(folder, FOO + File.separator + BAR + ".class"), QUX);
+        write(new File(folder, BAR + ".class"), BAZ);
+        write(new File(folder, FOO + ".txt"), QUX);
+    }
+
+    private static void write(File file, byte[] binaryRepresentation) throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(binaryRepresentation);
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(new File(folder, FOO + File.separator + BAR + ".class").delete(), is(true));
+        assertThat(new File(folder, FOO).delete(), is(true));
+        assertThat(new File(folder, BAR + ".class").delete(), is(true));
+        assertThat(new File(folder, FOO + ".txt").delete(), is(true));
+        assertThat(folder.delete(), is(true));
+    }
+
+    @Test
+    public void testLocation() throws Exception {
+        ClassFileLocator classFileLocator = new ClassFileLocator.ForFolder(folder);
+        ClassFileLocator.Resolution resolution = classFileLocator.locate(FOO + "." + BAR);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(QUX));
+        assertThat(classFileLocator.locate(BAR).resolve(), is(BAZ));
+    }
+
+    @Test
+    public void testNonClassFileIsNotLocated() throws Exception {
+        ClassFileLocator classFileLocator = new ClassFileLocator.ForFolder(folder);
+        assertThat(classFileLocator.locate(FOO).isResolved(), is(false));
+        assertThat(classFileLocator.locate(FOO + "." + FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testClassFileAddedLaterIsNotLocated() throws Exception {
+        ClassFileLocator classFileLocator = new ClassFileLocator.ForFolder(folder);
+        File file = new File(folder, FOO + ".class");
+        write(file, QUX);
+        try {
+            assertThat(classFileLocator.locate(FOO).isResolved(), is(false));
+            assertThat(new ClassFileLocator.ForFolder(folder).locate(FOO).isResolved(), is(true));
+        } finally {
+            assertThat(file.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testSymbolicLinkCycleIsIndexedOnce() throws Exception {
+        File link = new File(folder, FOO + File.separator + FOO);
+        int exitValue;
+        try {
+            exitValue = new ProcessBuilder("ln", "-s", folder.getAbsolutePath(), link.getAbsolutePath()).start().waitFor();
+        } catch (IOException ignored) {
+            exitValue = -1;
+        }
+        assumeThat(exitValue, is(0));
+        try {
+            ClassFileLocator.ForFolder classFileLocator = new ClassFileLocator.ForFolder(folder);
+            assertThat(classFileLocator.getTypeNames().size(), is(2));
+            assertThat(classFileLocator.locate(FOO + "." + BAR).resolve(), is(QUX));
+        } finally {
+            assertThat(link.delete(), is(true));
+        }
+    }
+
+    @Test
+    public void testNonExistentFolder() throws Exception {
+        assertThat(new ClassFileLocator.ForFolder(new File(folder, BAR)).locate(FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.ForFolder.class).apply();
+    }
+}
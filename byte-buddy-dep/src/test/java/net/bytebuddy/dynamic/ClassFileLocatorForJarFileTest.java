@@ -0,0 +1,90 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final byte[] QUX = new byte[]{1, 2, 3}, BAZ = new byte[]{4, 5, 6};
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile(FOO, ".jar");
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/"));
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ".class"));
+            jarOutputStream.write(QUX);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(BAR + ".class"));
+            jarOutputStream.write(BAZ);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + ".txt"));
+            jarOutputStream.write(QUX);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testLocation() throws Exception {
+        ClassFileLocator.ForJarFile classFileLocator = new ClassFileLocator.ForJarFile(file);
+        try {
+            ClassFileLocator.Resolution resolution = classFileLocator.locate(FOO + "." + BAR);
+            assertThat(resolution.isResolved(), is(true));
+            assertThat(resolution.resolve(), is(QUX));
+            assertThat(classFileLocator.locate(BAR).resolve(), is(BAZ));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testNonClassFileIsNotLocated() throws Exception {
+        ClassFileLocator.ForJarFile classFileLocator = new ClassFileLocator.ForJarFile(file);
+        try {
+            assertThat(classFileLocator.locate(FOO).isResolved(), is(false));
+            assertThat(classFileLocator.locate(FOO + "." + FOO).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedFile() throws Exception {
+        ClassFileLocator.ForJarFile classFileLocator = new ClassFileLocator.ForJarFile(file);
+        classFileLocator.close();
+        classFileLocator.locate(BAR);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ClassFileLocator.ForJarFile classFileLocator = new ClassFileLocator.ForJarFile(file);
+        try {
+            ObjectPropertyAssertion.of(ClassFileLocator.ForJarFile.class).apply(classFileLocator);
+        } finally {
+            classFileLocator.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorSimpleTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final byte[] BINARY_REPRESENTATION = new byte[]{1, 2, 3};
+
+    @Test
+    public void testSuccessfulLocation() throws Exception {
+        ClassFileLocator.Resolution resolution = new ClassFileLocator.Simple(Collections.singletonMap(FOO, BINARY_REPRESENTATION)).locate(FOO);
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), is(BINARY_REPRESENTATION));
+    }
+
+    @Test
+    public void testNonSuccessfulLocation() throws Exception {
+        assertThat(new ClassFileLocator.Simple(Collections.singletonMap(FOO, BINARY_REPRESENTATION)).locate(BAR).isResolved(), is(false));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassFileLocator.Simple.class).apply();
+    }
+}
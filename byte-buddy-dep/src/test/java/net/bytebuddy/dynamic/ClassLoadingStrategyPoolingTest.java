@@ -0,0 +1,136 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassLoadingStrategyPoolingTest {
+
+    private ClassLoader classLoader;
+
+    private TypeDescription foo, bar;
+
+    private byte[] fooBinaryRepresentation, barBinaryRepresentation;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        foo = new TypeDescription.ForLoadedType(Foo.class);
+        bar = new TypeDescription.ForLoadedType(Bar.class);
+        fooBinaryRepresentation = ClassFileExtraction.extract(Foo.class);
+        barBinaryRepresentation = ClassFileExtraction.extract(Bar.class);
+    }
+
+    @Test
+    public void testTypesShareClassLoader() throws Exception {
+        ClassLoadingStrategy.Pooling classLoadingStrategy = new ClassLoadingStrategy.Pooling();
+        Class<?> fooType = classLoadingStrategy.load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        Class<?> barType = classLoadingStrategy.load(classLoader, Collections.singletonMap(bar, barBinaryRepresentation)).get(bar);
+        assertThat(fooType.getName(), is(Foo.class.getName()));
+        assertThat(fooType, not((Object) Foo.class));
+        assertThat(barType.getName(), is(Bar.class.getName()));
+        assertThat(fooType.getClassLoader(), is(barType.getClassLoader()));
+        assertThat(fooType.getClassLoader().getParent(), is(classLoader));
+        assertThat(((ByteArrayClassLoader.Growable) fooType.getClassLoader()).getTypeCount(), is(2));
+        assertThat(classLoadingStrategy.getPoolSize(), is(1));
+    }
+
+    @Test
+    public void testMaximumTypesCreatesNewClassLoader() throws Exception {
+        ClassLoadingStrategy.Pooling classLoadingStrategy = new ClassLoadingStrategy.Pooling(1);
+        Class<?> fooType = classLoadingStrategy.load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        Class<?> barType = classLoadingStrategy.load(classLoader, Collections.singletonMap(bar, barBinaryRepresentation)).get(bar);
+        assertThat(fooType.getClassLoader(), not(barType.getClassLoader()));
+        assertThat(fooType.getClassLoader().getParent(), is(classLoader));
+        assertThat(barType.getClassLoader().getParent(), is(classLoader));
+        assertThat(classLoadingStrategy.getPoolSize(), is(1));
+    }
+
+    @Test
+    public void testOversizedTypeCollectionIsLoaded() throws Exception {
+        Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+        types.put(foo, fooBinaryRepresentation);
+        types.put(bar, barBinaryRepresentation);
+        Map<TypeDescription, Class<?>> loaded = new ClassLoadingStrategy.Pooling(1).load(classLoader, types);
+        assertThat(loaded.size(), is(2));
+        assertThat(loaded.get(foo).getClassLoader(), is(loaded.get(bar).getClassLoader()));
+    }
+
+    @Test
+    public void testDuplicateTypeCreatesNewClassLoader() throws Exception {
+        ClassLoadingStrategy.Pooling classLoadingStrategy = new ClassLoadingStrategy.Pooling();
+        Class<?> first = classLoadingStrategy.load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        Class<?> second = classLoadingStrategy.load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        assertThat(first, not((Object) second));
+        assertThat(first.getClassLoader(), not(second.getClassLoader()));
+    }
+
+    @Test
+    public void testDifferentParentsUseDifferentClassLoaders() throws Exception {
+        ClassLoadingStrategy.Pooling classLoadingStrategy = new ClassLoadingStrategy.Pooling();
+        ClassLoader other = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        Class<?> fooType = classLoadingStrategy.load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        Class<?> barType = classLoadingStrategy.load(other, Collections.singletonMap(bar, barBinaryRepresentation)).get(bar);
+        assertThat(fooType.getClassLoader().getParent(), is(classLoader));
+        assertThat(barType.getClassLoader().getParent(), is(other));
+        assertThat(classLoadingStrategy.getPoolSize(), is(2));
+    }
+
+    @Test
+    public void testBootstrapParent() throws Exception {
+        Class<?> fooType = new ClassLoadingStrategy.Pooling().load(null, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        assertThat(fooType.getClassLoader().getParent(), nullValue(ClassLoader.class));
+    }
+
+    @Test
+    public void testWithProtectionDomain() throws Exception {
+        ProtectionDomain protectionDomain = getClass().getProtectionDomain();
+        Class<?> fooType = new ClassLoadingStrategy.Pooling().withProtectionDomain(protectionDomain)
+                .load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        assertThat(fooType.getProtectionDomain(), is(protectionDomain));
+    }
+
+    @Test
+    public void testManifestPersistence() throws Exception {
+        Class<?> fooType = new ClassLoadingStrategy.Pooling(null, ByteArrayClassLoader.PersistenceHandler.MANIFEST, 1)
+                .load(classLoader, Collections.singletonMap(foo, fooBinaryRepresentation)).get(foo);
+        InputStream inputStream = fooType.getClassLoader().getResourceAsStream(Foo.class.getName().replace('.', '/') + ".class");
+        try {
+            assertThat(inputStream, notNullValue(InputStream.class));
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximumTypes() throws Exception {
+        new ClassLoadingStrategy.Pooling(0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassLoadingStrategy.Pooling.class).apply(new ClassLoadingStrategy.Pooling());
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+}
@@ -0,0 +1,69 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.dynamic.scaffold.TypeWriter;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DynamicTypeDeferredTest {
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeWriter<Object> typeWriter;
+    @Mock
+    private DynamicType.Unloaded<Object> unloaded;
+    @Mock
+    private DynamicType.Loaded<Object> loaded;
+    @Mock
+    private TypeDescription typeDescription;
+    @Mock
+    private ClassLoader classLoader;
+    @Mock
+    private ClassLoadingStrategy classLoadingStrategy;
+
+    private byte[] binaryRepresentation;
+
+    private DynamicType.Unloaded<Object> deferred;
+
+    @Before
+    public void setUp() throws Exception {
+        binaryRepresentation = new byte[]{1, 2, 3};
+        when(typeWriter.getInstrumentedType()).thenReturn(typeDescription);
+        when(typeWriter.make()).thenReturn(unloaded);
+        when(unloaded.getBytes()).thenReturn(binaryRepresentation);
+        when(unloaded.load(classLoader, classLoadingStrategy)).thenReturn(loaded);
+        deferred = new DynamicType.Deferred<Object>(typeWriter);
+    }
+
+    @Test
+    public void testTypeDescriptionDoesNotWriteClassFile() throws Exception {
+        assertThat(deferred.getTypeDescription(), is(typeDescription));
+        verify(typeWriter).getInstrumentedType();
+        verifyNoMoreInteractions(typeWriter);
+    }
+
+    @Test
+    public void testClassFileIsWrittenOnce() throws Exception {
+        assertThat(deferred.getBytes(), is(binaryRepresentation));
+        assertThat(deferred.getBytes(), is(binaryRepresentation));
+        assertThat(deferred.load(classLoader, classLoadingStrategy), is((DynamicType.Loaded<Object>) loaded));
+        verify(typeWriter).make();
+        verifyNoMoreInteractions(typeWriter);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(DynamicType.Deferred.class).apply();
+    }
+}
@@ -0,0 +1,207 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.*;
+import java.util.*;
+import java.util.jar.*;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DynamicTypeJarWriterTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", TEMP = "tmp", CLASS_FILE_EXTENSION = ".class";
+
+    private static final byte[] BINARY_FIRST = new byte[]{1, 2, 3}, BINARY_SECOND = new byte[]{4, 5, 6}, BINARY_THIRD = new byte[]{7, 8, 9};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private DynamicType first, second;
+
+    @Mock
+    private TypeDescription firstTypeDescription, secondTypeDescription, auxiliaryTypeDescription;
+
+    private File sourceJar, targetJar;
+
+    private Manifest manifest;
+
+    @Before
+    public void setUp() throws Exception {
+        when(first.getTypeDescription()).thenReturn(firstTypeDescription);
+        when(first.getBytes()).thenReturn(BINARY_FIRST);
+        when(first.getRawAuxiliaryTypes()).thenReturn(Collections.singletonMap(auxiliaryTypeDescription, BINARY_THIRD));
+        when(second.getTypeDescription()).thenReturn(secondTypeDescription);
+        when(second.getBytes()).thenReturn(BINARY_SECOND);
+        when(firstTypeDescription.getInternalName()).thenReturn(FOO);
+        when(secondTypeDescription.getInternalName()).thenReturn(BAR);
+        when(auxiliaryTypeDescription.getInternalName()).thenReturn(QUX);
+        sourceJar = File.createTempFile(FOO, TEMP);
+        targetJar = File.createTempFile(BAR, TEMP);
+        manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, BAR);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(sourceJar.delete(), is(true));
+        assertThat(targetJar.delete(), is(true));
+    }
+
+    @Test
+    public void testWriteIterator() throws Exception {
+        DynamicType.JarWriter.of(targetJar, manifest).write(Arrays.asList(first, second).iterator()).close();
+        Map<String, byte[]> expected = new HashMap<String, byte[]>();
+        expected.put(FOO + CLASS_FILE_EXTENSION, BINARY_FIRST);
+        expected.put(BAR + CLASS_FILE_EXTENSION, BINARY_SECOND);
+        expected.put(QUX + CLASS_FILE_EXTENSION, BINARY_THIRD);
+        assertJarFile(targetJar, manifest, expected);
+    }
+
+    @Test
+    public void testIteratorIsConsumedLazily() throws Exception {
+        final DynamicType.JarWriter jarWriter = DynamicType.JarWriter.of(targetJar, manifest);
+        try {
+            final List<DynamicType> dynamicTypes = Arrays.asList(first, second);
+            jarWriter.write(new Iterator<DynamicType>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < dynamicTypes.size();
+                }
+
+                @Override
+                public DynamicType next() {
+                    if (index > 0) {
+                        verify(dynamicTypes.get(index - 1)).getBytes();
+                    }
+                    verify(dynamicTypes.get(index), never()).getBytes();
+                    return dynamicTypes.get(index++);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            });
+        } finally {
+            jarWriter.close();
+        }
+    }
+
+    @Test
+    public void testInjection() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar), manifest);
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(FOO + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(BINARY_SECOND);
+            jarOutputStream.closeEntry();
+            JarEntry storedEntry = new JarEntry(QUX + BAR);
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(BINARY_SECOND.length);
+            CRC32 crc32 = new CRC32();
+            crc32.update(BINARY_SECOND);
+            storedEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(storedEntry);
+            jarOutputStream.write(BINARY_SECOND);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        DynamicType.JarWriter.injecting(sourceJar, targetJar).write(first).close();
+        Map<String, byte[]> expected = new HashMap<String, byte[]>();
+        expected.put(FOO + CLASS_FILE_EXTENSION, BINARY_FIRST);
+        expected.put(QUX + CLASS_FILE_EXTENSION, BINARY_THIRD);
+        expected.put(QUX + BAR, BINARY_SECOND);
+        assertJarFile(targetJar, manifest, expected);
+        JarFile jarFile = new JarFile(targetJar);
+        try {
+            assertThat(jarFile.getEntry(QUX + BAR).getMethod(), is(ZipEntry.STORED));
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    @Test
+    public void testInjectionWithoutManifest() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(BAR + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(BINARY_THIRD);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        DynamicType.JarWriter.injecting(sourceJar, targetJar).write(second).close();
+        JarFile jarFile = new JarFile(targetJar);
+        try {
+            assertThat(jarFile.getManifest() == null, is(true));
+            assertThat(jarFile.size(), is(1));
+        } finally {
+            jarFile.close();
+        }
+        assertJarFile(targetJar, null, Collections.singletonMap(BAR + CLASS_FILE_EXTENSION, BINARY_SECOND));
+    }
+
+    @Test
+    public void testAbortedInjectionDoesNotCopyRemainingEntries() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(sourceJar), manifest);
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(BAR + CLASS_FILE_EXTENSION));
+            jarOutputStream.write(BINARY_THIRD);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        DynamicType.JarWriter jarWriter = DynamicType.JarWriter.injecting(sourceJar, targetJar);
+        jarWriter.abort();
+        jarWriter.abort();
+        assertJarFile(targetJar, manifest, Collections.<String, byte[]>emptyMap());
+    }
+
+    @Test
+    public void testToString() throws Exception {
+        DynamicType.JarWriter jarWriter = DynamicType.JarWriter.of(targetJar, manifest);
+        try {
+            assertThat(jarWriter.toString(), notNullValue());
+        } finally {
+            jarWriter.close();
+        }
+    }
+
+    private static void assertJarFile(File file, Manifest manifest, Map<String, byte[]> expectedEntries) throws IOException {
+        Map<String, byte[]> remainingEntries = new HashMap<String, byte[]>(expectedEntries);
+        JarInputStream jarInputStream = new JarInputStream(new FileInputStream(file));
+        try {
+            assertThat(jarInputStream.getManifest(), is(manifest));
+            JarEntry jarEntry;
+            while ((jarEntry = jarInputStream.getNextJarEntry()) != null) {
+                byte[] binary = remainingEntries.remove(jarEntry.getName());
+                assertThat(binary, notNullValue());
+                byte[] buffer = new byte[binary.length];
+                assertThat(jarInputStream.read(buffer), is(buffer.length));
+                assertThat(Arrays.equals(buffer, binary), is(true));
+                assertThat(jarInputStream.read(buffer), is(-1));
+                jarInputStream.closeEntry();
+            }
+            assertThat(remainingEntries.size(), is(0));
+        } finally {
+            jarInputStream.close();
+        }
+    }
+}
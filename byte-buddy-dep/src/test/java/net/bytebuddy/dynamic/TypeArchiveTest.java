@@ -0,0 +1,208 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypeArchiveTest {
+
+    private static final String FOO = "foo";
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile("typeArchive", "");
+        assertThat(folder.delete(), is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] file = folder.listFiles();
+        if (file != null) {
+            for (File aFile : file) {
+                assertThat(aFile.delete(), is(true));
+            }
+        }
+        assertThat(!folder.exists() || folder.delete(), is(true));
+    }
+
+    @Test
+    public void testNoOp() throws Exception {
+        DynamicType.Builder<?> builder = mock(DynamicType.Builder.class);
+        DynamicType.Unloaded<?> dynamicType = mock(DynamicType.Unloaded.class);
+        doReturn(dynamicType).when(builder).make();
+        assertThat(TypeArchive.NoOp.INSTANCE.make(builder), is((Object) dynamicType));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testArchivedTypeIsReused() throws Exception {
+        TypeArchive typeArchive = new TypeArchive.ForFolder(folder);
+        DynamicType.Builder<Callable> builder = new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(FOO));
+        DynamicType.Unloaded<Callable> dynamicType = typeArchive.make(builder);
+        assertThat(folder.listFiles().length, is(1));
+        DynamicType.Builder<Callable> archivedBuilder = mock(DynamicType.Builder.class);
+        when(archivedBuilder.toString()).thenReturn(builder.toString());
+        DynamicType.Unloaded<Callable> archivedType = typeArchive.make(archivedBuilder);
+        verify(archivedBuilder, never()).make();
+        assertThat(archivedType.getTypeDescription(), is(dynamicType.getTypeDescription()));
+        assertThat(archivedType.getBytes(), is(dynamicType.getBytes()));
+        assertThat(archivedType.getRawAuxiliaryTypes().size(), is(dynamicType.getRawAuxiliaryTypes().size()));
+        assertThat(archivedType.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance()
+                .call(), is((Object) FOO));
+    }
+
+    @Test
+    public void testStatefulLoadedTypeInitializerIsNotArchived() throws Exception {
+        TypeArchive typeArchive = new TypeArchive.ForFolder(folder);
+        List<String> value = new ArrayList<String>(Collections.singletonList(FOO));
+        DynamicType.Builder<Callable> builder = new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(value));
+        for (int index = 0; index < 2; index++) {
+            assertThat(typeArchive.make(builder).load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                    .getLoaded()
+                    .newInstance()
+                    .call(), sameInstance((Object) value));
+        }
+        assertThat(folder.exists(), is(false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIdentityStringRepresentationIsNotArchived() throws Exception {
+        TypeArchive typeArchive = new TypeArchive.ForFolder(folder);
+        DynamicType.Builder<Callable> builder = mock(DynamicType.Builder.class);
+        when(builder.toString()).thenReturn("Builder{instrumentation=" + new Object() + "}");
+        DynamicType.Unloaded<Callable> dynamicType = new ByteBuddy().subclass(Callable.class).make();
+        when(builder.make()).thenReturn(dynamicType);
+        assertThat(typeArchive.make(builder), is(dynamicType));
+        assertThat(folder.exists(), is(false));
+    }
+
+    @Test
+    public void testArchivedTypeIsLoadedIntoNewClassLoader() throws Exception {
+        DynamicType.Builder<Callable> builder = new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(FOO));
+        TypeArchive typeArchive = new TypeArchive.ForFolder(folder);
+        Class<?> type = typeArchive.make(builder).load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        Class<?> archivedType = typeArchive.make(builder).load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(archivedType.getName(), is(type.getName()));
+        assertThat(archivedType, not((Object) type));
+        assertThat(((Callable<?>) archivedType.newInstance()).call(), is((Object) FOO));
+    }
+
+    @Test
+    public void testChangedSuperTypeInvalidatesArchivedType() throws Exception {
+        assertChangedTypeInvalidatesArchivedType(new ByteBuddy().subclass(Base.class), Base.class);
+    }
+
+    @Test
+    public void testChangedIndirectSuperTypeInvalidatesArchivedType() throws Exception {
+        assertChangedTypeInvalidatesArchivedType(new ByteBuddy().subclass(Derived.class), Base.class);
+    }
+
+    @Test
+    public void testChangedReferencedTypeInvalidatesArchivedType() throws Exception {
+        assertChangedTypeInvalidatesArchivedType(new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(MethodDelegation.to(Target.class)), Target.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void assertChangedTypeInvalidatesArchivedType(DynamicType.Builder<T> builder, Class<?> changedType) throws Exception {
+        DynamicType.Unloaded<T> dynamicType = new TypeArchive.ForFolder(folder).make(builder);
+        DynamicType.Builder<T> archivedBuilder = mock(DynamicType.Builder.class);
+        when(archivedBuilder.toString()).thenReturn(builder.toString());
+        when(archivedBuilder.make()).thenReturn(dynamicType);
+        assertThat(new TypeArchive.ForFolder(folder).make(archivedBuilder).getBytes(), is(dynamicType.getBytes()));
+        verify(archivedBuilder, never()).make();
+        TypeArchive typeArchive = new TypeArchive.ForFolder(folder, new ClassFileLocator.Compound(
+                new ClassFileLocator.Simple(Collections.singletonMap(changedType.getName(), new ByteBuddy().subclass(Object.class)
+                        .name(changedType.getName())
+                        .defineField(FOO, Object.class)
+                        .make()
+                        .getBytes())),
+                ClassFileLocator.ForClassLoader.ofClassPath()));
+        assertThat(typeArchive.make(archivedBuilder), is(dynamicType));
+        verify(archivedBuilder).make();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIllegalArchiveFileIsReplaced() throws Exception {
+        assertIllegalArchiveFileIsReplaced(new byte[]{1, 2, 3, 4, 5});
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testArchiveFileWithNegativeCountIsReplaced() throws Exception {
+        assertIllegalArchiveFileIsReplaced(new byte[]{0x42, 0x42, 0x54, 0x41, 0, 0, 0, 2, 0, 0, 0, 0, -1, -1, -1, -1});
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testArchiveFileWithIllegalClassFileIsReplaced() throws Exception {
+        assertIllegalArchiveFileIsReplaced(new byte[]{0x42, 0x42, 0x54, 0x41, 0, 0, 0, 2, 0, 0, 0, 0, 0, 0, 0, 1, 0, 1, 'x', 0, 0, 0, 1, 1});
+    }
+
+    private void assertIllegalArchiveFileIsReplaced(byte[] content) throws Exception {
+        TypeArchive.ForFolder typeArchive = new TypeArchive.ForFolder(folder);
+        DynamicType.Builder<Callable> builder = new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(FOO));
+        assertThat(folder.mkdir(), is(true));
+        File file = new File(folder, typeArchive.fingerprint(builder.toString()) + ".types");
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(content);
+        } finally {
+            outputStream.close();
+        }
+        assertThat(typeArchive.make(builder).load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance()
+                .call(), is((Object) FOO));
+        assertThat(file.length() > content.length, is(true));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypeArchive.ForFolder.class).apply();
+    }
+
+    public static class Base {
+        /* empty */
+    }
+
+    public static class Derived extends Base {
+        /* empty */
+    }
+
+    public static class Target {
+
+        public static Object call() {
+            return FOO;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypeCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Callable<Class<?>> callable;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+    }
+
+    @Test
+    public void testFindAndInsert() throws Exception {
+        TypeCache typeCache = new TypeCache();
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.insert(classLoader, FOO, Object.class), is((Object) Object.class));
+        assertThat(typeCache.insert(classLoader, FOO, String.class), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, BAR), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+        assertThat(typeCache.insert(null, FOO, String.class), is((Object) String.class));
+        assertThat(typeCache.find(null, FOO), is((Object) String.class));
+        typeCache.clear();
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testFindOrInsertInvokesCallableOnce() throws Exception {
+        doReturn(Object.class).when(callable).call();
+        TypeCache typeCache = new TypeCache();
+        assertThat(typeCache.findOrInsert(classLoader, FOO, callable), is((Object) Object.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, callable), is((Object) Object.class));
+        verify(callable).call();
+        verifyNoMoreInteractions(callable);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindOrInsertPropagatesRuntimeException() throws Exception {
+        when(callable.call()).thenThrow(new IllegalArgumentException());
+        new TypeCache().findOrInsert(classLoader, FOO, callable);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFindOrInsertWrapsCheckedException() throws Exception {
+        when(callable.call()).thenThrow(new Exception());
+        new TypeCache().findOrInsert(classLoader, FOO, callable);
+    }
+
+    @Test
+    public void testFindOrInsertAfterException() throws Exception {
+        when(callable.call()).thenThrow(new IllegalArgumentException());
+        TypeCache typeCache = new TypeCache();
+        try {
+            typeCache.findOrInsert(classLoader, FOO, callable);
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                return Object.class;
+            }
+        }), is((Object) Object.class));
+    }
+
+    @Test
+    public void testFindOrInsertUnderContention() throws Exception {
+        final TypeCache typeCache = new TypeCache();
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        final AtomicInteger invocations = new AtomicInteger();
+        final Callable<Class<?>> creation = new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                invocations.incrementAndGet();
+                started.countDown();
+                release.await();
+                return Object.class;
+            }
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Future<Class<?>> first = executorService.submit(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() throws Exception {
+                    return typeCache.findOrInsert(classLoader, FOO, creation);
+                }
+            });
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            Future<Class<?>> second = executorService.submit(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() throws Exception {
+                    return typeCache.findOrInsert(classLoader, FOO, creation);
+                }
+            });
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS), is((Object) Object.class));
+            assertThat(second.get(10, TimeUnit.SECONDS), is((Object) Object.class));
+            assertThat(invocations.get(), is(1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadReusesTypeOfEqualKey() throws Exception {
+        TypeCache typeCache = new TypeCache();
+        Class<? extends Callable> type = typeCache.load(classLoader, FOO, new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(FOO)), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(type.newInstance().call(), is((Object) FOO));
+        assertThat(typeCache.load(classLoader, FOO, new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(FOO)), ClassLoadingStrategy.Default.WRAPPER), is((Object) type));
+        Class<? extends Callable> otherType = typeCache.load(classLoader, BAR, new ByteBuddy().subclass(Callable.class)
+                .method(named("call")).intercept(FixedValue.value(BAR)), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(otherType, not((Object) type));
+        assertThat(otherType.newInstance().call(), is((Object) BAR));
+    }
+
+    @Test
+    public void testClassLoaderIsCollectedAfterLoad() throws Exception {
+        TypeCache typeCache = new TypeCache(TypeCache.Sort.WEAK);
+        Reference<ClassLoader> reference = loadSubclassInThrowawayClassLoader(typeCache);
+        for (int index = 0; index < 100 && reference.get() != null; index++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(reference.get(), nullValue(ClassLoader.class));
+    }
+
+    private static Reference<ClassLoader> loadSubclassInThrowawayClassLoader(TypeCache typeCache) throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{Foo.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        Class<?> type = classLoader.loadClass(Foo.class.getName());
+        assertThat(type.getClassLoader(), is(classLoader));
+        Class<?> subclass = typeCache.load(classLoader, FOO, new ByteBuddy().subclass(type), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(subclass.getSuperclass(), is((Object) type));
+        assertThat(typeCache.load(classLoader, FOO, new ByteBuddy().subclass(type), ClassLoadingStrategy.Default.WRAPPER), is((Object) subclass));
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypeCache.class).apply(new TypeCache());
+        ObjectPropertyAssertion.of(TypeCache.StorageKey.class).apply();
+        ObjectPropertyAssertion.of(TypeCache.Loading.class).apply();
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+}
@@ -0,0 +1,80 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteArrayClassLoaderGrowableTest {
+
+    private ByteArrayClassLoader.Growable classLoader;
+
+    private Map<String, byte[]> foo, bar;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new ByteArrayClassLoader.Growable(new URLClassLoader(new URL[0], null /* bootstrap class loader */),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+        foo = Collections.singletonMap(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        bar = Collections.singletonMap(Bar.class.getName(), ClassFileExtraction.extract(Bar.class));
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        assertThat(classLoader.append(foo, 2), is(true));
+        assertThat(classLoader.append(bar, 2), is(true));
+        assertThat(classLoader.getTypeCount(), is(2));
+        assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
+        assertThat(classLoader.loadClass(Bar.class.getName()).getClassLoader(), is((ClassLoader) classLoader));
+    }
+
+    @Test
+    public void testAppendExceedsMaximum() throws Exception {
+        assertThat(classLoader.append(foo, 1), is(true));
+        assertThat(classLoader.append(bar, 1), is(false));
+        assertThat(classLoader.getTypeCount(), is(1));
+        assertThat(classLoader.getResourceAsStream(Bar.class.getName().replace('.', '/') + ".class"), nullValue());
+    }
+
+    @Test
+    public void testAppendOversizedToEmptyClassLoader() throws Exception {
+        Map<String, byte[]> typeDefinitions = new HashMap<String, byte[]>(foo);
+        typeDefinitions.putAll(bar);
+        assertThat(classLoader.append(typeDefinitions, 1), is(true));
+        assertThat(classLoader.getTypeCount(), is(2));
+    }
+
+    @Test
+    public void testAppendDuplicate() throws Exception {
+        assertThat(classLoader.append(foo, 2), is(true));
+        assertThat(classLoader.append(foo, 2), is(false));
+    }
+
+    @Test
+    public void testAppendDuplicateOfLoadedType() throws Exception {
+        ByteArrayClassLoader.Growable classLoader = new ByteArrayClassLoader.Growable(new URLClassLoader(new URL[0], null),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT);
+        assertThat(classLoader.append(foo, 2), is(true));
+        classLoader.loadClass(Foo.class.getName());
+        assertThat(classLoader.append(foo, 2), is(false));
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+}
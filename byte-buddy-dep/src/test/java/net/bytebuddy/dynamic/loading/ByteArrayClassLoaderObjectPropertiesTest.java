@@ -20,5 +20,8 @@ public class ByteArrayClassLoaderObjectPropertiesTest {
                 Collections.<String, byte[]>emptyMap(),
                 mock(ProtectionDomain.class),
                 mock(ByteArrayClassLoader.PersistenceHandler.class)));
+        ObjectPropertyAssertion.of(ByteArrayClassLoader.Growable.class).apply(new ByteArrayClassLoader.Growable(mock(ClassLoader.class),
+                mock(ProtectionDomain.class),
+                mock(ByteArrayClassLoader.PersistenceHandler.class)));
     }
 }
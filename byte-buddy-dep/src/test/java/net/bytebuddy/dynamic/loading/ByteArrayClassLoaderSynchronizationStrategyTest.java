@@ -0,0 +1,123 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteArrayClassLoaderSynchronizationStrategyTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final int THREADS = 4;
+
+    @Test
+    public void testForClassLoader() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader(null,
+                Collections.<String, byte[]>emptyMap(),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT);
+        assertThat(ByteArrayClassLoader.SynchronizationStrategy.ForClassLoader.INSTANCE.getClassLoadingLock(classLoader, FOO),
+                is((Object) classLoader));
+    }
+
+    @Test
+    public void testForClassLoadingLock() throws Exception {
+        Method getClassLoadingLock = ClassLoader.class.getDeclaredMethod("getClassLoadingLock", String.class);
+        getClassLoadingLock.setAccessible(true);
+        ByteArrayClassLoader.SynchronizationStrategy synchronizationStrategy = new ByteArrayClassLoader.SynchronizationStrategy
+                .ForClassLoadingLock(getClassLoadingLock);
+        ClassLoader classLoader = new ByteArrayClassLoader(null,
+                Collections.<String, byte[]>emptyMap(),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT);
+        Object lock = synchronizationStrategy.getClassLoadingLock(classLoader, FOO);
+        assertThat(lock, not((Object) classLoader));
+        assertThat(synchronizationStrategy.getClassLoadingLock(classLoader, FOO), is(lock));
+        assertThat(synchronizationStrategy.getClassLoadingLock(classLoader, BAR), not(lock));
+    }
+
+    @Test
+    public void testParallelCapable() throws Exception {
+        for (ClassLoader classLoader : Arrays.<ClassLoader>asList(
+                new ByteArrayClassLoader(null, Collections.<String, byte[]>emptyMap(), null, ByteArrayClassLoader.PersistenceHandler.LATENT),
+                new ByteArrayClassLoader.ChildFirst(null, Collections.<String, byte[]>emptyMap(), null, ByteArrayClassLoader.PersistenceHandler.LATENT),
+                new ByteArrayClassLoader.Growable(null, null, ByteArrayClassLoader.PersistenceHandler.LATENT))) {
+            assertThat(ByteArrayClassLoader.SYNCHRONIZATION_STRATEGY.getClassLoadingLock(classLoader, FOO), not((Object) classLoader));
+        }
+    }
+
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        Map<String, byte[]> typeDefinitions = new HashMap<String, byte[]>();
+        for (Class<?> type : new Class<?>[]{Foo.class, Bar.class, Qux.class, Baz.class}) {
+            typeDefinitions.put(type.getName(), ClassFileExtraction.extract(type));
+        }
+        for (ByteArrayClassLoader.PersistenceHandler persistenceHandler : ByteArrayClassLoader.PersistenceHandler.values()) {
+            final ClassLoader classLoader = new ByteArrayClassLoader.ChildFirst(null, typeDefinitions, null, persistenceHandler);
+            ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>();
+                for (int index = 0; index < THREADS; index++) {
+                    for (final String name : typeDefinitions.keySet()) {
+                        futures.add(executorService.submit(new Callable<Class<?>>() {
+                            @Override
+                            public Class<?> call() throws Exception {
+                                return classLoader.loadClass(name);
+                            }
+                        }));
+                    }
+                }
+                for (Future<Class<?>> future : futures) {
+                    Class<?> type = future.get();
+                    assertThat(type.getClassLoader(), is(classLoader));
+                    assertThat(type, is((Object) classLoader.loadClass(type.getName())));
+                }
+            } finally {
+                executorService.shutdown();
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testForClassLoadingLockIllegalAccess() throws Exception {
+        new ByteArrayClassLoader.SynchronizationStrategy.ForClassLoadingLock(ClassLoader.class.getDeclaredMethod("getClassLoadingLock", String.class))
+                .getClassLoadingLock(new ByteArrayClassLoader(null,
+                        Collections.<String, byte[]>emptyMap(),
+                        null,
+                        ByteArrayClassLoader.PersistenceHandler.LATENT), FOO);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        final Iterator<Method> iterator = Arrays.asList(Object.class.getDeclaredMethods()).iterator();
+        ObjectPropertyAssertion.of(ByteArrayClassLoader.SynchronizationStrategy.ForClassLoadingLock.class).create(new ObjectPropertyAssertion.Creator<Method>() {
+            @Override
+            public Method create() {
+                return iterator.next();
+            }
+        }).apply();
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+
+    public static class Qux {
+        /* empty */
+    }
+
+    public static class Baz {
+        /* empty */
+    }
+}
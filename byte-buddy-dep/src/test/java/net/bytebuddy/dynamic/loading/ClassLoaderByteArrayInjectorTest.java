@@ -16,6 +16,7 @@ import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -61,15 +62,44 @@ public class ClassLoaderByteArrayInjectorTest {
     @Test
     public void testInjectionApplication() throws Exception {
         when(typeDescription.getName()).thenReturn(FOO);
-        doReturn(Object.class).when(mockInjector).inject(FOO, BYTE_ARRAY);
+        doReturn(Collections.<String, Class<?>>singletonMap(FOO, Object.class)).when(mockInjector)
+                .inject(Collections.singletonMap(FOO, BYTE_ARRAY));
         Map<TypeDescription, Class<?>> result = ClassLoaderByteArrayInjector.inject(mockInjector, Collections.singletonMap(typeDescription, BYTE_ARRAY));
         assertThat(result.size(), is(1));
         assertThat(result.entrySet().iterator().next().getKey(), is(typeDescription));
         assertEquals(Object.class, result.entrySet().iterator().next().getValue());
-        verify(mockInjector).inject(FOO, BYTE_ARRAY);
+        verify(mockInjector).inject(Collections.singletonMap(FOO, BYTE_ARRAY));
         verifyNoMoreInteractions(mockInjector);
     }
 
+    @Test
+    public void testBatchInjection() throws Exception {
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        types.put(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        types.put(Bar.class.getName(), ClassFileExtraction.extract(Bar.class));
+        Map<String, Class<?>> loaded = classLoaderByteArrayInjector.inject(types);
+        assertThat(loaded.size(), is(2));
+        Iterator<String> iterator = loaded.keySet().iterator();
+        assertThat(iterator.next(), is(Foo.class.getName()));
+        assertThat(iterator.next(), is(Bar.class.getName()));
+        assertEquals(classLoader.loadClass(Foo.class.getName()), loaded.get(Foo.class.getName()));
+        assertEquals(classLoader.loadClass(Bar.class.getName()), loaded.get(Bar.class.getName()));
+        assertThat(loaded.get(Bar.class.getName()).getClassLoader(), is(classLoader));
+    }
+
+    @Test
+    public void testBatchInjectionOfLoadedType() throws Exception {
+        Class<?> type = classLoaderByteArrayInjector.inject(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        Map<String, Class<?>> loaded = classLoaderByteArrayInjector.inject(Collections.singletonMap(Foo.class.getName(),
+                ClassFileExtraction.extract(Foo.class)));
+        assertEquals(type, loaded.get(Foo.class.getName()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalBinaryRepresentation() throws Exception {
+        classLoaderByteArrayInjector.inject(Collections.singletonMap(FOO, BYTE_ARRAY));
+    }
+
     @Test(expected = RuntimeException.class)
     public void testFaultyReflectionStoreClassMethod() throws Exception {
         new ClassLoaderByteArrayInjector.ReflectionStore.Faulty(new Exception()).getFindLoadedClassMethod();
@@ -100,4 +130,8 @@ public class ClassLoaderByteArrayInjectorTest {
     private static class Foo {
         /* Note: Foo is know to the system class loader but not to the bootstrap class loader */
     }
+
+    private static class Bar {
+        /* Note: Bar is know to the system class loader but not to the bootstrap class loader */
+    }
 }
@@ -0,0 +1,218 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ClassFileExtraction;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClassReloadingStrategyIncrementalTest {
+
+    private static final byte[] FOO = new byte[]{1, 2, 3}, BAR = new byte[]{4, 5, 6};
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    @Mock
+    private ClassReloadingStrategy.Incremental.Listener listener;
+
+    private ClassLoader classLoader;
+
+    private Map<TypeDescription, byte[]> types;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = getClass().getClassLoader();
+        types = new LinkedHashMap<TypeDescription, byte[]>();
+        types.put(new TypeDescription.ForLoadedType(Foo.class), FOO);
+        types.put(new TypeDescription.ForLoadedType(Bar.class), BAR);
+        types.put(new TypeDescription.ForLoadedType(Qux.class), ClassFileExtraction.extract(Qux.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRedefinitionInBatches() throws Exception {
+        ClassReloadingStrategy.Incremental classReloadingStrategy = new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                1,
+                listener);
+        Map<TypeDescription, Class<?>> loaded = classReloadingStrategy.load(classLoader, types);
+        assertThat(loaded.size(), is(3));
+        assertThat(loaded.get(new TypeDescription.ForLoadedType(Foo.class)), is((Object) Foo.class));
+        ArgumentCaptor<ClassDefinition> captor = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation, times(2)).redefineClasses(captor.capture());
+        assertThat(captor.getAllValues().size(), is(2));
+        assertThat(captor.getAllValues().get(0).getDefinitionClass(), is((Object) Foo.class));
+        assertThat(captor.getAllValues().get(0).getDefinitionClassFile(), is(FOO));
+        assertThat(captor.getAllValues().get(1).getDefinitionClass(), is((Object) Bar.class));
+        assertThat(captor.getAllValues().get(1).getDefinitionClassFile(), is(BAR));
+        verify(listener).onUnchanged(Collections.<Class<?>>singletonList(Qux.class));
+        verify(listener).onBatch(eq(0), eq(Collections.<Class<?>>singletonList(Foo.class)), anyLong());
+        verify(listener).onBatch(eq(1), eq(Collections.<Class<?>>singletonList(Bar.class)), anyLong());
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testSingleBatch() throws Exception {
+        new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                10,
+                listener).load(classLoader, types);
+        verify(instrumentation).redefineClasses(any(ClassDefinition.class), any(ClassDefinition.class));
+        verify(listener).onBatch(eq(0), eq(Arrays.<Class<?>>asList(Foo.class, Bar.class)), anyLong());
+    }
+
+    @Test
+    public void testReferencingClassesAreRedefinedInSameBatch() throws Exception {
+        new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                1,
+                true,
+                listener).load(classLoader, referencingTypes());
+        verify(listener).onOversizedGroup(Arrays.<Class<?>>asList(Dependent.class, Dependency.class));
+        verify(listener).onBatch(eq(0), eq(Arrays.<Class<?>>asList(Dependent.class, Dependency.class)), anyLong());
+        verify(listener).onBatch(eq(1), eq(Collections.<Class<?>>singletonList(Foo.class)), anyLong());
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testReferencingClassesAreNotGroupedByDefault() throws Exception {
+        new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                1,
+                listener).load(classLoader, referencingTypes());
+        verify(listener).onBatch(eq(0), eq(Collections.<Class<?>>singletonList(Dependent.class)), anyLong());
+        verify(listener).onBatch(eq(1), eq(Collections.<Class<?>>singletonList(Foo.class)), anyLong());
+        verify(listener).onBatch(eq(2), eq(Collections.<Class<?>>singletonList(Dependency.class)), anyLong());
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testDefaultIsSingleBatch() throws Exception {
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        new ClassReloadingStrategy(instrumentation).incremental(listener).load(classLoader, types);
+        verify(instrumentation).redefineClasses(any(ClassDefinition.class), any(ClassDefinition.class));
+        verify(listener).onBatch(eq(0), eq(Arrays.<Class<?>>asList(Foo.class, Bar.class)), anyLong());
+    }
+
+    @Test
+    public void testUnchangedClassesAreSkipped() throws Exception {
+        ClassReloadingStrategy.Incremental classReloadingStrategy = new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                10,
+                ClassReloadingStrategy.Incremental.Listener.NoOp.INSTANCE);
+        classReloadingStrategy.load(classLoader, types);
+        verify(instrumentation).redefineClasses(any(ClassDefinition.class), any(ClassDefinition.class));
+        Map<TypeDescription, Class<?>> loaded = classReloadingStrategy.load(classLoader, types);
+        assertThat(loaded.size(), is(3));
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        ClassReloadingStrategy.Incremental classReloadingStrategy = new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                10,
+                listener);
+        classReloadingStrategy.load(classLoader, Collections.<TypeDescription, byte[]>singletonMap(new TypeDescription.ForLoadedType(Foo.class), FOO));
+        assertThat(classReloadingStrategy.reset(Foo.class), is(classReloadingStrategy));
+        ArgumentCaptor<ClassDefinition> captor = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation, times(2)).redefineClasses(captor.capture());
+        assertThat(captor.getAllValues().get(1).getDefinitionClassFile(), is(ClassFileExtraction.extract(Foo.class)));
+        classReloadingStrategy.load(classLoader, Collections.<TypeDescription, byte[]>singletonMap(new TypeDescription.ForLoadedType(Foo.class),
+                ClassFileExtraction.extract(Foo.class)));
+        verifyNoMoreInteractions(instrumentation);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnmodifiableClass() throws Exception {
+        doThrow(new UnmodifiableClassException()).when(instrumentation).redefineClasses(any(ClassDefinition.class));
+        new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                1,
+                listener).load(classLoader, types);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalBatchSize() throws Exception {
+        new ClassReloadingStrategy.Incremental(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION, 0, listener);
+    }
+
+    @Test
+    public void testFromClassReloadingStrategy() throws Exception {
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        new ClassReloadingStrategy(instrumentation).incremental(1, listener).load(classLoader, types);
+        verify(instrumentation, times(2)).redefineClasses(any(ClassDefinition.class));
+    }
+
+    @Test
+    public void testNoOpListener() throws Exception {
+        ClassReloadingStrategy.Incremental.Listener.NoOp.INSTANCE.onUnchanged(Collections.<Class<?>>singletonList(Foo.class));
+        ClassReloadingStrategy.Incremental.Listener.NoOp.INSTANCE.onBatch(0, Collections.<Class<?>>singletonList(Foo.class), 0L);
+        ClassReloadingStrategy.Incremental.Listener.NoOp.INSTANCE.onOversizedGroup(Collections.<Class<?>>singletonList(Foo.class));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(ClassReloadingStrategy.Incremental.class).apply(new ClassReloadingStrategy.Incremental(instrumentation,
+                ClassReloadingStrategy.Engine.REDEFINITION,
+                1,
+                listener));
+    }
+
+    private static Map<TypeDescription, byte[]> referencingTypes() throws Exception {
+        Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+        types.put(new TypeDescription.ForLoadedType(Dependent.class), changed(Dependent.class));
+        types.put(new TypeDescription.ForLoadedType(Foo.class), FOO);
+        types.put(new TypeDescription.ForLoadedType(Dependency.class), changed(Dependency.class));
+        return types;
+    }
+
+    private static byte[] changed(Class<?> type) throws Exception {
+        byte[] binaryRepresentation = ClassFileExtraction.extract(type);
+        return Arrays.copyOf(binaryRepresentation, binaryRepresentation.length + 1);
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Dependent {
+
+        public Object[] foo() {
+            return new Dependency[0];
+        }
+    }
+
+    public static class Dependency {
+        /* empty */
+    }
+
+    public static class Bar {
+        /* empty */
+    }
+
+    public static class Qux {
+        /* empty */
+    }
+}
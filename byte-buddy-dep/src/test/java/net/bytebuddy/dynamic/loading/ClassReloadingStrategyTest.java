@@ -88,6 +88,24 @@ public class ClassReloadingStrategyTest {
         assertThat(foo.foo(), is(FOO));
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testIncrementalReloadingStrategy() throws Exception {
+        Foo foo = new Foo();
+        assertThat(foo.foo(), is(FOO));
+        ClassReloadingStrategy.Incremental classReloadingStrategy = ClassReloadingStrategy.fromInstalledAgent()
+                .incremental(1, ClassReloadingStrategy.Incremental.Listener.NoOp.INSTANCE);
+        new ByteBuddy()
+                .redefine(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR))
+                .make()
+                .load(Foo.class.getClassLoader(), classReloadingStrategy);
+        assertThat(foo.foo(), is(BAR));
+        classReloadingStrategy.reset(Foo.class);
+        assertThat(foo.foo(), is(FOO));
+    }
+
     @SuppressWarnings("unused")
     public static class Foo {
 
@@ -82,6 +82,31 @@ public class BridgeMethodResolverSimpleTest {
         verifyNoMoreInteractions(bridgeTarget);
     }
 
+    @Test
+    public void testConflictResolverCandidateIsResolved() throws Exception {
+        TypeDescription target = new TypeDescription.ForLoadedType(Baz.class);
+        MethodList invokableMethods = new MethodLookupEngine.Default(MethodLookupEngine.Default.DefaultMethodLookup.DISABLED)
+                .process(target).getInvokableMethods();
+        MethodList relevantMethods = invokableMethods.filter(not(isDeclaredBy(Object.class).or(isConstructor())));
+        MethodDescription candidate = relevantMethods.filter(not(isBridge()).and(returns(Integer.class))).getOnly();
+        when(conflictHandler.choose(any(MethodDescription.class), any(MethodList.class)))
+                .thenReturn(new BridgeMethodResolver.Simple.BridgeTarget.Candidate(candidate));
+        BridgeMethodResolver bridgeMethodResolver = new BridgeMethodResolver.Simple(invokableMethods, conflictHandler);
+        assertThat(bridgeMethodResolver.resolve(relevantMethods.filter(isBridge()).getOnly()), is(candidate));
+        assertThat(bridgeMethodResolver.resolve(candidate), is(candidate));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCircularBridgeIsUnresolved() throws Exception {
+        TypeDescription target = new TypeDescription.ForLoadedType(Baz.class);
+        MethodList invokableMethods = new MethodLookupEngine.Default(MethodLookupEngine.Default.DefaultMethodLookup.DISABLED)
+                .process(target).getInvokableMethods();
+        MethodDescription bridgeMethod = invokableMethods.filter(isBridge()).getOnly();
+        when(conflictHandler.choose(any(MethodDescription.class), any(MethodList.class)))
+                .thenReturn(new BridgeMethodResolver.Simple.BridgeTarget.Candidate(bridgeMethod));
+        new BridgeMethodResolver.Simple(invokableMethods, conflictHandler).resolve(bridgeMethod);
+    }
+
     @Test
     public void testBridgeTargetCandidate() throws Exception {
         assertThat(new BridgeMethodResolver.Simple.BridgeTarget.Candidate(methodDescription).isResolved(), is(false));
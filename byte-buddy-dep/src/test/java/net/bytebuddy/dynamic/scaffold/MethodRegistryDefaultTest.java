@@ -10,6 +10,7 @@ import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.test.utility.MockitoRule;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Before;
@@ -21,6 +22,8 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
@@ -32,6 +35,8 @@ public class MethodRegistryDefaultTest {
 
     private static final int BASIC_SIZE = 1, EXTENDED_SIZE = 2;
 
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -240,6 +245,37 @@ public class MethodRegistryDefaultTest {
         verifyNoMoreInteractions(fallbackFactory);
     }
 
+    @Test
+    public void testIndexRetainsOrderForNamedEntries() throws Exception {
+        MethodRegistry.Default.Compiled.Entry foo = new MethodRegistry.Default.Compiled.Entry(ElementMatchers.<MethodDescription>named(FOO),
+                simpleByteCodeAppender,
+                simpleAttributeAppender);
+        MethodRegistry.Default.Compiled.Entry any = new MethodRegistry.Default.Compiled.Entry(matchesKnownMethod,
+                simpleByteCodeAppender,
+                simpleAttributeAppender);
+        MethodRegistry.Default.Compiled.Entry fooOrBar = new MethodRegistry.Default.Compiled.Entry(ElementMatchers.<MethodDescription>named(FOO).or(ElementMatchers.<MethodDescription>named(BAR)),
+                otherByteCodeAppender,
+                otherAttributeAppender);
+        MethodRegistry.Default.Compiled.Index index = new MethodRegistry.Default.Compiled.Index(Arrays.asList(foo, any, fooOrBar));
+        when(unknownMethod.getSourceCodeName()).thenReturn(FOO);
+        assertThat(index.getCandidates(unknownMethod), is(Arrays.asList(foo, any, fooOrBar)));
+        when(unknownMethod.getSourceCodeName()).thenReturn(BAR);
+        assertThat(index.getCandidates(unknownMethod), is(Arrays.asList(any, fooOrBar)));
+        when(unknownMethod.getSourceCodeName()).thenReturn(QUX);
+        assertThat(index.getCandidates(unknownMethod), is(Collections.singletonList(any)));
+    }
+
+    @Test
+    public void testNamedEntryIsNotEvaluatedForOtherNames() throws Exception {
+        when(unknownMethod.getSourceCodeName()).thenReturn(BAR);
+        assertThat(new MethodRegistry.Default.Compiled.Index(Collections.singletonList(new MethodRegistry.Default.Compiled.Entry(matchesKnownMethod,
+                simpleByteCodeAppender,
+                simpleAttributeAppender))).getCandidates(unknownMethod).size(), is(1));
+        assertThat(new MethodRegistry.Default.Compiled.Index(Collections.singletonList(new MethodRegistry.Default.Compiled.Entry(ElementMatchers.<MethodDescription>named(FOO).and(matchesKnownMethod),
+                simpleByteCodeAppender,
+                simpleAttributeAppender))).getCandidates(unknownMethod).size(), is(0));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(MethodRegistry.Default.class).apply();
@@ -247,6 +283,7 @@ public class MethodRegistryDefaultTest {
         ObjectPropertyAssertion.of(MethodRegistry.Default.Prepared.class).apply();
         ObjectPropertyAssertion.of(MethodRegistry.Default.Compiled.class).apply();
         ObjectPropertyAssertion.of(MethodRegistry.Default.Compiled.Entry.class).apply();
+        ObjectPropertyAssertion.of(MethodRegistry.Default.Compiled.Index.class).apply(new MethodRegistry.Default.Compiled.Index(Collections.<MethodRegistry.Default.Compiled.Entry>emptyList()));
     }
 
     @Test
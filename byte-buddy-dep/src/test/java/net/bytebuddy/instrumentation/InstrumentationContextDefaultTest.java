@@ -20,6 +20,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.objectweb.asm.ClassVisitor;
@@ -29,6 +30,9 @@ import org.objectweb.asm.Opcodes;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
@@ -193,6 +197,49 @@ public class InstrumentationContextDefaultTest {
         assertThat(instrumentationContext.getRegisteredAuxiliaryTypes().contains(secondDynamicType), is(true));
     }
 
+    @Test
+    public void testAuxiliaryTypeWritingIsSubmittedToExecutor() throws Exception {
+        Executor executor = mock(Executor.class);
+        Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
+                typeInitializer,
+                classFileVersion,
+                executor);
+        assertThat(instrumentationContext.register(auxiliaryType), is(firstDescription));
+        assertThat(instrumentationContext.register(auxiliaryType), is(firstDescription));
+        ArgumentCaptor<Runnable> auxiliaryTypeWriting = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(auxiliaryTypeWriting.capture());
+        verifyNoMoreInteractions(executor);
+        verify(firstDynamicType, never()).getBytes();
+        auxiliaryTypeWriting.getValue().run();
+        verify(firstDynamicType).getBytes();
+        instrumentationContext.drain(classVisitor, methodPool, injectedCode);
+        assertThat(instrumentationContext.getRegisteredAuxiliaryTypes().size(), is(1));
+        assertThat(instrumentationContext.getRegisteredAuxiliaryTypes().contains(firstDynamicType), is(true));
+    }
+
+    @Test
+    public void testSynchronousExecutorRunsOnCallingThread() throws Exception {
+        Runnable runnable = mock(Runnable.class);
+        Instrumentation.Context.Default.SynchronousExecutor.INSTANCE.execute(runnable);
+        verify(runnable).run();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAuxiliaryTypeWritingErrorIsPropagatedOnDrain() throws Exception {
+        when(firstDynamicType.getBytes()).thenThrow(new IllegalArgumentException());
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
+                    typeInitializer,
+                    classFileVersion,
+                    executorService);
+            instrumentationContext.register(auxiliaryType);
+            instrumentationContext.drain(classVisitor, methodPool, injectedCode);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void testDrainEmpty() throws Exception {
         Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
@@ -602,5 +649,6 @@ public class InstrumentationContextDefaultTest {
         ObjectPropertyAssertion.of(Instrumentation.Context.Default.AccessorMethodDelegation.class);
         ObjectPropertyAssertion.of(Instrumentation.Context.Default.FieldSetter.class);
         ObjectPropertyAssertion.of(Instrumentation.Context.Default.FieldGetter.class);
+        ObjectPropertyAssertion.of(Instrumentation.Context.Default.AuxiliaryTypeWriting.class).apply();
     }
 }
@@ -1,11 +1,16 @@
 package net.bytebuddy.instrumentation;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Super;
 import org.junit.Test;
 
 import java.io.Serializable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -20,6 +25,24 @@ public class MethodDelegationSuperTest extends AbstractInstrumentationTest {
         assertThat(instance.qux(), is((Object) (FOO + QUX)));
     }
 
+    @Test
+    public void testSuperInstanceWithConcurrentlyWrittenAuxiliaryType() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            DynamicType.Loaded<Foo> loaded = new ByteBuddy()
+                    .subclass(Foo.class)
+                    .method(isDeclaredBy(Foo.class))
+                    .intercept(MethodDelegation.to(Baz.class))
+                    .make(executorService)
+                    .load(Foo.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+            assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(1));
+            Foo instance = loaded.getLoaded().newInstance();
+            assertThat(instance.qux(), is((Object) (FOO + QUX)));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void testSuperInterface() throws Exception {
         DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(FooBar.class));
@@ -117,6 +117,17 @@ public abstract class AbstractMethodDescriptionTest {
         assertThat(describe(secondConstructor).getDescriptor(), is(Type.getConstructorDescriptor(secondConstructor)));
     }
 
+    @Test
+    public void testSignatureToken() throws Exception {
+        MethodDescription methodDescription = describe(secondMethod);
+        assertThat(methodDescription.getSignatureToken(), sameInstance(methodDescription.getSignatureToken()));
+        assertThat(methodDescription.getSignatureToken(), is(new MethodDescription.SignatureToken(secondMethod.getName(), Type.getMethodDescriptor(secondMethod))));
+        assertThat(methodDescription.getSignatureToken(), is(describe(secondMethod).getSignatureToken()));
+        assertThat(methodDescription.getSignatureToken(), not(describe(firstMethod).getSignatureToken()));
+        assertThat(describe(firstConstructor).getSignatureToken().getInternalName(), is(MethodDescription.CONSTRUCTOR_INTERNAL_NAME));
+        assertThat(describe(firstConstructor).getSignatureToken().getDescriptor(), is(Type.getConstructorDescriptor(firstConstructor)));
+    }
+
     @Test
     public void testMethodModifiers() throws Exception {
         assertThat(describe(firstMethod).getModifiers(), is(firstMethod.getModifiers()));
@@ -0,0 +1,189 @@
+package net.bytebuddy.instrumentation.method;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.JavaVersionRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.test.utility.PrecompiledTypeClassLoader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MethodLookupEngineDefaultCachingTest {
+
+    private static final String PREFIX = "net.bytebuddy.test.precompiled.", CALL = "call";
+
+    @Rule
+    public MethodRule java8Rule = new JavaVersionRule(8);
+
+    private MethodLookupEngine.Default.Caching.Factory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = new MethodLookupEngine.Default.Caching.Factory();
+    }
+
+    @Test
+    public void testLookupEqualsDefault() throws Exception {
+        for (boolean extractDefaultMethods : new boolean[]{true, false}) {
+            MethodLookupEngine methodLookupEngine = factory.make(extractDefaultMethods);
+            for (Class<?> type : new Class<?>[]{Object.class,
+                    String.class,
+                    ArrayList.class,
+                    HashMap.class,
+                    LinkedHashMap.class,
+                    ConcurrentHashMap.class,
+                    Runnable.class,
+                    Base.class,
+                    Sub.class,
+                    OtherSub.class,
+                    SubWithInterface.class,
+                    ConflictingBase.class,
+                    ConflictingSub.class,
+                    OtherConflictingSub.class}) {
+                assertEqualFinding(methodLookupEngine, extractDefaultMethods, new TypeDescription.ForLoadedType(type));
+            }
+        }
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    public void testDefaultMethodLookupEqualsDefault() throws Exception {
+        ClassLoader classLoader = new PrecompiledTypeClassLoader(getClass().getClassLoader());
+        MethodLookupEngine methodLookupEngine = factory.make(true);
+        for (String name : new String[]{"SingleDefaultMethodClass",
+                "SingleDefaultMethodOverridingClass",
+                "SingleDefaultMethodConflictingClass",
+                "SingleDefaultMethodAbstractOverridingClass",
+                "SingleDefaultMethodManifestOverridingClass",
+                "SingleDefaultMethodNonOverridingClass",
+                "SingleDefaultMethodAmbiguousInheritanceClass",
+                "SingleDefaultMethodAmbiguousAbstractOverridingClass",
+                "SingleDefaultMethodAmbiguousManifestOverridingClass"}) {
+            assertEqualFinding(methodLookupEngine, true, new TypeDescription.ForLoadedType(Class.forName(PREFIX + name, false, classLoader)));
+        }
+    }
+
+    @Test
+    public void testInheritanceIsCached() throws Exception {
+        MethodLookupEngine methodLookupEngine = factory.make(false);
+        methodLookupEngine.process(new TypeDescription.ForLoadedType(Sub.class));
+        assertThat(factory.getCacheSize(), is(2));
+        methodLookupEngine.process(new TypeDescription.ForLoadedType(OtherSub.class));
+        factory.make(true).process(new TypeDescription.ForLoadedType(Base.class));
+        assertThat(factory.getCacheSize(), is(2));
+        methodLookupEngine.process(new TypeDescription.ForLoadedType(String.class));
+        assertThat(factory.getCacheSize(), is(3));
+        factory.clear();
+        assertThat(factory.getCacheSize(), is(0));
+    }
+
+    @Test
+    public void testConflictingInterfaceMethodIsDeclaredByTypeOfInterest() throws Exception {
+        MethodLookupEngine methodLookupEngine = factory.make(false);
+        methodLookupEngine.process(new TypeDescription.ForLoadedType(ConflictingSub.class));
+        TypeDescription typeDescription = new TypeDescription.ForLoadedType(OtherConflictingSub.class);
+        MethodDescription methodDescription = methodLookupEngine.process(typeDescription).getInvokableMethods()
+                .filter(named(CALL)).getOnly();
+        assertThat(methodDescription.getDeclaringType(), is(typeDescription));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(MethodLookupEngine.Default.Caching.class).apply();
+        ObjectPropertyAssertion.of(MethodLookupEngine.Default.Caching.Factory.class).apply(new MethodLookupEngine.Default.Caching.Factory());
+        ObjectPropertyAssertion.of(MethodLookupEngine.Default.Caching.Inheritance.class).apply(new MethodLookupEngine.Default.Caching.Inheritance(
+                Collections.<MethodDescription.SignatureToken, MethodDescription>emptyMap(),
+                Collections.<TypeDescription>emptySet(),
+                Collections.<MethodDescription.SignatureToken, MethodDescription>emptyMap()));
+    }
+
+    private static void assertEqualFinding(MethodLookupEngine methodLookupEngine, boolean extractDefaultMethods, TypeDescription typeDescription) {
+        MethodLookupEngine.Finding expected = MethodLookupEngine.Default.Factory.INSTANCE.make(extractDefaultMethods).process(typeDescription);
+        MethodLookupEngine.Finding finding = methodLookupEngine.process(typeDescription);
+        assertThat(finding.getTypeDescription(), is(expected.getTypeDescription()));
+        assertThat(new HashSet<MethodDescription>(finding.getInvokableMethods()), is(new HashSet<MethodDescription>(expected.getInvokableMethods())));
+        assertThat(finding.getInvokableMethods().size(), is(expected.getInvokableMethods().size()));
+        assertThat(finding.getInvokableDefaultMethods(), is(expected.getInvokableDefaultMethods()));
+        Map<MethodDescription.SignatureToken, MethodDescription> cachedMethodDescriptions = new HashMap<MethodDescription.SignatureToken, MethodDescription>();
+        for (MethodDescription methodDescription : finding.getInvokableMethods()) {
+            cachedMethodDescriptions.put(methodDescription.getSignatureToken(), methodDescription);
+        }
+        for (MethodDescription methodDescription : expected.getInvokableMethods()) {
+            MethodDescription cachedMethodDescription = cachedMethodDescriptions.get(methodDescription.getSignatureToken());
+            assertThat(cachedMethodDescription.getDeclaringType(), is(methodDescription.getDeclaringType()));
+            for (TypeDescription targetType = typeDescription; targetType != null; targetType = targetType.getSupertype()) {
+                assertThat(cachedMethodDescription.isSpecializableFor(targetType), is(methodDescription.isSpecializableFor(targetType)));
+            }
+        }
+    }
+
+    public static class Base implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        void packagePrivate() {
+            /* empty */
+        }
+
+        protected void foo() {
+            /* empty */
+        }
+
+        @Override
+        public String toString() {
+            return super.toString();
+        }
+    }
+
+    public static class Sub extends Base {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void foo() {
+            super.foo();
+        }
+    }
+
+    public static class OtherSub extends Base {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String toString() {
+            return super.toString();
+        }
+    }
+
+    public abstract static class SubWithInterface extends Sub implements Runnable, Comparable<Object> {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    public interface FirstCallable {
+
+        Object call() throws Exception;
+    }
+
+    public abstract static class ConflictingBase implements FirstCallable, Callable<Object> {
+        /* empty */
+    }
+
+    public abstract static class ConflictingSub extends ConflictingBase {
+        /* empty */
+    }
+
+    public abstract static class OtherConflictingSub extends ConflictingBase {
+        /* empty */
+    }
+}
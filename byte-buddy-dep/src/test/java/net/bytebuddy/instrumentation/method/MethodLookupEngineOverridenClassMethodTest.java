@@ -10,6 +10,7 @@ import org.mockito.Mock;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,7 +24,7 @@ public class MethodLookupEngineOverridenClassMethodTest {
     @Mock
     private TypeDescription firstType, secondType;
     @Mock
-    private MethodDescription first, second;
+    private MethodDescription first, second, third;
 
     @Before
     public void setUp() throws Exception {
@@ -47,4 +48,18 @@ public class MethodLookupEngineOverridenClassMethodTest {
         verify(first).isSpecializableFor(firstType);
         verify(second).isSpecializableFor(firstType);
     }
+
+    @Test
+    public void testOverridenChainIsFlattened() throws Exception {
+        TypeDescription thirdType = mock(TypeDescription.class);
+        when(third.getDeclaringType()).thenReturn(thirdType);
+        when(third.isSpecializableFor(thirdType)).thenReturn(true);
+        MethodDescription overriddenClassMethod = MethodLookupEngine.OverridenClassMethod.of(first,
+                MethodLookupEngine.OverridenClassMethod.of(second, third));
+        assertThat(overriddenClassMethod.getDeclaringType(), is(firstType));
+        assertThat(overriddenClassMethod.isSpecializableFor(thirdType), is(true));
+        verify(first).isSpecializableFor(thirdType);
+        verify(second).isSpecializableFor(thirdType);
+        verify(third).isSpecializableFor(thirdType);
+    }
 }
@@ -1,6 +1,7 @@
 package net.bytebuddy.instrumentation.type.auxiliary;
 
 import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.ModifierContributor;
 import net.bytebuddy.instrumentation.method.MethodDescription;
@@ -81,13 +82,14 @@ public class TypeProxyCreationTest {
         when(instrumentationTarget.getTypeDescription()).thenReturn(foo);
         when(invocationFactory.invoke(eq(instrumentationTarget), eq(foo), any(MethodDescription.class)))
                 .thenReturn(specialMethodInvocation);
-        TypeDescription dynamicType = new TypeProxy(foo,
+        DynamicType proxy = new TypeProxy(foo,
                 instrumentationTarget,
                 invocationFactory,
                 true,
                 false)
-                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory)
-                .getTypeDescription();
+                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory);
+        proxy.getBytes();
+        TypeDescription dynamicType = proxy.getTypeDescription();
         assertThat(dynamicType.getModifiers(), is(modifiers));
         assertThat(dynamicType.getSupertype(), is(foo));
         assertThat(dynamicType.getInterfaces(), is((TypeList) new TypeList.Empty()));
@@ -112,13 +114,14 @@ public class TypeProxyCreationTest {
         when(specialMethodInvocation.apply(any(MethodVisitor.class), any(Instrumentation.Context.class)))
                 .thenReturn(new StackManipulation.Size(0, 0));
         when(methodAccessorFactory.registerAccessorFor(specialMethodInvocation)).thenReturn(proxyMethod);
-        TypeDescription dynamicType = new TypeProxy(foo,
+        DynamicType proxy = new TypeProxy(foo,
                 instrumentationTarget,
                 invocationFactory,
                 true,
                 false)
-                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory)
-                .getTypeDescription();
+                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory);
+        proxy.getBytes();
+        TypeDescription dynamicType = proxy.getTypeDescription();
         assertThat(dynamicType.getModifiers(), is(modifiers));
         assertThat(dynamicType.getSupertype(), is(foo));
         assertThat(dynamicType.getInterfaces(), is((TypeList) new TypeList.Empty()));
@@ -143,13 +146,14 @@ public class TypeProxyCreationTest {
         when(specialMethodInvocation.apply(any(MethodVisitor.class), any(Instrumentation.Context.class)))
                 .thenReturn(new StackManipulation.Size(0, 0));
         when(methodAccessorFactory.registerAccessorFor(specialMethodInvocation)).thenReturn(proxyMethod);
-        TypeDescription dynamicType = new TypeProxy(foo,
+        DynamicType proxy = new TypeProxy(foo,
                 instrumentationTarget,
                 invocationFactory,
                 true,
                 true)
-                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory)
-                .getTypeDescription();
+                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory);
+        proxy.getBytes();
+        TypeDescription dynamicType = proxy.getTypeDescription();
         assertThat(dynamicType.getModifiers(), is(modifiers));
         assertThat(dynamicType.getSupertype(), is(foo));
         assertThat(dynamicType.getInterfaces(), is((TypeList) new TypeList.ForLoadedType(Serializable.class)));
@@ -174,13 +178,14 @@ public class TypeProxyCreationTest {
         when(specialMethodInvocation.apply(any(MethodVisitor.class), any(Instrumentation.Context.class)))
                 .thenReturn(new StackManipulation.Size(0, 0));
         when(methodAccessorFactory.registerAccessorFor(specialMethodInvocation)).thenReturn(proxyMethod);
-        TypeDescription dynamicType = new TypeProxy(foo,
+        DynamicType proxy = new TypeProxy(foo,
                 instrumentationTarget,
                 invocationFactory,
                 false,
                 false)
-                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory)
-                .getTypeDescription();
+                .make(BAR, ClassFileVersion.forCurrentJavaVersion(), methodAccessorFactory);
+        proxy.getBytes();
+        TypeDescription dynamicType = proxy.getTypeDescription();
         assertThat(dynamicType.getModifiers(), is(modifiers));
         assertThat(dynamicType.getSupertype(), is(foo));
         assertThat(dynamicType.getInterfaces(), is((TypeList) new TypeList.Empty()));
@@ -5,13 +5,19 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
 public class NameMatcherTest extends AbstractElementMatcherTest<NameMatcher<?>> {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar";
     @Mock
     private ByteCodeElement byteCodeElement;
     @Mock
@@ -42,4 +48,30 @@ public class NameMatcherTest extends AbstractElementMatcherTest<NameMatcher<?>>
         verify(nameMatcher).matches(FOO);
         verifyNoMoreInteractions(nameMatcher);
     }
+
+    @Test
+    public void testNameMatch() throws Exception {
+        when(nameMatcher.matches(FOO)).thenReturn(true);
+        assertThat(new NameMatcher<ByteCodeElement>(nameMatcher).matches(FOO), is(true));
+        verify(nameMatcher).matches(FOO);
+        verifyNoMoreInteractions(nameMatcher);
+    }
+
+    @Test
+    public void testResolveSourceCodeNames() throws Exception {
+        assertThat(NameMatcher.resolveSourceCodeNames(ElementMatchers.named(FOO)), is(Collections.singleton(FOO)));
+        assertThat(NameMatcher.resolveSourceCodeNames(ElementMatchers.named(FOO).or(ElementMatchers.named(BAR))),
+                is((Set<String>) new HashSet<String>(Arrays.asList(FOO, BAR))));
+        assertThat(NameMatcher.resolveSourceCodeNames(ElementMatchers.named(FOO).and(ElementMatchers.isPublic())),
+                is(Collections.singleton(FOO)));
+        assertThat(NameMatcher.resolveSourceCodeNames(ElementMatchers.named(FOO).and(ElementMatchers.named(BAR))),
+                is(Collections.<String>emptySet()));
+    }
+
+    @Test
+    public void testUnresolvableSourceCodeNames() throws Exception {
+        assertThat(NameMatcher.resolveSourceCodeNames(ElementMatchers.nameStartsWith(FOO)), nullValue(Set.class));
+        assertThat(NameMatcher.resolveSourceCodeNames(ElementMatchers.named(FOO).or(ElementMatchers.isPublic())), nullValue(Set.class));
+        assertThat(NameMatcher.resolveSourceCodeNames(new NameMatcher<ByteCodeElement>(nameMatcher)), nullValue(Set.class));
+    }
 }
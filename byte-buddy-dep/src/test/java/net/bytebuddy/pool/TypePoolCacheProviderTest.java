@@ -1,20 +1,29 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.test.utility.MockitoRule;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import net.bytebuddy.utility.BoundedCache;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 public class TypePoolCacheProviderTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -49,4 +58,126 @@ public class TypePoolCacheProviderTest {
     public void testSimpleObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypePool.CacheProvider.Simple.class).apply(new TypePool.CacheProvider.Simple());
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        TypePool.CacheProvider bounded = new TypePool.CacheProvider.Bounded(2);
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(bounded.register(BAR, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.register(QUX, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(QUX), sameInstance(resolution));
+        bounded.clear();
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(QUX), nullValue(TypePool.Resolution.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalSize() throws Exception {
+        new TypePool.CacheProvider.Bounded(0);
+    }
+
+    @Test
+    public void testBoundedObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.CacheProvider.Bounded.class).apply(new TypePool.CacheProvider.Bounded(1));
+    }
+
+    @Test
+    public void testBoundedWeighted() throws Exception {
+        TypePool.CacheProvider.Bounded.Weigher weigher = mock(TypePool.CacheProvider.Bounded.Weigher.class);
+        TypePool.Resolution first = mock(TypePool.Resolution.class), second = mock(TypePool.Resolution.class);
+        when(weigher.weigh(resolution)).thenReturn(2);
+        when(weigher.weigh(first)).thenReturn(1);
+        when(weigher.weigh(second)).thenReturn(2);
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(4, weigher);
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.register(BAR, first), sameInstance(first));
+        assertThat(bounded.register(QUX, second), sameInstance(second));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(BAR), sameInstance(first));
+        assertThat(bounded.find(QUX), sameInstance(second));
+        assertThat(bounded.getStatistics(), is(new BoundedCache.Statistics(2, 3, 2, 1, 1)));
+        bounded.clear();
+        assertThat(bounded.getStatistics(), is(new BoundedCache.Statistics(0, 0, 2, 1, 1)));
+    }
+
+    @Test
+    public void testBoundedRetainsOverweightResolution() throws Exception {
+        TypePool.CacheProvider.Bounded.Weigher weigher = mock(TypePool.CacheProvider.Bounded.Weigher.class);
+        when(weigher.weigh(resolution)).thenReturn(5);
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(4, weigher);
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        assertThat(bounded.getStatistics(), is(new BoundedCache.Statistics(1, 5, 1, 0, 0)));
+    }
+
+    @Test
+    public void testWeigherForUnit() throws Exception {
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForUnit.INSTANCE.weigh(resolution), is(1));
+    }
+
+    @Test
+    public void testWeigherForClassFileSize() throws Exception {
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForClassFileSize.INSTANCE.weigh(resolution), is(1));
+        TypeDescription typeDescription = mock(TypeDescription.class);
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForClassFileSize.INSTANCE.weigh(new TypePool.Resolution.Parsed(typeDescription, 1)), is(2));
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForClassFileSize.INSTANCE.weigh(new TypePool.Resolution.Parsed(typeDescription, 1024)), is(2));
+        assertThat(TypePool.CacheProvider.Bounded.Weigher.ForClassFileSize.INSTANCE.weigh(new TypePool.Resolution.Parsed(typeDescription, 1025)), is(3));
+        verifyZeroInteractions(typeDescription);
+    }
+
+    @Test
+    public void testWeigherForClassFileSizeOfParsedType() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(1000, TypePool.CacheProvider.Bounded.Weigher.ForClassFileSize.INSTANCE);
+        TypePool typePool = new TypePool.Default(bounded, ClassFileLocator.ForClassLoader.ofClassPath(), TypePool.Default.ReaderMode.LAZY);
+        assertThat(typePool.describe(Object.class.getName()).resolve().represents(Object.class), is(true));
+        assertThat(bounded.getStatistics().getWeight() > 1, is(true));
+    }
+
+    @Test
+    public void testSoftlyReferenced() throws Exception {
+        TypePool.CacheProvider softlyReferenced = new TypePool.CacheProvider.SoftlyReferenced();
+        assertThat(softlyReferenced.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(softlyReferenced.register(FOO, resolution), sameInstance(resolution));
+        assertThat(softlyReferenced.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(softlyReferenced.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(softlyReferenced.find(FOO), sameInstance(this.resolution));
+        softlyReferenced.clear();
+        assertThat(softlyReferenced.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(softlyReferenced.register(FOO, resolution), sameInstance(resolution));
+        assertThat(softlyReferenced.find(FOO), sameInstance(resolution));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSoftlyReferencedReclaimed() throws Exception {
+        TypePool.CacheProvider softlyReferenced = new TypePool.CacheProvider.SoftlyReferenced();
+        assertThat(softlyReferenced.register(FOO, resolution), sameInstance(resolution));
+        assertThat(softlyReferenced.register(BAR, resolution), sameInstance(resolution));
+        Field field = TypePool.CacheProvider.SoftlyReferenced.class.getDeclaredField("cache");
+        field.setAccessible(true);
+        Map<String, TypePool.CacheProvider.SoftlyReferenced.SoftEntry> cache =
+                (Map<String, TypePool.CacheProvider.SoftlyReferenced.SoftEntry>) field.get(softlyReferenced);
+        cache.get(FOO).clear();
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(softlyReferenced.register(FOO, resolution), sameInstance(resolution));
+        assertThat(softlyReferenced.find(FOO), sameInstance(resolution));
+        cache.get(BAR).clear();
+        cache.get(BAR).enqueue();
+        assertThat(softlyReferenced.find(QUX), nullValue(TypePool.Resolution.class));
+        assertThat(cache.containsKey(BAR), is(false));
+        assertThat(cache.containsKey(FOO), is(true));
+    }
+
+    @Test
+    public void testSoftlyReferencedObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.CacheProvider.SoftlyReferenced.class).apply(new TypePool.CacheProvider.SoftlyReferenced());
+    }
 }
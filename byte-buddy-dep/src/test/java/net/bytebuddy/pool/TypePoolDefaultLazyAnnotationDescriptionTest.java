@@ -0,0 +1,33 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.attribute.annotation.AbstractAnnotationDescriptionTest;
+import net.bytebuddy.instrumentation.attribute.annotation.AnnotationDescription;
+import org.junit.After;
+import org.junit.Before;
+
+import java.lang.annotation.Annotation;
+
+public class TypePoolDefaultLazyAnnotationDescriptionTest extends AbstractAnnotationDescriptionTest {
+
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofClassPath(),
+                TypePool.Default.ReaderMode.LAZY);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        typePool.clear();
+    }
+
+    @Override
+    protected AnnotationDescription describe(Annotation annotation, Class<?> declaringType) {
+        return typePool.describe(declaringType.getName()).resolve()
+                .getDeclaredAnnotations().ofType(annotation.annotationType());
+    }
+}
@@ -0,0 +1,36 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.field.AbstractFieldDescriptionTest;
+import net.bytebuddy.instrumentation.field.FieldDescription;
+import org.junit.After;
+import org.junit.Before;
+
+import java.lang.reflect.Field;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+public class TypePoolDefaultLazyFieldDescriptionTest extends AbstractFieldDescriptionTest {
+
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofClassPath(),
+                TypePool.Default.ReaderMode.LAZY);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        typePool.clear();
+    }
+
+    @Override
+    protected FieldDescription describe(Field field) {
+        return typePool.describe(field.getDeclaringClass().getName())
+                .resolve()
+                .getDeclaredFields().filter(named(field.getName())).getOnly();
+    }
+}
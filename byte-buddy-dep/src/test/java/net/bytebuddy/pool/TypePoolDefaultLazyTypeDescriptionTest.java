@@ -0,0 +1,29 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.AbstractTypeDescriptionTest;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.After;
+import org.junit.Before;
+
+public class TypePoolDefaultLazyTypeDescriptionTest extends AbstractTypeDescriptionTest {
+
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofClassPath(),
+                TypePool.Default.ReaderMode.LAZY);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        typePool.clear();
+    }
+
+    @Override
+    protected TypeDescription describe(Class<?> type) {
+        return typePool.describe(type.getName()).resolve();
+    }
+}
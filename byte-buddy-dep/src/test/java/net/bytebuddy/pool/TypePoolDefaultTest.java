@@ -1,13 +1,23 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class TypePoolDefaultTest {
 
@@ -40,4 +50,59 @@ public class TypePoolDefaultTest {
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypePool.Default.class).apply();
     }
+
+    @Test
+    public void testConcurrentDescription() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Map<String, TypePool.Resolution> resolutions = ((TypePool.Default) typePool).describe(Arrays.asList(Object.class.getName(),
+                    String.class.getName(),
+                    int[].class.getName(),
+                    Object.class.getName(),
+                    "foo"), executorService);
+            assertThat(resolutions.size(), is(4));
+            assertThat(resolutions.get(Object.class.getName()).resolve().represents(Object.class), is(true));
+            assertThat(resolutions.get(String.class.getName()).resolve().represents(String.class), is(true));
+            assertThat(resolutions.get(int[].class.getName()).resolve().represents(int[].class), is(true));
+            assertThat(resolutions.get("foo").isResolved(), is(false));
+            assertThat(typePool.describe(Object.class.getName()).resolve(),
+                    sameInstance(resolutions.get(Object.class.getName()).resolve()));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testConcurrentDescriptionError() throws Exception {
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        when(classFileLocator.locate("foo")).thenThrow(new IllegalArgumentException());
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            new TypePool.Default(new TypePool.CacheProvider.Simple(), classFileLocator).describe(Arrays.asList("foo"), executorService);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentDescriptionObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.Default.ConcurrentDescription.class).apply();
+    }
+
+    @Test
+    public void testLazyReaderModeDefersMemberParsing() throws Exception {
+        TypeDescription typeDescription = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofClassPath(),
+                TypePool.Default.ReaderMode.LAZY).describe(Object.class.getName()).resolve();
+        assertThat(typeDescription.represents(Object.class), is(true));
+        assertThat(typeDescription.getDeclaredMethods().size(), is(Object.class.getDeclaredMethods().length + 1));
+        assertThat(typeDescription.getDeclaredFields().size(), is(0));
+        assertThat(typeDescription.getDeclaredAnnotations().size(), is(0));
+    }
+
+    @Test
+    public void testReaderMode() throws Exception {
+        assertThat(TypePool.Default.ReaderMode.EAGER.isLazy(), is(false));
+        assertThat(TypePool.Default.ReaderMode.LAZY.isLazy(), is(true));
+    }
 }
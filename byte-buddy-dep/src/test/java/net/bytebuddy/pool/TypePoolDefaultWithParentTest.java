@@ -0,0 +1,68 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypePoolDefaultWithParentTest {
+
+    private static final String FOO = "foo";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypePool parent;
+
+    @Mock
+    private TypePool.Resolution resolution;
+
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        typePool = new TypePool.Default.WithParent(parent,
+                new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofClassPath());
+    }
+
+    @Test
+    public void testParentResolution() throws Exception {
+        when(parent.describe(FOO)).thenReturn(resolution);
+        when(resolution.isResolved()).thenReturn(true);
+        assertThat(typePool.describe(FOO), sameInstance(resolution));
+        verify(parent).describe(FOO);
+        verifyNoMoreInteractions(parent);
+    }
+
+    @Test
+    public void testOwnResolution() throws Exception {
+        when(parent.describe(Object.class.getName())).thenReturn(resolution);
+        TypePool.Resolution resolution = typePool.describe(Object.class.getName());
+        assertThat(resolution.resolve().represents(Object.class), is(true));
+        assertThat(typePool.describe(Object.class.getName()).resolve(), sameInstance(resolution.resolve()));
+        verify(parent, times(2)).describe(Object.class.getName());
+        verifyNoMoreInteractions(parent);
+    }
+
+    @Test
+    public void testClearDoesNotClearParent() throws Exception {
+        typePool.clear();
+        verifyZeroInteractions(parent);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.Default.WithParent.class).apply();
+    }
+}
@@ -0,0 +1,204 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.zip.CRC32;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TypePoolDefaultWithPersistentIndexTest {
+
+    private static final String FOO = "foo";
+
+    private File folder, indexFile;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = File.createTempFile("typeIndex", "");
+        assertThat(folder.delete(), is(true));
+        assertThat(folder.mkdir(), is(true));
+        indexFile = new File(folder, "typeIndex.idx");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        File[] file = folder.listFiles();
+        if (file != null) {
+            for (File aFile : file) {
+                assertThat(aFile.delete(), is(true));
+            }
+        }
+        assertThat(folder.delete(), is(true));
+    }
+
+    private static TypePool.Default.WithPersistentIndex ofClassPath(File indexFile) {
+        return new TypePool.Default.WithPersistentIndex(new TypePool.CacheProvider.Simple(),
+                ClassFileLocator.ForClassLoader.ofClassPath(),
+                indexFile);
+    }
+
+    @Test
+    public void testIndexIsPersistedAndReused() throws Exception {
+        TypePool.Default.WithPersistentIndex typePool = ofClassPath(indexFile);
+        for (Class<?> type : new Class<?>[]{Object.class, String.class, Sample.class, Sample.Inner.class, Annotated.class}) {
+            assertDescription(typePool.describe(type.getName()).resolve(), type);
+        }
+        typePool.persist();
+        assertThat(indexFile.isFile(), is(true));
+        TypePool.Default.WithPersistentIndex indexedTypePool = ofClassPath(indexFile);
+        for (Class<?> type : new Class<?>[]{Object.class, String.class, Sample.class, Sample.Inner.class, Annotated.class}) {
+            assertDescription(indexedTypePool.describe(type.getName()).resolve(), type);
+        }
+        assertThat(indexedTypePool.describe(Sample.class.getName()).resolve().getDeclaredMethods()
+                .filter(named("foo")).getOnly().getExceptionTypes().getOnly()
+                .represents(Exception.class), is(true));
+        indexedTypePool.persist();
+        assertThat(ofClassPath(indexFile).describe(Annotated.class.getName()).resolve().getDeclaredAnnotations()
+                .isAnnotationPresent(Deprecated.class), is(true));
+    }
+
+    @Test
+    public void testIndexOnlyRetainsDescribedTypes() throws Exception {
+        TypePool.Default.WithPersistentIndex typePool = ofClassPath(indexFile);
+        assertDescription(typePool.describe(Sample.class.getName()).resolve(), Sample.class);
+        assertDescription(typePool.describe(String.class.getName()).resolve(), String.class);
+        typePool.persist();
+        long length = indexFile.length();
+        TypePool.Default.WithPersistentIndex indexedTypePool = ofClassPath(indexFile);
+        assertDescription(indexedTypePool.describe(Sample.class.getName()).resolve(), Sample.class);
+        indexedTypePool.persist();
+        assertThat(indexFile.length() < length, is(true));
+        assertThat(folder.listFiles().length, is(1));
+        assertDescription(ofClassPath(indexFile).describe(Sample.class.getName()).resolve(), Sample.class);
+    }
+
+    @Test
+    public void testIndexIsInvalidatedOnChangedClassFile() throws Exception {
+        ClassFileLocator classFileLocator = mock(ClassFileLocator.class);
+        when(classFileLocator.locate(FOO)).thenReturn(ClassFileLocator.ForClassLoader.ofClassPath().locate(Sample.class.getName()));
+        TypePool.Default.WithPersistentIndex typePool = new TypePool.Default.WithPersistentIndex(new TypePool.CacheProvider.Simple(),
+                classFileLocator,
+                indexFile);
+        assertThat(typePool.describe(FOO).resolve().represents(Sample.class), is(true));
+        typePool.persist();
+        ClassFileLocator changedClassFileLocator = mock(ClassFileLocator.class);
+        when(changedClassFileLocator.locate(FOO)).thenReturn(ClassFileLocator.ForClassLoader.ofClassPath().locate(Annotated.class.getName()));
+        TypePool.Default.WithPersistentIndex changedTypePool = new TypePool.Default.WithPersistentIndex(new TypePool.CacheProvider.Simple(),
+                changedClassFileLocator,
+                indexFile);
+        assertThat(changedTypePool.describe(FOO).resolve().represents(Annotated.class), is(true));
+    }
+
+    @Test
+    public void testUnknownIndexFileIsIgnored() throws Exception {
+        OutputStream outputStream = new FileOutputStream(indexFile);
+        try {
+            outputStream.write(new byte[]{1, 2, 3, 4, 5});
+        } finally {
+            outputStream.close();
+        }
+        TypePool.Default.WithPersistentIndex typePool = ofClassPath(indexFile);
+        assertDescription(typePool.describe(Sample.class.getName()).resolve(), Sample.class);
+        typePool.persist();
+        assertDescription(ofClassPath(indexFile).describe(Sample.class.getName()).resolve(), Sample.class);
+    }
+
+    @Test
+    public void testCorruptIndexFileIsIgnored() throws Exception {
+        DataOutputStream dataOutputStream = new DataOutputStream(new FileOutputStream(indexFile));
+        try {
+            dataOutputStream.writeInt(0x42424958);
+            dataOutputStream.writeInt(2);
+            dataOutputStream.writeInt(1);
+            dataOutputStream.writeInt(-1);
+        } finally {
+            dataOutputStream.close();
+        }
+        TypePool.Default.WithPersistentIndex typePool = ofClassPath(indexFile);
+        assertDescription(typePool.describe(Sample.class.getName()).resolve(), Sample.class);
+    }
+
+    @Test
+    public void testTruncatedEntryIsReparsed() throws Exception {
+        byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.ofClassPath().locate(Sample.class.getName()).resolve();
+        CRC32 checksum = new CRC32();
+        checksum.update(binaryRepresentation);
+        byte[] name = Sample.class.getName().getBytes("UTF-8");
+        DataOutputStream dataOutputStream = new DataOutputStream(new FileOutputStream(indexFile));
+        try {
+            dataOutputStream.writeInt(0x42424958);
+            dataOutputStream.writeInt(2);
+            dataOutputStream.writeInt(1);
+            dataOutputStream.writeInt(name.length);
+            dataOutputStream.write(name);
+            dataOutputStream.writeInt(10);
+            dataOutputStream.writeInt(binaryRepresentation.length);
+            dataOutputStream.writeInt((int) checksum.getValue());
+            dataOutputStream.writeShort(0);
+        } finally {
+            dataOutputStream.close();
+        }
+        TypePool.Default.WithPersistentIndex typePool = ofClassPath(indexFile);
+        assertDescription(typePool.describe(Sample.class.getName()).resolve(), Sample.class);
+        typePool.persist();
+        assertDescription(ofClassPath(indexFile).describe(Sample.class.getName()).resolve(), Sample.class);
+    }
+
+    @Test
+    public void testUnknownType() throws Exception {
+        assertThat(ofClassPath(indexFile).describe(FOO).isResolved(), is(false));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(TypePool.Default.WithPersistentIndex.class).apply();
+    }
+
+    private static void assertDescription(TypeDescription typeDescription, Class<?> type) {
+        TypeDescription expected = TypePool.Default.ofClassPath().describe(type.getName()).resolve();
+        assertThat(typeDescription.represents(type), is(true));
+        assertThat(typeDescription.getModifiers(), is(expected.getModifiers()));
+        assertThat(typeDescription.getSupertype(), is(expected.getSupertype()));
+        assertThat(typeDescription.getInterfaces(), is(expected.getInterfaces()));
+        assertThat(typeDescription.getDeclaringType(), is(expected.getDeclaringType()));
+        assertThat(typeDescription.getDeclaredFields(), is(expected.getDeclaredFields()));
+        assertThat(typeDescription.getDeclaredMethods(), is(expected.getDeclaredMethods()));
+        assertThat(typeDescription.getDeclaredAnnotations(), is(expected.getDeclaredAnnotations()));
+    }
+
+    public static class Sample implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected String bar;
+
+        public void foo(int value) throws Exception {
+            /* empty */
+        }
+
+        public static class Inner {
+            /* empty */
+        }
+    }
+
+    @Deprecated
+    public static class Annotated {
+
+        @Deprecated
+        public Object foo;
+
+        public void bar(@SuppressWarnings("unused") Object value) {
+            /* empty */
+        }
+    }
+}
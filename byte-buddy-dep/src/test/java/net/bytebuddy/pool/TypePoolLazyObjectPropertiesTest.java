@@ -17,6 +17,7 @@ public class TypePoolLazyObjectPropertiesTest {
         ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.FieldToken.class).apply();
         ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.MethodToken.class).apply();
         ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.AnnotationToken.class).apply();
+        ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.TokenSource.Explicit.class).apply();
         ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.AnnotationValue.Trivial.class).apply();
         ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.AnnotationValue.ForAnnotation.class).apply();
         ObjectPropertyAssertion.of(TypePool.LazyTypeDescription.AnnotationValue.ForEnumeration.class).apply();
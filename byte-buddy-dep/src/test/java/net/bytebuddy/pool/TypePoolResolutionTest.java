@@ -22,6 +22,14 @@ public class TypePoolResolutionTest {
         assertThat(new TypePool.Resolution.Simple(typeDescription).resolve(), is(typeDescription));
     }
 
+    @Test
+    public void testParsedResolution() throws Exception {
+        TypeDescription typeDescription = mock(TypeDescription.class);
+        assertThat(new TypePool.Resolution.Parsed(typeDescription, 42).isResolved(), is(true));
+        assertThat(new TypePool.Resolution.Parsed(typeDescription, 42).resolve(), is(typeDescription));
+        assertThat(new TypePool.Resolution.Parsed(typeDescription, 42).getClassFileSize(), is(42));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testIllegalResolution() throws Exception {
         assertThat(new TypePool.Resolution.Illegal(FOO).isResolved(), is(false));
@@ -48,6 +56,7 @@ public class TypePoolResolutionTest {
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(TypePool.Resolution.Simple.class).apply();
+        ObjectPropertyAssertion.of(TypePool.Resolution.Parsed.class).apply();
         ObjectPropertyAssertion.of(TypePool.Resolution.Illegal.class).apply();
         ObjectPropertyAssertion.of(TypePool.Default.ArrayTypeResolution.class).apply();
     }
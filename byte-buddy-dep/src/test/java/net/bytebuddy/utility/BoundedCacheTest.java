@@ -0,0 +1,81 @@
+package net.bytebuddy.utility;
+
+import net.bytebuddy.test.utility.ObjectPropertyAssertion;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class BoundedCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Test
+    public void testGetAndPut() throws Exception {
+        BoundedCache<String, String> boundedCache = new BoundedCache<String, String>(10);
+        assertThat(boundedCache.get(FOO), nullValue(String.class));
+        assertThat(boundedCache.putIfAbsent(FOO, BAR, 1), is(BAR));
+        assertThat(boundedCache.putIfAbsent(FOO, QUX, 1), is(BAR));
+        assertThat(boundedCache.get(FOO), is(BAR));
+        assertThat(boundedCache.getStatistics(), is(new BoundedCache.Statistics(1, 1, 1, 1, 0)));
+    }
+
+    @Test
+    public void testEvictionOfLeastRecentlyUsed() throws Exception {
+        BoundedCache<String, String> boundedCache = new BoundedCache<String, String>(3);
+        boundedCache.putIfAbsent(FOO, FOO, 1);
+        boundedCache.putIfAbsent(BAR, BAR, 1);
+        assertThat(boundedCache.get(FOO), is(FOO));
+        boundedCache.putIfAbsent(QUX, QUX, 2);
+        assertThat(boundedCache.get(BAR), nullValue(String.class));
+        assertThat(boundedCache.get(FOO), is(FOO));
+        assertThat(boundedCache.get(QUX), is(QUX));
+        assertThat(boundedCache.getStatistics(), is(new BoundedCache.Statistics(2, 3, 3, 1, 1)));
+    }
+
+    @Test
+    public void testAddedValueIsRetainedIfAllValuesAreReferenced() throws Exception {
+        BoundedCache<String, String> boundedCache = new BoundedCache<String, String>(2);
+        boundedCache.putIfAbsent(FOO, FOO, 1);
+        boundedCache.putIfAbsent(BAR, BAR, 1);
+        assertThat(boundedCache.get(FOO), is(FOO));
+        assertThat(boundedCache.get(BAR), is(BAR));
+        boundedCache.putIfAbsent(QUX, QUX, 1);
+        assertThat(boundedCache.get(QUX), is(QUX));
+        assertThat(boundedCache.get(FOO), nullValue(String.class));
+        assertThat(boundedCache.get(BAR), is(BAR));
+        assertThat(boundedCache.getStatistics(), is(new BoundedCache.Statistics(2, 2, 4, 1, 1)));
+    }
+
+    @Test
+    public void testOverweightValueIsRetained() throws Exception {
+        BoundedCache<String, String> boundedCache = new BoundedCache<String, String>(1);
+        boundedCache.putIfAbsent(FOO, FOO, 5);
+        assertThat(boundedCache.get(FOO), is(FOO));
+        boundedCache.putIfAbsent(BAR, BAR, 1);
+        assertThat(boundedCache.get(FOO), nullValue(String.class));
+        assertThat(boundedCache.get(BAR), is(BAR));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        BoundedCache<String, String> boundedCache = new BoundedCache<String, String>(10);
+        boundedCache.putIfAbsent(FOO, BAR, 2);
+        boundedCache.clear();
+        assertThat(boundedCache.get(FOO), nullValue(String.class));
+        assertThat(boundedCache.getStatistics(), is(new BoundedCache.Statistics(0, 0, 0, 1, 0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalWeight() throws Exception {
+        new BoundedCache<String, String>(0);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        ObjectPropertyAssertion.of(BoundedCache.class).apply(new BoundedCache<Object, Object>(1));
+        ObjectPropertyAssertion.of(BoundedCache.Statistics.class).apply();
+        ObjectPropertyAssertion.of(BoundedCache.WeightedValue.class).apply();
+    }
+}
@@ -4,8 +4,12 @@ import net.bytebuddy.test.utility.ObjectPropertyAssertion;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class StreamDrainerTest {
@@ -16,8 +20,89 @@ public class StreamDrainerTest {
         assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input)), is(input));
     }
 
+    @Test
+    public void testDrainageWithoutSizeHint() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new UnknownSizeInputStream(input)), is(input));
+        assertThat(new StreamDrainer(1).drain(new UnknownSizeInputStream(input), StreamDrainer.UNKNOWN_SIZE), is(input));
+    }
+
+    @Test
+    public void testDrainageWithExactSizeHint() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), input.length), is(input));
+    }
+
+    @Test
+    public void testDrainageWithTooSmallSizeHint() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4, 5};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), 2), is(input));
+    }
+
+    @Test
+    public void testDrainageWithTooLargeSizeHint() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), 10), is(input));
+    }
+
+    @Test
+    public void testDrainageWithExcessiveSizeHint() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), Integer.MAX_VALUE), is(input));
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input) {
+            @Override
+            public synchronized int available() {
+                return Integer.MAX_VALUE;
+            }
+        }), is(input));
+    }
+
+    @Test
+    public void testDrainageOfEmptyStream() throws Exception {
+        assertThat(new StreamDrainer().drain(new ByteArrayInputStream(new byte[0])).length, is(0));
+        assertThat(new StreamDrainer().drain(new ByteArrayInputStream(new byte[0]), 1).length, is(0));
+    }
+
+    @Test
+    public void testDrainageOfLargeStream() throws Exception {
+        byte[] input = new byte[StreamDrainer.DEFAULT_BUFFER_SIZE * 100 + 1];
+        for (int index = 0; index < input.length; index++) {
+            input[index] = (byte) index;
+        }
+        assertThat(new StreamDrainer().drain(new UnknownSizeInputStream(input)), is(input));
+        assertThat(new StreamDrainer().drain(new UnknownSizeInputStream(input)), is(input));
+    }
+
+    @Test
+    public void testDrainageReturnsDistinctArrays() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        StreamDrainer streamDrainer = new StreamDrainer();
+        byte[] first = streamDrainer.drain(new UnknownSizeInputStream(input));
+        byte[] second = streamDrainer.drain(new UnknownSizeInputStream(input));
+        assertThat(first, is(input));
+        assertThat(second, is(input));
+        assertThat(first, not(sameInstance(second)));
+    }
+
     @Test
     public void testObjectProperties() throws Exception {
         ObjectPropertyAssertion.of(StreamDrainer.class).apply();
     }
+
+    private static class UnknownSizeInputStream extends FilterInputStream {
+
+        private UnknownSizeInputStream(byte[] input) {
+            super(new ByteArrayInputStream(input));
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 3));
+        }
+    }
 }